@@ -13,5 +13,18 @@ public interface ApplicationContext {
 
     void refresh();
 
+    ReadinessGate readiness();
+
+    /**
+     * 配置重载后重新绑定所有 {@link com.cuzz.bukkitspring.api.annotation.ConfigurationProperties} 单例。
+     *
+     * <p>record 先完整绑定出新实例再整体替换容器中的单例，通过 {@link Provider} 或 {@link #get}
+     * 读取的调用方总能拿到一致的新值，已直接注入的旧 record 不会变化；新 record 会再次经过
+     * BeanPostProcessor 与 @PostConstruct。普通类原地逐字段刷新，不保证原子性，也不会重新执行后处理器。
+     *
+     * <p>平台只在框架自身的配置重载时调用本方法，插件自己的上下文需要在重载配置后自行调用。
+     */
+    void rebindConfigurationProperties();
+
     void close();
 }
@@ -0,0 +1,534 @@
+package com.cuzz.bukkitspring.api;
+
+import com.cuzz.bukkitspring.api.annotation.ConfigurationProperties;
+import com.cuzz.bukkitspring.api.exception.BeanCreationException;
+import com.cuzz.bukkitspring.api.exception.BeanDefinitionException;
+import com.cuzz.bukkitspring.spi.config.ConfigSection;
+import com.cuzz.bukkitspring.spi.config.ConfigSnapshot;
+import com.cuzz.bukkitspring.spi.config.ConfigView;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * 把配置绑定到 {@link ConfigurationProperties} 类型。
+ *
+ * <p>每个类型只在首次绑定时反射一次，生成绑定计划（属性键、类型转换器、MethodHandle）
+ * 并按类缓存；之后的绑定与重载只执行计划，不再做反射查找。
+ *
+ * <p>普通类要求无参构造器，字段初始值作为默认值，支持 {@link #rebind} 原地刷新；
+ * record 通过规范构造器创建，缺失的组件取类型零值，只能重新绑定出新实例。
+ * 需要在重载时读到一致的配置时应使用 record：新实例完整构建后才对外可见。
+ *
+ * <p>无法转换的值按缺失处理（保留默认值），并以属性路径记录警告；
+ * final 字段不参与绑定，编译计划时每个类警告一次。
+ */
+public final class ConfigurationBinder {
+    private static final Object ABSENT = new Object();
+    private static final Logger LOGGER = Logger.getLogger(ConfigurationBinder.class.getName());
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final ClassValue<BindingPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected BindingPlan computeValue(Class<?> type) {
+            return BindingPlan.compile(type);
+        }
+    };
+
+    private ConfigurationBinder() {
+    }
+
+    public static <T> T bind(Class<T> type, ConfigView config) {
+        return bind(type, prefixOf(type), config);
+    }
+
+    /**
+     * 按指定前缀创建并绑定一个新实例。
+     *
+     * @param type 目标类型
+     * @param prefix 配置前缀，空字符串表示根节点
+     * @param config 配置视图
+     * @return 绑定后的实例
+     */
+    public static <T> T bind(Class<T> type, String prefix, ConfigView config) {
+        Objects.requireNonNull(type, "type");
+        return type.cast(PLANS.get(type).create(safeConfig(config), normalizePrefix(prefix)));
+    }
+
+    public static void rebind(Object target, ConfigView config) {
+        Objects.requireNonNull(target, "target");
+        rebind(target, prefixOf(target.getClass()), config);
+    }
+
+    /**
+     * 用最新配置原地刷新普通类实例，缺失的键恢复为字段初始值。
+     *
+     * <p>新值先完整绑定到临时实例，再逐字段写回目标；写回不是原子的，
+     * 刷新期间其他线程可能读到新旧混合的字段。
+     *
+     * @param target 已绑定的实例
+     * @param prefix 配置前缀
+     * @param config 配置视图
+     */
+    public static void rebind(Object target, String prefix, ConfigView config) {
+        Objects.requireNonNull(target, "target");
+        BindingPlan plan = PLANS.get(target.getClass());
+        if (plan.record) {
+            throw new BeanDefinitionException("Record " + target.getClass().getName()
+                    + " is immutable and cannot be rebound in place; bind a new instance instead.");
+        }
+        Object fresh = plan.create(safeConfig(config), normalizePrefix(prefix));
+        plan.copyInto(fresh, target);
+    }
+
+    public static String prefixOf(Class<?> type) {
+        ConfigurationProperties properties = type.getAnnotation(ConfigurationProperties.class);
+        return properties == null ? "" : properties.prefix();
+    }
+
+    private static ConfigView safeConfig(ConfigView config) {
+        return config == null ? ConfigSnapshot.empty() : config;
+    }
+
+    private static String normalizePrefix(String prefix) {
+        if (prefix == null) {
+            return "";
+        }
+        String trimmed = prefix.trim();
+        while (trimmed.endsWith(".")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed;
+    }
+
+    private static String kebabCase(String name) {
+        StringBuilder builder = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c)) {
+                if (i > 0) {
+                    builder.append('-');
+                }
+                builder.append(Character.toLowerCase(c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    @FunctionalInterface
+    private interface ValueReader {
+        Object read(ConfigView config, String path);
+    }
+
+    private static final class BindingPlan {
+        private final Class<?> type;
+        private final boolean record;
+        private final MethodHandle constructor;
+        private final Property[] properties;
+
+        private BindingPlan(Class<?> type, boolean record, MethodHandle constructor, Property[] properties) {
+            this.type = type;
+            this.record = record;
+            this.constructor = constructor;
+            this.properties = properties;
+        }
+
+        private static BindingPlan compile(Class<?> type) {
+            if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+                throw new BeanDefinitionException("Cannot bind configuration to abstract type " + type.getName());
+            }
+            try {
+                return type.isRecord() ? compileRecord(type) : compileClass(type);
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                if (ex instanceof BeanDefinitionException definitionException) {
+                    throw definitionException;
+                }
+                throw new BeanDefinitionException("Failed to introspect configuration type " + type.getName()
+                        + ": " + ex.getMessage());
+            }
+        }
+
+        private static BindingPlan compileRecord(Class<?> type) throws ReflectiveOperationException {
+            RecordComponent[] components = type.getRecordComponents();
+            Class<?>[] parameterTypes = new Class<?>[components.length];
+            Property[] properties = new Property[components.length];
+            for (int i = 0; i < components.length; i++) {
+                RecordComponent component = components[i];
+                parameterTypes[i] = component.getType();
+                properties[i] = new Property(component.getName(),
+                        readerFor(type, component.getName(), component.getType(), component.getGenericType()),
+                        zeroValue(component.getType()), null, null);
+            }
+            Constructor<?> canonical = type.getDeclaredConstructor(parameterTypes);
+            canonical.setAccessible(true);
+            return new BindingPlan(type, true, LOOKUP.unreflectConstructor(canonical), properties);
+        }
+
+        private static BindingPlan compileClass(Class<?> type) throws ReflectiveOperationException {
+            Constructor<?> noArg;
+            try {
+                noArg = type.getDeclaredConstructor();
+            } catch (NoSuchMethodException ex) {
+                throw new BeanDefinitionException("Configuration type " + type.getName()
+                        + " requires a no-arg constructor or must be a record.");
+            }
+            noArg.setAccessible(true);
+            List<Property> properties = new ArrayList<>();
+            List<String> skipped = new ArrayList<>();
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                        continue;
+                    }
+                    if (Modifier.isFinal(modifiers)) {
+                        skipped.add(field.getName());
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    properties.add(new Property(field.getName(),
+                            readerFor(type, field.getName(), field.getType(), field.getGenericType()),
+                            null, LOOKUP.unreflectGetter(field), LOOKUP.unreflectSetter(field)));
+                }
+            }
+            if (!skipped.isEmpty()) {
+                LOGGER.warning("Final fields of configuration type " + type.getName()
+                        + " are not bound: " + String.join(", ", skipped));
+            }
+            return new BindingPlan(type, false, LOOKUP.unreflectConstructor(noArg),
+                    properties.toArray(new Property[0]));
+        }
+
+        private Object create(ConfigView config, String prefix) {
+            try {
+                if (record) {
+                    Object[] arguments = new Object[properties.length];
+                    for (int i = 0; i < properties.length; i++) {
+                        Property property = properties[i];
+                        Object value = property.read(config, prefix);
+                        arguments[i] = value == ABSENT ? property.defaultValue : value;
+                    }
+                    return constructor.invokeWithArguments(arguments);
+                }
+                Object instance = constructor.invoke();
+                for (Property property : properties) {
+                    Object value = property.read(config, prefix);
+                    if (value != ABSENT) {
+                        property.setter.invoke(instance, value);
+                    }
+                }
+                return instance;
+            } catch (BeanCreationException | BeanDefinitionException ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new BeanCreationException("Failed to bind configuration '" + prefix + "' to "
+                        + type.getName(), ex);
+            }
+        }
+
+        private void copyInto(Object source, Object target) {
+            try {
+                for (Property property : properties) {
+                    property.setter.invoke(target, property.getter.invoke(source));
+                }
+            } catch (Throwable ex) {
+                throw new BeanCreationException("Failed to rebind configuration to " + type.getName(), ex);
+            }
+        }
+    }
+
+    private static final class Property {
+        private final String key;
+        private final String fallbackKey;
+        private final ValueReader reader;
+        private final Object defaultValue;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private Property(String name, ValueReader reader, Object defaultValue,
+                         MethodHandle getter, MethodHandle setter) {
+            this.key = kebabCase(name);
+            this.fallbackKey = key.equals(name) ? null : name;
+            this.reader = reader;
+            this.defaultValue = defaultValue;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        private Object read(ConfigView config, String prefix) {
+            Object value = reader.read(config, prefix.isEmpty() ? key : prefix + "." + key);
+            if (value == ABSENT && fallbackKey != null) {
+                value = reader.read(config, prefix.isEmpty() ? fallbackKey : prefix + "." + fallbackKey);
+            }
+            return value;
+        }
+    }
+
+    private static ValueReader readerFor(Class<?> owner, String name, Class<?> type, Type genericType) {
+        Function<Object, Object> scalar = scalarConverter(type);
+        if (scalar != null) {
+            return (config, path) -> {
+                Object raw = config.get(path);
+                return raw == null ? ABSENT : convert(scalar, raw, path, type);
+            };
+        }
+        if (type == List.class || type == Collection.class || type == Set.class) {
+            Type elementType = typeArgument(genericType, 0);
+            Function<Object, Object> element = elementConverter(owner, name, elementType);
+            boolean asSet = type == Set.class;
+            return (config, path) -> {
+                Object raw = config.get(path);
+                return raw == null ? ABSENT : toCollection(raw, element, asSet, path, elementType);
+            };
+        }
+        if (type == Map.class) {
+            Type elementType = typeArgument(genericType, 1);
+            Function<Object, Object> element = elementConverter(owner, name, elementType);
+            return (config, path) -> {
+                ConfigSection section = config.getSection(path);
+                if (section == null) {
+                    return notASection(config, path, type);
+                }
+                return toMap(section, element, path, elementType);
+            };
+        }
+        if (type.isPrimitive() || type.isArray() || type.getName().startsWith("java.")) {
+            throw new BeanDefinitionException("Unsupported configuration property type " + type.getName()
+                    + " for " + owner.getName() + "." + name);
+        }
+        // 嵌套类型在读取时才取计划，避免编译期间的递归引用
+        return (config, path) -> config.getSection(path) == null
+                ? notASection(config, path, type)
+                : PLANS.get(type).create(config, path);
+    }
+
+    private static Object convert(Function<Object, Object> converter, Object raw, String path, Type type) {
+        Object converted = converter.apply(raw);
+        if (converted == ABSENT) {
+            warnUnconvertible(path, raw, type);
+        }
+        return converted;
+    }
+
+    /**
+     * 期望配置节的位置若给了标量，警告后按缺失处理。
+     */
+    private static Object notASection(ConfigView config, String path, Type type) {
+        Object raw = config.get(path);
+        if (raw != null) {
+            warnUnconvertible(path, raw, type);
+        }
+        return ABSENT;
+    }
+
+    private static void warnUnconvertible(String path, Object raw, Type type) {
+        LOGGER.warning("Ignoring configuration value '" + path + "': cannot convert " + raw
+                + " to " + type.getTypeName() + ", keeping the default.");
+    }
+
+    private static Function<Object, Object> elementConverter(Class<?> owner, String name, Type elementType) {
+        if (!(elementType instanceof Class<?> elementClass) || elementClass == Object.class) {
+            return Function.identity();
+        }
+        Function<Object, Object> converter = scalarConverter(elementClass);
+        if (converter == null) {
+            throw new BeanDefinitionException("Unsupported element type " + elementClass.getName()
+                    + " for " + owner.getName() + "." + name);
+        }
+        return converter;
+    }
+
+    private static Type typeArgument(Type genericType, int index) {
+        if (genericType instanceof ParameterizedType parameterized) {
+            Type[] arguments = parameterized.getActualTypeArguments();
+            if (arguments.length > index) {
+                return arguments[index];
+            }
+        }
+        return Object.class;
+    }
+
+    private static Object toCollection(Object raw, Function<Object, Object> element, boolean asSet,
+                                       String path, Type elementType) {
+        Collection<Object> values = asSet ? new LinkedHashSet<>() : new ArrayList<>();
+        int index = 0;
+        if (raw instanceof Collection<?> collection) {
+            for (Object item : collection) {
+                addConverted(values, item, element, path + "[" + index++ + "]", elementType);
+            }
+        } else {
+            for (String part : String.valueOf(raw).split(",")) {
+                String trimmed = part.trim();
+                if (!trimmed.isEmpty()) {
+                    addConverted(values, trimmed, element, path + "[" + index++ + "]", elementType);
+                }
+            }
+        }
+        return asSet ? Collections.unmodifiableSet((Set<Object>) values)
+                : Collections.unmodifiableList((List<Object>) values);
+    }
+
+    private static void addConverted(Collection<Object> values, Object item, Function<Object, Object> element,
+                                     String path, Type elementType) {
+        if (item == null) {
+            return;
+        }
+        Object converted = convert(element, item, path, elementType);
+        if (converted != ABSENT) {
+            values.add(converted);
+        }
+    }
+
+    private static Object toMap(ConfigSection section, Function<Object, Object> element,
+                                String path, Type elementType) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String key : section.keys()) {
+            Object raw = section.get(key);
+            if (raw == null) {
+                continue;
+            }
+            Object converted = convert(element, raw, path + "." + key, elementType);
+            if (converted != ABSENT) {
+                values.put(key, converted);
+            }
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    private static Function<Object, Object> scalarConverter(Class<?> type) {
+        if (type == String.class) {
+            return raw -> raw instanceof Map<?, ?> || raw instanceof Collection<?> ? ABSENT : String.valueOf(raw);
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return ConfigurationBinder::toBoolean;
+        }
+        if (type == int.class || type == Integer.class) {
+            return raw -> toNumber(raw, Number::intValue, Integer::valueOf);
+        }
+        if (type == long.class || type == Long.class) {
+            return raw -> toNumber(raw, Number::longValue, Long::valueOf);
+        }
+        if (type == double.class || type == Double.class) {
+            return raw -> toNumber(raw, Number::doubleValue, Double::valueOf);
+        }
+        if (type == float.class || type == Float.class) {
+            return raw -> toNumber(raw, Number::floatValue, Float::valueOf);
+        }
+        if (type == Duration.class) {
+            return ConfigurationBinder::toDuration;
+        }
+        if (type.isEnum()) {
+            return raw -> toEnum(type, raw);
+        }
+        return null;
+    }
+
+    private static Object toBoolean(Object raw) {
+        if (raw instanceof Boolean) {
+            return raw;
+        }
+        if (raw instanceof Number number) {
+            return number.intValue() != 0;
+        }
+        if (raw instanceof String text) {
+            String trimmed = text.trim();
+            if (trimmed.equalsIgnoreCase("true") || trimmed.equalsIgnoreCase("false")) {
+                return Boolean.parseBoolean(trimmed);
+            }
+        }
+        return ABSENT;
+    }
+
+    private static Object toNumber(Object raw, Function<Number, Object> fromNumber, Function<String, Object> parser) {
+        if (raw instanceof Number number) {
+            return fromNumber.apply(number);
+        }
+        if (raw instanceof String text) {
+            try {
+                return parser.apply(text.trim());
+            } catch (NumberFormatException ignored) {
+                return ABSENT;
+            }
+        }
+        return ABSENT;
+    }
+
+    private static Object toDuration(Object raw) {
+        if (raw instanceof Number number) {
+            return Duration.ofMillis(number.longValue());
+        }
+        if (raw instanceof String text) {
+            String trimmed = text.trim();
+            try {
+                return Duration.ofMillis(Long.parseLong(trimmed));
+            } catch (NumberFormatException ignored) {
+                // fall through to ISO-8601
+            }
+            try {
+                return Duration.parse(trimmed);
+            } catch (DateTimeParseException ignored) {
+                return ABSENT;
+            }
+        }
+        return ABSENT;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object toEnum(Class<?> type, Object raw) {
+        String name = String.valueOf(raw).trim().replace('-', '_').replace(' ', '_').toUpperCase(Locale.ROOT);
+        try {
+            return Enum.valueOf((Class<? extends Enum>) type, name);
+        } catch (IllegalArgumentException ignored) {
+            return ABSENT;
+        }
+    }
+
+    private static Object zeroValue(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0D;
+        }
+        if (type == float.class) {
+            return 0F;
+        }
+        if (type == char.class) {
+            return (char) 0;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,49 @@
+package com.cuzz.bukkitspring.api;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean 就绪门
+ *
+ * <p>单例 bean 在创建完成且 {@link com.cuzz.bukkitspring.api.annotation.AsyncInit} 返回的
+ * future 完成后视为就绪；没有异步初始化的 bean 在依赖全部就绪后即就绪。
+ * 原型 bean 始终视为就绪。
+ *
+ * <p>容器会把自身的就绪门注册为 bean，可直接注入使用。
+ * 容器关闭时，尚未完成的就绪 future 以 {@link IllegalStateException} 异常完成。
+ */
+public interface ReadinessGate {
+    /**
+     * 指定名称的 bean 就绪时完成
+     *
+     * @param beanName bean 名称
+     * @return 就绪 future，异步初始化失败时异常完成
+     */
+    CompletableFuture<Void> whenReady(String beanName);
+
+    /**
+     * 指定类型的所有 bean 就绪时完成
+     *
+     * @param type bean 类型
+     * @return 就绪 future
+     */
+    CompletableFuture<Void> whenReady(Class<?> type);
+
+    /**
+     * 当前已注册的所有单例 bean 就绪时完成
+     *
+     * @return 就绪 future
+     */
+    CompletableFuture<Void> whenAllReady();
+
+    /**
+     * 阻塞等待所有单例 bean 就绪
+     *
+     * @param timeout 超时时间
+     * @param unit 时间单位
+     * @return 在超时前全部就绪返回 true，超时或线程被中断返回 false
+     * @throws com.cuzz.bukkitspring.api.exception.BeanCreationException 任一 bean 异步初始化失败或容器已关闭
+     */
+    boolean awaitAllReady(long timeout, TimeUnit unit);
+}
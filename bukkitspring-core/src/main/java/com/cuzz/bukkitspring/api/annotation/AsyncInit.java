@@ -0,0 +1,18 @@
+package com.cuzz.bukkitspring.api.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记方法为异步初始化操作，在 {@link PostConstruct} 之后执行。
+ *
+ * <p>方法必须无参并返回 {@link java.util.concurrent.CompletionStage}，
+ * 返回的 future 完成即表示 bean 就绪。若 bean 依赖了其他异步初始化的 bean，
+ * 该方法会等依赖全部就绪后才被调用，不会阻塞 {@code refresh()}。
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AsyncInit {
+}
@@ -0,0 +1,18 @@
+package com.cuzz.bukkitspring.api.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记类或 record 从配置中绑定属性，由 {@link com.cuzz.bukkitspring.api.ConfigurationBinder} 完成绑定。
+ *
+ * <p>被扫描到时会自动注册为单例 bean。字段名按 kebab-case 映射到配置键，
+ * 例如 {@code maxItems} 读取 {@code <prefix>.max-items}。
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ConfigurationProperties {
+    String prefix() default "";
+}
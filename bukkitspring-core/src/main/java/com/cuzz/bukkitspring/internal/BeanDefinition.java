@@ -17,6 +17,7 @@ final class BeanDefinition {
     private final List<InjectionPoint> injectionPoints = new ArrayList<>();
     private final Method postConstruct;
     private final Method preDestroy;
+    private final Method asyncInit;
     private final Method factoryMethod;
     private final boolean factoryMethodStatic;
     private final String factoryBeanName;
@@ -30,6 +31,7 @@ final class BeanDefinition {
             Constructor<?> constructor,
             Method postConstruct,
             Method preDestroy,
+            Method asyncInit,
             Method factoryMethod,
             boolean factoryMethodStatic,
             String factoryBeanName,
@@ -42,6 +44,7 @@ final class BeanDefinition {
         this.constructor = constructor;
         this.postConstruct = postConstruct;
         this.preDestroy = preDestroy;
+        this.asyncInit = asyncInit;
         this.factoryMethod = factoryMethod;
         this.factoryMethodStatic = factoryMethodStatic;
         this.factoryBeanName = factoryBeanName;
@@ -80,6 +83,10 @@ final class BeanDefinition {
         return preDestroy;
     }
 
+    Method getAsyncInit() {
+        return asyncInit;
+    }
+
     Method getFactoryMethod() {
         return factoryMethod;
     }
@@ -2,13 +2,17 @@ package com.cuzz.bukkitspring.internal;
 
 import com.cuzz.bukkitspring.api.ApplicationContext;
 import com.cuzz.bukkitspring.api.BeanPostProcessor;
+import com.cuzz.bukkitspring.api.ConfigurationBinder;
 import com.cuzz.bukkitspring.api.ObjectFactory;
 import com.cuzz.bukkitspring.api.Provider;
+import com.cuzz.bukkitspring.api.ReadinessGate;
 import com.cuzz.bukkitspring.api.SmartInstantiationAwareBeanPostProcessor;
+import com.cuzz.bukkitspring.api.annotation.AsyncInit;
 import com.cuzz.bukkitspring.api.annotation.Autowired;
 import com.cuzz.bukkitspring.api.annotation.Bean;
 import com.cuzz.bukkitspring.api.annotation.Component;
 import com.cuzz.bukkitspring.api.annotation.Configuration;
+import com.cuzz.bukkitspring.api.annotation.ConfigurationProperties;
 import com.cuzz.bukkitspring.api.annotation.Controller;
 import com.cuzz.bukkitspring.api.annotation.Lazy;
 import com.cuzz.bukkitspring.api.annotation.PostConstruct;
@@ -35,21 +39,30 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
 import java.nio.file.Path;
@@ -67,6 +80,10 @@ public final class SimpleApplicationContext implements ApplicationContext {
     private volatile boolean postProcessorsInitialized = false;
     private boolean initializingPostProcessors = false;
     private final List<String> scannedPackages = new ArrayList<>();
+    private final Map<String, CompletableFuture<Void>> readinessFutures = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> creationDependencies = new ConcurrentHashMap<>();
+    private final ThreadLocal<Deque<String>> creationPath = ThreadLocal.withInitial(ArrayDeque::new);
+    private final ReadinessGate readinessGate = new ContextReadinessGate();
     private volatile boolean refreshed = false;
 
     public SimpleApplicationContext(PlatformContext platformContext) {
@@ -96,6 +113,7 @@ public final class SimpleApplicationContext implements ApplicationContext {
         if (scheduler != null) {
             bindIfAbsent(PlatformScheduler.class, scheduler);
         }
+        bindIfAbsent(ReadinessGate.class, readinessGate);
 
         if (platformContext.getBuiltinBeans() != null) {
             for (Map.Entry<Class<?>, Object> entry : platformContext.getBuiltinBeans().entrySet()) {
@@ -156,6 +174,7 @@ public final class SimpleApplicationContext implements ApplicationContext {
             components.addAll(result.getClassesWithAnnotation(Service.class.getName()));
             components.addAll(result.getClassesWithAnnotation(Repository.class.getName()));
             components.addAll(result.getClassesWithAnnotation(Controller.class.getName()));
+            components.addAll(result.getClassesWithAnnotation(ConfigurationProperties.class.getName()));
             List<ClassInfo> configurations = result.getClassesWithAnnotation(Configuration.class.getName());
 
             for (ClassInfo info : components) {
@@ -204,11 +223,51 @@ public final class SimpleApplicationContext implements ApplicationContext {
         earlySingletonObjects.clear();
         singletonFactories.clear();
         singletonsCurrentlyInCreation.clear();
+        // 先让还在等待的调用方失败返回，再丢弃就绪 future
+        for (Map.Entry<String, CompletableFuture<Void>> entry : readinessFutures.entrySet()) {
+            entry.getValue().completeExceptionally(new IllegalStateException(
+                    "Application context closed before bean " + entry.getKey() + " became ready"));
+        }
+        readinessFutures.clear();
+        creationDependencies.clear();
         beanPostProcessors.clear();
         postProcessorsInitialized = false;
         initializingPostProcessors = false;
     }
 
+    @Override
+    public ReadinessGate readiness() {
+        return readinessGate;
+    }
+
+    @Override
+    public synchronized void rebindConfigurationProperties() {
+        ConfigView config = platformContext.getConfig();
+        for (BeanDefinition definition : definitions.values()) {
+            Class<?> type = definition.getType();
+            ConfigurationProperties properties = type.getAnnotation(ConfigurationProperties.class);
+            if (properties == null || definition.isPrototype()) {
+                continue;
+            }
+            Object instance = singletonObjects.get(definition.getName());
+            if (instance == null) {
+                continue;
+            }
+            if (type.isRecord()) {
+                // record 不可变，只能替换容器中的单例，已注入的旧引用不会变化；
+                // 新实例与首次创建一样经过 BeanPostProcessor 与 @PostConstruct
+                Object fresh = ConfigurationBinder.bind(type, properties.prefix(), config);
+                try {
+                    singletonObjects.put(definition.getName(), initializeBean(definition, fresh));
+                } catch (ReflectiveOperationException ex) {
+                    throw new BeanCreationException("Failed to rebind configuration bean " + definition.getName(), ex);
+                }
+            } else if (type.isInstance(instance)) {
+                ConfigurationBinder.rebind(instance, properties.prefix(), config);
+            }
+        }
+    }
+
     @Override
     public <T> T get(Class<T> type) {
         return resolveDependency(type, null, true);
@@ -238,12 +297,14 @@ public final class SimpleApplicationContext implements ApplicationContext {
                 null,
                 null,
                 null,
+                null,
                 false,
                 null,
                 () -> instance
         );
         registerDefinition(definition);
         singletonObjects.put(name, instance);
+        readinessSlot(name).complete(null);
         if (instance instanceof BeanPostProcessor) {
             addBeanPostProcessor((BeanPostProcessor) instance);
         }
@@ -264,6 +325,7 @@ public final class SimpleApplicationContext implements ApplicationContext {
                 null,
                 null,
                 null,
+                null,
                 false,
                 null,
                 provider::get
@@ -281,9 +343,15 @@ public final class SimpleApplicationContext implements ApplicationContext {
         }
         ScopeType scope = resolveScope(type.getAnnotations());
         boolean primary = type.isAnnotationPresent(Primary.class);
-        Constructor<?> constructor = selectConstructor(type);
+        ConfigurationProperties properties = type.getAnnotation(ConfigurationProperties.class);
+        Constructor<?> constructor = properties == null ? selectConstructor(type) : null;
+        Supplier<?> binder = properties == null
+                ? null
+                : () -> ConfigurationBinder.bind(type, properties.prefix(), platformContext.getConfig());
         Method postConstruct = findLifecycleMethod(type, PostConstruct.class);
         Method preDestroy = findLifecycleMethod(type, PreDestroy.class);
+        Method asyncInit = findLifecycleMethod(type, AsyncInit.class);
+        validateAsyncInit(type, scope, asyncInit);
         BeanDefinition definition = new BeanDefinition(
                 name,
                 type,
@@ -292,10 +360,11 @@ public final class SimpleApplicationContext implements ApplicationContext {
                 constructor,
                 postConstruct,
                 preDestroy,
+                asyncInit,
                 null,
                 false,
                 null,
-                null
+                binder
         );
         registerInjectionPoints(definition, type);
         registerDefinition(definition);
@@ -330,6 +399,7 @@ public final class SimpleApplicationContext implements ApplicationContext {
                     null,
                     null,
                     null,
+                    null,
                     method,
                     staticFactory,
                     factoryBeanName,
@@ -437,6 +507,18 @@ public final class SimpleApplicationContext implements ApplicationContext {
         return found;
     }
 
+    private void validateAsyncInit(Class<?> type, ScopeType scope, Method asyncInit) {
+        if (asyncInit == null) {
+            return;
+        }
+        if (!CompletionStage.class.isAssignableFrom(asyncInit.getReturnType())) {
+            throw new BeanDefinitionException("@AsyncInit method must return CompletionStage: " + asyncInit);
+        }
+        if (scope == ScopeType.PROTOTYPE) {
+            throw new BeanDefinitionException("@AsyncInit is only supported on singleton beans: " + type.getName());
+        }
+    }
+
     private void registerBeanPostProcessors() {
         if (postProcessorsInitialized || initializingPostProcessors) {
             return;
@@ -471,6 +553,7 @@ public final class SimpleApplicationContext implements ApplicationContext {
         if (definition == null) {
             throw new NoSuchBeanException("No bean named: " + name);
         }
+        recordCreationDependency(name);
         if (!definition.isPrototype()) {
             Object existing = getSingleton(name, true);
             if (existing != null) {
@@ -531,6 +614,8 @@ public final class SimpleApplicationContext implements ApplicationContext {
             throw new CircularDependencyException("Circular dependency detected while creating " + name + ": " + singletonsCurrentlyInCreation);
         }
 
+        Deque<String> path = creationPath.get();
+        path.push(name);
         try {
             Object instance = instantiate(definition);
             if (!definition.isPrototype()) {
@@ -544,6 +629,7 @@ public final class SimpleApplicationContext implements ApplicationContext {
                 Object early = earlySingletonObjects.get(name);
                 Object exposed = early != null ? early : initialized;
                 addSingleton(name, exposed);
+                scheduleReadiness(definition, instance);
                 return exposed;
             }
             return initialized;
@@ -552,6 +638,7 @@ public final class SimpleApplicationContext implements ApplicationContext {
         } catch (ReflectiveOperationException ex) {
             throw new BeanCreationException("Failed to create bean " + name, ex);
         } finally {
+            path.pop();
             singletonsCurrentlyInCreation.remove(name);
             singletonFactories.remove(name);
             earlySingletonObjects.remove(name);
@@ -592,6 +679,83 @@ public final class SimpleApplicationContext implements ApplicationContext {
         return result;
     }
 
+    private void recordCreationDependency(String name) {
+        String dependent = creationPath.get().peek();
+        if (dependent == null || dependent.equals(name)) {
+            return;
+        }
+        creationDependencies.computeIfAbsent(dependent, key -> ConcurrentHashMap.newKeySet()).add(name);
+    }
+
+    private CompletableFuture<Void> readinessSlot(String name) {
+        return readinessFutures.computeIfAbsent(name, key -> new CompletableFuture<>());
+    }
+
+    private void scheduleReadiness(BeanDefinition definition, Object instance) {
+        String name = definition.getName();
+        CompletableFuture<Void> slot = readinessSlot(name);
+        Set<String> dependencies = creationDependencies.remove(name);
+        List<CompletableFuture<Void>> gates = new ArrayList<>();
+        if (dependencies != null) {
+            for (String dependency : dependencies) {
+                CompletableFuture<Void> gate = readinessFutures.get(dependency);
+                if (gate != null && (!gate.isDone() || gate.isCompletedExceptionally())) {
+                    gates.add(gate);
+                }
+            }
+        }
+        Method asyncInit = definition.getAsyncInit();
+        if (asyncInit == null && gates.isEmpty()) {
+            slot.complete(null);
+            return;
+        }
+        CompletableFuture<Void> dependencyGate = gates.isEmpty()
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.allOf(gates.toArray(new CompletableFuture<?>[0]));
+        // 只有 bean 自身的异步初始化失败才记录警告，依赖失败只向下传递
+        CompletableFuture<Void> ready = asyncInit == null
+                ? dependencyGate
+                : dependencyGate.thenCompose(ignored -> invokeAsyncInit(name, asyncInit, instance)
+                        .whenComplete((result, error) -> {
+                            if (error != null) {
+                                logger.warning("AsyncInit failed for bean " + name + ": " + unwrap(error).getMessage());
+                            }
+                        }));
+        ready.whenComplete((ignored, error) -> {
+            if (error == null) {
+                slot.complete(null);
+                return;
+            }
+            slot.completeExceptionally(unwrap(error));
+        });
+    }
+
+    private CompletableFuture<Void> invokeAsyncInit(String name, Method asyncInit, Object instance) {
+        try {
+            asyncInit.setAccessible(true);
+            Object result = asyncInit.invoke(instance);
+            if (result == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return ((CompletionStage<?>) result).toCompletableFuture().thenApply(ignored -> null);
+        } catch (ReflectiveOperationException ex) {
+            return CompletableFuture.failedFuture(new BeanCreationException("Failed to start async init for bean " + name, unwrap(ex)));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable current = error;
+        while ((current instanceof CompletionException
+                || current instanceof ExecutionException
+                || current instanceof InvocationTargetException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
     private Object applyBeanPostProcessorsBeforeInitialization(Object existing, String name) {
         Object result = existing;
         for (BeanPostProcessor processor : beanPostProcessors) {
@@ -763,4 +927,57 @@ public final class SimpleApplicationContext implements ApplicationContext {
     public List<String> getScannedPackages() {
         return List.copyOf(scannedPackages);
     }
+
+    private final class ContextReadinessGate implements ReadinessGate {
+        @Override
+        public CompletableFuture<Void> whenReady(String beanName) {
+            BeanDefinition definition = definitions.get(beanName);
+            if (definition == null) {
+                throw new NoSuchBeanException("No bean named: " + beanName);
+            }
+            if (definition.isPrototype()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return readinessSlot(beanName).copy();
+        }
+
+        @Override
+        public CompletableFuture<Void> whenReady(Class<?> type) {
+            List<BeanDefinition> candidates = findCandidates(type);
+            if (candidates.isEmpty()) {
+                throw new NoSuchBeanException("No bean found for type: " + type.getName());
+            }
+            return allReady(candidates);
+        }
+
+        @Override
+        public CompletableFuture<Void> whenAllReady() {
+            return allReady(new ArrayList<>(definitions.values()));
+        }
+
+        @Override
+        public boolean awaitAllReady(long timeout, TimeUnit unit) {
+            try {
+                whenAllReady().get(timeout, unit);
+                return true;
+            } catch (TimeoutException ex) {
+                return false;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException ex) {
+                throw new BeanCreationException("Async bean initialization failed", unwrap(ex));
+            }
+        }
+
+        private CompletableFuture<Void> allReady(List<BeanDefinition> candidates) {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (BeanDefinition candidate : candidates) {
+                if (!candidate.isPrototype()) {
+                    futures.add(readinessSlot(candidate.getName()).copy());
+                }
+            }
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+        }
+    }
 }
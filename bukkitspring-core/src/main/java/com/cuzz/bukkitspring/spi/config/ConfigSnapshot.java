@@ -0,0 +1,178 @@
+package com.cuzz.bukkitspring.spi.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 不可变的扁平化配置快照
+ *
+ * <p>构建时把嵌套 Map 展开成 {@code "a.b.c" -> value} 的路径索引，每个子节也预先生成
+ * {@link ConfigSection}，因此每次读取只需一次哈希查找，无需再拆分路径逐层遍历。
+ * 平台实现在重载配置时整体替换快照即可。
+ *
+ * <p>快照构建后与来源 Map 无关，来源的后续修改需要重新构建才可见。
+ * 字符串形式的布尔值和数字会被转换，无法转换时返回默认值。
+ */
+public final class ConfigSnapshot implements ConfigView {
+    private static final ConfigSnapshot EMPTY = new ConfigSnapshot(Map.of(), Map.of());
+
+    private final Map<String, Object> values;
+    private final Map<String, ConfigSection> sections;
+
+    private ConfigSnapshot(Map<String, Object> values, Map<String, ConfigSection> sections) {
+        this.values = values;
+        this.sections = sections;
+    }
+
+    public static ConfigSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 从嵌套 Map 构建快照，嵌套的 Map 视为子节，键统一转为字符串。
+     *
+     * @param root 根节点
+     * @return 配置快照
+     */
+    public static ConfigSnapshot of(Map<?, ?> root) {
+        if (root == null || root.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, Object> values = new HashMap<>();
+        Map<String, ConfigSection> sections = new HashMap<>();
+        flatten("", root, values, sections);
+        return new ConfigSnapshot(values, sections);
+    }
+
+    /**
+     * 返回路径对应的原始值，子节返回不可修改的 Map。
+     */
+    @Override
+    public Object get(String path) {
+        if (path == null) {
+            return null;
+        }
+        return values.get(path);
+    }
+
+    public boolean contains(String path) {
+        return path != null && values.containsKey(path);
+    }
+
+    public Set<String> paths() {
+        return Collections.unmodifiableSet(values.keySet());
+    }
+
+    @Override
+    public boolean getBoolean(String path, boolean defaultValue) {
+        Object value = get(path);
+        if (value instanceof Boolean booleanValue) {
+            return booleanValue;
+        }
+        if (value instanceof String stringValue) {
+            return Boolean.parseBoolean(stringValue.trim());
+        }
+        if (value instanceof Number numberValue) {
+            return numberValue.intValue() != 0;
+        }
+        return defaultValue;
+    }
+
+    @Override
+    public String getString(String path, String defaultValue) {
+        Object value = get(path);
+        if (value == null) {
+            return defaultValue;
+        }
+        return String.valueOf(value);
+    }
+
+    @Override
+    public int getInt(String path, int defaultValue) {
+        Object value = get(path);
+        if (value instanceof Number numberValue) {
+            return numberValue.intValue();
+        }
+        if (value instanceof String stringValue) {
+            try {
+                return Integer.parseInt(stringValue.trim());
+            } catch (NumberFormatException ignored) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
+    @Override
+    public long getLong(String path, long defaultValue) {
+        Object value = get(path);
+        if (value instanceof Number numberValue) {
+            return numberValue.longValue();
+        }
+        if (value instanceof String stringValue) {
+            try {
+                return Long.parseLong(stringValue.trim());
+            } catch (NumberFormatException ignored) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
+    @Override
+    public ConfigSection getSection(String path) {
+        if (path == null) {
+            return null;
+        }
+        return sections.get(path);
+    }
+
+    private static Map<String, Object> flatten(String prefix,
+                                               Map<?, ?> source,
+                                               Map<String, Object> values,
+                                               Map<String, ConfigSection> sections) {
+        Map<String, Object> children = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> entry : source.entrySet()) {
+            String key = Objects.toString(entry.getKey(), null);
+            if (key == null) {
+                continue;
+            }
+            String path = prefix.isEmpty() ? key : prefix + "." + key;
+            Object value = entry.getValue();
+            if (value instanceof Map<?, ?> nested) {
+                Map<String, Object> child = flatten(path, nested, values, sections);
+                sections.put(path, new SnapshotSection(child));
+                value = child;
+            } else if (value instanceof List<?> list) {
+                value = Collections.unmodifiableList(new ArrayList<>(list));
+            }
+            values.put(path, value);
+            children.put(key, value);
+        }
+        return Collections.unmodifiableMap(children);
+    }
+
+    private static final class SnapshotSection implements ConfigSection {
+        private final Map<String, Object> section;
+
+        private SnapshotSection(Map<String, Object> section) {
+            this.section = section;
+        }
+
+        @Override
+        public Set<String> keys() {
+            return section.keySet();
+        }
+
+        @Override
+        public Object get(String key) {
+            return section.get(key);
+        }
+    }
+}
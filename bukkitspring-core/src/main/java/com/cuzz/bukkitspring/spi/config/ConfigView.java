@@ -10,4 +10,19 @@ public interface ConfigView {
     long getLong(String path, long defaultValue);
 
     ConfigSection getSection(String path);
+
+    /**
+     * 读取原始值（列表、数字等），默认实现通过父节查找。
+     */
+    default Object get(String path) {
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+        int split = path.lastIndexOf('.');
+        if (split < 0) {
+            return getString(path, null);
+        }
+        ConfigSection parent = getSection(path.substring(0, split));
+        return parent == null ? null : parent.get(path.substring(split + 1));
+    }
 }
@@ -0,0 +1,204 @@
+package com.cuzz.bukkitspring.api;
+
+import com.cuzz.bukkitspring.api.annotation.ConfigurationProperties;
+import com.cuzz.bukkitspring.api.exception.BeanDefinitionException;
+import com.cuzz.bukkitspring.spi.config.ConfigSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConfigurationBinderTest {
+
+    @Test
+    public void bindsKebabCaseKeysAndKeepsFieldDefaults() {
+        ConfigSnapshot config = ConfigSnapshot.of(Map.of("shop", Map.of(
+                "max-items", 25,
+                "worlds", List.of("world", "nether"),
+                "restock-delay", "PT30S",
+                "mode", "read-only",
+                "prices", Map.of("apple", "3", "bread", 5),
+                "owner", Map.of("name", "steve", "level", 7)
+        )));
+
+        ShopProperties shop = ConfigurationBinder.bind(ShopProperties.class, config);
+
+        assertEquals(25, shop.maxItems);
+        assertEquals("coin", shop.currency);
+        assertEquals(List.of("world", "nether"), shop.worlds);
+        assertEquals(Duration.ofSeconds(30), shop.restockDelay);
+        assertEquals(Mode.READ_ONLY, shop.mode);
+        assertEquals(Map.of("apple", 3, "bread", 5), shop.prices);
+        assertEquals(new Owner("steve", 7), shop.owner);
+    }
+
+    @Test
+    public void fallsBackToTheFieldNameWhenTheKebabKeyIsMissing() {
+        ConfigSnapshot config = ConfigSnapshot.of(Map.of("shop", Map.of(
+                "maxItems", 40,
+                "tags", "a, b, a"
+        )));
+
+        ShopProperties shop = ConfigurationBinder.bind(ShopProperties.class, config);
+
+        assertEquals(40, shop.maxItems);
+        assertEquals(Set.of("a", "b"), shop.tags);
+    }
+
+    @Test
+    public void kebabKeyWinsOverTheFieldName() {
+        ConfigSnapshot config = ConfigSnapshot.of(Map.of("shop", Map.of(
+                "max-items", 12,
+                "maxItems", 99
+        )));
+
+        assertEquals(12, ConfigurationBinder.bind(ShopProperties.class, config).maxItems);
+    }
+
+    @Test
+    public void recordsGetZeroValuesForMissingComponents() {
+        ConfigSnapshot config = ConfigSnapshot.of(Map.of("limits", Map.of("per-player", "8")));
+
+        Limits limits = ConfigurationBinder.bind(Limits.class, config);
+
+        assertEquals(8, limits.perPlayer());
+        assertEquals(0L, limits.cooldownMillis());
+        assertNull(limits.label());
+        assertFalse(limits.enabled());
+    }
+
+    @Test
+    public void rebindRefreshesInPlaceAndRestoresDefaultsForRemovedKeys() {
+        ShopProperties shop = ConfigurationBinder.bind(ShopProperties.class, ConfigSnapshot.of(Map.of("shop", Map.of(
+                "max-items", 25,
+                "currency", "gem"
+        ))));
+
+        ConfigurationBinder.rebind(shop, ConfigSnapshot.of(Map.of("shop", Map.of("max-items", 3))));
+
+        assertEquals(3, shop.maxItems);
+        assertEquals("coin", shop.currency);
+    }
+
+    @Test
+    public void rebindRejectsRecords() {
+        Limits limits = ConfigurationBinder.bind(Limits.class, ConfigSnapshot.empty());
+
+        assertThrows(BeanDefinitionException.class,
+                () -> ConfigurationBinder.rebind(limits, ConfigSnapshot.empty()));
+    }
+
+    @Test
+    public void unparsableValuesKeepTheDefault() {
+        ConfigSnapshot config = ConfigSnapshot.of(Map.of("shop", Map.of(
+                "max-items", "lots",
+                "mode", "unknown"
+        )));
+
+        ShopProperties shop = ConfigurationBinder.bind(ShopProperties.class, config);
+
+        assertEquals(10, shop.maxItems);
+        assertEquals(Mode.READ_WRITE, shop.mode);
+    }
+
+    @Test
+    public void unparsableValuesAreLoggedWithTheirPath() {
+        ConfigSnapshot config = ConfigSnapshot.of(Map.of("shop", Map.of(
+                "max-items", "lots",
+                "prices", Map.of("apple", "cheap", "bread", 5),
+                "owner", "steve"
+        )));
+
+        List<String> warnings = captureWarnings(() -> {
+            ShopProperties shop = ConfigurationBinder.bind(ShopProperties.class, config);
+            assertEquals(Map.of("bread", 5), shop.prices);
+        });
+
+        assertEquals(3, warnings.size(), warnings.toString());
+        assertTrue(warnings.stream().anyMatch(message -> message.contains("'shop.max-items'")), warnings.toString());
+        assertTrue(warnings.stream().anyMatch(message -> message.contains("'shop.prices.apple'")), warnings.toString());
+        assertTrue(warnings.stream().anyMatch(message -> message.contains("'shop.owner'")), warnings.toString());
+    }
+
+    @Test
+    public void finalFieldsAreSkippedWithAWarning() {
+        ConfigSnapshot config = ConfigSnapshot.of(Map.of("frozen", Map.of("name", "changed", "size", 3)));
+
+        List<String> warnings = captureWarnings(() -> {
+            FrozenProperties frozen = ConfigurationBinder.bind(FrozenProperties.class, config);
+            assertEquals("fixed", frozen.name);
+            assertEquals(3, frozen.size);
+        });
+
+        assertEquals(1, warnings.size(), warnings.toString());
+        assertTrue(warnings.get(0).contains(FrozenProperties.class.getName() + " are not bound: name"), warnings.get(0));
+    }
+
+    private static List<String> captureWarnings(Runnable action) {
+        Logger logger = Logger.getLogger(ConfigurationBinder.class.getName());
+        List<String> messages = new ArrayList<>();
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                messages.add(record.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        logger.addHandler(handler);
+        try {
+            action.run();
+        } finally {
+            logger.removeHandler(handler);
+        }
+        return messages;
+    }
+
+    public enum Mode {
+        READ_WRITE,
+        READ_ONLY
+    }
+
+    public record Owner(String name, int level) {
+    }
+
+    @ConfigurationProperties(prefix = "limits")
+    public record Limits(int perPlayer, long cooldownMillis, String label, boolean enabled) {
+    }
+
+    @ConfigurationProperties(prefix = "frozen")
+    public static class FrozenProperties {
+        private final String name = "fixed";
+        private int size;
+    }
+
+    @ConfigurationProperties(prefix = "shop")
+    public static class ShopProperties {
+        private int maxItems = 10;
+        private String currency = "coin";
+        private List<String> worlds = List.of();
+        private Set<String> tags = Set.of();
+        private Duration restockDelay = Duration.ofMinutes(1);
+        private Mode mode = Mode.READ_WRITE;
+        private Map<String, Integer> prices = Map.of();
+        private Owner owner;
+    }
+}
@@ -0,0 +1,66 @@
+package com.cuzz.bukkitspring.internal;
+
+import com.cuzz.bukkitspring.internal.fixture.config.LimitsProperties;
+import com.cuzz.bukkitspring.internal.fixture.config.LimitsRecorder;
+import com.cuzz.bukkitspring.internal.fixture.config.ShopProperties;
+import com.cuzz.bukkitspring.internal.fixture.config.ShopService;
+import com.cuzz.bukkitspring.spi.config.ConfigSnapshot;
+import com.cuzz.bukkitspring.testutil.TestPlatformContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ConfigurationRebindTest {
+
+    @Test
+    public void rebindRefreshesClassesInPlaceAndPublishesNewRecords() {
+        TestPlatformContext platform = new TestPlatformContext(ConfigSnapshot.of(Map.of(
+                "shop", Map.of("max-items", 25, "currency", "gem"),
+                "limits", Map.of("per-player", 2, "per-server", 100)
+        )));
+        SimpleApplicationContext context = new SimpleApplicationContext(platform);
+        context.scan("com.cuzz.bukkitspring.internal.fixture.config");
+        context.refresh();
+        ShopService service = context.get(ShopService.class);
+        ShopProperties shop = service.getShop();
+        LimitsProperties before = service.getInjectedLimits();
+        assertEquals(new LimitsProperties(2, 100), service.currentLimits());
+
+        platform.setConfig(ConfigSnapshot.of(Map.of(
+                "shop", Map.of("max-items", 5),
+                "limits", Map.of("per-player", 4, "per-server", 50)
+        )));
+        context.rebindConfigurationProperties();
+
+        assertSame(shop, context.get(ShopProperties.class));
+        assertEquals(5, shop.getMaxItems());
+        assertEquals("coin", shop.getCurrency());
+        assertEquals(new LimitsProperties(4, 50), service.currentLimits());
+        assertEquals(new LimitsProperties(4, 50), context.get(LimitsProperties.class));
+        assertSame(before, service.getInjectedLimits());
+        context.close();
+    }
+
+    @Test
+    public void reboundRecordsGoThroughPostProcessors() {
+        TestPlatformContext platform = new TestPlatformContext(ConfigSnapshot.of(Map.of(
+                "limits", Map.of("per-player", 2, "per-server", 100)
+        )));
+        SimpleApplicationContext context = new SimpleApplicationContext(platform);
+        context.scan("com.cuzz.bukkitspring.internal.fixture.config");
+        context.refresh();
+        LimitsRecorder recorder = context.get(LimitsRecorder.class);
+        assertEquals(List.of(new LimitsProperties(2, 100)), recorder.getProcessed());
+
+        platform.setConfig(ConfigSnapshot.of(Map.of("limits", Map.of("per-player", 4, "per-server", 50))));
+        context.rebindConfigurationProperties();
+
+        assertEquals(List.of(new LimitsProperties(2, 100), new LimitsProperties(4, 50)), recorder.getProcessed());
+        assertSame(recorder.getProcessed().get(1), context.get(LimitsProperties.class));
+        context.close();
+    }
+}
@@ -0,0 +1,115 @@
+package com.cuzz.bukkitspring.internal;
+
+import com.cuzz.bukkitspring.api.ReadinessGate;
+import com.cuzz.bukkitspring.api.exception.BeanCreationException;
+import com.cuzz.bukkitspring.internal.fixture.readiness.ReadinessFixtures;
+import com.cuzz.bukkitspring.internal.fixture.readiness.WarmCache;
+import com.cuzz.bukkitspring.testutil.TestPlatformContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReadinessGateTest {
+
+    @BeforeEach
+    public void resetFixtures() {
+        ReadinessFixtures.reset();
+    }
+
+    @Test
+    public void dependentWaitsForAsyncInitOfItsDependencies() throws Exception {
+        SimpleApplicationContext context = newContext();
+        ReadinessGate gate = context.readiness();
+        CompletableFuture<Void> service = gate.whenReady("playerService");
+
+        assertFalse(gate.whenReady("warmCache").isDone());
+        assertFalse(service.isDone());
+        assertFalse(ReadinessFixtures.playerServiceStarted.get());
+
+        ReadinessFixtures.warmCache.complete(null);
+
+        service.get(5, TimeUnit.SECONDS);
+        assertTrue(ReadinessFixtures.playerServiceStarted.get());
+        context.close();
+    }
+
+    @Test
+    public void failedDependencyPropagatesToDependents() {
+        SimpleApplicationContext context = newContext();
+        ReadinessGate gate = context.readiness();
+        CompletableFuture<Void> leaderboard = gate.whenReady("leaderboard");
+        ReadinessFixtures.warmCache.complete(null);
+        IllegalStateException failure = new IllegalStateException("store offline");
+
+        ReadinessFixtures.brokenStore.completeExceptionally(failure);
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> leaderboard.get(5, TimeUnit.SECONDS));
+        assertSame(failure, unwrap(error));
+        BeanCreationException awaited = assertThrows(BeanCreationException.class,
+                () -> gate.awaitAllReady(5, TimeUnit.SECONDS));
+        assertSame(failure, awaited.getCause());
+        context.close();
+    }
+
+    @Test
+    public void callersCannotCompleteOrCancelTheSharedFutures() throws Exception {
+        SimpleApplicationContext context = newContext();
+        ReadinessGate gate = context.readiness();
+
+        gate.whenReady("warmCache").complete(null);
+        gate.whenReady(WarmCache.class).cancel(true);
+        gate.whenAllReady().cancel(true);
+
+        assertFalse(gate.whenReady("warmCache").isDone());
+        assertFalse(gate.whenAllReady().isDone());
+        assertFalse(ReadinessFixtures.playerServiceStarted.get());
+
+        ReadinessFixtures.warmCache.complete(null);
+        gate.whenReady("playerService").get(5, TimeUnit.SECONDS);
+        assertTrue(ReadinessFixtures.playerServiceStarted.get());
+        context.close();
+    }
+
+    @Test
+    public void closeFailsPendingReadinessFutures() {
+        SimpleApplicationContext context = newContext();
+        ReadinessGate gate = context.readiness();
+        CompletableFuture<Void> service = gate.whenReady("playerService");
+        CompletableFuture<Void> all = gate.whenAllReady();
+
+        context.close();
+
+        ExecutionException serviceError = assertThrows(ExecutionException.class,
+                () -> service.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, unwrap(serviceError));
+        ExecutionException allError = assertThrows(ExecutionException.class,
+                () -> all.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, unwrap(allError));
+        assertFalse(ReadinessFixtures.playerServiceStarted.get());
+    }
+
+    private static SimpleApplicationContext newContext() {
+        SimpleApplicationContext context = new SimpleApplicationContext(new TestPlatformContext(null));
+        context.scan("com.cuzz.bukkitspring.internal.fixture.readiness");
+        context.refresh();
+        return context;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable current = error;
+        while (current.getCause() != null && current != current.getCause()) {
+            current = current.getCause();
+        }
+        return current;
+    }
+}
@@ -0,0 +1,7 @@
+package com.cuzz.bukkitspring.internal.fixture.config;
+
+import com.cuzz.bukkitspring.api.annotation.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "limits")
+public record LimitsProperties(int perPlayer, int perServer) {
+}
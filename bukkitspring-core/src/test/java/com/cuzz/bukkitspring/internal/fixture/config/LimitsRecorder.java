@@ -0,0 +1,24 @@
+package com.cuzz.bukkitspring.internal.fixture.config;
+
+import com.cuzz.bukkitspring.api.BeanPostProcessor;
+import com.cuzz.bukkitspring.api.annotation.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Component
+public class LimitsRecorder implements BeanPostProcessor {
+    private final List<Object> processed = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String name) {
+        if (bean instanceof LimitsProperties) {
+            processed.add(bean);
+        }
+        return bean;
+    }
+
+    public List<Object> getProcessed() {
+        return processed;
+    }
+}
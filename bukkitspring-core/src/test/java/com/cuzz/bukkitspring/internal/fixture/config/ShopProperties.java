@@ -0,0 +1,17 @@
+package com.cuzz.bukkitspring.internal.fixture.config;
+
+import com.cuzz.bukkitspring.api.annotation.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "shop")
+public class ShopProperties {
+    private int maxItems = 10;
+    private String currency = "coin";
+
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+}
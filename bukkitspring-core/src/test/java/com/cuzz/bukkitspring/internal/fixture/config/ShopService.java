@@ -0,0 +1,27 @@
+package com.cuzz.bukkitspring.internal.fixture.config;
+
+import com.cuzz.bukkitspring.api.Provider;
+import com.cuzz.bukkitspring.api.annotation.Autowired;
+import com.cuzz.bukkitspring.api.annotation.Service;
+
+@Service
+public class ShopService {
+    @Autowired
+    private ShopProperties shop;
+    @Autowired
+    private LimitsProperties injectedLimits;
+    @Autowired
+    private Provider<LimitsProperties> limits;
+
+    public ShopProperties getShop() {
+        return shop;
+    }
+
+    public LimitsProperties getInjectedLimits() {
+        return injectedLimits;
+    }
+
+    public LimitsProperties currentLimits() {
+        return limits.get();
+    }
+}
@@ -0,0 +1,14 @@
+package com.cuzz.bukkitspring.internal.fixture.readiness;
+
+import com.cuzz.bukkitspring.api.annotation.AsyncInit;
+import com.cuzz.bukkitspring.api.annotation.Repository;
+
+import java.util.concurrent.CompletionStage;
+
+@Repository
+public class BrokenStore {
+    @AsyncInit
+    public CompletionStage<Void> open() {
+        return ReadinessFixtures.brokenStore;
+    }
+}
@@ -0,0 +1,14 @@
+package com.cuzz.bukkitspring.internal.fixture.readiness;
+
+import com.cuzz.bukkitspring.api.annotation.Autowired;
+import com.cuzz.bukkitspring.api.annotation.Component;
+
+@Component
+public class Leaderboard {
+    @Autowired
+    private BrokenStore store;
+
+    public BrokenStore getStore() {
+        return store;
+    }
+}
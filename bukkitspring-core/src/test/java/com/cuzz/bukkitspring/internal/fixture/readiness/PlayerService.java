@@ -0,0 +1,28 @@
+package com.cuzz.bukkitspring.internal.fixture.readiness;
+
+import com.cuzz.bukkitspring.api.annotation.AsyncInit;
+import com.cuzz.bukkitspring.api.annotation.Autowired;
+import com.cuzz.bukkitspring.api.annotation.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+@Service
+public class PlayerService {
+    private final WarmCache cache;
+
+    @Autowired
+    public PlayerService(WarmCache cache) {
+        this.cache = cache;
+    }
+
+    @AsyncInit
+    public CompletionStage<Void> start() {
+        ReadinessFixtures.playerServiceStarted.set(true);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    public WarmCache getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,19 @@
+package com.cuzz.bukkitspring.internal.fixture.readiness;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public final class ReadinessFixtures {
+    public static volatile CompletableFuture<Void> warmCache = new CompletableFuture<>();
+    public static volatile CompletableFuture<Void> brokenStore = new CompletableFuture<>();
+    public static final AtomicBoolean playerServiceStarted = new AtomicBoolean();
+
+    private ReadinessFixtures() {
+    }
+
+    public static void reset() {
+        warmCache = new CompletableFuture<>();
+        brokenStore = new CompletableFuture<>();
+        playerServiceStarted.set(false);
+    }
+}
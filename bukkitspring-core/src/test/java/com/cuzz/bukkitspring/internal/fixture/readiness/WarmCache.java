@@ -0,0 +1,14 @@
+package com.cuzz.bukkitspring.internal.fixture.readiness;
+
+import com.cuzz.bukkitspring.api.annotation.AsyncInit;
+import com.cuzz.bukkitspring.api.annotation.Component;
+
+import java.util.concurrent.CompletionStage;
+
+@Component
+public class WarmCache {
+    @AsyncInit
+    public CompletionStage<Void> warm() {
+        return ReadinessFixtures.warmCache;
+    }
+}
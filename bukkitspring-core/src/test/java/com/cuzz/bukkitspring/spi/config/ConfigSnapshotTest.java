@@ -0,0 +1,91 @@
+package com.cuzz.bukkitspring.spi.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConfigSnapshotTest {
+
+    @Test
+    public void looksUpDottedPathsAndSections() {
+        ConfigSnapshot snapshot = ConfigSnapshot.of(Map.of(
+                "redis", Map.of("host", "localhost", "pool", Map.of("max-total", 16)),
+                "worlds", List.of("world", "nether")
+        ));
+
+        assertEquals("localhost", snapshot.getString("redis.host", null));
+        assertEquals(16, snapshot.getInt("redis.pool.max-total", 0));
+        assertEquals(List.of("world", "nether"), snapshot.get("worlds"));
+        assertEquals(Map.of("max-total", 16), snapshot.get("redis.pool"));
+        assertTrue(snapshot.contains("redis.pool"));
+        assertEquals(Set.of("redis", "redis.host", "redis.pool", "redis.pool.max-total", "worlds"), snapshot.paths());
+
+        ConfigSection pool = snapshot.getSection("redis.pool");
+        assertEquals(Set.of("max-total"), pool.keys());
+        assertEquals(16, pool.get("max-total"));
+        assertNull(snapshot.getSection("redis.host"));
+        assertNull(snapshot.getSection("missing"));
+        assertNull(snapshot.get(null));
+        assertEquals("fallback", snapshot.getString("redis.port", "fallback"));
+    }
+
+    @Test
+    public void coercesStringsAndNumbers() {
+        ConfigSnapshot snapshot = ConfigSnapshot.of(Map.of(
+                "flag", " true ",
+                "numeric-flag", 0,
+                "count", " 42 ",
+                "big", "9000000000",
+                "ratio", 2.9,
+                "broken", "lots"
+        ));
+
+        assertTrue(snapshot.getBoolean("flag", false));
+        assertFalse(snapshot.getBoolean("numeric-flag", true));
+        assertEquals(42, snapshot.getInt("count", 0));
+        assertEquals(9_000_000_000L, snapshot.getLong("big", 0L));
+        assertEquals(2, snapshot.getInt("ratio", 0));
+        assertEquals(7, snapshot.getInt("broken", 7));
+        assertEquals(7L, snapshot.getLong("broken", 7L));
+        assertTrue(snapshot.getBoolean("missing", true));
+        assertEquals("42", ConfigSnapshot.of(Map.of("n", 42)).getString("n", null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void laterChangesToTheSourceNeedANewSnapshot() {
+        Map<String, Object> shop = new LinkedHashMap<>();
+        shop.put("currency", "coin");
+        List<String> worlds = new ArrayList<>(List.of("world"));
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("shop", shop);
+        root.put("worlds", worlds);
+        ConfigSnapshot snapshot = ConfigSnapshot.of(root);
+
+        shop.put("currency", "gem");
+        worlds.add("nether");
+
+        assertEquals("coin", snapshot.getString("shop.currency", null));
+        assertEquals(List.of("world"), snapshot.get("worlds"));
+        assertThrows(UnsupportedOperationException.class, () -> ((List<Object>) snapshot.get("worlds")).add("end"));
+        assertEquals("gem", ConfigSnapshot.of(root).getString("shop.currency", null));
+    }
+
+    @Test
+    public void emptyRootsShareTheEmptySnapshot() {
+        assertSame(ConfigSnapshot.empty(), ConfigSnapshot.of(null));
+        assertSame(ConfigSnapshot.empty(), ConfigSnapshot.of(Map.of()));
+        assertNull(ConfigSnapshot.empty().getSection(""));
+    }
+}
@@ -0,0 +1,58 @@
+package com.cuzz.bukkitspring.testutil;
+
+import com.cuzz.bukkitspring.spi.config.ConfigView;
+import com.cuzz.bukkitspring.spi.platform.PlatformContext;
+import com.cuzz.bukkitspring.spi.platform.PlatformScheduler;
+import com.cuzz.bukkitspring.spi.platform.PluginResourceResolver;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.logging.Logger;
+
+public final class TestPlatformContext implements PlatformContext {
+    private final Logger logger = Logger.getLogger("bukkitspring-test");
+    private volatile ConfigView config;
+
+    public TestPlatformContext(ConfigView config) {
+        this.config = config;
+    }
+
+    public void setConfig(ConfigView config) {
+        this.config = config;
+    }
+
+    @Override
+    public Logger getLogger() {
+        return logger;
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return TestPlatformContext.class.getClassLoader();
+    }
+
+    @Override
+    public ConfigView getConfig() {
+        return config;
+    }
+
+    @Override
+    public Path getDataDirectory() {
+        return null;
+    }
+
+    @Override
+    public PluginResourceResolver getPluginResourceResolver() {
+        return null;
+    }
+
+    @Override
+    public PlatformScheduler getScheduler() {
+        return null;
+    }
+
+    @Override
+    public Map<Class<?>, Object> getBuiltinBeans() {
+        return Map.of();
+    }
+}
@@ -20,6 +20,7 @@ import java.util.logging.Level;
 
 public final class BukkitSpringPlugin extends JavaPlugin {
     private ApplicationContext context;
+    private BukkitConfigView configView;
     private boolean dependenciesReady = true;
     private final List<StarterLifecycle> loadedStarters = new ArrayList<>();
 
@@ -39,7 +40,7 @@ public final class BukkitSpringPlugin extends JavaPlugin {
             return;
         }
         saveDefaultConfig();
-        ConfigView configView = new BukkitConfigView(getConfig());
+        configView = new BukkitConfigView(this::getConfig);
         initializeStarters(configView);
         
         // 创建内部上下文
@@ -50,7 +51,7 @@ public final class BukkitSpringPlugin extends JavaPlugin {
         getLogger().info("Found " + configClasses.size() + " configuration classes from starters");
         getLogger().info("Found " + scanPackages.size() + " scan packages from starters");
 
-        BukkitPlatformContext platformContext = new BukkitPlatformContext(this);
+        BukkitPlatformContext platformContext = new BukkitPlatformContext(this, configView);
 
         
         // 2. 创建上下文（通过扫描包）
@@ -62,6 +63,13 @@ public final class BukkitSpringPlugin extends JavaPlugin {
         
         // 3. 刷新上下文（会自动扫描并创建所有 @Configuration 类的 bean）
         context.refresh();
+        context.readiness().whenAllReady().whenComplete((ignored, error) -> {
+            if (error != null) {
+                getLogger().warning("Some beans failed async initialization: " + error.getMessage());
+            } else {
+                getLogger().info("All BukkitSpring beans are ready.");
+            }
+        });
         
         getLogger().info("BukkitSpring enabled. Waiting for plugins to register.");
     }
@@ -76,6 +84,14 @@ public final class BukkitSpringPlugin extends JavaPlugin {
         BukkitSpring.clearAllGlobalBeans();
     }
 
+    @Override
+    public void reloadConfig() {
+        super.reloadConfig();
+        if (context != null) {
+            context.rebindConfigurationProperties();
+        }
+    }
+
 
 
 
@@ -5,45 +5,96 @@ import com.cuzz.bukkitspring.spi.config.ConfigView;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Supplier;
 
+/**
+ * 直接读取 Bukkit 配置对象的实时视图。
+ *
+ * <p>类型转换与子节语义沿用 {@link FileConfiguration}：原地 {@code set(...)} 立即可见，
+ * 不做扁平化缓存。
+ */
 public final class BukkitConfigView implements ConfigView {
-    private final FileConfiguration config;
+    private final Supplier<FileConfiguration> source;
 
     public BukkitConfigView(FileConfiguration config) {
-        this.config = Objects.requireNonNull(config, "config");
+        Objects.requireNonNull(config, "config");
+        this.source = () -> config;
+    }
+
+    /**
+     * 跟随配置来源的视图，{@code JavaPlugin#reloadConfig()} 换入新的配置对象后自动读取新配置。
+     *
+     * @param source 配置来源，通常为 {@code plugin::getConfig}
+     */
+    public BukkitConfigView(Supplier<FileConfiguration> source) {
+        this.source = Objects.requireNonNull(source, "source");
     }
 
     @Override
     public boolean getBoolean(String path, boolean defaultValue) {
-        return config.getBoolean(path, defaultValue);
+        return config().getBoolean(path, defaultValue);
     }
 
     @Override
     public String getString(String path, String defaultValue) {
-        return config.getString(path, defaultValue);
+        return config().getString(path, defaultValue);
     }
 
     @Override
     public int getInt(String path, int defaultValue) {
-        return config.getInt(path, defaultValue);
+        return config().getInt(path, defaultValue);
     }
 
     @Override
     public long getLong(String path, long defaultValue) {
-        return config.getLong(path, defaultValue);
+        return config().getLong(path, defaultValue);
     }
 
     @Override
     public ConfigSection getSection(String path) {
-        ConfigurationSection section = config.getConfigurationSection(path);
+        ConfigurationSection section = config().getConfigurationSection(path);
         if (section == null) {
             return null;
         }
         return new BukkitConfigSection(section);
     }
 
+    /**
+     * 读取原始值，子节转换为不可修改的 Map，与其他平台的视图保持一致。
+     */
+    @Override
+    public Object get(String path) {
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+        Object value = config().get(path);
+        if (value instanceof ConfigurationSection section) {
+            return toMap(section);
+        }
+        return value;
+    }
+
+    private FileConfiguration config() {
+        return Objects.requireNonNull(source.get(), "config");
+    }
+
+    private static Map<String, Object> toMap(ConfigurationSection section) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String key : section.getKeys(false)) {
+            Object value = section.get(key);
+            if (value instanceof ConfigurationSection nested) {
+                value = toMap(nested);
+            }
+            values.put(key, value);
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
     private static final class BukkitConfigSection implements ConfigSection {
         private final ConfigurationSection section;
 
@@ -3,6 +3,8 @@ package com.cuzz.bukkitspring.platform.bukkit;
 import com.cuzz.bukkitspring.config.BukkitConfigView;
 import com.cuzz.bukkitspring.platform.bukkit.resource.BukkitPluginResourceResolver;
 import com.cuzz.bukkitspring.platform.bukkit.scheduler.BukkitPlatformScheduler;
+import com.cuzz.bukkitspring.platform.bukkit.scheduler.FoliaPlatformScheduler;
+import com.cuzz.bukkitspring.platform.bukkit.scheduler.RegionAwareScheduler;
 import com.cuzz.bukkitspring.spi.config.ConfigView;
 import com.cuzz.bukkitspring.spi.platform.PlatformContext;
 import com.cuzz.bukkitspring.spi.platform.PlatformScheduler;
@@ -25,15 +27,21 @@ public final class BukkitPlatformContext implements PlatformContext {
     private final ConfigView configView;
     private final Path dataDirectory;
     private final PluginResourceResolver pluginResourceResolver;
-    private final PlatformScheduler scheduler;
+    private final RegionAwareScheduler scheduler;
     private final Map<Class<?>, Object> builtinBeans = new LinkedHashMap<>();
 
     public BukkitPlatformContext(JavaPlugin plugin) {
+        this(plugin, new BukkitConfigView(Objects.requireNonNull(plugin, "plugin")::getConfig));
+    }
+
+    public BukkitPlatformContext(JavaPlugin plugin, ConfigView configView) {
         this.plugin = Objects.requireNonNull(plugin, "plugin");
-        this.configView = new BukkitConfigView(plugin.getConfig());
+        this.configView = Objects.requireNonNull(configView, "configView");
         this.dataDirectory = plugin.getDataFolder().toPath();
         this.pluginResourceResolver = new BukkitPluginResourceResolver(plugin.getServer().getPluginManager());
-        this.scheduler = new BukkitPlatformScheduler(plugin);
+        this.scheduler = FoliaPlatformScheduler.isSupported()
+                ? new FoliaPlatformScheduler(plugin)
+                : new BukkitPlatformScheduler(plugin);
         registerBuiltins();
     }
 
@@ -80,5 +88,6 @@ public final class BukkitPlatformContext implements PlatformContext {
         builtinBeans.put(PluginManager.class, plugin.getServer().getPluginManager());
         builtinBeans.put(FileConfiguration.class, plugin.getConfig());
         builtinBeans.put(BukkitScheduler.class, plugin.getServer().getScheduler());
+        builtinBeans.put(RegionAwareScheduler.class, scheduler);
     }
 }
@@ -1,13 +1,14 @@
 package com.cuzz.bukkitspring.platform.bukkit.scheduler;
 
-import com.cuzz.bukkitspring.spi.platform.PlatformScheduler;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitScheduler;
 
 import java.util.Objects;
 
-public final class BukkitPlatformScheduler implements PlatformScheduler {
+public final class BukkitPlatformScheduler implements RegionAwareScheduler {
     private final JavaPlugin plugin;
     private final BukkitScheduler scheduler;
 
@@ -35,4 +36,34 @@ public final class BukkitPlatformScheduler implements PlatformScheduler {
         }
         scheduler.runTaskAsynchronously(plugin, task);
     }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return false;
+    }
+
+    @Override
+    public void runAtLocation(Location location, Runnable task) {
+        runSync(task);
+    }
+
+    @Override
+    public void runForEntity(Entity entity, Runnable task, Runnable retired) {
+        if (task == null) {
+            return;
+        }
+        Objects.requireNonNull(entity, "entity");
+        runSync(() -> {
+            if (entity.isValid()) {
+                task.run();
+            } else if (retired != null) {
+                retired.run();
+            }
+        });
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        runSync(task);
+    }
 }
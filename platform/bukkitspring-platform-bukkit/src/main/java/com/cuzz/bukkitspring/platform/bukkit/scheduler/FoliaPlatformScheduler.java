@@ -0,0 +1,191 @@
+package com.cuzz.bukkitspring.platform.bukkit.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Region-aware scheduler for Folia servers.
+ *
+ * <p>The platform compiles against spigot-api, so the Folia scheduler API is resolved
+ * reflectively once into method handles; each call is then a direct handle invocation.
+ */
+public final class FoliaPlatformScheduler implements RegionAwareScheduler {
+    private static final String REGIONIZED_SERVER = "io.papermc.paper.threadedregions.RegionizedServer";
+    private static final String SCHEDULER_PACKAGE = "io.papermc.paper.threadedregions.scheduler.";
+
+    private final Plugin plugin;
+    private final MethodHandle globalExecute;
+    private final MethodHandle regionExecute;
+    private final MethodHandle asyncRunNow;
+    private final MethodHandle entityScheduler;
+    private final MethodHandle entityExecute;
+    private final MethodHandle ownsLocation;
+    private final MethodHandle ownsEntity;
+    private final MethodHandle isGlobalTickThread;
+
+    public FoliaPlatformScheduler(JavaPlugin plugin) {
+        this(plugin, Bukkit.class, Entity.class);
+    }
+
+    /**
+     * Resolves the Folia API from the static accessors of {@code server} and the
+     * {@code getScheduler()} method of {@code entityClass}; tests pass stand-ins with Folia's signatures.
+     */
+    FoliaPlatformScheduler(Plugin plugin, Class<?> server, Class<?> entityClass) {
+        this.plugin = Objects.requireNonNull(plugin, "plugin");
+        try {
+            ClassLoader loader = server.getClassLoader();
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> globalType = Class.forName(SCHEDULER_PACKAGE + "GlobalRegionScheduler", false, loader);
+            Class<?> regionType = Class.forName(SCHEDULER_PACKAGE + "RegionScheduler", false, loader);
+            Class<?> asyncType = Class.forName(SCHEDULER_PACKAGE + "AsyncScheduler", false, loader);
+            Class<?> entityType = Class.forName(SCHEDULER_PACKAGE + "EntityScheduler", false, loader);
+            Class<?> taskType = Class.forName(SCHEDULER_PACKAGE + "ScheduledTask", false, loader);
+
+            Object global = lookup.findStatic(server, "getGlobalRegionScheduler",
+                    MethodType.methodType(globalType)).invoke();
+            Object region = lookup.findStatic(server, "getRegionScheduler",
+                    MethodType.methodType(regionType)).invoke();
+            Object async = lookup.findStatic(server, "getAsyncScheduler",
+                    MethodType.methodType(asyncType)).invoke();
+
+            this.globalExecute = lookup.findVirtual(globalType, "execute",
+                    MethodType.methodType(void.class, Plugin.class, Runnable.class)).bindTo(global);
+            this.regionExecute = lookup.findVirtual(regionType, "execute",
+                    MethodType.methodType(void.class, Plugin.class, Location.class, Runnable.class)).bindTo(region);
+            this.asyncRunNow = lookup.findVirtual(asyncType, "runNow",
+                    MethodType.methodType(taskType, Plugin.class, Consumer.class)).bindTo(async);
+            this.entityScheduler = lookup.findVirtual(entityClass, "getScheduler",
+                    MethodType.methodType(entityType));
+            this.entityExecute = lookup.findVirtual(entityType, "execute",
+                    MethodType.methodType(boolean.class, Plugin.class, Runnable.class, Runnable.class, long.class));
+            this.ownsLocation = lookup.findStatic(server, "isOwnedByCurrentRegion",
+                    MethodType.methodType(boolean.class, Location.class));
+            this.ownsEntity = lookup.findStatic(server, "isOwnedByCurrentRegion",
+                    MethodType.methodType(boolean.class, Entity.class));
+            this.isGlobalTickThread = lookup.findStatic(server, "isGlobalTickThread",
+                    MethodType.methodType(boolean.class));
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Folia scheduler API is not available", ex);
+        }
+    }
+
+    /**
+     * @return {@code true} when the server is region-threaded
+     */
+    public static boolean isSupported() {
+        try {
+            Class.forName(REGIONIZED_SERVER, false, Bukkit.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return true;
+    }
+
+    /**
+     * Folia has no primary thread; synchronous work runs on the global region.
+     */
+    @Override
+    public void runSync(Runnable task) {
+        runGlobal(task);
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        if (task == null) {
+            return;
+        }
+        Consumer<Object> body = ignored -> task.run();
+        invoke(() -> asyncRunNow.invoke(plugin, body));
+    }
+
+    @Override
+    public void runAtLocation(Location location, Runnable task) {
+        if (task == null) {
+            return;
+        }
+        Objects.requireNonNull(location, "location");
+        if (call(() -> (boolean) ownsLocation.invoke(location))) {
+            task.run();
+            return;
+        }
+        invoke(() -> regionExecute.invoke(plugin, location, task));
+    }
+
+    @Override
+    public void runForEntity(Entity entity, Runnable task, Runnable retired) {
+        if (task == null) {
+            return;
+        }
+        Objects.requireNonNull(entity, "entity");
+        if (call(() -> (boolean) ownsEntity.invoke(entity))) {
+            if (entity.isValid()) {
+                task.run();
+            } else if (retired != null) {
+                retired.run();
+            }
+            return;
+        }
+        boolean scheduled = call(() -> {
+            Object scheduler = entityScheduler.invoke(entity);
+            return (boolean) entityExecute.invoke(scheduler, plugin, task, retired, 1L);
+        });
+        // execute() returns false when the entity is already removed and never calls retired
+        if (!scheduled && retired != null) {
+            runGlobal(retired);
+        }
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        if (task == null) {
+            return;
+        }
+        if (call(() -> (boolean) isGlobalTickThread.invoke())) {
+            task.run();
+            return;
+        }
+        invoke(() -> globalExecute.invoke(plugin, task));
+    }
+
+    private static void invoke(HandleCall action) {
+        call(() -> {
+            action.run();
+            return Boolean.TRUE;
+        });
+    }
+
+    private static <T> T call(HandleSupplier<T> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Folia scheduler call failed", ex);
+        }
+    }
+
+    @FunctionalInterface
+    private interface HandleCall {
+        void run() throws Throwable;
+    }
+
+    @FunctionalInterface
+    private interface HandleSupplier<T> {
+        T get() throws Throwable;
+    }
+}
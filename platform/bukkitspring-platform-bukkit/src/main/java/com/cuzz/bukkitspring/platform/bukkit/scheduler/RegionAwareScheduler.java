@@ -0,0 +1,41 @@
+package com.cuzz.bukkitspring.platform.bukkit.scheduler;
+
+import com.cuzz.bukkitspring.spi.platform.PlatformScheduler;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+
+/**
+ * {@link PlatformScheduler} that can target the thread owning a location or entity.
+ *
+ * <p>On Folia each region ticks on its own thread, so world access must hop to the owning
+ * region instead of a single primary thread. On regular Bukkit servers every variant runs
+ * on the primary thread. The platform scheduler is a built-in bean of this type on Bukkit,
+ * so inject {@code RegionAwareScheduler} directly instead of casting {@code PlatformScheduler}.
+ */
+public interface RegionAwareScheduler extends PlatformScheduler {
+    /**
+     * @return {@code true} when running on a region-threaded (Folia) server
+     */
+    boolean isRegionThreaded();
+
+    /**
+     * Run on the thread owning the region of {@code location}, inline if already there.
+     */
+    void runAtLocation(Location location, Runnable task);
+
+    /**
+     * Run on the thread owning {@code entity}, inline if already there.
+     *
+     * @param retired called instead of {@code task} when the entity was removed before it could run, may be null
+     */
+    void runForEntity(Entity entity, Runnable task, Runnable retired);
+
+    default void runForEntity(Entity entity, Runnable task) {
+        runForEntity(entity, task, null);
+    }
+
+    /**
+     * Run on the global region thread (world-independent state such as time or weather).
+     */
+    void runGlobal(Runnable task);
+}
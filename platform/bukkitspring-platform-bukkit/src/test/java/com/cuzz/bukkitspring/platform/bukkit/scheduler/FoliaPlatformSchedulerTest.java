@@ -0,0 +1,226 @@
+package com.cuzz.bukkitspring.platform.bukkit.scheduler;
+
+import io.papermc.paper.threadedregions.scheduler.AsyncScheduler;
+import io.papermc.paper.threadedregions.scheduler.EntityScheduler;
+import io.papermc.paper.threadedregions.scheduler.GlobalRegionScheduler;
+import io.papermc.paper.threadedregions.scheduler.RegionScheduler;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FoliaPlatformSchedulerTest {
+    private static final Plugin PLUGIN = proxy(Plugin.class, true);
+
+    private List<String> ran;
+
+    @BeforeEach
+    public void resetServer() {
+        FakeFolia.reset();
+        ran = new ArrayList<>();
+    }
+
+    @Test
+    public void asyncTasksGoThroughRunNow() {
+        FoliaPlatformScheduler scheduler = newScheduler();
+
+        scheduler.runAsync(() -> ran.add("async"));
+
+        assertEquals(List.of("async:" + PLUGIN.hashCode()), FakeFolia.calls);
+        assertEquals(List.of("async"), ran);
+    }
+
+    @Test
+    public void locationTasksRunInlineOnlyOnTheOwningRegion() {
+        FoliaPlatformScheduler scheduler = newScheduler();
+        Location location = new Location(null, 1, 64, 1);
+
+        FakeFolia.ownsRegion = true;
+        scheduler.runAtLocation(location, () -> ran.add("inline"));
+        FakeFolia.ownsRegion = false;
+        scheduler.runAtLocation(location, () -> ran.add("hopped"));
+
+        assertEquals(List.of("inline", "hopped"), ran);
+        assertEquals(List.of("region"), FakeFolia.calls);
+        assertSame(location, FakeFolia.lastLocation);
+    }
+
+    @Test
+    public void entityTasksHopToTheEntityScheduler() {
+        FoliaPlatformScheduler scheduler = newScheduler();
+
+        scheduler.runForEntity(entity(true), () -> ran.add("task"), () -> ran.add("retired"));
+
+        assertEquals(List.of("entity:1"), FakeFolia.calls);
+        assertEquals(List.of("task"), ran);
+    }
+
+    @Test
+    public void removedEntitiesRunTheRetiredCallback() {
+        FoliaPlatformScheduler scheduler = newScheduler();
+
+        FakeFolia.ownsRegion = true;
+        scheduler.runForEntity(entity(false), () -> ran.add("task"), () -> ran.add("retired inline"));
+        FakeFolia.ownsRegion = false;
+        FakeFolia.entityRemoved = true;
+        scheduler.runForEntity(entity(false), () -> ran.add("task"), () -> ran.add("retired later"));
+
+        assertEquals(List.of("retired inline", "retired later"), ran);
+        assertEquals(List.of("entity:1", "global"), FakeFolia.calls);
+    }
+
+    @Test
+    public void syncTasksRunOnTheGlobalRegion() {
+        FoliaPlatformScheduler scheduler = newScheduler();
+
+        FakeFolia.globalTickThread = true;
+        scheduler.runSync(() -> ran.add("inline"));
+        FakeFolia.globalTickThread = false;
+        scheduler.runSync(() -> ran.add("hopped"));
+        scheduler.runGlobal(() -> ran.add("global"));
+
+        assertEquals(List.of("inline", "hopped", "global"), ran);
+        assertEquals(List.of("global", "global"), FakeFolia.calls);
+        assertTrue(scheduler.isRegionThreaded());
+    }
+
+    @Test
+    public void mismatchedSignaturesFailWhenTheSchedulerIsCreated() {
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> new FoliaPlatformScheduler(PLUGIN, WrongFolia.class, FoliaEntity.class));
+        assertTrue(error.getCause() instanceof NoSuchMethodException, String.valueOf(error.getCause()));
+    }
+
+    private static FoliaPlatformScheduler newScheduler() {
+        return new FoliaPlatformScheduler(PLUGIN, FakeFolia.class, FoliaEntity.class);
+    }
+
+    private static Entity entity(boolean valid) {
+        return proxy(FoliaEntity.class, valid);
+    }
+
+    /**
+     * Answers getScheduler() with the fake entity scheduler and isValid() with {@code valid}.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, boolean valid) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) ->
+                switch (method.getName()) {
+                    case "getScheduler" -> FakeFolia.ENTITY;
+                    case "isValid" -> valid;
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "equals" -> self == args[0];
+                    case "toString" -> type.getSimpleName();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Paper declares getScheduler() on Entity itself; spigot-api does not, so tests resolve it here.
+     */
+    public interface FoliaEntity extends Entity {
+        EntityScheduler getScheduler();
+    }
+
+    /**
+     * Static accessors with the signatures Folia adds to {@code org.bukkit.Bukkit}.
+     */
+    public static final class FakeFolia {
+        static final List<String> calls = new ArrayList<>();
+        static boolean ownsRegion;
+        static boolean globalTickThread;
+        static boolean entityRemoved;
+        static Location lastLocation;
+
+        static final GlobalRegionScheduler GLOBAL = (plugin, run) -> {
+            calls.add("global");
+            run.run();
+        };
+        static final RegionScheduler REGION = (plugin, location, run) -> {
+            calls.add("region");
+            lastLocation = location;
+            run.run();
+        };
+        static final AsyncScheduler ASYNC = (plugin, task) -> {
+            calls.add("async:" + plugin.hashCode());
+            ScheduledTask handle = new ScheduledTask() {
+            };
+            task.accept(handle);
+            return handle;
+        };
+        static final EntityScheduler ENTITY = (plugin, run, retired, delay) -> {
+            calls.add("entity:" + delay);
+            if (entityRemoved) {
+                return false;
+            }
+            run.run();
+            return true;
+        };
+
+        private FakeFolia() {
+        }
+
+        static void reset() {
+            calls.clear();
+            ownsRegion = false;
+            globalTickThread = false;
+            entityRemoved = false;
+            lastLocation = null;
+        }
+
+        public static GlobalRegionScheduler getGlobalRegionScheduler() {
+            return GLOBAL;
+        }
+
+        public static RegionScheduler getRegionScheduler() {
+            return REGION;
+        }
+
+        public static AsyncScheduler getAsyncScheduler() {
+            return ASYNC;
+        }
+
+        public static boolean isOwnedByCurrentRegion(Location location) {
+            return ownsRegion;
+        }
+
+        public static boolean isOwnedByCurrentRegion(Entity entity) {
+            return ownsRegion;
+        }
+
+        public static boolean isGlobalTickThread() {
+            return globalTickThread;
+        }
+    }
+
+    /**
+     * Like {@link FakeFolia}, but the async scheduler accessor returns the wrong type.
+     */
+    public static final class WrongFolia {
+        private WrongFolia() {
+        }
+
+        public static GlobalRegionScheduler getGlobalRegionScheduler() {
+            return FakeFolia.GLOBAL;
+        }
+
+        public static RegionScheduler getRegionScheduler() {
+            return FakeFolia.REGION;
+        }
+
+        public static Object getAsyncScheduler() {
+            return FakeFolia.ASYNC;
+        }
+    }
+}
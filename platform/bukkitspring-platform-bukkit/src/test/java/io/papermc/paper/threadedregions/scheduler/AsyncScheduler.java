@@ -0,0 +1,12 @@
+package io.papermc.paper.threadedregions.scheduler;
+
+import org.bukkit.plugin.Plugin;
+
+import java.util.function.Consumer;
+
+/**
+ * Test copy of the Folia method that FoliaPlatformScheduler resolves, with the same signature.
+ */
+public interface AsyncScheduler {
+    ScheduledTask runNow(Plugin plugin, Consumer<ScheduledTask> task);
+}
@@ -0,0 +1,10 @@
+package io.papermc.paper.threadedregions.scheduler;
+
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Test copy of the Folia method that FoliaPlatformScheduler resolves, with the same signature.
+ */
+public interface EntityScheduler {
+    boolean execute(Plugin plugin, Runnable run, Runnable retired, long delay);
+}
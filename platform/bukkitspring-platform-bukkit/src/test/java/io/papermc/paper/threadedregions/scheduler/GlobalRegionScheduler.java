@@ -0,0 +1,10 @@
+package io.papermc.paper.threadedregions.scheduler;
+
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Test copy of the Folia method that FoliaPlatformScheduler resolves, with the same signature.
+ */
+public interface GlobalRegionScheduler {
+    void execute(Plugin plugin, Runnable run);
+}
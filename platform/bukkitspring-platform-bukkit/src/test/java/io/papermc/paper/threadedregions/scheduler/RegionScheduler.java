@@ -0,0 +1,11 @@
+package io.papermc.paper.threadedregions.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Test copy of the Folia method that FoliaPlatformScheduler resolves, with the same signature.
+ */
+public interface RegionScheduler {
+    void execute(Plugin plugin, Location location, Runnable run);
+}
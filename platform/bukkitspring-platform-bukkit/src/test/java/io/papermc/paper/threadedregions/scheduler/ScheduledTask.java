@@ -0,0 +1,7 @@
+package io.papermc.paper.threadedregions.scheduler;
+
+/**
+ * Test stand-in for the Folia task handle.
+ */
+public interface ScheduledTask {
+}
@@ -22,7 +22,7 @@ public final class VelocityPlatformContext implements PlatformContext {
     private final ConfigView configView;
     private final Path dataDirectory;
     private final PluginResourceResolver pluginResourceResolver;
-    private final PlatformScheduler scheduler;
+    private final VelocityPlatformScheduler scheduler;
     private final Map<Class<?>, Object> builtinBeans = new LinkedHashMap<>();
 
     public VelocityPlatformContext(VelocitySpringPlugin plugin,
@@ -38,7 +38,14 @@ public final class VelocityPlatformContext implements PlatformContext {
         this.configView = Objects.requireNonNull(configView, "configView");
         this.dataDirectory = Objects.requireNonNull(dataDirectory, "dataDirectory");
         this.pluginResourceResolver = new VelocityPluginResourceResolver(server);
-        this.scheduler = new VelocityPlatformScheduler(plugin, server);
+        this.scheduler = new VelocityPlatformScheduler(
+                plugin,
+                server,
+                julLogger,
+                !"velocity".equalsIgnoreCase(configView.getString("scheduler.async-mode", "virtual").trim()),
+                configView.getInt("scheduler.async-max-concurrency", 256),
+                configView.getInt("scheduler.async-max-queued", 10000)
+        );
         registerBuiltins();
     }
 
@@ -72,6 +79,10 @@ public final class VelocityPlatformContext implements PlatformContext {
         return scheduler;
     }
 
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
     @Override
     public Map<Class<?>, Object> getBuiltinBeans() {
         return Map.copyOf(builtinBeans);
@@ -82,5 +93,6 @@ public final class VelocityPlatformContext implements PlatformContext {
         builtinBeans.put(ProxyServer.class, server);
         builtinBeans.put(org.slf4j.Logger.class, slf4jLogger);
         builtinBeans.put(Path.class, dataDirectory);
+        builtinBeans.put(VelocityPlatformScheduler.class, scheduler);
     }
 }
@@ -9,11 +9,13 @@ import com.cuzz.bukkitspring.dependency.DependencyDownloader;
 import com.cuzz.bukkitspring.dependency.MavenDependency;
 import com.cuzz.bukkitspring.dependency.VelocityDependencyAccess;
 import com.cuzz.bukkitspring.platform.velocity.config.VelocityConfigLoader;
+import com.cuzz.bukkitspring.platform.velocity.config.VelocityConfigView;
 import com.cuzz.bukkitspring.spi.config.ConfigView;
 import com.cuzz.bukkitspring.spi.starter.StarterContext;
 import com.cuzz.bukkitspring.spi.starter.StarterLifecycle;
 import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.api.event.proxy.ProxyInitializeEvent;
+import com.velocitypowered.api.event.proxy.ProxyReloadEvent;
 import com.velocitypowered.api.event.proxy.ProxyShutdownEvent;
 import com.velocitypowered.api.plugin.Plugin;
 import com.velocitypowered.api.plugin.annotation.DataDirectory;
@@ -39,6 +41,9 @@ public final class VelocitySpringPlugin {
     private final Path dataDirectory;
     private final Logger julLogger;
     private ApplicationContext context;
+    private VelocityPlatformContext platformContext;
+    private VelocityConfigLoader configLoader;
+    private VelocityConfigView configView;
     private boolean dependenciesReady = true;
     private final List<StarterLifecycle> loadedStarters = new ArrayList<>();
 
@@ -59,7 +64,7 @@ public final class VelocitySpringPlugin {
         if (!dependenciesReady) {
             return;
         }
-        ConfigView configView = loadConfig();
+        configView = loadConfig();
         initializeStarters(configView);
 
         List<Class<?>> configClasses = StarterRegistry.getAllConfigurations();
@@ -68,7 +73,7 @@ public final class VelocitySpringPlugin {
         slf4jLogger.info("Found {} configuration classes from starters", configClasses.size());
         slf4jLogger.info("Found {} scan packages from starters", scanPackages.size());
 
-        VelocityPlatformContext platformContext = new VelocityPlatformContext(
+        platformContext = new VelocityPlatformContext(
                 this,
                 server,
                 slf4jLogger,
@@ -83,13 +88,35 @@ public final class VelocitySpringPlugin {
             context = BukkitSpring.registerPlugin(this, platformContext);
         }
         context.refresh();
+        context.readiness().whenAllReady().whenComplete((ignored, error) -> {
+            if (error != null) {
+                slf4jLogger.warn("Some beans failed async initialization: {}", error.getMessage());
+            } else {
+                slf4jLogger.info("All BukkitSpring beans are ready.");
+            }
+        });
 
         slf4jLogger.info("BukkitSpring Velocity enabled. Waiting for plugins to register.");
     }
 
+    @Subscribe
+    public void onProxyReload(ProxyReloadEvent event) {
+        if (configLoader == null || configView == null) {
+            return;
+        }
+        configLoader.reload(configView);
+        if (context != null) {
+            context.rebindConfigurationProperties();
+        }
+        slf4jLogger.info("BukkitSpring config reloaded.");
+    }
+
     @Subscribe
     public void onProxyShutdown(ProxyShutdownEvent event) {
         BukkitSpring.shutdownAll();
+        if (platformContext != null) {
+            platformContext.shutdown();
+        }
         cleanupStarters();
         BukkitSpring.clearAllGlobalBeans();
     }
@@ -200,10 +227,10 @@ public final class VelocitySpringPlugin {
         ));
     }
 
-    private ConfigView loadConfig() {
+    private VelocityConfigView loadConfig() {
         Path configPath = resolveRootDir().resolve("config.yml");
-        VelocityConfigLoader loader = new VelocityConfigLoader(configPath, julLogger, getClass().getClassLoader());
-        return loader.load();
+        configLoader = new VelocityConfigLoader(configPath, julLogger, getClass().getClassLoader());
+        return configLoader.load();
     }
 
 
@@ -1,6 +1,5 @@
 package com.cuzz.bukkitspring.platform.velocity.config;
 
-import com.cuzz.bukkitspring.spi.config.ConfigView;
 import org.yaml.snakeyaml.Yaml;
 
 import java.io.IOException;
@@ -26,12 +25,18 @@ public final class VelocityConfigLoader {
         this.classLoader = Objects.requireNonNull(classLoader, "classLoader");
     }
 
-    public ConfigView load() {
+    public VelocityConfigView load() {
         ensureDefaultConfig();
         Map<String, Object> data = loadYaml();
         return new VelocityConfigView(data);
     }
 
+    public void reload(VelocityConfigView view) {
+        Objects.requireNonNull(view, "view");
+        ensureDefaultConfig();
+        view.reload(loadYaml());
+    }
+
     private Map<String, Object> loadYaml() {
         if (!Files.exists(configPath)) {
             return Collections.emptyMap();
@@ -1,106 +1,60 @@
 package com.cuzz.bukkitspring.platform.velocity.config;
 
 import com.cuzz.bukkitspring.spi.config.ConfigSection;
+import com.cuzz.bukkitspring.spi.config.ConfigSnapshot;
 import com.cuzz.bukkitspring.spi.config.ConfigView;
 
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 
 public final class VelocityConfigView implements ConfigView {
-    private final Map<String, Object> root;
+    private volatile ConfigSnapshot snapshot;
 
     public VelocityConfigView(Map<String, Object> root) {
-        if (root == null || root.isEmpty()) {
-            this.root = Collections.emptyMap();
-        } else {
-            this.root = Collections.unmodifiableMap(new LinkedHashMap<>(root));
-        }
+        this.snapshot = ConfigSnapshot.of(root);
+    }
+
+    /**
+     * 从重新加载的 YAML 树重建快照并整体替换。
+     */
+    public void reload(Map<String, Object> root) {
+        this.snapshot = ConfigSnapshot.of(root);
+    }
+
+    public ConfigSnapshot snapshot() {
+        return snapshot;
     }
 
     @Override
     public boolean getBoolean(String path, boolean defaultValue) {
-        Object value = resolvePath(path);
-        if (value instanceof Boolean booleanValue) {
-            return booleanValue;
-        }
-        if (value instanceof String stringValue) {
-            return Boolean.parseBoolean(stringValue);
-        }
-        if (value instanceof Number numberValue) {
-            return numberValue.intValue() != 0;
-        }
-        return defaultValue;
+        return snapshot.getBoolean(path, defaultValue);
     }
 
     @Override
     public String getString(String path, String defaultValue) {
-        Object value = resolvePath(path);
-        if (value == null) {
-            return defaultValue;
-        }
-        return String.valueOf(value);
+        return snapshot.getString(path, defaultValue);
     }
 
     @Override
     public int getInt(String path, int defaultValue) {
-        Object value = resolvePath(path);
-        if (value instanceof Number numberValue) {
-            return numberValue.intValue();
-        }
-        if (value instanceof String stringValue) {
-            try {
-                return Integer.parseInt(stringValue.trim());
-            } catch (NumberFormatException ignored) {
-                return defaultValue;
-            }
-        }
-        return defaultValue;
+        return snapshot.getInt(path, defaultValue);
     }
 
     @Override
     public long getLong(String path, long defaultValue) {
-        Object value = resolvePath(path);
-        if (value instanceof Number numberValue) {
-            return numberValue.longValue();
-        }
-        if (value instanceof String stringValue) {
-            try {
-                return Long.parseLong(stringValue.trim());
-            } catch (NumberFormatException ignored) {
-                return defaultValue;
-            }
-        }
-        return defaultValue;
+        return snapshot.getLong(path, defaultValue);
     }
 
     @Override
     public ConfigSection getSection(String path) {
-        Object value = resolvePath(path);
-        if (!(value instanceof Map<?, ?> mapValue)) {
-            return null;
-        }
-        return new MapConfigSection(normalizeMap(mapValue));
+        return snapshot.getSection(path);
     }
 
-    private Object resolvePath(String path) {
-        if (path == null || path.isBlank()) {
-            return null;
-        }
-        String[] parts = path.split("\\.");
-        Object current = root;
-        for (String part : parts) {
-            if (!(current instanceof Map<?, ?> mapValue)) {
-                return null;
-            }
-            current = mapValue.get(part);
-            if (current == null) {
-                return null;
-            }
-        }
-        return current;
+    @Override
+    public Object get(String path) {
+        return snapshot.get(path);
     }
 
     static Map<String, Object> normalizeMap(Map<?, ?> source) {
@@ -121,22 +75,4 @@ public final class VelocityConfigView implements ConfigView {
         }
         return normalized;
     }
-
-    private static final class MapConfigSection implements ConfigSection {
-        private final Map<String, Object> section;
-
-        private MapConfigSection(Map<String, Object> section) {
-            this.section = section;
-        }
-
-        @Override
-        public Set<String> keys() {
-            return section.keySet();
-        }
-
-        @Override
-        public Object get(String key) {
-            return section.get(key);
-        }
-    }
 }
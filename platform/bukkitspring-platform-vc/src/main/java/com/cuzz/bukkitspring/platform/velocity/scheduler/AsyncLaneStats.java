@@ -0,0 +1,46 @@
+package com.cuzz.bukkitspring.platform.velocity.scheduler;
+
+/**
+ * Point-in-time counters of the Velocity async lane.
+ */
+public final class AsyncLaneStats {
+    public final int maxConcurrency;
+    public final int active;
+    public final int queued;
+    public final int peakQueued;
+    public final long submitted;
+    public final long completed;
+    public final long failed;
+    public final long overflowed;
+
+    AsyncLaneStats(int maxConcurrency,
+                   int active,
+                   int queued,
+                   int peakQueued,
+                   long submitted,
+                   long completed,
+                   long failed,
+                   long overflowed) {
+        this.maxConcurrency = maxConcurrency;
+        this.active = active;
+        this.queued = queued;
+        this.peakQueued = peakQueued;
+        this.submitted = submitted;
+        this.completed = completed;
+        this.failed = failed;
+        this.overflowed = overflowed;
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncLaneStats{maxConcurrency=" + maxConcurrency
+                + ", active=" + active
+                + ", queued=" + queued
+                + ", peakQueued=" + peakQueued
+                + ", submitted=" + submitted
+                + ", completed=" + completed
+                + ", failed=" + failed
+                + ", overflowed=" + overflowed
+                + '}';
+    }
+}
@@ -0,0 +1,181 @@
+package com.cuzz.bukkitspring.platform.velocity.scheduler;
+
+import java.lang.reflect.Method;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs async tasks on virtual threads without going through the Velocity scheduler.
+ *
+ * <p>At most {@code maxConcurrency} workers run at once; extra tasks wait in a queue that each
+ * worker drains before releasing its permit. When more than {@code maxQueued} tasks are waiting
+ * (non-positive means unbounded), tasks are handed to {@code overflow} so nothing is dropped.
+ */
+final class VelocityAsyncLane {
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final int maxQueued;
+    private final Consumer<Runnable> overflow;
+    private final Logger logger;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger peakQueued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong overflowed = new AtomicLong();
+    private volatile boolean closed;
+
+    VelocityAsyncLane(int maxConcurrency, int maxQueued, Consumer<Runnable> overflow, Logger logger) {
+        this(maxConcurrency, maxQueued, overflow, logger, createExecutor(logger));
+    }
+
+    VelocityAsyncLane(int maxConcurrency,
+                      int maxQueued,
+                      Consumer<Runnable> overflow,
+                      Logger logger,
+                      ExecutorService executor) {
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.maxQueued = maxQueued;
+        this.permits = new Semaphore(this.maxConcurrency);
+        this.overflow = overflow;
+        this.logger = logger;
+        this.executor = executor;
+    }
+
+    void execute(Runnable task) {
+        if (closed) {
+            overflow.accept(task);
+            return;
+        }
+        submitted.incrementAndGet();
+        int depth = queued.incrementAndGet();
+        if (maxQueued > 0 && depth > maxQueued) {
+            queued.decrementAndGet();
+            overflowed.incrementAndGet();
+            overflow.accept(task);
+            return;
+        }
+        peakQueued.accumulateAndGet(depth, Math::max);
+        queue.offer(task);
+        startWorkers();
+    }
+
+    AsyncLaneStats stats() {
+        return new AsyncLaneStats(
+                maxConcurrency,
+                active.get(),
+                queued.get(),
+                peakQueued.get(),
+                submitted.get(),
+                completed.get(),
+                failed.get(),
+                overflowed.get()
+        );
+    }
+
+    void close() {
+        closed = true;
+        executor.shutdown();
+        Runnable task;
+        while ((task = queue.poll()) != null) {
+            queued.decrementAndGet();
+            overflow.accept(task);
+        }
+    }
+
+    private void startWorkers() {
+        // a worker that holds a permit but runs nothing will poll the queue, so only start one per unclaimed task
+        while (queued.get() > idleWorkers() && permits.tryAcquire()) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException ex) {
+                permits.release();
+                return;
+            }
+        }
+    }
+
+    private int idleWorkers() {
+        return maxConcurrency - permits.availablePermits() - active.get();
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                // marked active before polling, so a worker that has just taken a task never looks idle
+                active.incrementAndGet();
+                Runnable task = queue.poll();
+                if (task == null) {
+                    active.decrementAndGet();
+                    break;
+                }
+                queued.decrementAndGet();
+                try {
+                    task.run();
+                } catch (Throwable ex) {
+                    failed.incrementAndGet();
+                    if (logger != null) {
+                        logger.log(Level.WARNING, "Async task failed: " + ex.getMessage(), ex);
+                    }
+                } finally {
+                    active.decrementAndGet();
+                    completed.incrementAndGet();
+                }
+            }
+        } finally {
+            permits.release();
+        }
+        // A task may have been queued after the last poll but before the permit was released
+        if (!queue.isEmpty() && !closed) {
+            startWorkers();
+        }
+    }
+
+    private static ExecutorService createExecutor(Logger logger) {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            Object executor = method.invoke(null);
+            if (executor instanceof ExecutorService service) {
+                if (logger != null) {
+                    logger.info("Velocity async lane uses virtual threads.");
+                }
+                return service;
+            }
+        } catch (ReflectiveOperationException | SecurityException ignored) {
+            // fall back below
+        }
+        if (logger != null) {
+            logger.info("Virtual threads unavailable, using cached thread pool for the Velocity async lane.");
+        }
+        return Executors.newCachedThreadPool(new NamedThreadFactory("bukkitspring-async-"));
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger(1);
+
+        private NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, prefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -3,16 +3,37 @@ package com.cuzz.bukkitspring.platform.velocity.scheduler;
 import com.cuzz.bukkitspring.platform.velocity.VelocitySpringPlugin;
 import com.cuzz.bukkitspring.spi.platform.PlatformScheduler;
 import com.velocitypowered.api.proxy.ProxyServer;
+import com.velocitypowered.api.scheduler.ScheduledTask;
 
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
 
 public final class VelocityPlatformScheduler implements PlatformScheduler {
     private final VelocitySpringPlugin plugin;
     private final ProxyServer server;
+    private final VelocityAsyncLane asyncLane;
 
     public VelocityPlatformScheduler(VelocitySpringPlugin plugin, ProxyServer server) {
+        this(plugin, server, null, false, 0, 0);
+    }
+
+    /**
+     * @param useAsyncLane run {@link #runAsync} on the virtual-thread lane instead of Velocity tasks
+     * @param maxConcurrency maximum number of async tasks running at once on the lane
+     * @param maxQueued maximum waiting tasks before falling back to Velocity tasks, non-positive for unbounded
+     */
+    public VelocityPlatformScheduler(VelocitySpringPlugin plugin,
+                                     ProxyServer server,
+                                     Logger logger,
+                                     boolean useAsyncLane,
+                                     int maxConcurrency,
+                                     int maxQueued) {
         this.plugin = Objects.requireNonNull(plugin, "plugin");
         this.server = Objects.requireNonNull(server, "server");
+        this.asyncLane = useAsyncLane
+                ? new VelocityAsyncLane(maxConcurrency, maxQueued, this::scheduleNow, logger)
+                : null;
     }
 
     @Override
@@ -28,6 +49,43 @@ public final class VelocityPlatformScheduler implements PlatformScheduler {
         if (task == null) {
             return;
         }
+        if (asyncLane != null) {
+            asyncLane.execute(task);
+            return;
+        }
+        scheduleNow(task);
+    }
+
+    public ScheduledTask runAsyncLater(Runnable task, long delay, TimeUnit unit) {
+        Objects.requireNonNull(task, "task");
+        return server.getScheduler().buildTask(plugin, task).delay(delay, unit).schedule();
+    }
+
+    public ScheduledTask runAsyncTimer(Runnable task, long delay, long period, TimeUnit unit) {
+        Objects.requireNonNull(task, "task");
+        return server.getScheduler().buildTask(plugin, task)
+                .delay(delay, unit)
+                .repeat(period, unit)
+                .schedule();
+    }
+
+    /**
+     * Lane counters. The scheduler is a built-in bean on Velocity, so inject
+     * {@code VelocityPlatformScheduler} instead of casting {@code PlatformContext#getScheduler()}.
+     *
+     * @return lane counters, or {@code null} when async tasks go through the Velocity scheduler
+     */
+    public AsyncLaneStats asyncStats() {
+        return asyncLane == null ? null : asyncLane.stats();
+    }
+
+    public void shutdown() {
+        if (asyncLane != null) {
+            asyncLane.close();
+        }
+    }
+
+    private void scheduleNow(Runnable task) {
         server.getScheduler().buildTask(plugin, task).schedule();
     }
 }
@@ -0,0 +1,262 @@
+package com.cuzz.bukkitspring.platform.velocity.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VelocityAsyncLaneTest {
+
+    @Test
+    public void tasksQueueUntilAWorkerDrainsThem() {
+        ManualExecutor executor = new ManualExecutor();
+        List<Runnable> overflow = new ArrayList<>();
+        VelocityAsyncLane lane = new VelocityAsyncLane(4, 0, overflow::add, null, executor);
+        List<Integer> ran = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            int id = i;
+            lane.execute(() -> ran.add(id));
+        }
+
+        AsyncLaneStats stats = lane.stats();
+        assertEquals(3, stats.queued);
+        assertEquals(3, stats.peakQueued);
+        assertEquals(3L, stats.submitted);
+        assertEquals(0L, stats.completed);
+        assertTrue(ran.isEmpty());
+
+        executor.runAll();
+
+        stats = lane.stats();
+        assertEquals(List.of(0, 1, 2), ran);
+        assertEquals(0, stats.queued);
+        assertEquals(3, stats.peakQueued);
+        assertEquals(3L, stats.completed);
+        assertTrue(overflow.isEmpty());
+    }
+
+    @Test
+    public void workersNeverExceedMaxConcurrency() {
+        ManualExecutor executor = new ManualExecutor();
+        VelocityAsyncLane lane = new VelocityAsyncLane(2, 0, task -> {
+            throw new AssertionError("unexpected overflow");
+        }, null, executor);
+        for (int i = 0; i < 10; i++) {
+            lane.execute(() -> {
+            });
+        }
+        assertEquals(2, executor.pending());
+        assertEquals(2, executor.started);
+
+        // one worker drains the whole queue, the other finds it empty and gives its permit back
+        executor.runAll();
+        assertEquals(10L, lane.stats().completed);
+
+        lane.execute(() -> {
+        });
+        assertEquals(1, executor.pending());
+        assertEquals(3, executor.started);
+    }
+
+    @Test
+    public void concurrentSubmittersRunEveryTaskWithinTheLimit() throws Exception {
+        ExecutorService workers = Executors.newCachedThreadPool();
+        ExecutorService submitters = Executors.newFixedThreadPool(8);
+        VelocityAsyncLane lane = new VelocityAsyncLane(4, 0, task -> {
+            throw new AssertionError("unexpected overflow");
+        }, null, workers);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(8 * 250);
+        try {
+            for (int t = 0; t < 8; t++) {
+                submitters.execute(() -> {
+                    for (int i = 0; i < 250; i++) {
+                        lane.execute(() -> {
+                            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            Thread.yield();
+                            running.decrementAndGet();
+                            done.countDown();
+                        });
+                    }
+                });
+            }
+            assertTrue(done.await(30, TimeUnit.SECONDS), lane.stats().toString());
+            assertTrue(peak.get() <= 4, "peak " + peak.get());
+            assertEquals(2000L, lane.stats().completed);
+            assertEquals(0, lane.stats().queued);
+        } finally {
+            submitters.shutdownNow();
+            lane.close();
+        }
+    }
+
+    @Test
+    public void oneTaskStartsOneWorker() {
+        ManualExecutor executor = new ManualExecutor();
+        VelocityAsyncLane lane = new VelocityAsyncLane(256, 0, Runnable::run, null, executor);
+        lane.execute(() -> {
+        });
+        assertEquals(1, executor.pending());
+
+        lane.execute(() -> {
+        });
+        assertEquals(2, executor.pending());
+    }
+
+    @Test
+    public void activeCountsTheRunningTask() {
+        ManualExecutor executor = new ManualExecutor();
+        VelocityAsyncLane lane = new VelocityAsyncLane(1, 0, Runnable::run, null, executor);
+        List<AsyncLaneStats> seen = new ArrayList<>();
+        lane.execute(() -> seen.add(lane.stats()));
+        lane.execute(() -> seen.add(lane.stats()));
+
+        executor.runAll();
+
+        assertEquals(1, seen.get(0).active);
+        assertEquals(1, seen.get(0).queued);
+        assertEquals(1, seen.get(1).active);
+        assertEquals(0, seen.get(1).queued);
+        assertEquals(0, lane.stats().active);
+    }
+
+    @Test
+    public void tasksOverTheQueueLimitOverflow() {
+        ManualExecutor executor = new ManualExecutor();
+        List<Runnable> overflow = new ArrayList<>();
+        VelocityAsyncLane lane = new VelocityAsyncLane(1, 2, overflow::add, null, executor);
+        Runnable third = () -> {
+        };
+        lane.execute(() -> {
+        });
+        lane.execute(() -> {
+        });
+        lane.execute(third);
+
+        AsyncLaneStats stats = lane.stats();
+        assertEquals(List.of(third), overflow);
+        assertEquals(2, stats.queued);
+        assertEquals(1L, stats.overflowed);
+        assertEquals(3L, stats.submitted);
+    }
+
+    @Test
+    public void failedTasksAreCountedAndTheLaneKeepsGoing() {
+        ManualExecutor executor = new ManualExecutor();
+        VelocityAsyncLane lane = new VelocityAsyncLane(1, 0, Runnable::run, null, executor);
+        List<String> ran = new ArrayList<>();
+        lane.execute(() -> {
+            throw new IllegalStateException("boom");
+        });
+        lane.execute(() -> ran.add("after"));
+
+        executor.runAll();
+
+        AsyncLaneStats stats = lane.stats();
+        assertEquals(List.of("after"), ran);
+        assertEquals(1L, stats.failed);
+        assertEquals(2L, stats.completed);
+    }
+
+    @Test
+    public void closeHandsWaitingTasksToTheOverflow() {
+        ManualExecutor executor = new ManualExecutor();
+        List<Runnable> overflow = new ArrayList<>();
+        VelocityAsyncLane lane = new VelocityAsyncLane(1, 0, overflow::add, null, executor);
+        Runnable waiting = () -> {
+        };
+        Runnable late = () -> {
+        };
+        lane.execute(waiting);
+
+        lane.close();
+        lane.execute(late);
+
+        assertTrue(executor.isShutdown());
+        assertEquals(List.of(waiting, late), overflow);
+        assertEquals(0, lane.stats().queued);
+        assertEquals(1L, lane.stats().submitted);
+    }
+
+    @Test
+    public void rejectedWorkersGiveTheirPermitBack() {
+        ManualExecutor executor = new ManualExecutor();
+        VelocityAsyncLane lane = new VelocityAsyncLane(1, 0, Runnable::run, null, executor);
+        executor.rejectNext = true;
+        List<String> ran = new ArrayList<>();
+        lane.execute(() -> ran.add("first"));
+        assertEquals(0, executor.pending());
+
+        lane.execute(() -> ran.add("second"));
+        executor.runAll();
+
+        assertEquals(List.of("first", "second"), ran);
+    }
+
+    /**
+     * Executor that only runs workers when the test asks it to.
+     */
+    private static final class ManualExecutor extends AbstractExecutorService {
+        private final List<Runnable> workers = new ArrayList<>();
+        private int started;
+        private boolean rejectNext;
+        private boolean shutdown;
+
+        @Override
+        public void execute(Runnable command) {
+            if (shutdown || rejectNext) {
+                rejectNext = false;
+                throw new RejectedExecutionException("rejected");
+            }
+            started++;
+            workers.add(command);
+        }
+
+        int pending() {
+            return workers.size();
+        }
+
+        void runAll() {
+            while (!workers.isEmpty()) {
+                workers.remove(0).run();
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return new ArrayList<>(workers);
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown && workers.isEmpty();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return isTerminated();
+        }
+    }
+}
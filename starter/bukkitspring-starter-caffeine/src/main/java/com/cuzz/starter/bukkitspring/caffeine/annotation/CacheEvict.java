@@ -0,0 +1,29 @@
+package com.cuzz.starter.bukkitspring.caffeine.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Remove the key, or every entry, from the cache once the method returns normally.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CacheEvict {
+    String cache();
+
+    /**
+     * Key expression, see {@link Cacheable#key()}.
+     */
+    String key() default "";
+
+    boolean allEntries() default false;
+
+    /**
+     * Evict before the method runs, so the entry is removed even when it throws.
+     */
+    boolean beforeInvocation() default false;
+}
@@ -0,0 +1,19 @@
+package com.cuzz.starter.bukkitspring.caffeine.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Always invoke the method and store its result under the key; {@code #result} may be used in the key.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CachePut {
+    String cache();
+
+    String key() default "";
+}
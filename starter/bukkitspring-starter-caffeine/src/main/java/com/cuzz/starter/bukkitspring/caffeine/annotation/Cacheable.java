@@ -0,0 +1,29 @@
+package com.cuzz.starter.bukkitspring.caffeine.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Cache the result of a bean method in the {@code CaffeineService} cache named {@link #cache()}.
+ *
+ * <p>Concurrent calls with the same key share one invocation. Methods returning
+ * {@code CompletableFuture} or {@code CompletionStage} cache the future itself, so callers share
+ * the in-flight call. The bean must be injected through an interface declaring the method.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Cacheable {
+    String cache();
+
+    /**
+     * Comma separated parts forming the key: {@code #p0} / {@code #a0} for the first argument,
+     * {@code #name} when compiled with {@code -parameters}, property paths such as
+     * {@code #player.uniqueId} and {@code 'literal'} text. Several parts form a list key.
+     * Empty uses the only argument, or the list of all arguments.
+     */
+    String key() default "";
+}
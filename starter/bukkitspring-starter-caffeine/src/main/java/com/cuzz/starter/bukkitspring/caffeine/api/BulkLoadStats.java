@@ -0,0 +1,54 @@
+package com.cuzz.starter.bukkitspring.caffeine.api;
+
+/**
+ * Point-in-time counters of the coalescing loader behind a bulk loading cache.
+ */
+public final class BulkLoadStats {
+    public final long batches;
+    public final long keys;
+    public final long largestBatch;
+    public final long failedBatches;
+    /**
+     * Keys refreshed by the refresh-ahead sweep rather than on access.
+     */
+    public final long refreshAheadKeys;
+
+    public BulkLoadStats(long batches, long keys, long largestBatch, long failedBatches, long refreshAheadKeys) {
+        this.batches = batches;
+        this.keys = keys;
+        this.largestBatch = largestBatch;
+        this.failedBatches = failedBatches;
+        this.refreshAheadKeys = refreshAheadKeys;
+    }
+
+    public static BulkLoadStats empty() {
+        return new BulkLoadStats(0L, 0L, 0L, 0L, 0L);
+    }
+
+    public BulkLoadStats plus(BulkLoadStats other) {
+        return new BulkLoadStats(
+                batches + other.batches,
+                keys + other.keys,
+                Math.max(largestBatch, other.largestBatch),
+                failedBatches + other.failedBatches,
+                refreshAheadKeys + other.refreshAheadKeys
+        );
+    }
+
+    /**
+     * @return keys per backend call, 0 when nothing was loaded
+     */
+    public double averageBatchSize() {
+        return batches == 0 ? 0.0D : (double) keys / batches;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkLoadStats{batches=" + batches
+                + ", keys=" + keys
+                + ", largestBatch=" + largestBatch
+                + ", failedBatches=" + failedBatches
+                + ", refreshAheadKeys=" + refreshAheadKeys
+                + '}';
+    }
+}
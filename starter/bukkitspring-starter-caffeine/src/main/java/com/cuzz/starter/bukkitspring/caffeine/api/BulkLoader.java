@@ -0,0 +1,19 @@
+package com.cuzz.starter.bukkitspring.caffeine.api;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Batch backend lookup, e.g. one SQL {@code IN (...)} query or one Redis {@code MGET}.
+ *
+ * <p>Used by {@link CaffeineService#bulkLoadingCache(String, BulkLoader)}: loads and refreshes
+ * of single keys arriving within {@code caffeine.bulk-load.window-ms} are handed to one call.
+ */
+@FunctionalInterface
+public interface BulkLoader<K, V> {
+    /**
+     * @param keys distinct keys of one batch, never empty
+     * @return values found; keys missing from the map are treated as absent
+     */
+    Map<K, V> loadAll(Set<? extends K> keys) throws Exception;
+}
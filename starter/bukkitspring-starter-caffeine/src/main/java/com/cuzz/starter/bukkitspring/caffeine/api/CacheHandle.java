@@ -0,0 +1,36 @@
+package com.cuzz.starter.bukkitspring.caffeine.api;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Long-lived reference to the plain cache named {@link #name()}, for callers that would otherwise
+ * pass the name on every call.
+ *
+ * <p>Operations go straight to the bound cache without a name lookup. After
+ * {@link CaffeineService#destroyCache} the handle binds to a new cache of the same name on its next
+ * use, so it stays valid for as long as the service is open.
+ */
+public interface CacheHandle<K, V> {
+    String name();
+
+    Cache<K, V> cache();
+
+    AsyncCache<K, V> asyncCache();
+
+    V getIfPresent(K key);
+
+    V get(K key, Function<? super K, ? extends V> mappingFunction);
+
+    void put(K key, V value);
+
+    void invalidate(K key);
+
+    /**
+     * {@link CaffeineService#guardedGet} on this cache.
+     */
+    CompletableFuture<V> guardedGet(K key, Function<? super K, ? extends V> loader);
+}
@@ -0,0 +1,42 @@
+package com.cuzz.starter.bukkitspring.caffeine.api;
+
+/**
+ * Point-in-time byte accounting of a byte-bounded cache.
+ */
+public final class CacheMemoryStats {
+    /**
+     * Sum of the estimated sizes of the current entries.
+     */
+    public final long estimatedBytes;
+    /**
+     * Current byte limit: the spec's {@code maximumBytes}, or the share of the global budget.
+     */
+    public final long maximumBytes;
+    public final long evictedBytes;
+
+    public CacheMemoryStats(long estimatedBytes, long maximumBytes, long evictedBytes) {
+        this.estimatedBytes = estimatedBytes;
+        this.maximumBytes = maximumBytes;
+        this.evictedBytes = evictedBytes;
+    }
+
+    public static CacheMemoryStats empty() {
+        return new CacheMemoryStats(0L, 0L, 0L);
+    }
+
+    public CacheMemoryStats plus(CacheMemoryStats other) {
+        return new CacheMemoryStats(
+                estimatedBytes + other.estimatedBytes,
+                maximumBytes + other.maximumBytes,
+                evictedBytes + other.evictedBytes
+        );
+    }
+
+    @Override
+    public String toString() {
+        return "CacheMemoryStats{estimatedBytes=" + estimatedBytes
+                + ", maximumBytes=" + maximumBytes
+                + ", evictedBytes=" + evictedBytes
+                + '}';
+    }
+}
@@ -0,0 +1,12 @@
+package com.cuzz.starter.bukkitspring.caffeine.api;
+
+/**
+ * Converts cache values to bytes for stores outside the JVM heap (remote tiers, snapshots).
+ *
+ * <p>See {@link CacheValueCodecs} for built-in codecs.
+ */
+public interface CacheValueCodec<V> {
+    byte[] encode(V value);
+
+    V decode(byte[] bytes);
+}
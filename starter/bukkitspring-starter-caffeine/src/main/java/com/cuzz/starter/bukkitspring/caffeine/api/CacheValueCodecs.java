@@ -0,0 +1,91 @@
+package com.cuzz.starter.bukkitspring.caffeine.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Built-in {@link CacheValueCodec} implementations.
+ */
+public final class CacheValueCodecs {
+    private static final CacheValueCodec<String> UTF8 = new CacheValueCodec<>() {
+        @Override
+        public byte[] encode(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    private CacheValueCodecs() {
+    }
+
+    public static CacheValueCodec<String> utf8() {
+        return UTF8;
+    }
+
+    /**
+     * Java serialization codec resolving classes through the caller's loader, so values defined
+     * by a plugin can be decoded from starter threads.
+     */
+    public static <V extends Serializable> CacheValueCodec<V> javaSerialization(ClassLoader classLoader) {
+        return new JavaSerializationCodec<>(Objects.requireNonNull(classLoader, "classLoader"));
+    }
+
+    private static final class JavaSerializationCodec<V extends Serializable> implements CacheValueCodec<V> {
+        private final ClassLoader classLoader;
+
+        private JavaSerializationCodec(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public byte[] encode(V value) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+            try (ObjectOutputStream output = new ObjectOutputStream(buffer)) {
+                output.writeObject(value);
+            } catch (IOException ex) {
+                throw new IllegalStateException("Failed to serialize cache value: " + ex.getMessage(), ex);
+            }
+            return buffer.toByteArray();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V decode(byte[] bytes) {
+            try (ObjectInputStream input = new LoaderObjectInputStream(new ByteArrayInputStream(bytes), classLoader)) {
+                return (V) input.readObject();
+            } catch (IOException | ClassNotFoundException ex) {
+                throw new IllegalStateException("Failed to deserialize cache value: " + ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private static final class LoaderObjectInputStream extends ObjectInputStream {
+        private final ClassLoader classLoader;
+
+        private LoaderObjectInputStream(InputStream input, ClassLoader classLoader) throws IOException {
+            super(input);
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass descriptor) throws IOException, ClassNotFoundException {
+            try {
+                return Class.forName(descriptor.getName(), false, classLoader);
+            } catch (ClassNotFoundException ex) {
+                return super.resolveClass(descriptor);
+            }
+        }
+    }
+}
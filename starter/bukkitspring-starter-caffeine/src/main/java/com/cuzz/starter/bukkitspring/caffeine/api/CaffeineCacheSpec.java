@@ -1,6 +1,7 @@
 package com.cuzz.starter.bukkitspring.caffeine.api;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
 
 import java.time.Duration;
 
@@ -8,6 +9,9 @@ import java.time.Duration;
  * Caffeine cache build spec.
  */
 public final class CaffeineCacheSpec {
+    public static final long DEFAULT_OFF_HEAP_MAX_BYTES = 64L * 1024 * 1024;
+    public static final int DEFAULT_OFF_HEAP_SLAB_BYTES = 8 * 1024 * 1024;
+
     public final int initialCapacity;
     public final long maximumSize;
     public final long expireAfterWriteMillis;
@@ -17,6 +21,18 @@ public final class CaffeineCacheSpec {
     public final boolean weakValues;
     public final boolean softValues;
     public final boolean recordStats;
+    /**
+     * Direct memory budget of {@code CaffeineService.offHeapCache} for this name.
+     */
+    public final long offHeapMaxBytes;
+    /**
+     * Size of each direct buffer slab the off-heap store allocates on demand.
+     */
+    public final int offHeapSlabBytes;
+    /**
+     * Byte bound of the heap cache, estimated per entry; replaces {@code maximumSize} when positive.
+     */
+    public final long maximumBytes;
 
     public CaffeineCacheSpec(int initialCapacity,
                              long maximumSize,
@@ -27,6 +43,60 @@ public final class CaffeineCacheSpec {
                              boolean weakValues,
                              boolean softValues,
                              boolean recordStats) {
+        this(
+                initialCapacity,
+                maximumSize,
+                expireAfterWriteMillis,
+                expireAfterAccessMillis,
+                refreshAfterWriteMillis,
+                weakKeys,
+                weakValues,
+                softValues,
+                recordStats,
+                DEFAULT_OFF_HEAP_MAX_BYTES,
+                DEFAULT_OFF_HEAP_SLAB_BYTES
+        );
+    }
+
+    public CaffeineCacheSpec(int initialCapacity,
+                             long maximumSize,
+                             long expireAfterWriteMillis,
+                             long expireAfterAccessMillis,
+                             long refreshAfterWriteMillis,
+                             boolean weakKeys,
+                             boolean weakValues,
+                             boolean softValues,
+                             boolean recordStats,
+                             long offHeapMaxBytes,
+                             int offHeapSlabBytes) {
+        this(
+                initialCapacity,
+                maximumSize,
+                expireAfterWriteMillis,
+                expireAfterAccessMillis,
+                refreshAfterWriteMillis,
+                weakKeys,
+                weakValues,
+                softValues,
+                recordStats,
+                offHeapMaxBytes,
+                offHeapSlabBytes,
+                0L
+        );
+    }
+
+    public CaffeineCacheSpec(int initialCapacity,
+                             long maximumSize,
+                             long expireAfterWriteMillis,
+                             long expireAfterAccessMillis,
+                             long refreshAfterWriteMillis,
+                             boolean weakKeys,
+                             boolean weakValues,
+                             boolean softValues,
+                             boolean recordStats,
+                             long offHeapMaxBytes,
+                             int offHeapSlabBytes,
+                             long maximumBytes) {
         this.initialCapacity = normalizeInt(initialCapacity);
         this.maximumSize = normalizeLong(maximumSize);
         this.expireAfterWriteMillis = normalizeLong(expireAfterWriteMillis);
@@ -36,6 +106,9 @@ public final class CaffeineCacheSpec {
         this.weakValues = weakValues;
         this.softValues = !weakValues && softValues;
         this.recordStats = recordStats;
+        this.offHeapMaxBytes = offHeapMaxBytes > 0 ? offHeapMaxBytes : DEFAULT_OFF_HEAP_MAX_BYTES;
+        this.offHeapSlabBytes = offHeapSlabBytes > 0 ? offHeapSlabBytes : DEFAULT_OFF_HEAP_SLAB_BYTES;
+        this.maximumBytes = normalizeLong(maximumBytes);
     }
 
     public static CaffeineCacheSpec defaults() {
@@ -53,11 +126,22 @@ public final class CaffeineCacheSpec {
     }
 
     public Caffeine<Object, Object> newBuilder() {
+        ObjectSizeEstimator estimator = ObjectSizeEstimator.defaultEstimator();
+        return newBuilder(estimator::weigh, maximumBytes);
+    }
+
+    /**
+     * Builder bounded by {@code maximumWeight} using {@code weigher} when it is positive, otherwise by
+     * {@code maximumSize}.
+     */
+    public Caffeine<Object, Object> newBuilder(Weigher<Object, Object> weigher, long maximumWeight) {
         Caffeine<Object, Object> builder = Caffeine.newBuilder();
         if (initialCapacity > 0) {
             builder.initialCapacity(initialCapacity);
         }
-        if (maximumSize > 0) {
+        if (maximumWeight > 0) {
+            builder.maximumWeight(maximumWeight).weigher(weigher);
+        } else if (maximumSize > 0) {
             builder.maximumSize(maximumSize);
         }
         if (expireAfterWriteMillis > 0) {
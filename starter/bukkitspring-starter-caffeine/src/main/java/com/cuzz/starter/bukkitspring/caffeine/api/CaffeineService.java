@@ -56,12 +56,120 @@ public interface CaffeineService extends AutoCloseable {
 
     CaffeineCacheSpec resolveSpec(String cacheName);
 
+    /**
+     * Live, read-only view of the default cache name and every name with a cache of any kind.
+     */
     Set<String> cacheNames();
 
+    /**
+     * Handle of the plain cache named {@code cacheName}; the same handle is returned for a name
+     * until its cache is destroyed.
+     */
+    <K, V> CacheHandle<K, V> handle(String cacheName);
+
     void destroyCache(String cacheName);
 
     void destroyAllCaches();
 
+    /**
+     * Create (or return the existing) loading cache named {@code cacheName} whose single-key loads
+     * and refreshes are coalesced into {@link BulkLoader} batches (see {@code caffeine.bulk-load}).
+     * When the spec sets {@code refreshAfterWriteMillis}, entries are also refreshed ahead of reads.
+     */
+    <K, V> LoadingCache<K, V> bulkLoadingCache(String cacheName, BulkLoader<K, V> loader);
+
+    /**
+     * Asynchronous variant of {@link #bulkLoadingCache(String, BulkLoader)}; callers never block on the window.
+     */
+    <K, V> AsyncLoadingCache<K, V> bulkAsyncLoadingCache(String cacheName, BulkLoader<K, V> loader);
+
+    /**
+     * Batch counters of the bulk loading caches named {@code cacheName}, merged; empty when there are none.
+     */
+    BulkLoadStats bulkLoadStats(String cacheName);
+
+    /**
+     * Create (or return the existing) two-level cache named {@code cacheName}.
+     *
+     * <p>L1 is a dedicated Caffeine cache built from the named spec; L2 entries expire after
+     * the spec's {@code expireAfterWriteMillis} when set.
+     */
+    <K, V> TieredCache<K, V> tieredCache(String cacheName,
+                                         RemoteCacheStore remote,
+                                         CacheValueCodec<V> codec,
+                                         Function<? super K, String> keyMapper);
+
+    default <K, V> TieredCache<K, V> tieredCache(String cacheName, RemoteCacheStore remote, CacheValueCodec<V> codec) {
+        return tieredCache(cacheName, remote, codec, String::valueOf);
+    }
+
+    /**
+     * Create (or return the existing) off-heap cache named {@code cacheName}.
+     *
+     * <p>Values are stored in direct memory up to the spec's {@code offHeapMaxBytes}; expiry
+     * settings of the spec apply, {@code maximumSize} and reference strength do not.
+     */
+    <K, V> OffHeapCache<K, V> offHeapCache(String cacheName, CacheValueCodec<V> codec);
+
+    /**
+     * Create (or return the existing) cache named {@code cacheName} keyed by primitive {@code long}s.
+     * Uses the spec's {@code initialCapacity}, {@code maximumSize} and {@code expireAfterWriteMillis}.
+     */
+    <V> LongKeyCache<V> longKeyCache(String cacheName);
+
+    /**
+     * Create (or return the existing) UUID-keyed cache named {@code cacheName}; see {@link #longKeyCache(String)}.
+     */
+    <V> UuidKeyCache<V> uuidKeyCache(String cacheName);
+
+    /**
+     * Size {@code type} (and subtypes) with {@code sizer} instead of walking its fields when weighing
+     * entries of byte-bounded caches. Applies to entries written afterwards.
+     */
+    <T> void registerSizer(Class<T> type, ObjectSizer<? super T> sizer);
+
+    /**
+     * Estimated bytes, byte limit and evicted bytes of the caches named {@code cacheName}; empty
+     * unless the spec sets {@code maximumBytes} or {@code caffeine.memory-budget.max-bytes} is set.
+     */
+    CacheMemoryStats memoryStats(String cacheName);
+
+    /**
+     * Single-flight get on the cache named {@code cacheName}, the same cache {@link #getCache} and
+     * {@link #getAsyncCache} return.
+     *
+     * <p>Concurrent requests for a key share one loader call, which runs on the executor without
+     * holding a hash bin lock. At most {@code caffeine.load-guard.max-concurrent-loads} loaders run at
+     * once per cache; further loads queue, or fail with {@code RejectedExecutionException} when
+     * {@code fail-fast} is set. With {@code stale-while-revalidate} or {@code serve-stale-on-error},
+     * the last loaded value answers while the key reloads or after the load failed.
+     */
+    CompletableFuture<Object> guardedGet(String cacheName, Object key, Function<Object, Object> loader);
+
+    LoadGuardStats loadGuardStats(String cacheName);
+
+    /**
+     * Codec used for both keys and values of {@code cacheName} in warm-start snapshots.
+     * Java serialization is used when none is registered; entries it rejects are skipped.
+     */
+    void registerSnapshotCodec(String cacheName, CacheValueCodec<Object> codec);
+
+    /**
+     * Write the hottest {@code caffeine.snapshot.max-entries} entries of {@code cacheName}
+     * to its snapshot file. Configured caches are written automatically on {@link #close()}.
+     *
+     * @return number of entries written, 0 when snapshots are disabled
+     */
+    int writeSnapshot(String cacheName);
+
+    /**
+     * Load the snapshot of {@code cacheName} on the cache executor. Entries already present are
+     * kept. Configured caches are restored automatically when the service starts.
+     *
+     * @return future of the number of entries restored
+     */
+    CompletableFuture<Integer> restoreSnapshot(String cacheName);
+
     default CompletableFuture<Void> runAsync(Runnable task) {
         return CompletableFuture.runAsync(task, executor());
     }
@@ -0,0 +1,54 @@
+package com.cuzz.starter.bukkitspring.caffeine.api;
+
+/**
+ * Point-in-time counters of the single-flight load guard of one cache.
+ */
+public final class LoadGuardStats {
+    /**
+     * Loader invocations; concurrent requests for one key share a single load.
+     */
+    public final long loads;
+    public final long loadFailures;
+    /**
+     * Loads refused because {@code max-concurrent-loads} was reached with {@code fail-fast} on.
+     */
+    public final long rejectedLoads;
+    /**
+     * Requests answered with a stale value while the key was reloaded in the background.
+     */
+    public final long staleWhileRevalidate;
+    /**
+     * Requests answered with a stale value because the load failed.
+     */
+    public final long staleOnError;
+    public final int peakConcurrentLoads;
+
+    public LoadGuardStats(long loads,
+                          long loadFailures,
+                          long rejectedLoads,
+                          long staleWhileRevalidate,
+                          long staleOnError,
+                          int peakConcurrentLoads) {
+        this.loads = loads;
+        this.loadFailures = loadFailures;
+        this.rejectedLoads = rejectedLoads;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.staleOnError = staleOnError;
+        this.peakConcurrentLoads = peakConcurrentLoads;
+    }
+
+    public static LoadGuardStats empty() {
+        return new LoadGuardStats(0L, 0L, 0L, 0L, 0L, 0);
+    }
+
+    @Override
+    public String toString() {
+        return "LoadGuardStats{loads=" + loads
+                + ", loadFailures=" + loadFailures
+                + ", rejectedLoads=" + rejectedLoads
+                + ", staleWhileRevalidate=" + staleWhileRevalidate
+                + ", staleOnError=" + staleOnError
+                + ", peakConcurrentLoads=" + peakConcurrentLoads
+                + '}';
+    }
+}
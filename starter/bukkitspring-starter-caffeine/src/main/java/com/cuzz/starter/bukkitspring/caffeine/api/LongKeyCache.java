@@ -0,0 +1,41 @@
+package com.cuzz.starter.bukkitspring.caffeine.api;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.util.function.LongFunction;
+
+/**
+ * Cache keyed by a primitive {@code long} (entity ids, packed chunk coordinates) that never boxes
+ * the key.
+ *
+ * <p>Entries live in striped open-addressing tables. The named spec's {@code maximumSize} is
+ * enforced with a CLOCK (second chance) policy and {@code expireAfterWriteMillis} with a write
+ * timestamp per entry; other spec settings do not apply.
+ */
+public interface LongKeyCache<V> extends AutoCloseable {
+    String name();
+
+    V getIfPresent(long key);
+
+    /**
+     * Return the cached value or compute it with {@code loader}. The loader runs without holding
+     * a lock, so concurrent misses on one key may each call it; the first stored value wins.
+     */
+    V get(long key, LongFunction<? extends V> loader);
+
+    void put(long key, V value);
+
+    void invalidate(long key);
+
+    void invalidateAll();
+
+    long estimatedSize();
+
+    /**
+     * Hits, misses, loads and evictions; load time is not tracked.
+     */
+    CacheStats stats();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,283 @@
+package com.cuzz.starter.bukkitspring.caffeine.api;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Estimates the retained heap size of cache keys and values, used as the weigher of byte-bounded caches.
+ *
+ * <p>Sizes follow HotSpot's layout the way JOL reports it: an object header, fields rounded up to
+ * their primitive or reference width and the total aligned to 8 bytes. The estimator walks the
+ * object graph from the root and counts every reachable object once. JDK classes whose fields are
+ * not open to reflection count their shallow size; collections and maps among them are walked
+ * through their public API with a fixed per-element overhead. Enum constants and {@link Class}
+ * objects are shared and count as 0.
+ *
+ * <p>The walk stops after a fixed number of objects, so huge graphs are underestimated; register an
+ * {@link ObjectSizer} for such types. Sizers match the exact class first, then superclasses, then
+ * interfaces.
+ */
+public final class ObjectSizeEstimator {
+    /**
+     * Rough cost of one Caffeine node plus its hash table slot, added once per entry by {@link #weigh}.
+     */
+    public static final int ENTRY_OVERHEAD_BYTES = 64;
+    public static final int DEFAULT_MAX_OBJECTS = 4_096;
+
+    private static final ObjectSizeEstimator DEFAULT = new ObjectSizeEstimator();
+    private static final int REFERENCE_BYTES = detectCompressedOops() ? 4 : 8;
+    private static final int OBJECT_HEADER_BYTES = 12;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int MAP_NODE_BYTES = 32;
+
+    private final int maxObjects;
+    private final ConcurrentMap<Class<?>, ObjectSizer<Object>> sizers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, Optional<ObjectSizer<Object>>> resolvedSizers = new ConcurrentHashMap<>();
+    private final ClassValue<Layout> layouts = new ClassValue<>() {
+        @Override
+        protected Layout computeValue(Class<?> type) {
+            return Layout.of(type);
+        }
+    };
+
+    public ObjectSizeEstimator() {
+        this(DEFAULT_MAX_OBJECTS);
+    }
+
+    /**
+     * @param maxObjects objects visited per estimate before the walk stops
+     */
+    public ObjectSizeEstimator(int maxObjects) {
+        this.maxObjects = Math.max(1, maxObjects);
+    }
+
+    /**
+     * Shared estimator without registered sizers, used by {@link CaffeineCacheSpec#newBuilder()}.
+     */
+    public static ObjectSizeEstimator defaultEstimator() {
+        return DEFAULT;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> void registerSizer(Class<T> type, ObjectSizer<? super T> sizer) {
+        sizers.put(type, (ObjectSizer<Object>) sizer);
+        resolvedSizers.clear();
+    }
+
+    /**
+     * Weight of one cache entry in bytes, saturating at {@link Integer#MAX_VALUE}.
+     */
+    public int weigh(Object key, Object value) {
+        return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD_BYTES + estimate(key) + estimate(value));
+    }
+
+    /**
+     * @return estimated bytes retained by {@code root}, 0 for {@code null}
+     */
+    public long estimate(Object root) {
+        if (root == null) {
+            return 0L;
+        }
+        IdentityHashMap<Object, Boolean> visited = new IdentityHashMap<>();
+        ArrayDeque<Object> pending = new ArrayDeque<>();
+        pending.push(root);
+        long total = 0L;
+        while (!pending.isEmpty() && visited.size() < maxObjects) {
+            Object current = pending.pop();
+            if (visited.put(current, Boolean.TRUE) == null) {
+                total += sizeOf(current, pending);
+            }
+        }
+        return total;
+    }
+
+    private long sizeOf(Object object, ArrayDeque<Object> pending) {
+        Class<?> type = object.getClass();
+        ObjectSizer<Object> sizer = sizerFor(type);
+        if (sizer != null) {
+            return Math.max(0L, sizer.sizeOf(object));
+        }
+        if (type.isArray()) {
+            return arraySize(object, type.getComponentType(), pending);
+        }
+        if (object instanceof Class<?> || object instanceof Enum<?>) {
+            return 0L;
+        }
+        Layout layout = layouts.get(type);
+        if (object instanceof String text) {
+            return layout.shallowBytes + align(ARRAY_HEADER_BYTES + (long) text.length() * (isLatin1(text) ? 1 : 2));
+        }
+        if (layout.readable) {
+            for (Field field : layout.references) {
+                try {
+                    Object child = field.get(object);
+                    if (child != null) {
+                        pending.push(child);
+                    }
+                } catch (IllegalAccessException ignored) {
+                    // field became inaccessible; count the shallow size only
+                }
+            }
+            return layout.shallowBytes;
+        }
+        try {
+            if (object instanceof Map<?, ?> map) {
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    pushIfPresent(pending, entry.getKey());
+                    pushIfPresent(pending, entry.getValue());
+                }
+                return layout.shallowBytes + (long) map.size() * (MAP_NODE_BYTES + 2L * REFERENCE_BYTES);
+            }
+            if (object instanceof Collection<?> collection) {
+                for (Object element : collection) {
+                    pushIfPresent(pending, element);
+                }
+                return layout.shallowBytes + align(ARRAY_HEADER_BYTES + (long) collection.size() * REFERENCE_BYTES);
+            }
+        } catch (RuntimeException ex) {
+            // concurrently modified or lazily computed collection; keep what was counted
+        }
+        return layout.shallowBytes;
+    }
+
+    private static long arraySize(Object array, Class<?> componentType, ArrayDeque<Object> pending) {
+        int length = Array.getLength(array);
+        if (componentType.isPrimitive()) {
+            return align(ARRAY_HEADER_BYTES + (long) length * primitiveBytes(componentType));
+        }
+        for (Object element : (Object[]) array) {
+            pushIfPresent(pending, element);
+        }
+        return align(ARRAY_HEADER_BYTES + (long) length * REFERENCE_BYTES);
+    }
+
+    private ObjectSizer<Object> sizerFor(Class<?> type) {
+        if (sizers.isEmpty()) {
+            return null;
+        }
+        return resolvedSizers.computeIfAbsent(type, this::resolveSizer).orElse(null);
+    }
+
+    private Optional<ObjectSizer<Object>> resolveSizer(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            ObjectSizer<Object> sizer = sizers.get(current);
+            if (sizer != null) {
+                return Optional.of(sizer);
+            }
+        }
+        ArrayDeque<Class<?>> interfaces = new ArrayDeque<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            interfaces.addAll(List.of(current.getInterfaces()));
+        }
+        while (!interfaces.isEmpty()) {
+            Class<?> candidate = interfaces.poll();
+            ObjectSizer<Object> sizer = sizers.get(candidate);
+            if (sizer != null) {
+                return Optional.of(sizer);
+            }
+            interfaces.addAll(List.of(candidate.getInterfaces()));
+        }
+        return Optional.empty();
+    }
+
+    private static void pushIfPresent(ArrayDeque<Object> pending, Object value) {
+        if (value != null) {
+            pending.push(value);
+        }
+    }
+
+    private static boolean isLatin1(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int primitiveBytes(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7L) & ~7L;
+    }
+
+    private static boolean detectCompressedOops() {
+        try {
+            HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return bean == null || Boolean.parseBoolean(bean.getVMOption("UseCompressedOops").getValue());
+        } catch (RuntimeException | LinkageError ex) {
+            return true;
+        }
+    }
+
+    /**
+     * Shallow size and reference fields of one class, including inherited fields.
+     */
+    private static final class Layout {
+        private final long shallowBytes;
+        private final Field[] references;
+        private final boolean readable;
+
+        private Layout(long shallowBytes, Field[] references, boolean readable) {
+            this.shallowBytes = shallowBytes;
+            this.references = references;
+            this.readable = readable;
+        }
+
+        private static Layout of(Class<?> type) {
+            long bytes = OBJECT_HEADER_BYTES;
+            List<Field> references = new ArrayList<>();
+            boolean readable = true;
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    Class<?> fieldType = field.getType();
+                    if (fieldType.isPrimitive()) {
+                        bytes += primitiveBytes(fieldType);
+                        continue;
+                    }
+                    bytes += REFERENCE_BYTES;
+                    if (readable && !trySetAccessible(field)) {
+                        readable = false;
+                    }
+                    references.add(field);
+                }
+            }
+            return new Layout(align(bytes), readable ? references.toArray(new Field[0]) : new Field[0], readable);
+        }
+
+        private static boolean trySetAccessible(Field field) {
+            try {
+                return field.trySetAccessible();
+            } catch (SecurityException ex) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.cuzz.starter.bukkitspring.caffeine.api;
+
+/**
+ * Retained size of one value type, for types whose size is known better than a field walk can
+ * estimate (NBT compounds, serialized blobs, pooled buffers).
+ *
+ * @see ObjectSizeEstimator#registerSizer(Class, ObjectSizer)
+ */
+@FunctionalInterface
+public interface ObjectSizer<T> {
+    /**
+     * @return bytes retained by {@code value}, including everything it alone references
+     */
+    long sizeOf(T value);
+}
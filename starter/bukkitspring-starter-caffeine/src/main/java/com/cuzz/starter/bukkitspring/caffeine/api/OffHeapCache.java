@@ -0,0 +1,36 @@
+package com.cuzz.starter.bukkitspring.caffeine.api;
+
+import java.util.function.Function;
+
+/**
+ * Cache whose values live in direct memory slabs instead of the Java heap.
+ *
+ * <p>Only keys and 8-byte pointers stay on heap in a Caffeine index, so very large caches no
+ * longer add to GC marking work. Values are encoded with the {@link CacheValueCodec} given at
+ * creation on every write and decoded on every read; eviction is by the direct memory budget
+ * ({@code off-heap-max-bytes}) of the named spec. A value that cannot be placed in the budget
+ * is returned to the caller but not cached.
+ */
+public interface OffHeapCache<K, V> extends AutoCloseable {
+    String name();
+
+    V getIfPresent(K key);
+
+    V get(K key, Function<? super K, ? extends V> loader);
+
+    void put(K key, V value);
+
+    void invalidate(K key);
+
+    void invalidateAll();
+
+    long estimatedSize();
+
+    OffHeapCacheStats stats();
+
+    /**
+     * Drop every entry and release the slabs.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,67 @@
+package com.cuzz.starter.bukkitspring.caffeine.api;
+
+/**
+ * Point-in-time counters and direct memory footprint of an {@link OffHeapCache}.
+ */
+public final class OffHeapCacheStats {
+    public final long entries;
+    public final long hits;
+    public final long misses;
+    /**
+     * Reads that raced with eviction of the same entry and were treated as misses.
+     */
+    public final long staleReads;
+    public final long allocationFailures;
+    public final long capacityBytes;
+    /**
+     * Direct memory allocated as slabs so far.
+     */
+    public final long reservedBytes;
+    /**
+     * Bytes held by live chunks, including headers and size-class rounding.
+     */
+    public final long usedBytes;
+
+    public OffHeapCacheStats(long entries,
+                             long hits,
+                             long misses,
+                             long staleReads,
+                             long allocationFailures,
+                             long capacityBytes,
+                             long reservedBytes,
+                             long usedBytes) {
+        this.entries = entries;
+        this.hits = hits;
+        this.misses = misses;
+        this.staleReads = staleReads;
+        this.allocationFailures = allocationFailures;
+        this.capacityBytes = capacityBytes;
+        this.reservedBytes = reservedBytes;
+        this.usedBytes = usedBytes;
+    }
+
+    public long requests() {
+        return hits + misses;
+    }
+
+    /**
+     * @return fraction of requests served from the cache, 1.0 when there were no requests
+     */
+    public double hitRate() {
+        long requests = requests();
+        return requests == 0 ? 1.0D : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapCacheStats{entries=" + entries
+                + ", hits=" + hits
+                + ", misses=" + misses
+                + ", staleReads=" + staleReads
+                + ", allocationFailures=" + allocationFailures
+                + ", capacityBytes=" + capacityBytes
+                + ", reservedBytes=" + reservedBytes
+                + ", usedBytes=" + usedBytes
+                + '}';
+    }
+}
@@ -0,0 +1,30 @@
+package com.cuzz.starter.bukkitspring.caffeine.api;
+
+import java.util.function.Consumer;
+
+/**
+ * Shared second-level store behind a {@link TieredCache}, plus the broadcast channel used to
+ * evict first-level copies on other nodes.
+ *
+ * <p>{@code com.cuzz.starter.bukkitspring.caffeine.redis.RedisRemoteCacheStore} adapts the
+ * Redis starter when it is installed.
+ */
+public interface RemoteCacheStore {
+    byte[] get(String key);
+
+    /**
+     * @param ttlMillis time to live, non-positive for no expiration
+     */
+    void set(String key, byte[] value, long ttlMillis);
+
+    void delete(String key);
+
+    void publish(String channel, String message);
+
+    /**
+     * Deliver messages of {@code channel} to {@code listener} until the returned handle is closed.
+     * The listener must be registered by the time this returns, so closing the handle right away
+     * cannot race a subscription that is still starting.
+     */
+    AutoCloseable subscribe(String channel, Consumer<String> listener);
+}
@@ -0,0 +1,32 @@
+package com.cuzz.starter.bukkitspring.caffeine.api;
+
+import java.util.function.Function;
+
+/**
+ * Two-level cache: a per-node Caffeine cache (L1) in front of a shared {@link RemoteCacheStore} (L2).
+ *
+ * <p>Reads check L1, then L2, then the loader. Writes go to both levels, and every write or
+ * invalidation is broadcast so other nodes drop their L1 copy. Keys are converted to strings
+ * with the key mapper given at creation ({@link String#valueOf} by default).
+ */
+public interface TieredCache<K, V> extends AutoCloseable {
+    String name();
+
+    V getIfPresent(K key);
+
+    V get(K key, Function<? super K, ? extends V> loader);
+
+    void put(K key, V value);
+
+    void invalidate(K key);
+
+    /**
+     * Clear L1 on every node. L2 entries are left to expire by their time to live.
+     */
+    void invalidateAll();
+
+    TieredCacheStats stats();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,54 @@
+package com.cuzz.starter.bukkitspring.caffeine.api;
+
+/**
+ * Point-in-time counters of a {@link TieredCache}.
+ */
+public final class TieredCacheStats {
+    public final long l1Hits;
+    public final long l2Hits;
+    public final long misses;
+    public final long remoteErrors;
+    public final long invalidationsSent;
+    public final long invalidationsReceived;
+    public final long averageRemoteReadNanos;
+
+    public TieredCacheStats(long l1Hits,
+                            long l2Hits,
+                            long misses,
+                            long remoteErrors,
+                            long invalidationsSent,
+                            long invalidationsReceived,
+                            long averageRemoteReadNanos) {
+        this.l1Hits = l1Hits;
+        this.l2Hits = l2Hits;
+        this.misses = misses;
+        this.remoteErrors = remoteErrors;
+        this.invalidationsSent = invalidationsSent;
+        this.invalidationsReceived = invalidationsReceived;
+        this.averageRemoteReadNanos = averageRemoteReadNanos;
+    }
+
+    public long requests() {
+        return l1Hits + l2Hits + misses;
+    }
+
+    /**
+     * @return fraction of requests served by either level, 1.0 when there were no requests
+     */
+    public double hitRate() {
+        long requests = requests();
+        return requests == 0 ? 1.0D : (double) (l1Hits + l2Hits) / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "TieredCacheStats{l1Hits=" + l1Hits
+                + ", l2Hits=" + l2Hits
+                + ", misses=" + misses
+                + ", remoteErrors=" + remoteErrors
+                + ", invalidationsSent=" + invalidationsSent
+                + ", invalidationsReceived=" + invalidationsReceived
+                + ", averageRemoteReadNanos=" + averageRemoteReadNanos
+                + '}';
+    }
+}
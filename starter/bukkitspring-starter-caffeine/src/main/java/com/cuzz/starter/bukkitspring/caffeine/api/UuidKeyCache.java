@@ -0,0 +1,40 @@
+package com.cuzz.starter.bukkitspring.caffeine.api;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Cache keyed by a {@link UUID} stored as its two {@code long} halves.
+ *
+ * <p>Same storage and eviction as {@link LongKeyCache}. The {@code (mostSigBits, leastSigBits)}
+ * overloads let callers that already hold the raw halves skip the {@link UUID} allocation.
+ */
+public interface UuidKeyCache<V> extends AutoCloseable {
+    String name();
+
+    V getIfPresent(UUID key);
+
+    V getIfPresent(long mostSigBits, long leastSigBits);
+
+    /**
+     * Return the cached value or compute it with {@code loader}; see {@link LongKeyCache#get(long, java.util.function.LongFunction)}.
+     */
+    V get(UUID key, Function<? super UUID, ? extends V> loader);
+
+    void put(UUID key, V value);
+
+    void put(long mostSigBits, long leastSigBits, V value);
+
+    void invalidate(UUID key);
+
+    void invalidateAll();
+
+    long estimatedSize();
+
+    CacheStats stats();
+
+    @Override
+    void close();
+}
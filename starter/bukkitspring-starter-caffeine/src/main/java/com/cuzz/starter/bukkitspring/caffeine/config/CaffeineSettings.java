@@ -15,23 +15,109 @@ public final class CaffeineSettings {
     private static final int MAX_INITIAL_CAPACITY = 1_000_000;
     private static final long MAX_MAXIMUM_SIZE = 100_000_000L;
     private static final long MAX_DURATION_MILLIS = 31_536_000_000L;
+    private static final long MIN_OFF_HEAP_BYTES = 1024L * 1024;
+    private static final long MAX_OFF_HEAP_BYTES = 1L << 40;
+    private static final int MIN_OFF_HEAP_SLAB_BYTES = 64 * 1024;
+    private static final int MAX_OFF_HEAP_SLAB_BYTES = 256 * 1024 * 1024;
+    private static final int MAX_SNAPSHOT_ENTRIES = 1_000_000;
+    private static final long MAX_BULK_LOAD_WINDOW_MILLIS = 1_000L;
+    private static final int MAX_BULK_LOAD_BATCH_SIZE = 100_000;
+    private static final long MAX_MEMORY_BYTES = 1L << 40;
+    private static final long MIN_REBALANCE_MILLIS = 100L;
+    private static final int MAX_CONCURRENT_LOADS = 10_000;
 
     public final boolean enabled;
     public final boolean useVirtualThreads;
     public final String defaultCacheName;
     public final CaffeineCacheSpec defaultCacheSpec;
     public final Map<String, CaffeineCacheSpec> namedCacheSpecs;
+    public final String tieredKeyPrefix;
+    public final String tieredChannelPrefix;
+    public final boolean snapshotEnabled;
+    /**
+     * Snapshot directory, relative to the plugin data directory unless absolute.
+     */
+    public final String snapshotDirectory;
+    public final int snapshotMaxEntries;
+    /**
+     * Export cache stats to the Prometheus default registry when simpleclient is present.
+     */
+    public final boolean metricsEnabled;
+    /**
+     * How long bulk loading caches collect single-key loads before calling the batch loader.
+     */
+    public final long bulkLoadWindowMillis;
+    public final int bulkLoadMaxBatchSize;
+    /**
+     * Age, in percent of {@code refresh-after-write-ms}, at which bulk loading caches refresh
+     * entries ahead of reads; 0 disables refresh-ahead.
+     */
+    public final int refreshAheadPercent;
+    /**
+     * Heap bytes shared by all caches the service builds, rebalanced between them; 0 disables.
+     */
+    public final long memoryBudgetBytes;
+    public final long memoryBudgetRebalanceMillis;
+    /**
+     * Loader calls {@code guardedGet} runs at once per cache; 0 removes the limit.
+     */
+    public final int maxConcurrentLoads;
+    /**
+     * Fail loads over {@code max-concurrent-loads} instead of queueing them.
+     */
+    public final boolean loadFailFast;
+    /**
+     * Answer misses with the last loaded value while the key reloads in the background.
+     */
+    public final boolean staleWhileRevalidate;
+    public final boolean serveStaleOnError;
+    /**
+     * How long loaded values stay usable as stale fallbacks.
+     */
+    public final long staleTtlMillis;
 
     private CaffeineSettings(boolean enabled,
                              boolean useVirtualThreads,
                              String defaultCacheName,
                              CaffeineCacheSpec defaultCacheSpec,
-                             Map<String, CaffeineCacheSpec> namedCacheSpecs) {
+                             Map<String, CaffeineCacheSpec> namedCacheSpecs,
+                             String tieredKeyPrefix,
+                             String tieredChannelPrefix,
+                             boolean snapshotEnabled,
+                             String snapshotDirectory,
+                             int snapshotMaxEntries,
+                             boolean metricsEnabled,
+                             long bulkLoadWindowMillis,
+                             int bulkLoadMaxBatchSize,
+                             int refreshAheadPercent,
+                             long memoryBudgetBytes,
+                             long memoryBudgetRebalanceMillis,
+                             int maxConcurrentLoads,
+                             boolean loadFailFast,
+                             boolean staleWhileRevalidate,
+                             boolean serveStaleOnError,
+                             long staleTtlMillis) {
         this.enabled = enabled;
         this.useVirtualThreads = useVirtualThreads;
         this.defaultCacheName = defaultCacheName;
         this.defaultCacheSpec = defaultCacheSpec;
         this.namedCacheSpecs = namedCacheSpecs;
+        this.tieredKeyPrefix = tieredKeyPrefix;
+        this.tieredChannelPrefix = tieredChannelPrefix;
+        this.snapshotEnabled = snapshotEnabled;
+        this.snapshotDirectory = snapshotDirectory;
+        this.snapshotMaxEntries = snapshotMaxEntries;
+        this.metricsEnabled = metricsEnabled;
+        this.bulkLoadWindowMillis = bulkLoadWindowMillis;
+        this.bulkLoadMaxBatchSize = bulkLoadMaxBatchSize;
+        this.refreshAheadPercent = refreshAheadPercent;
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.memoryBudgetRebalanceMillis = memoryBudgetRebalanceMillis;
+        this.maxConcurrentLoads = maxConcurrentLoads;
+        this.loadFailFast = loadFailFast;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.serveStaleOnError = serveStaleOnError;
+        this.staleTtlMillis = staleTtlMillis;
     }
 
     public static CaffeineSettings fromConfig(ConfigView config) {
@@ -42,8 +128,87 @@ public final class CaffeineSettings {
 
         CaffeineCacheSpec defaultSpec = readCacheSpec(safeConfig, "caffeine.default", CaffeineCacheSpec.defaults());
         Map<String, CaffeineCacheSpec> namedSpecs = readNamedCacheSpecs(safeConfig, defaultSpec);
+        String tieredKeyPrefix = normalizeOrDefault(
+                safeConfig.getString("caffeine.tiered.key-prefix", "bukkitspring:cache:"),
+                "bukkitspring:cache:"
+        );
+        String tieredChannelPrefix = normalizeOrDefault(
+                safeConfig.getString("caffeine.tiered.channel-prefix", "bukkitspring:cache-invalidate:"),
+                "bukkitspring:cache-invalidate:"
+        );
+        boolean snapshotEnabled = safeConfig.getBoolean("caffeine.snapshot.enabled", false);
+        String snapshotDirectory = normalizeOrDefault(
+                safeConfig.getString("caffeine.snapshot.directory", "cache-snapshots"),
+                "cache-snapshots"
+        );
+        int snapshotMaxEntries = clampInt(
+                safeConfig.getInt("caffeine.snapshot.max-entries", 10_000),
+                1,
+                MAX_SNAPSHOT_ENTRIES
+        );
+        boolean metricsEnabled = safeConfig.getBoolean("caffeine.metrics.enabled", true);
+        long bulkLoadWindowMillis = clampLong(
+                safeConfig.getLong("caffeine.bulk-load.window-ms", 5L),
+                0L,
+                MAX_BULK_LOAD_WINDOW_MILLIS
+        );
+        int bulkLoadMaxBatchSize = clampInt(
+                safeConfig.getInt("caffeine.bulk-load.max-batch-size", 256),
+                1,
+                MAX_BULK_LOAD_BATCH_SIZE
+        );
+        int refreshAheadPercent = clampInt(
+                safeConfig.getInt("caffeine.bulk-load.refresh-ahead-percent", 80),
+                0,
+                99
+        );
+        long memoryBudgetBytes = clampLong(
+                safeConfig.getLong("caffeine.memory-budget.max-bytes", 0L),
+                0L,
+                MAX_MEMORY_BYTES
+        );
+        long memoryBudgetRebalanceMillis = clampLong(
+                safeConfig.getLong("caffeine.memory-budget.rebalance-ms", 5_000L),
+                MIN_REBALANCE_MILLIS,
+                MAX_DURATION_MILLIS
+        );
+        int maxConcurrentLoads = clampInt(
+                safeConfig.getInt("caffeine.load-guard.max-concurrent-loads", 16),
+                0,
+                MAX_CONCURRENT_LOADS
+        );
+        boolean loadFailFast = safeConfig.getBoolean("caffeine.load-guard.fail-fast", false);
+        boolean staleWhileRevalidate = safeConfig.getBoolean("caffeine.load-guard.stale-while-revalidate", false);
+        boolean serveStaleOnError = safeConfig.getBoolean("caffeine.load-guard.serve-stale-on-error", false);
+        long staleTtlMillis = clampLong(
+                safeConfig.getLong("caffeine.load-guard.stale-ttl-ms", 300_000L),
+                1L,
+                MAX_DURATION_MILLIS
+        );
 
-        return new CaffeineSettings(enabled, useVirtualThreads, defaultCacheName, defaultSpec, namedSpecs);
+        return new CaffeineSettings(
+                enabled,
+                useVirtualThreads,
+                defaultCacheName,
+                defaultSpec,
+                namedSpecs,
+                tieredKeyPrefix,
+                tieredChannelPrefix,
+                snapshotEnabled,
+                snapshotDirectory,
+                snapshotMaxEntries,
+                metricsEnabled,
+                bulkLoadWindowMillis,
+                bulkLoadMaxBatchSize,
+                refreshAheadPercent,
+                memoryBudgetBytes,
+                memoryBudgetRebalanceMillis,
+                maxConcurrentLoads,
+                loadFailFast,
+                staleWhileRevalidate,
+                serveStaleOnError,
+                staleTtlMillis
+        );
     }
 
     public CaffeineCacheSpec specFor(String cacheName) {
@@ -105,6 +270,22 @@ public final class CaffeineSettings {
         boolean weakValues = config.getBoolean(prefix + ".weak-values", fallback.weakValues);
         boolean softValues = config.getBoolean(prefix + ".soft-values", fallback.softValues);
         boolean recordStats = config.getBoolean(prefix + ".record-stats", fallback.recordStats);
+        long offHeapMaxBytes = clampLong(
+                config.getLong(prefix + ".off-heap-max-bytes", fallback.offHeapMaxBytes),
+                MIN_OFF_HEAP_BYTES,
+                MAX_OFF_HEAP_BYTES
+        );
+        int offHeapSlabBytes = clampInt(
+                config.getInt(prefix + ".off-heap-slab-bytes", fallback.offHeapSlabBytes),
+                MIN_OFF_HEAP_SLAB_BYTES,
+                MAX_OFF_HEAP_SLAB_BYTES
+        );
+
+        long maximumBytes = clampLong(
+                config.getLong(prefix + ".maximum-bytes", fallback.maximumBytes),
+                0L,
+                MAX_MEMORY_BYTES
+        );
 
         return new CaffeineCacheSpec(
                 initialCapacity,
@@ -115,7 +296,10 @@ public final class CaffeineSettings {
                 weakKeys,
                 weakValues,
                 softValues,
-                recordStats
+                recordStats,
+                offHeapMaxBytes,
+                offHeapSlabBytes,
+                maximumBytes
         );
     }
 
@@ -0,0 +1,431 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.cuzz.bukkitspring.api.BeanPostProcessor;
+import com.cuzz.bukkitspring.api.Provider;
+import com.cuzz.bukkitspring.api.annotation.Autowired;
+import com.cuzz.bukkitspring.api.annotation.Component;
+import com.cuzz.starter.bukkitspring.caffeine.annotation.CacheEvict;
+import com.cuzz.starter.bukkitspring.caffeine.annotation.CachePut;
+import com.cuzz.starter.bukkitspring.caffeine.annotation.Cacheable;
+import com.cuzz.starter.bukkitspring.caffeine.api.CaffeineService;
+import com.cuzz.starter.bukkitspring.caffeine.config.CaffeineSettings;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Logger;
+
+/**
+ * Wraps beans with {@link Cacheable}, {@link CachePut} or {@link CacheEvict} methods in a JDK proxy
+ * over all their interfaces, backed by {@link CaffeineService#getAsyncCache}.
+ *
+ * <p>Per bean class, key expressions are compiled and every interface method is resolved to a
+ * spread {@link MethodHandle} once; calls go through a map lookup and {@code invokeExact}. Sync
+ * methods run on the calling thread: the first caller places a future in the cache and concurrent
+ * callers with the same key wait on it, so no hash bin lock is held during the call.
+ */
+@Component
+public final class CacheAnnotationBeanPostProcessor implements BeanPostProcessor {
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final CaffeineSettings settings;
+    private final Provider<CaffeineService> service;
+    private final Logger logger;
+    private final ConcurrentMap<Class<?>, ClassMetadata> metadata = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CacheAnnotationBeanPostProcessor(CaffeineSettings settings,
+                                            Provider<CaffeineService> service,
+                                            Logger logger) {
+        this.settings = Objects.requireNonNull(settings, "settings");
+        this.service = Objects.requireNonNull(service, "service");
+        this.logger = logger;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String name) {
+        if (bean == null || !settings.enabled || bean instanceof CaffeineService || Proxy.isProxyClass(bean.getClass())) {
+            return bean;
+        }
+        ClassMetadata classMetadata = metadata.computeIfAbsent(bean.getClass(), this::inspect);
+        if (!classMetadata.isCaching()) {
+            return bean;
+        }
+        return Proxy.newProxyInstance(
+                bean.getClass().getClassLoader(),
+                classMetadata.interfaces,
+                new CachingInvocationHandler(bean, classMetadata.operations, service)
+        );
+    }
+
+    private ClassMetadata inspect(Class<?> type) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            collectInterfaces(current, interfaces);
+        }
+        Map<Method, Operation> operations = new HashMap<>();
+        boolean caching = false;
+        for (Class<?> contract : interfaces) {
+            for (Method declared : contract.getMethods()) {
+                Operation operation = operation(type, declared);
+                caching |= operation.isCaching();
+                operations.put(declared, operation);
+            }
+        }
+        Set<String> unreachable = new LinkedHashSet<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Method method : current.getDeclaredMethods()) {
+                if (hasCacheAnnotation(method) && !declaredByInterface(method, interfaces)) {
+                    unreachable.add(method.getName());
+                }
+            }
+        }
+        if (!unreachable.isEmpty()) {
+            logWarning("[Caffeine] Cache annotations on " + type.getName() + "#" + unreachable
+                    + " are ignored: only methods declared by an interface are proxied");
+        }
+        if (!caching) {
+            return ClassMetadata.NONE;
+        }
+        for (String objectMethod : new String[]{"equals", "hashCode", "toString"}) {
+            Method declared = objectMethod(objectMethod);
+            operations.put(declared, operation(type, declared));
+        }
+        return new ClassMetadata(interfaces.toArray(new Class<?>[0]), Collections.unmodifiableMap(operations));
+    }
+
+    private static Operation operation(Class<?> type, Method declared) {
+        Method target;
+        try {
+            target = type.getMethod(declared.getName(), declared.getParameterTypes());
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalStateException("No implementation of " + declared + " on " + type.getName(), ex);
+        }
+        MethodHandle invoker = invoker(target);
+        Cacheable cacheable = annotation(target, declared, Cacheable.class);
+        CachePut put = annotation(target, declared, CachePut.class);
+        CacheEvict evict = annotation(target, declared, CacheEvict.class);
+        if (cacheable != null && put != null) {
+            throw new IllegalStateException("@Cacheable and @CachePut cannot share a method: " + target);
+        }
+        boolean async = declared.getReturnType() == CompletableFuture.class
+                || declared.getReturnType() == CompletionStage.class;
+        Step cacheStep = null;
+        if (cacheable != null) {
+            cacheStep = new Step(cacheable.cache(), CacheKeyExpression.compile(target, cacheable.key(), false), false);
+        } else if (put != null) {
+            cacheStep = new Step(put.cache(), CacheKeyExpression.compile(target, put.key(), true), false);
+        }
+        Step evictStep = evict == null
+                ? null
+                : new Step(evict.cache(), evict.allEntries() ? null : CacheKeyExpression.compile(target, evict.key(), false),
+                evict.beforeInvocation());
+        return new Operation(invoker, async, cacheable != null, put != null, cacheStep, evictStep);
+    }
+
+    private static MethodHandle invoker(Method target) {
+        try {
+            target.trySetAccessible();
+            MethodHandle handle = MethodHandles.lookup().unreflect(target);
+            return handle.asType(handle.type().generic())
+                    .asSpreader(Object[].class, target.getParameterCount())
+                    .asType(INVOKER_TYPE);
+        } catch (IllegalAccessException | SecurityException ex) {
+            throw new IllegalStateException("Cannot access " + target, ex);
+        }
+    }
+
+    private static <A extends Annotation> A annotation(Method target, Method declared, Class<A> type) {
+        A annotation = target.getAnnotation(type);
+        return annotation != null ? annotation : declared.getAnnotation(type);
+    }
+
+    private static boolean hasCacheAnnotation(Method method) {
+        return method.isAnnotationPresent(Cacheable.class)
+                || method.isAnnotationPresent(CachePut.class)
+                || method.isAnnotationPresent(CacheEvict.class);
+    }
+
+    private static boolean declaredByInterface(Method method, Set<Class<?>> interfaces) {
+        for (Class<?> contract : interfaces) {
+            try {
+                contract.getMethod(method.getName(), method.getParameterTypes());
+                return true;
+            } catch (NoSuchMethodException ignored) {
+                // keep looking
+            }
+        }
+        return false;
+    }
+
+    private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+        for (Class<?> contract : type.getInterfaces()) {
+            if (interfaces.add(contract)) {
+                collectInterfaces(contract, interfaces);
+            }
+        }
+    }
+
+    private static Method objectMethod(String name) {
+        try {
+            return "equals".equals(name) ? Object.class.getMethod(name, Object.class) : Object.class.getMethod(name);
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void logWarning(String message) {
+        if (logger != null) {
+            logger.warning(message);
+        }
+    }
+
+    private static final class ClassMetadata {
+        private static final ClassMetadata NONE = new ClassMetadata(null, Map.of());
+
+        private final Class<?>[] interfaces;
+        private final Map<Method, Operation> operations;
+
+        private ClassMetadata(Class<?>[] interfaces, Map<Method, Operation> operations) {
+            this.interfaces = interfaces;
+            this.operations = operations;
+        }
+
+        private boolean isCaching() {
+            return interfaces != null;
+        }
+    }
+
+    /**
+     * Cache name plus compiled key; a {@code null} key means every entry.
+     */
+    private static final class Step {
+        private final String cacheName;
+        private final CacheKeyExpression key;
+        private final boolean beforeInvocation;
+
+        private Step(String cacheName, CacheKeyExpression key, boolean beforeInvocation) {
+            this.cacheName = cacheName;
+            this.key = key;
+            this.beforeInvocation = beforeInvocation;
+        }
+    }
+
+    private static final class Operation {
+        private final MethodHandle invoker;
+        private final boolean async;
+        private final boolean cacheable;
+        private final boolean put;
+        private final Step cache;
+        private final Step evict;
+
+        private Operation(MethodHandle invoker, boolean async, boolean cacheable, boolean put, Step cache, Step evict) {
+            this.invoker = invoker;
+            this.async = async;
+            this.cacheable = cacheable;
+            this.put = put;
+            this.cache = cache;
+            this.evict = evict;
+        }
+
+        private boolean isCaching() {
+            return cache != null || evict != null;
+        }
+    }
+
+    private static final class CachingInvocationHandler implements InvocationHandler {
+        private final Object target;
+        private final Map<Method, Operation> operations;
+        private final Provider<CaffeineService> service;
+
+        private CachingInvocationHandler(Object target, Map<Method, Operation> operations, Provider<CaffeineService> service) {
+            this.target = target;
+            this.operations = operations;
+            this.service = service;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Operation operation = operations.get(method);
+            Object[] arguments = args == null ? NO_ARGS : args;
+            if (operation == null) {
+                throw new IllegalStateException("Unknown proxied method " + method);
+            }
+            if (!operation.isCaching()) {
+                return (Object) operation.invoker.invokeExact(target, arguments);
+            }
+            CaffeineService caffeine = service.get();
+            if (operation.evict != null && operation.evict.beforeInvocation) {
+                evict(caffeine, operation.evict, arguments);
+            }
+            Object result;
+            if (operation.cacheable) {
+                result = operation.async
+                        ? cachedAsync(caffeine, operation, arguments)
+                        : cachedSync(caffeine, operation, arguments);
+            } else {
+                result = (Object) operation.invoker.invokeExact(target, arguments);
+                if (operation.put) {
+                    put(caffeine, operation, arguments, result);
+                }
+            }
+            if (operation.evict != null && !operation.evict.beforeInvocation) {
+                if (operation.async && result != null) {
+                    ((CompletionStage<?>) result).thenRun(() -> evictQuietly(caffeine, operation.evict, arguments));
+                } else {
+                    evict(caffeine, operation.evict, arguments);
+                }
+            }
+            return result;
+        }
+
+        private Object cachedSync(CaffeineService caffeine, Operation operation, Object[] args) throws Throwable {
+            Object key = operation.cache.key.evaluate(args, null);
+            if (key == null) {
+                return (Object) operation.invoker.invokeExact(target, args);
+            }
+            AsyncCache<Object, Object> cache = caffeine.getAsyncCache(operation.cache.cacheName);
+            CompletableFuture<Object> present = cache.getIfPresent(key);
+            if (present != null) {
+                return await(present);
+            }
+            CompletableFuture<Object> mine = new CompletableFuture<>();
+            CompletableFuture<Object> shared = cache.get(key, (ignored, executor) -> mine);
+            if (shared != mine) {
+                return await(shared);
+            }
+            try {
+                Object value = (Object) operation.invoker.invokeExact(target, args);
+                mine.complete(value);
+                return value;
+            } catch (Throwable ex) {
+                mine.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+
+        private Object cachedAsync(CaffeineService caffeine, Operation operation, Object[] args) throws Throwable {
+            Object key = operation.cache.key.evaluate(args, null);
+            if (key == null) {
+                return (Object) operation.invoker.invokeExact(target, args);
+            }
+            AsyncCache<Object, Object> cache = caffeine.getAsyncCache(operation.cache.cacheName);
+            CompletableFuture<Object> present = cache.getIfPresent(key);
+            if (present != null) {
+                return present.copy();
+            }
+            CompletableFuture<Object> mine = new CompletableFuture<>();
+            CompletableFuture<Object> shared = cache.get(key, (ignored, executor) -> mine);
+            if (shared != mine) {
+                return shared.copy();
+            }
+            try {
+                CompletionStage<?> stage = (CompletionStage<?>) (Object) operation.invoker.invokeExact(target, args);
+                if (stage == null) {
+                    mine.complete(null);
+                    return null;
+                }
+                stage.whenComplete((value, error) -> {
+                    if (error != null) {
+                        mine.completeExceptionally(error);
+                    } else {
+                        mine.complete(value);
+                    }
+                });
+            } catch (Throwable ex) {
+                mine.completeExceptionally(ex);
+                throw ex;
+            }
+            return mine.copy();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void put(CaffeineService caffeine, Operation operation, Object[] args, Object result) throws Throwable {
+            AsyncCache<Object, Object> cache = caffeine.getAsyncCache(operation.cache.cacheName);
+            if (operation.async) {
+                if (result == null) {
+                    return;
+                }
+                CompletableFuture<Object> future = ((CompletionStage<Object>) result).toCompletableFuture();
+                if (operation.cache.key.usesResult()) {
+                    future.thenAccept(value -> putQuietly(cache, operation, args, value));
+                    return;
+                }
+                Object key = operation.cache.key.evaluate(args, null);
+                if (key != null) {
+                    cache.put(key, future);
+                }
+                return;
+            }
+            Object key = operation.cache.key.evaluate(args, result);
+            if (key == null) {
+                return;
+            }
+            if (result == null) {
+                cache.synchronous().invalidate(key);
+            } else {
+                cache.put(key, CompletableFuture.completedFuture(result));
+            }
+        }
+
+        private static void putQuietly(AsyncCache<Object, Object> cache,
+                                       Operation operation,
+                                       Object[] args,
+                                       Object value) {
+            try {
+                Object key = operation.cache.key.evaluate(args, value);
+                if (key != null && value != null) {
+                    cache.put(key, CompletableFuture.completedFuture(value));
+                }
+            } catch (Throwable ignored) {
+                // key getters threw; the value is simply not cached
+            }
+        }
+
+        private static void evict(CaffeineService caffeine, Step step, Object[] args) throws Throwable {
+            Cache<Object, Object> cache = caffeine.getAsyncCache(step.cacheName).synchronous();
+            if (step.key == null) {
+                cache.invalidateAll();
+                return;
+            }
+            Object key = step.key.evaluate(args, null);
+            if (key != null) {
+                cache.invalidate(key);
+            }
+        }
+
+        private static void evictQuietly(CaffeineService caffeine, Step step, Object[] args) {
+            try {
+                evict(caffeine, step, args);
+            } catch (Throwable ignored) {
+                // key getters threw; nothing to evict
+            }
+        }
+
+        private static Object await(CompletableFuture<Object> future) throws Throwable {
+            try {
+                return future.join();
+            } catch (CompletionException ex) {
+                throw ex.getCause() == null ? ex : ex.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+/**
+ * Every cache kind the service built under one name, plus the loader metadata checked on lookup.
+ *
+ * <p>Fields are written under the entry's monitor and read without it. Destroying an entry closes
+ * what it holds and marks it, so lookups and {@link DefaultCacheHandle}s holding it move on to a
+ * fresh entry.
+ */
+final class CacheEntry {
+    final String name;
+    volatile boolean destroyed;
+    volatile AsyncCache<Object, Object> asyncCache;
+    volatile Cache<Object, Object> syncView;
+    volatile LoadingCache<Object, Object> loadingCache;
+    volatile String loadingLoaderType;
+    volatile CoalescingCacheLoader<Object, Object> bulkLoader;
+    volatile AsyncLoadingCache<Object, Object> asyncLoadingCache;
+    volatile String asyncLoadingLoaderType;
+    volatile CoalescingCacheLoader<Object, Object> asyncBulkLoader;
+    volatile LoadGuard loadGuard;
+    volatile DefaultTieredCache<?, ?> tieredCache;
+    volatile DefaultOffHeapCache<?, ?> offHeapCache;
+    volatile DefaultLongKeyCache<?> longKeyCache;
+    volatile DefaultUuidKeyCache<?> uuidKeyCache;
+    volatile DefaultCacheHandle<?, ?> handle;
+
+    CacheEntry(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Close and empty everything under this name; callers have already removed the entry from the registry.
+     */
+    synchronized void destroy() {
+        destroyed = true;
+        if (offHeapCache != null) {
+            offHeapCache.close();
+        }
+        if (longKeyCache != null) {
+            longKeyCache.close();
+        }
+        if (uuidKeyCache != null) {
+            uuidKeyCache.close();
+        }
+        if (tieredCache != null) {
+            tieredCache.close();
+        }
+        if (bulkLoader != null) {
+            bulkLoader.close();
+        }
+        if (asyncBulkLoader != null) {
+            asyncBulkLoader.close();
+        }
+        if (loadGuard != null) {
+            loadGuard.invalidateAll();
+        }
+        if (asyncCache != null) {
+            asyncCache.synchronous().invalidateAll();
+        }
+        if (loadingCache != null) {
+            loadingCache.invalidateAll();
+        }
+        if (asyncLoadingCache != null) {
+            asyncLoadingCache.synchronous().invalidateAll();
+        }
+        offHeapCache = null;
+        longKeyCache = null;
+        uuidKeyCache = null;
+        tieredCache = null;
+        bulkLoader = null;
+        asyncBulkLoader = null;
+        loadGuard = null;
+        asyncCache = null;
+        syncView = null;
+        loadingCache = null;
+        loadingLoaderType = null;
+        asyncLoadingCache = null;
+        asyncLoadingLoaderType = null;
+    }
+}
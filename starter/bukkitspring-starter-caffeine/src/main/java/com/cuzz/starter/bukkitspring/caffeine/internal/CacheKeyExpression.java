@@ -0,0 +1,255 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cache key expression of one annotated method, compiled once into argument lookups and
+ * {@link MethodHandle} property getters; evaluation does no reflection or parsing.
+ *
+ * <p>Grammar: comma separated parts, each {@code #p0}, {@code #a0}, {@code #paramName} or
+ * {@code #result} followed by {@code .property} steps, or a {@code 'literal'}. Properties resolve
+ * against the declared type to {@code property()}, {@code getProperty()}, {@code isProperty()} or a
+ * public field.
+ */
+final class CacheKeyExpression {
+    private static final Object NO_ARGUMENTS_KEY = List.of();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final String source;
+    private final Part[] parts;
+
+    private CacheKeyExpression(String source, Part[] parts) {
+        this.source = source;
+        this.parts = parts;
+    }
+
+    /**
+     * @param resultAllowed whether {@code #result} may be referenced
+     * @throws IllegalArgumentException when the expression does not fit the method
+     */
+    static CacheKeyExpression compile(Method method, String expression, boolean resultAllowed) {
+        String source = expression == null ? "" : expression.trim();
+        if (source.isEmpty()) {
+            return new CacheKeyExpression(source, null);
+        }
+        List<Part> parts = new ArrayList<>();
+        for (String rawPart : splitParts(source)) {
+            parts.add(compilePart(method, source, rawPart.trim(), resultAllowed));
+        }
+        return new CacheKeyExpression(source, parts.toArray(new Part[0]));
+    }
+
+    /**
+     * @return the key, or {@code null} when a referenced value is {@code null}
+     */
+    Object evaluate(Object[] args, Object result) throws Throwable {
+        if (parts == null) {
+            if (args == null || args.length == 0) {
+                return NO_ARGUMENTS_KEY;
+            }
+            if (args.length == 1) {
+                return args[0];
+            }
+            return Arrays.asList(args.clone());
+        }
+        if (parts.length == 1) {
+            return parts[0].value(args, result);
+        }
+        Object[] values = new Object[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = parts[i].value(args, result);
+            if (values[i] == null) {
+                return null;
+            }
+        }
+        return Arrays.asList(values);
+    }
+
+    boolean usesResult() {
+        if (parts == null) {
+            return false;
+        }
+        for (Part part : parts) {
+            if (part.usesResult()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    private static List<String> splitParts(String source) {
+        List<String> parts = new ArrayList<>();
+        boolean quoted = false;
+        int start = 0;
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                parts.add(source.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(source.substring(start));
+        return parts;
+    }
+
+    private static Part compilePart(Method method, String source, String part, boolean resultAllowed) {
+        if (part.length() >= 2 && part.startsWith("'") && part.endsWith("'")) {
+            String literal = part.substring(1, part.length() - 1);
+            return new Part(-1, false, literal, new MethodHandle[0]);
+        }
+        if (!part.startsWith("#") || part.length() == 1) {
+            throw invalid(method, source, "expected #argument or 'literal' but found '" + part + "'");
+        }
+        String[] path = part.substring(1).split("\\.", -1);
+        String root = path[0];
+        boolean result = false;
+        int index;
+        Class<?> type;
+        if ("result".equals(root)) {
+            if (!resultAllowed) {
+                throw invalid(method, source, "#result is only available to @CachePut");
+            }
+            result = true;
+            index = -1;
+            type = method.getReturnType();
+        } else {
+            index = parameterIndex(method, source, root);
+            type = method.getParameterTypes()[index];
+        }
+        MethodHandle[] getters = new MethodHandle[path.length - 1];
+        for (int i = 1; i < path.length; i++) {
+            Property property = property(method, source, type, path[i]);
+            getters[i - 1] = property.getter;
+            type = property.type;
+        }
+        return new Part(index, result, null, getters);
+    }
+
+    private static int parameterIndex(Method method, String source, String name) {
+        Parameter[] parameters = method.getParameters();
+        if (name.length() > 1 && (name.charAt(0) == 'p' || name.charAt(0) == 'a') && isDigits(name, 1)) {
+            int index = Integer.parseInt(name.substring(1));
+            if (index >= parameters.length) {
+                throw invalid(method, source, "#" + name + " but the method has " + parameters.length + " parameters");
+            }
+            return index;
+        }
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].isNamePresent() && parameters[i].getName().equals(name)) {
+                return i;
+            }
+        }
+        throw invalid(method, source, "unknown parameter #" + name
+                + " (use #p0 style references unless compiled with -parameters)");
+    }
+
+    private static Property property(Method method, String source, Class<?> owner, String name) {
+        if (name.isEmpty()) {
+            throw invalid(method, source, "empty property name");
+        }
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (String candidate : new String[]{name, "get" + capitalized, "is" + capitalized}) {
+            try {
+                Method getter = owner.getMethod(candidate);
+                if (getter.getReturnType() != void.class && !Modifier.isStatic(getter.getModifiers())) {
+                    return new Property(adapt(unreflect(getter)), getter.getReturnType());
+                }
+            } catch (NoSuchMethodException ignored) {
+                // try the next accessor style
+            }
+        }
+        try {
+            Field field = owner.getField(name);
+            if (!Modifier.isStatic(field.getModifiers())) {
+                return new Property(adapt(MethodHandles.lookup().unreflectGetter(field)), field.getType());
+            }
+        } catch (NoSuchFieldException | IllegalAccessException ignored) {
+            // reported below
+        }
+        throw invalid(method, source, "no property '" + name + "' on " + owner.getName());
+    }
+
+    private static MethodHandle unreflect(Method getter) {
+        try {
+            getter.trySetAccessible();
+            return MethodHandles.lookup().unreflect(getter);
+        } catch (IllegalAccessException | SecurityException ex) {
+            throw new IllegalArgumentException("Cannot access " + getter, ex);
+        }
+    }
+
+    private static MethodHandle adapt(MethodHandle handle) {
+        return handle.asType(GETTER_TYPE);
+    }
+
+    private static boolean isDigits(String text, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (!Character.isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static IllegalArgumentException invalid(Method method, String source, String reason) {
+        return new IllegalArgumentException("Invalid cache key '" + source + "' on " + method + ": " + reason);
+    }
+
+    private static final class Property {
+        private final MethodHandle getter;
+        private final Class<?> type;
+
+        private Property(MethodHandle getter, Class<?> type) {
+            this.getter = getter;
+            this.type = type;
+        }
+    }
+
+    private static final class Part {
+        private final int index;
+        private final boolean result;
+        private final Object literal;
+        private final MethodHandle[] getters;
+
+        private Part(int index, boolean result, Object literal, MethodHandle[] getters) {
+            this.index = index;
+            this.result = result;
+            this.literal = literal;
+            this.getters = getters;
+        }
+
+        private boolean usesResult() {
+            return result;
+        }
+
+        private Object value(Object[] args, Object resultValue) throws Throwable {
+            if (literal != null) {
+                return literal;
+            }
+            Object value = result ? resultValue : args[index];
+            for (MethodHandle getter : getters) {
+                if (value == null) {
+                    return null;
+                }
+                value = (Object) getter.invokeExact(value);
+            }
+            return value;
+        }
+    }
+}
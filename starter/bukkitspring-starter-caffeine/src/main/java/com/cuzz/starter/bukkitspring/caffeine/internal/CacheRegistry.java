@@ -0,0 +1,123 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Name to {@link CacheEntry} index of a {@link DefaultCaffeineService}.
+ *
+ * <p>One map covers every cache kind, so creating or destroying a name is a single map operation,
+ * and {@link #names()} is a live view instead of a copy.
+ */
+final class CacheRegistry {
+    private final ConcurrentMap<String, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final Set<String> names;
+
+    CacheRegistry(String defaultCacheName) {
+        this.names = new NamesView(defaultCacheName);
+    }
+
+    CacheEntry entry(String name) {
+        CacheEntry entry = entries.get(name);
+        return entry != null ? entry : entries.computeIfAbsent(name, CacheEntry::new);
+    }
+
+    CacheEntry get(String name) {
+        return entries.get(name);
+    }
+
+    Collection<CacheEntry> entries() {
+        return entries.values();
+    }
+
+    /**
+     * Remove and destroy the entry of {@code name}.
+     *
+     * @return {@code false} when nothing was registered under the name
+     */
+    boolean destroy(String name) {
+        CacheEntry entry = entries.remove(name);
+        if (entry == null) {
+            return false;
+        }
+        entry.destroy();
+        return true;
+    }
+
+    void destroyAll() {
+        List<String> current = new ArrayList<>(entries.keySet());
+        for (String name : current) {
+            destroy(name);
+        }
+    }
+
+    /**
+     * Default cache name followed by every registered name, without copying.
+     */
+    Set<String> names() {
+        return names;
+    }
+
+    private final class NamesView extends AbstractSet<String> {
+        private final String defaultCacheName;
+
+        private NamesView(String defaultCacheName) {
+            this.defaultCacheName = defaultCacheName;
+        }
+
+        @Override
+        public boolean contains(Object name) {
+            return defaultCacheName.equals(name) || entries.containsKey(name);
+        }
+
+        @Override
+        public int size() {
+            return entries.containsKey(defaultCacheName) ? entries.size() : entries.size() + 1;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            Iterator<String> registered = entries.keySet().iterator();
+            return new Iterator<>() {
+                private boolean defaultReturned;
+                private String next;
+
+                @Override
+                public boolean hasNext() {
+                    if (!defaultReturned || next != null) {
+                        return true;
+                    }
+                    while (registered.hasNext()) {
+                        String candidate = registered.next();
+                        if (!candidate.equals(defaultCacheName)) {
+                            next = candidate;
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+
+                @Override
+                public String next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    if (!defaultReturned) {
+                        defaultReturned = true;
+                        return defaultCacheName;
+                    }
+                    String result = next;
+                    next = null;
+                    return result;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.cuzz.starter.bukkitspring.caffeine.api.CacheValueCodec;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * Reads and writes per-cache snapshot files through memory-mapped buffers.
+ *
+ * <p>Layout: magic, version, entry count, then {@code keyLength, key, valueLength, value} per
+ * entry, hottest first. Files are written to a temporary sibling and moved into place, so a
+ * crash during shutdown leaves the previous snapshot intact.
+ */
+final class CacheSnapshotStore {
+    private static final int MAGIC = 0x42534353;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 12;
+
+    private final Path directory;
+    private final Logger logger;
+
+    CacheSnapshotStore(Path directory, Logger logger) {
+        this.directory = Objects.requireNonNull(directory, "directory");
+        this.logger = logger;
+    }
+
+    Path fileFor(String cacheName) {
+        return directory.resolve(cacheName.replaceAll("[^A-Za-z0-9._-]", "_") + ".snapshot");
+    }
+
+    /**
+     * @return number of entries written; entries the codec rejects are skipped
+     */
+    int write(String cacheName, Iterable<Map.Entry<Object, Object>> hottestFirst, CacheValueCodec<Object> codec)
+            throws IOException {
+        List<byte[]> encoded = new ArrayList<>();
+        long totalBytes = HEADER_BYTES;
+        int skipped = 0;
+        for (Map.Entry<Object, Object> entry : hottestFirst) {
+            byte[] key;
+            byte[] value;
+            try {
+                key = codec.encode(entry.getKey());
+                value = codec.encode(entry.getValue());
+            } catch (RuntimeException ex) {
+                skipped++;
+                continue;
+            }
+            encoded.add(key);
+            encoded.add(value);
+            totalBytes += 8L + key.length + value.length;
+        }
+        if (totalBytes > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot of cache '" + cacheName + "' exceeds 2GB");
+        }
+        if (skipped > 0) {
+            logWarning("[Caffeine] Skipped " + skipped + " entries of cache '" + cacheName
+                    + "' the snapshot codec could not encode");
+        }
+
+        Files.createDirectories(directory);
+        Path target = fileFor(cacheName);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0L, totalBytes);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(encoded.size() / 2);
+            for (byte[] bytes : encoded) {
+                buffer.putInt(bytes.length).put(bytes);
+            }
+            buffer.force();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return encoded.size() / 2;
+    }
+
+    /**
+     * @return decoded entries hottest first, empty when there is no usable snapshot
+     */
+    List<Map.Entry<Object, Object>> read(String cacheName, CacheValueCodec<Object> codec) throws IOException {
+        Path file = fileFor(cacheName);
+        if (!Files.isRegularFile(file)) {
+            return List.of();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                return List.of();
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                logWarning("[Caffeine] Ignoring snapshot of cache '" + cacheName + "' with unknown format");
+                return List.of();
+            }
+            int count = buffer.getInt();
+            List<Map.Entry<Object, Object>> entries = new ArrayList<>(Math.max(0, Math.min(count, 65_536)));
+            int skipped = 0;
+            for (int i = 0; i < count; i++) {
+                byte[] key = readBlock(buffer);
+                byte[] value = key == null ? null : readBlock(buffer);
+                if (value == null) {
+                    logWarning("[Caffeine] Snapshot of cache '" + cacheName + "' is truncated after " + i + " entries");
+                    break;
+                }
+                try {
+                    entries.add(new AbstractMap.SimpleImmutableEntry<>(codec.decode(key), codec.decode(value)));
+                } catch (RuntimeException ex) {
+                    skipped++;
+                }
+            }
+            if (skipped > 0) {
+                logWarning("[Caffeine] Skipped " + skipped + " entries of cache '" + cacheName
+                        + "' the snapshot codec could not decode");
+            }
+            return entries;
+        }
+    }
+
+    private static byte[] readBlock(MappedByteBuffer buffer) {
+        if (buffer.remaining() < 4) {
+            return null;
+        }
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private void logWarning(String message) {
+        if (logger != null) {
+            logger.warning(message);
+        }
+    }
+}
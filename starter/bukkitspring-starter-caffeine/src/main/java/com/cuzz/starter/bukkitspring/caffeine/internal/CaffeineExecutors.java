@@ -3,6 +3,8 @@ package com.cuzz.starter.bukkitspring.caffeine.internal;
 import java.lang.reflect.Method;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
@@ -27,6 +29,18 @@ final class CaffeineExecutors {
         return Executors.newCachedThreadPool(new NamedThreadFactory("bukkitspring-caffeine-"));
     }
 
+    /**
+     * Single daemon thread for timers only; scheduled work hands off to the cache executor.
+     */
+    static ScheduledExecutorService createScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(
+                1,
+                new NamedThreadFactory("bukkitspring-caffeine-scheduler-")
+        );
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
     private static ExecutorService createVirtualExecutor() {
         try {
             Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
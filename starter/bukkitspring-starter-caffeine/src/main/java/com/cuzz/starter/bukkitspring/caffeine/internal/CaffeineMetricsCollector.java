@@ -0,0 +1,207 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.cuzz.starter.bukkitspring.caffeine.api.BulkLoadStats;
+import com.cuzz.starter.bukkitspring.caffeine.api.CacheMemoryStats;
+import com.cuzz.starter.bukkitspring.caffeine.api.LoadGuardStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.prometheus.client.Collector;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.CounterMetricFamily;
+import io.prometheus.client.GaugeMetricFamily;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Exposes stats of every cache owned by {@link DefaultCaffeineService} to Prometheus.
+ *
+ * <p>Only referenced after {@link #isAvailable(ClassLoader)} succeeded, so the starter still
+ * loads without simpleclient. A scrape reads each cache's stats counters and size once; no
+ * per-cache collectors or label children are kept between scrapes. Hit, miss, load and eviction
+ * counters stay at zero unless {@code record-stats} is enabled for the cache.
+ */
+final class CaffeineMetricsCollector extends Collector implements Collector.Describable {
+    private static final List<String> LABELS = List.of("cache");
+    private static final double NANOS_PER_SECOND = 1_000_000_000D;
+
+    private final DefaultCaffeineService service;
+
+    CaffeineMetricsCollector(DefaultCaffeineService service) {
+        this.service = service;
+    }
+
+    static boolean isAvailable(ClassLoader classLoader) {
+        try {
+            Class.forName("io.prometheus.client.CollectorRegistry", false, classLoader);
+            return true;
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Register with the JVM-wide default registry, the one {@code DefaultPrometheusService} pushes.
+     *
+     * @return handle that unregisters the collector when closed
+     */
+    static AutoCloseable registerDefault(DefaultCaffeineService service) {
+        CaffeineMetricsCollector collector = new CaffeineMetricsCollector(service);
+        CollectorRegistry registry = CollectorRegistry.defaultRegistry;
+        registry.register(collector);
+        return () -> registry.unregister(collector);
+    }
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        // A name can back several cache kinds (plain, loading, async loading); merge them
+        Map<String, Totals> totals = new LinkedHashMap<>();
+        service.forEachCache((name, cache) -> totals.computeIfAbsent(name, ignored -> new Totals()).add(cache));
+        Map<String, BulkLoadStats> bulkLoads = new LinkedHashMap<>();
+        service.forEachBulkLoader((name, stats) -> bulkLoads.merge(name, stats, BulkLoadStats::plus));
+        Map<String, CacheMemoryStats> memory = new LinkedHashMap<>();
+        service.forEachMemoryAccount((name, stats) -> memory.merge(name, stats, CacheMemoryStats::plus));
+        Map<String, LoadGuardStats> guards = new LinkedHashMap<>();
+        service.forEachLoadGuard(guards::put);
+
+        Families families = new Families();
+        for (Map.Entry<String, Totals> entry : totals.entrySet()) {
+            families.add(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, BulkLoadStats> entry : bulkLoads.entrySet()) {
+            families.addBulkLoad(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, CacheMemoryStats> entry : memory.entrySet()) {
+            families.addMemory(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, LoadGuardStats> entry : guards.entrySet()) {
+            families.addLoadGuard(entry.getKey(), entry.getValue());
+        }
+        return families.list();
+    }
+
+    @Override
+    public List<MetricFamilySamples> describe() {
+        return new Families().list();
+    }
+
+    private static final class Totals {
+        private CacheStats stats = CacheStats.empty();
+        private long estimatedSize;
+        private long weightedSize;
+        private boolean weighted;
+
+        private void add(Cache<?, ?> cache) {
+            stats = stats.plus(cache.stats());
+            estimatedSize += cache.estimatedSize();
+            Optional<? extends Policy.Eviction<?, ?>> eviction = cache.policy().eviction();
+            if (eviction.isPresent() && eviction.get().isWeighted()) {
+                weighted = true;
+                weightedSize += eviction.get().weightedSize().orElse(0L);
+            }
+        }
+    }
+
+    private static final class Families {
+        private final CounterMetricFamily hits = counter("caffeine_cache_hits", "Cache hits.");
+        private final CounterMetricFamily misses = counter("caffeine_cache_misses", "Cache misses.");
+        private final CounterMetricFamily loads = counter("caffeine_cache_loads", "Successful cache loads.");
+        private final CounterMetricFamily loadFailures = counter("caffeine_cache_load_failures", "Failed cache loads.");
+        private final CounterMetricFamily loadSeconds = counter(
+                "caffeine_cache_load_duration_seconds", "Time spent loading new values.");
+        private final CounterMetricFamily evictions = counter("caffeine_cache_evictions", "Evicted entries.");
+        private final CounterMetricFamily evictionWeight = counter(
+                "caffeine_cache_eviction_weight", "Total weight of evicted entries.");
+        private final GaugeMetricFamily estimatedSize = new GaugeMetricFamily(
+                "caffeine_cache_estimated_size", "Approximate number of entries.", LABELS);
+        private final GaugeMetricFamily weightedSize = new GaugeMetricFamily(
+                "caffeine_cache_weighted_size", "Total weight of entries, for weighted caches.", LABELS);
+        private final CounterMetricFamily bulkBatches = counter(
+                "caffeine_cache_bulk_load_batches", "Batch loader calls of bulk loading caches.");
+        private final CounterMetricFamily bulkKeys = counter(
+                "caffeine_cache_bulk_load_keys", "Keys requested through batch loader calls.");
+        private final CounterMetricFamily bulkFailures = counter(
+                "caffeine_cache_bulk_load_failures", "Batch loader calls that threw.");
+        private final GaugeMetricFamily bulkLargestBatch = new GaugeMetricFamily(
+                "caffeine_cache_bulk_load_largest_batch", "Most keys sent in one batch loader call.", LABELS);
+        private final GaugeMetricFamily maxBytes = new GaugeMetricFamily(
+                "caffeine_cache_max_bytes", "Current byte limit of byte-bounded caches.", LABELS);
+        private final CounterMetricFamily evictedBytes = counter(
+                "caffeine_cache_evicted_bytes", "Estimated bytes of entries evicted from byte-bounded caches.");
+        private final CounterMetricFamily guardedLoads = counter(
+                "caffeine_cache_guarded_loads", "Loader calls made by guardedGet.");
+        private final CounterMetricFamily rejectedLoads = counter(
+                "caffeine_cache_rejected_loads", "guardedGet loads refused by the concurrent load limit.");
+        private final CounterMetricFamily staleServed = new CounterMetricFamily(
+                "caffeine_cache_stale_served", "Requests answered with a stale value.", List.of("cache", "reason"));
+
+        private void add(String name, Totals totals) {
+            List<String> label = List.of(name);
+            CacheStats stats = totals.stats;
+            hits.addMetric(label, stats.hitCount());
+            misses.addMetric(label, stats.missCount());
+            loads.addMetric(label, stats.loadSuccessCount());
+            loadFailures.addMetric(label, stats.loadFailureCount());
+            loadSeconds.addMetric(label, stats.totalLoadTime() / NANOS_PER_SECOND);
+            evictions.addMetric(label, stats.evictionCount());
+            evictionWeight.addMetric(label, stats.evictionWeight());
+            estimatedSize.addMetric(label, totals.estimatedSize);
+            if (totals.weighted) {
+                weightedSize.addMetric(label, totals.weightedSize);
+            }
+        }
+
+        private void addBulkLoad(String name, BulkLoadStats stats) {
+            List<String> label = List.of(name);
+            bulkBatches.addMetric(label, stats.batches);
+            bulkKeys.addMetric(label, stats.keys);
+            bulkFailures.addMetric(label, stats.failedBatches);
+            bulkLargestBatch.addMetric(label, stats.largestBatch);
+        }
+
+        private void addMemory(String name, CacheMemoryStats stats) {
+            List<String> label = List.of(name);
+            maxBytes.addMetric(label, stats.maximumBytes);
+            evictedBytes.addMetric(label, stats.evictedBytes);
+        }
+
+        private void addLoadGuard(String name, LoadGuardStats stats) {
+            List<String> label = List.of(name);
+            guardedLoads.addMetric(label, stats.loads);
+            rejectedLoads.addMetric(label, stats.rejectedLoads);
+            staleServed.addMetric(List.of(name, "revalidate"), stats.staleWhileRevalidate);
+            staleServed.addMetric(List.of(name, "error"), stats.staleOnError);
+        }
+
+        private List<MetricFamilySamples> list() {
+            List<MetricFamilySamples> list = new ArrayList<>(18);
+            list.add(hits);
+            list.add(misses);
+            list.add(loads);
+            list.add(loadFailures);
+            list.add(loadSeconds);
+            list.add(evictions);
+            list.add(evictionWeight);
+            list.add(estimatedSize);
+            list.add(weightedSize);
+            list.add(bulkBatches);
+            list.add(bulkKeys);
+            list.add(bulkFailures);
+            list.add(bulkLargestBatch);
+            list.add(maxBytes);
+            list.add(evictedBytes);
+            list.add(guardedLoads);
+            list.add(rejectedLoads);
+            list.add(staleServed);
+            return list;
+        }
+
+        private static CounterMetricFamily counter(String name, String help) {
+            return new CounterMetricFamily(name, help, LABELS);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.cuzz.starter.bukkitspring.caffeine.api.BulkLoadStats;
+import com.cuzz.starter.bukkitspring.caffeine.api.BulkLoader;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Policy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * {@link CacheLoader} that turns single-key loads and refreshes into {@link BulkLoader} batches.
+ *
+ * <p>The first key of an empty batch arms a timer of {@code windowMillis}; keys arriving before it
+ * fires join the batch, which is also sent early once it holds {@code maxBatchSize} keys. The
+ * batch runs on the cache executor and every caller's future is completed from the one result.
+ * Synchronous {@code get} blocks for at most the window plus the backend call.
+ */
+final class CoalescingCacheLoader<K, V> implements CacheLoader<K, V> {
+    private static final long MIN_SWEEP_PERIOD_MILLIS = 10L;
+
+    private final String cacheName;
+    private final BulkLoader<K, V> bulkLoader;
+    private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final Logger logger;
+    private final Object lock = new Object();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder keys = new LongAdder();
+    private final AtomicLong largestBatch = new AtomicLong();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder refreshAheadKeys = new LongAdder();
+    private Map<K, CompletableFuture<V>> pending = new HashMap<>();
+    private long generation;
+    private volatile ScheduledFuture<?> refreshAheadTask;
+
+    CoalescingCacheLoader(String cacheName,
+                          BulkLoader<K, V> bulkLoader,
+                          Executor executor,
+                          ScheduledExecutorService scheduler,
+                          long windowMillis,
+                          int maxBatchSize,
+                          Logger logger) {
+        this.cacheName = cacheName;
+        this.bulkLoader = bulkLoader;
+        this.executor = executor;
+        this.scheduler = scheduler;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.logger = logger;
+    }
+
+    @Override
+    public V load(K key) throws Exception {
+        try {
+            return enqueue(key).join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Bulk {@code getAll} calls already carry their own batch and go straight to the backend.
+     */
+    @Override
+    public Map<? extends K, ? extends V> loadAll(Set<? extends K> keySet) throws Exception {
+        recordBatch(keySet.size());
+        try {
+            Map<K, V> loaded = bulkLoader.loadAll(keySet);
+            return loaded == null ? Map.of() : loaded;
+        } catch (Exception | Error ex) {
+            failedBatches.increment();
+            throw ex;
+        }
+    }
+
+    @Override
+    public CompletableFuture<? extends V> asyncLoad(K key, Executor ignored) {
+        return enqueue(key);
+    }
+
+    @Override
+    public CompletableFuture<? extends V> asyncReload(K key, V oldValue, Executor ignored) {
+        return enqueue(key);
+    }
+
+    BulkLoadStats stats() {
+        return new BulkLoadStats(
+                batches.sum(),
+                keys.sum(),
+                largestBatch.get(),
+                failedBatches.sum(),
+                refreshAheadKeys.sum()
+        );
+    }
+
+    /**
+     * Refresh entries once they are {@code percent}% of {@code refreshAfterWriteMillis} old, before
+     * a read would find them stale. Refreshes go through the same batches as loads. Entries are
+     * refreshed whether or not they are still read, so pair this with an access-based expiry.
+     */
+    void startRefreshAhead(LoadingCache<K, V> cache, long refreshAfterWriteMillis, int percent) {
+        Optional<Policy.FixedRefresh<K, V>> refresh = cache.policy().refreshAfterWrite();
+        if (refresh.isEmpty() || percent <= 0 || percent >= 100) {
+            return;
+        }
+        long thresholdMillis = refreshAfterWriteMillis * percent / 100;
+        long period = Math.max(MIN_SWEEP_PERIOD_MILLIS, (refreshAfterWriteMillis - thresholdMillis) / 2);
+        long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        refreshAheadTask = scheduler.scheduleWithFixedDelay(
+                () -> sweep(cache, refresh.get(), thresholdNanos),
+                period,
+                period,
+                TimeUnit.MILLISECONDS
+        );
+    }
+
+    /**
+     * Stop refresh-ahead and send whatever is still waiting for its window.
+     */
+    void close() {
+        ScheduledFuture<?> task = refreshAheadTask;
+        refreshAheadTask = null;
+        if (task != null) {
+            task.cancel(false);
+        }
+        flush(-1L);
+    }
+
+    private CompletableFuture<V> enqueue(K key) {
+        Map<K, CompletableFuture<V>> full = null;
+        long armed = -1L;
+        CompletableFuture<V> future;
+        synchronized (lock) {
+            future = pending.get(key);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(key, future);
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new HashMap<>();
+                generation++;
+            } else if (pending.size() == 1) {
+                armed = generation;
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        } else if (armed >= 0L) {
+            long batch = armed;
+            try {
+                scheduler.schedule(() -> flush(batch), windowMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException ex) {
+                flush(batch);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * @param expectedGeneration batch the timer was armed for, or -1 to flush unconditionally
+     */
+    private void flush(long expectedGeneration) {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty() || (expectedGeneration >= 0L && expectedGeneration != generation)) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+            generation++;
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        try {
+            executor.execute(() -> runBatch(batch));
+        } catch (RejectedExecutionException ex) {
+            for (CompletableFuture<V> future : batch.values()) {
+                future.completeExceptionally(ex);
+            }
+        }
+    }
+
+    private void runBatch(Map<K, CompletableFuture<V>> batch) {
+        recordBatch(batch.size());
+        Map<K, V> loaded;
+        try {
+            loaded = bulkLoader.loadAll(Collections.unmodifiableSet(batch.keySet()));
+        } catch (Throwable ex) {
+            failedBatches.increment();
+            for (CompletableFuture<V> future : batch.values()) {
+                future.completeExceptionally(ex);
+            }
+            return;
+        }
+        for (Map.Entry<K, CompletableFuture<V>> entry : batch.entrySet()) {
+            entry.getValue().complete(loaded == null ? null : loaded.get(entry.getKey()));
+        }
+    }
+
+    private void sweep(LoadingCache<K, V> cache, Policy.FixedRefresh<K, V> refresh, long thresholdNanos) {
+        try {
+            Map<K, CompletableFuture<V>> inFlight = cache.policy().refreshes();
+            List<K> due = new ArrayList<>();
+            for (K key : cache.asMap().keySet()) {
+                OptionalLong age = refresh.ageOf(key, TimeUnit.NANOSECONDS);
+                if (age.isPresent() && age.getAsLong() >= thresholdNanos && !inFlight.containsKey(key)) {
+                    due.add(key);
+                }
+            }
+            if (!due.isEmpty()) {
+                refreshAheadKeys.add(due.size());
+                cache.refreshAll(due);
+            }
+        } catch (RuntimeException ex) {
+            if (logger != null) {
+                logger.warning("[Caffeine] Refresh-ahead of cache '" + cacheName + "' failed: " + ex.getMessage());
+            }
+        }
+    }
+
+    private void recordBatch(int size) {
+        batches.increment();
+        keys.add(size);
+        largestBatch.accumulateAndGet(size, Math::max);
+    }
+}
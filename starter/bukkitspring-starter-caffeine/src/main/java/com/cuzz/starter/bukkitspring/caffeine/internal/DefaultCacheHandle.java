@@ -0,0 +1,101 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.cuzz.starter.bukkitspring.caffeine.api.CacheHandle;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * {@link CacheHandle} bound to one {@link CacheEntry}; rebinds through the service once that entry
+ * is destroyed.
+ */
+@SuppressWarnings("unchecked")
+final class DefaultCacheHandle<K, V> implements CacheHandle<K, V> {
+    private final DefaultCaffeineService service;
+    private final String name;
+    private volatile Binding binding;
+
+    DefaultCacheHandle(DefaultCaffeineService service, String name) {
+        this.service = service;
+        this.name = name;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public Cache<K, V> cache() {
+        return (Cache<K, V>) binding().sync;
+    }
+
+    @Override
+    public AsyncCache<K, V> asyncCache() {
+        return (AsyncCache<K, V>) binding().async;
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        return (V) binding().sync.getIfPresent(key);
+    }
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> mappingFunction) {
+        return (V) binding().sync.get(key, (Function<Object, Object>) mappingFunction);
+    }
+
+    @Override
+    public void put(K key, V value) {
+        binding().sync.put(key, value);
+    }
+
+    @Override
+    public void invalidate(K key) {
+        binding().sync.invalidate(key);
+    }
+
+    @Override
+    public CompletableFuture<V> guardedGet(K key, Function<? super K, ? extends V> loader) {
+        Binding current = binding();
+        return (CompletableFuture<V>) service.loadGuard(current.entry).get(key, (Function<Object, Object>) loader);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheHandle(" + name + ")";
+    }
+
+    private Binding binding() {
+        Binding current = binding;
+        if (current != null && !current.entry.destroyed) {
+            return current;
+        }
+        synchronized (this) {
+            current = binding;
+            while (current == null || current.entry.destroyed || current.sync == null) {
+                // a destroy racing the bind leaves null caches; bind again
+                current = new Binding(service.entryWithCache(name));
+            }
+            binding = current;
+            return current;
+        }
+    }
+
+    /**
+     * Entry plus its caches, read together so a handle never mixes caches of two generations.
+     */
+    private static final class Binding {
+        private final CacheEntry entry;
+        private final AsyncCache<Object, Object> async;
+        private final Cache<Object, Object> sync;
+
+        private Binding(CacheEntry entry) {
+            this.entry = entry;
+            this.async = entry.asyncCache;
+            this.sync = entry.syncView;
+        }
+    }
+}
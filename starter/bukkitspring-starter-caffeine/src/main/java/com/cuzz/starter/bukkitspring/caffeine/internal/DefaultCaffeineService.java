@@ -4,7 +4,22 @@ import com.cuzz.bukkitspring.api.annotation.Autowired;
 import com.cuzz.bukkitspring.api.annotation.Component;
 import com.cuzz.bukkitspring.api.annotation.PostConstruct;
 import com.cuzz.bukkitspring.api.annotation.PreDestroy;
+import com.cuzz.starter.bukkitspring.caffeine.api.BulkLoadStats;
+import com.cuzz.starter.bukkitspring.caffeine.api.BulkLoader;
+import com.cuzz.starter.bukkitspring.caffeine.api.CacheHandle;
+import com.cuzz.starter.bukkitspring.caffeine.api.CacheMemoryStats;
+import com.cuzz.starter.bukkitspring.caffeine.api.CacheValueCodec;
+import com.cuzz.starter.bukkitspring.caffeine.api.CacheValueCodecs;
+import com.cuzz.starter.bukkitspring.caffeine.api.CaffeineCacheSpec;
 import com.cuzz.starter.bukkitspring.caffeine.api.CaffeineService;
+import com.cuzz.starter.bukkitspring.caffeine.api.LoadGuardStats;
+import com.cuzz.starter.bukkitspring.caffeine.api.LongKeyCache;
+import com.cuzz.starter.bukkitspring.caffeine.api.ObjectSizeEstimator;
+import com.cuzz.starter.bukkitspring.caffeine.api.ObjectSizer;
+import com.cuzz.starter.bukkitspring.caffeine.api.OffHeapCache;
+import com.cuzz.starter.bukkitspring.caffeine.api.RemoteCacheStore;
+import com.cuzz.starter.bukkitspring.caffeine.api.TieredCache;
+import com.cuzz.starter.bukkitspring.caffeine.api.UuidKeyCache;
 import com.cuzz.starter.bukkitspring.caffeine.config.CaffeineSettings;
 import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
@@ -13,35 +28,71 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.Ticker;
 
-import java.util.Collections;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.logging.Logger;
 
 @Component
 public final class DefaultCaffeineService implements CaffeineService {
+    private static final long STALE_FALLBACK_MAXIMUM_SIZE = 10_000L;
+
     private final CaffeineSettings settings;
     private final Logger logger;
     private final AtomicBoolean closed = new AtomicBoolean(false);
     private final Object executorLock = new Object();
-    private final ConcurrentMap<String, AsyncCache<Object, Object>> asyncCaches = new ConcurrentHashMap<>();
-    private final ConcurrentMap<String, Cache<Object, Object>> syncViews = new ConcurrentHashMap<>();
-    private final ConcurrentMap<String, LoadingCache<Object, Object>> loadingCaches = new ConcurrentHashMap<>();
-    private final ConcurrentMap<String, AsyncLoadingCache<Object, Object>> asyncLoadingCaches = new ConcurrentHashMap<>();
-    private final ConcurrentMap<String, String> loadingLoaderTypes = new ConcurrentHashMap<>();
-    private final ConcurrentMap<String, String> asyncLoadingLoaderTypes = new ConcurrentHashMap<>();
+    private final CacheRegistry registry;
+    private final ConcurrentMap<String, CacheValueCodec<Object>> snapshotCodecs = new ConcurrentHashMap<>();
+    private final CacheValueCodec<Object> defaultSnapshotCodec;
+    private final CacheSnapshotStore snapshotStore;
+    private final ObjectSizeEstimator sizeEstimator = new ObjectSizeEstimator();
+    private final MemoryBudget memoryBudget;
+    private final Ticker ticker;
     private volatile ExecutorService executor;
+    private volatile ScheduledExecutorService scheduler;
+    private volatile AutoCloseable metricsRegistration;
 
-    @Autowired
     public DefaultCaffeineService(CaffeineSettings settings, Logger logger) {
+        this(settings, logger, null);
+    }
+
+    @Autowired
+    public DefaultCaffeineService(CaffeineSettings settings,
+                                  Logger logger,
+                                  @Autowired(required = false) Path dataDirectory) {
+        this(settings, logger, dataDirectory, Ticker.systemTicker());
+    }
+
+    /**
+     * {@code ticker} drives the expiry of the caches this service builds; tests pass a manual one.
+     */
+    DefaultCaffeineService(CaffeineSettings settings, Logger logger, Path dataDirectory, Ticker ticker) {
         this.settings = Objects.requireNonNull(settings, "settings");
+        this.ticker = Objects.requireNonNull(ticker, "ticker");
         this.logger = logger;
+        this.snapshotStore = settings.snapshotEnabled && dataDirectory != null
+                ? new CacheSnapshotStore(dataDirectory.resolve(settings.snapshotDirectory), logger)
+                : null;
+        this.defaultSnapshotCodec = javaSerializationCodec();
+        this.memoryBudget = new MemoryBudget(settings.memoryBudgetBytes);
+        this.registry = new CacheRegistry(settings.defaultCacheName);
     }
 
     @PostConstruct
@@ -52,6 +103,7 @@ public final class DefaultCaffeineService implements CaffeineService {
         }
         registerGlobalBeanInternal();
         precreateConfiguredCaches();
+        registerMetrics();
     }
 
     @PreDestroy
@@ -86,12 +138,26 @@ public final class DefaultCaffeineService implements CaffeineService {
         }
     }
 
+    private ScheduledExecutorService scheduler() {
+        ScheduledExecutorService current = scheduler;
+        if (current != null) {
+            return current;
+        }
+        synchronized (executorLock) {
+            if (scheduler == null) {
+                scheduler = CaffeineExecutors.createScheduler();
+            }
+            return scheduler;
+        }
+    }
+
     @Override
     public Caffeine<Object, Object> newBuilder(String cacheName) {
         ensureEnabled();
-        return settings.specFor(normalizeCacheName(cacheName))
-                .newBuilder()
-                .executor(executor());
+        CaffeineCacheSpec spec = settings.specFor(normalizeCacheName(cacheName));
+        return spec.newBuilder(sizeEstimator::weigh, spec.maximumBytes)
+                .executor(executor())
+                .ticker(ticker);
     }
 
     @Override
@@ -102,42 +168,88 @@ public final class DefaultCaffeineService implements CaffeineService {
     @Override
     public Cache<Object, Object> getCache(String cacheName) {
         ensureEnabled();
-        String normalized = normalizeCacheName(cacheName);
-        return syncViews.computeIfAbsent(normalized, name -> getAsyncCache(name).synchronous());
+        return resolve(normalizeCacheName(cacheName), entry -> entry.syncView, entry -> {
+            bindAsyncCache(entry);
+            return entry.syncView;
+        });
     }
 
     @Override
     public AsyncCache<Object, Object> getAsyncCache(String cacheName) {
         ensureEnabled();
-        String normalized = normalizeCacheName(cacheName);
-        return asyncCaches.computeIfAbsent(normalized, this::createAsyncCache);
+        return resolve(normalizeCacheName(cacheName), entry -> entry.asyncCache, this::bindAsyncCache);
     }
 
     @Override
     public LoadingCache<Object, Object> getLoadingCache(String cacheName, CacheLoader<Object, Object> loader) {
         ensureEnabled();
         Objects.requireNonNull(loader, "loader");
-        String normalized = normalizeCacheName(cacheName);
-        ensureLoaderTypeCompatible(loadingLoaderTypes, normalized, loader, "LoadingCache");
-        return loadingCaches.computeIfAbsent(normalized, name -> createLoadingCache(name, loader));
+        return resolveLoadingCache(normalizeCacheName(cacheName), loader, entry -> createLoadingCache(entry.name, loader));
     }
 
     @Override
     public AsyncLoadingCache<Object, Object> getAsyncLoadingCache(String cacheName, CacheLoader<Object, Object> loader) {
         ensureEnabled();
         Objects.requireNonNull(loader, "loader");
-        String normalized = normalizeCacheName(cacheName);
-        ensureLoaderTypeCompatible(asyncLoadingLoaderTypes, normalized, loader, "AsyncLoadingCache");
-        return asyncLoadingCaches.computeIfAbsent(normalized, name -> createAsyncLoadingCache(name, loader));
+        return resolveAsyncLoadingCache(
+                normalizeCacheName(cacheName),
+                loader,
+                entry -> createAsyncLoadingCache(entry.name, loader)
+        );
     }
 
     @Override
     public AsyncLoadingCache<Object, Object> getAsyncLoadingCache(String cacheName, AsyncCacheLoader<Object, Object> loader) {
         ensureEnabled();
         Objects.requireNonNull(loader, "loader");
-        String normalized = normalizeCacheName(cacheName);
-        ensureLoaderTypeCompatible(asyncLoadingLoaderTypes, normalized, loader, "AsyncLoadingCache");
-        return asyncLoadingCaches.computeIfAbsent(normalized, name -> createAsyncLoadingCache(name, loader));
+        return resolveAsyncLoadingCache(
+                normalizeCacheName(cacheName),
+                loader,
+                entry -> createAsyncLoadingCache(entry.name, loader)
+        );
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <K, V> LoadingCache<K, V> bulkLoadingCache(String cacheName, BulkLoader<K, V> loader) {
+        ensureEnabled();
+        Objects.requireNonNull(loader, "loader");
+        return (LoadingCache) resolveLoadingCache(
+                normalizeCacheName(cacheName),
+                loader,
+                entry -> createBulkLoadingCache(entry, (BulkLoader<Object, Object>) loader)
+        );
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <K, V> AsyncLoadingCache<K, V> bulkAsyncLoadingCache(String cacheName, BulkLoader<K, V> loader) {
+        ensureEnabled();
+        Objects.requireNonNull(loader, "loader");
+        return (AsyncLoadingCache) resolveAsyncLoadingCache(
+                normalizeCacheName(cacheName),
+                loader,
+                entry -> createBulkAsyncLoadingCache(entry, (BulkLoader<Object, Object>) loader)
+        );
+    }
+
+    @Override
+    public BulkLoadStats bulkLoadStats(String cacheName) {
+        ensureEnabled();
+        CacheEntry entry = registry.get(normalizeCacheName(cacheName));
+        BulkLoadStats stats = BulkLoadStats.empty();
+        if (entry == null) {
+            return stats;
+        }
+        CoalescingCacheLoader<Object, Object> loader = entry.bulkLoader;
+        if (loader != null) {
+            stats = stats.plus(loader.stats());
+        }
+        CoalescingCacheLoader<Object, Object> asyncLoader = entry.asyncBulkLoader;
+        if (asyncLoader != null) {
+            stats = stats.plus(asyncLoader.stats());
+        }
+        return stats;
     }
 
     @Override
@@ -149,68 +261,144 @@ public final class DefaultCaffeineService implements CaffeineService {
     @Override
     public Set<String> cacheNames() {
         ensureEnabled();
-        LinkedHashSet<String> names = new LinkedHashSet<>();
-        names.add(settings.defaultCacheName);
-        names.addAll(asyncCaches.keySet());
-        names.addAll(syncViews.keySet());
-        names.addAll(loadingCaches.keySet());
-        names.addAll(asyncLoadingCaches.keySet());
-        return Collections.unmodifiableSet(names);
+        return registry.names();
     }
 
     @Override
-    public void destroyCache(String cacheName) {
+    @SuppressWarnings("unchecked")
+    public <K, V> CacheHandle<K, V> handle(String cacheName) {
         ensureEnabled();
-        String normalized = normalizeCacheName(cacheName);
+        return (CacheHandle<K, V>) resolve(normalizeCacheName(cacheName), entry -> entry.handle, entry -> {
+            entry.handle = new DefaultCacheHandle<>(this, entry.name);
+            return entry.handle;
+        });
+    }
 
-        Cache<Object, Object> removedView = syncViews.remove(normalized);
-        if (removedView != null) {
-            removedView.invalidateAll();
-        }
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> TieredCache<K, V> tieredCache(String cacheName,
+                                                RemoteCacheStore remote,
+                                                CacheValueCodec<V> codec,
+                                                Function<? super K, String> keyMapper) {
+        ensureEnabled();
+        Objects.requireNonNull(remote, "remote");
+        Objects.requireNonNull(codec, "codec");
+        Objects.requireNonNull(keyMapper, "keyMapper");
+        return (TieredCache<K, V>) resolve(normalizeCacheName(cacheName), entry -> entry.tieredCache, entry -> {
+            entry.tieredCache = createTieredCache(entry, remote, codec, keyMapper);
+            return entry.tieredCache;
+        });
+    }
 
-        AsyncCache<Object, Object> removedAsync = asyncCaches.remove(normalized);
-        if (removedAsync != null) {
-            removedAsync.synchronous().invalidateAll();
-        }
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> OffHeapCache<K, V> offHeapCache(String cacheName, CacheValueCodec<V> codec) {
+        ensureEnabled();
+        Objects.requireNonNull(codec, "codec");
+        return (OffHeapCache<K, V>) resolve(normalizeCacheName(cacheName), entry -> entry.offHeapCache, entry -> {
+            entry.offHeapCache = new DefaultOffHeapCache<K, V>(
+                    entry.name,
+                    settings.specFor(entry.name),
+                    codec,
+                    executor(),
+                    () -> entry.offHeapCache = null
+            );
+            return entry.offHeapCache;
+        });
+    }
 
-        LoadingCache<Object, Object> removedLoading = loadingCaches.remove(normalized);
-        if (removedLoading != null) {
-            removedLoading.invalidateAll();
-        }
-        loadingLoaderTypes.remove(normalized);
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> LongKeyCache<V> longKeyCache(String cacheName) {
+        ensureEnabled();
+        return (LongKeyCache<V>) resolve(normalizeCacheName(cacheName), entry -> entry.longKeyCache, entry -> {
+            entry.longKeyCache = new DefaultLongKeyCache<V>(
+                    entry.name,
+                    settings.specFor(entry.name),
+                    () -> entry.longKeyCache = null
+            );
+            return entry.longKeyCache;
+        });
+    }
 
-        AsyncLoadingCache<Object, Object> removedAsyncLoading = asyncLoadingCaches.remove(normalized);
-        if (removedAsyncLoading != null) {
-            removedAsyncLoading.synchronous().invalidateAll();
-        }
-        asyncLoadingLoaderTypes.remove(normalized);
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> UuidKeyCache<V> uuidKeyCache(String cacheName) {
+        ensureEnabled();
+        return (UuidKeyCache<V>) resolve(normalizeCacheName(cacheName), entry -> entry.uuidKeyCache, entry -> {
+            entry.uuidKeyCache = new DefaultUuidKeyCache<V>(
+                    entry.name,
+                    settings.specFor(entry.name),
+                    () -> entry.uuidKeyCache = null
+            );
+            return entry.uuidKeyCache;
+        });
     }
 
     @Override
-    public void destroyAllCaches() {
+    public <T> void registerSizer(Class<T> type, ObjectSizer<? super T> sizer) {
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(sizer, "sizer");
+        sizeEstimator.registerSizer(type, sizer);
+    }
+
+    @Override
+    public CacheMemoryStats memoryStats(String cacheName) {
         ensureEnabled();
+        return memoryBudget.stats(normalizeCacheName(cacheName));
+    }
 
-        for (Cache<Object, Object> cache : syncViews.values()) {
-            cache.invalidateAll();
-        }
-        syncViews.clear();
+    @Override
+    public CompletableFuture<Object> guardedGet(String cacheName, Object key, Function<Object, Object> loader) {
+        ensureEnabled();
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(loader, "loader");
+        return resolve(normalizeCacheName(cacheName), entry -> entry.loadGuard, this::bindLoadGuard).get(key, loader);
+    }
 
-        for (AsyncCache<Object, Object> cache : asyncCaches.values()) {
-            cache.synchronous().invalidateAll();
-        }
-        asyncCaches.clear();
+    @Override
+    public LoadGuardStats loadGuardStats(String cacheName) {
+        ensureEnabled();
+        CacheEntry entry = registry.get(normalizeCacheName(cacheName));
+        LoadGuard guard = entry == null ? null : entry.loadGuard;
+        return guard == null ? LoadGuardStats.empty() : guard.stats();
+    }
 
-        for (LoadingCache<Object, Object> cache : loadingCaches.values()) {
-            cache.invalidateAll();
-        }
-        loadingCaches.clear();
-        loadingLoaderTypes.clear();
+    @Override
+    public void registerSnapshotCodec(String cacheName, CacheValueCodec<Object> codec) {
+        Objects.requireNonNull(codec, "codec");
+        snapshotCodecs.put(normalizeCacheName(cacheName), codec);
+    }
+
+    @Override
+    public int writeSnapshot(String cacheName) {
+        ensureEnabled();
+        return writeSnapshotInternal(normalizeCacheName(cacheName));
+    }
 
-        for (AsyncLoadingCache<Object, Object> cache : asyncLoadingCaches.values()) {
-            cache.synchronous().invalidateAll();
+    @Override
+    public CompletableFuture<Integer> restoreSnapshot(String cacheName) {
+        ensureEnabled();
+        String normalized = normalizeCacheName(cacheName);
+        if (snapshotStore == null) {
+            return CompletableFuture.completedFuture(0);
         }
-        asyncLoadingCaches.clear();
-        asyncLoadingLoaderTypes.clear();
+        Cache<Object, Object> cache = getCache(normalized);
+        return CompletableFuture.supplyAsync(() -> restoreSnapshotInternal(normalized, cache), executor());
+    }
+
+    @Override
+    public void destroyCache(String cacheName) {
+        ensureEnabled();
+        String normalized = normalizeCacheName(cacheName);
+        registry.destroy(normalized);
+        memoryBudget.unregister(normalized);
+    }
+
+    @Override
+    public void destroyAllCaches() {
+        ensureEnabled();
+        clearCachesQuietly();
     }
 
     @Override
@@ -218,40 +406,208 @@ public final class DefaultCaffeineService implements CaffeineService {
         if (!closed.compareAndSet(false, true)) {
             return;
         }
+        unregisterMetrics();
+        memoryBudget.stop();
+        writeSnapshotsQuietly();
         clearCachesQuietly();
 
+        ScheduledExecutorService currentScheduler = scheduler;
+        if (currentScheduler != null) {
+            currentScheduler.shutdownNow();
+        }
         ExecutorService currentExecutor = executor;
         if (currentExecutor != null) {
             currentExecutor.shutdown();
         }
     }
 
+    /**
+     * Guard of {@code entry}, for handles that already hold the entry.
+     */
+    LoadGuard loadGuard(CacheEntry entry) {
+        LoadGuard guard = entry.loadGuard;
+        return guard != null ? guard : resolve(entry.name, current -> current.loadGuard, this::bindLoadGuard);
+    }
+
+    /**
+     * Entry of {@code cacheName} with its plain cache created, for {@link DefaultCacheHandle}.
+     */
+    CacheEntry entryWithCache(String cacheName) {
+        ensureEnabled();
+        while (true) {
+            CacheEntry entry = registry.entry(cacheName);
+            synchronized (entry) {
+                if (entry.destroyed) {
+                    continue;
+                }
+                if (entry.asyncCache == null) {
+                    bindAsyncCache(entry);
+                }
+                return entry;
+            }
+        }
+    }
+
+    /**
+     * Value {@code read} finds in the entry of {@code cacheName}; when absent, {@code create} makes
+     * and stores it under the entry's monitor. Retries when the entry is destroyed meanwhile.
+     */
+    private <T> T resolve(String cacheName, Function<CacheEntry, T> read, Function<CacheEntry, T> create) {
+        while (true) {
+            CacheEntry entry = registry.entry(cacheName);
+            T existing = read.apply(entry);
+            if (existing != null) {
+                return existing;
+            }
+            synchronized (entry) {
+                if (entry.destroyed) {
+                    continue;
+                }
+                existing = read.apply(entry);
+                return existing != null ? existing : create.apply(entry);
+            }
+        }
+    }
+
+    private LoadingCache<Object, Object> resolveLoadingCache(String cacheName,
+                                                             Object loader,
+                                                             Function<CacheEntry, LoadingCache<Object, Object>> create) {
+        String loaderType = loader.getClass().getName();
+        return resolve(cacheName, entry -> {
+            ensureLoaderTypeCompatible(entry.loadingLoaderType, cacheName, loaderType, "LoadingCache");
+            return entry.loadingCache;
+        }, entry -> {
+            entry.loadingLoaderType = loaderType;
+            entry.loadingCache = create.apply(entry);
+            return entry.loadingCache;
+        });
+    }
+
+    private AsyncLoadingCache<Object, Object> resolveAsyncLoadingCache(
+            String cacheName,
+            Object loader,
+            Function<CacheEntry, AsyncLoadingCache<Object, Object>> create) {
+        String loaderType = loader.getClass().getName();
+        return resolve(cacheName, entry -> {
+            ensureLoaderTypeCompatible(entry.asyncLoadingLoaderType, cacheName, loaderType, "AsyncLoadingCache");
+            return entry.asyncLoadingCache;
+        }, entry -> {
+            entry.asyncLoadingLoaderType = loaderType;
+            entry.asyncLoadingCache = create.apply(entry);
+            return entry.asyncLoadingCache;
+        });
+    }
+
+    private AsyncCache<Object, Object> bindAsyncCache(CacheEntry entry) {
+        AsyncCache<Object, Object> cache = createAsyncCache(entry.name);
+        entry.syncView = cache.synchronous();
+        entry.asyncCache = cache;
+        return cache;
+    }
+
+    private LoadGuard bindLoadGuard(CacheEntry entry) {
+        AsyncCache<Object, Object> cache = entry.asyncCache != null ? entry.asyncCache : bindAsyncCache(entry);
+        CaffeineCacheSpec spec = settings.specFor(entry.name);
+        entry.loadGuard = new LoadGuard(
+                entry.name,
+                cache,
+                executor(),
+                ticker,
+                settings.maxConcurrentLoads,
+                settings.loadFailFast,
+                settings.staleWhileRevalidate,
+                settings.serveStaleOnError,
+                settings.staleTtlMillis,
+                spec.maximumSize > 0 ? spec.maximumSize : STALE_FALLBACK_MAXIMUM_SIZE
+        );
+        return entry.loadGuard;
+    }
+
     private AsyncCache<Object, Object> createAsyncCache(String cacheName) {
-        return settings.specFor(cacheName)
-                .newBuilder()
-                .executor(executor())
-                .buildAsync();
+        MemoryBudget.Account account = newMemoryAccount(cacheName);
+        AsyncCache<Object, Object> cache = accountedBuilder(cacheName, account).buildAsync();
+        memoryBudget.register("cache", account, cache.synchronous());
+        return cache;
     }
 
     private LoadingCache<Object, Object> createLoadingCache(String cacheName, CacheLoader<Object, Object> loader) {
-        return settings.specFor(cacheName)
-                .newBuilder()
-                .executor(executor())
-                .build(loader);
+        MemoryBudget.Account account = newMemoryAccount(cacheName);
+        LoadingCache<Object, Object> cache = accountedBuilder(cacheName, account).build(loader);
+        memoryBudget.register("loading", account, cache);
+        return cache;
     }
 
     private AsyncLoadingCache<Object, Object> createAsyncLoadingCache(String cacheName, CacheLoader<Object, Object> loader) {
-        return settings.specFor(cacheName)
-                .newBuilder()
-                .executor(executor())
-                .buildAsync(loader);
+        MemoryBudget.Account account = newMemoryAccount(cacheName);
+        AsyncLoadingCache<Object, Object> cache = accountedBuilder(cacheName, account).buildAsync(loader);
+        memoryBudget.register("async-loading", account, cache.synchronous());
+        return cache;
     }
 
     private AsyncLoadingCache<Object, Object> createAsyncLoadingCache(String cacheName, AsyncCacheLoader<Object, Object> loader) {
-        return settings.specFor(cacheName)
-                .newBuilder()
+        MemoryBudget.Account account = newMemoryAccount(cacheName);
+        AsyncLoadingCache<Object, Object> cache = accountedBuilder(cacheName, account).buildAsync(loader);
+        memoryBudget.register("async-loading", account, cache.synchronous());
+        return cache;
+    }
+
+    private MemoryBudget.Account newMemoryAccount(String cacheName) {
+        MemoryBudget.Account account = memoryBudget.newAccount(cacheName, settings.specFor(cacheName).maximumBytes);
+        if (account != null && memoryBudget.isEnabled()) {
+            memoryBudget.start(scheduler(), settings.memoryBudgetRebalanceMillis);
+        }
+        return account;
+    }
+
+    /**
+     * Spec builder; byte-bounded caches weigh entries with the service's estimator and report evicted bytes.
+     */
+    private Caffeine<Object, Object> accountedBuilder(String cacheName, MemoryBudget.Account account) {
+        CaffeineCacheSpec spec = settings.specFor(cacheName);
+        if (account == null) {
+            return spec.newBuilder().executor(executor()).ticker(ticker);
+        }
+        return spec.newBuilder(sizeEstimator::weigh, memoryBudget.initialBytes(account))
                 .executor(executor())
-                .buildAsync(loader);
+                .ticker(ticker)
+                .evictionListener((key, value, cause) -> {
+                    if (cause.wasEvicted() && key != null) {
+                        account.recordEviction(sizeEstimator.weigh(key, value));
+                    }
+                });
+    }
+
+    private LoadingCache<Object, Object> createBulkLoadingCache(CacheEntry entry, BulkLoader<Object, Object> bulkLoader) {
+        CoalescingCacheLoader<Object, Object> loader = newCoalescingLoader(entry.name, bulkLoader);
+        LoadingCache<Object, Object> cache = createLoadingCache(entry.name, loader);
+        loader.startRefreshAhead(cache, settings.specFor(entry.name).refreshAfterWriteMillis, settings.refreshAheadPercent);
+        entry.bulkLoader = loader;
+        return cache;
+    }
+
+    private AsyncLoadingCache<Object, Object> createBulkAsyncLoadingCache(CacheEntry entry,
+                                                                          BulkLoader<Object, Object> bulkLoader) {
+        CoalescingCacheLoader<Object, Object> loader = newCoalescingLoader(entry.name, bulkLoader);
+        AsyncLoadingCache<Object, Object> cache = createAsyncLoadingCache(entry.name, (CacheLoader<Object, Object>) loader);
+        loader.startRefreshAhead(
+                cache.synchronous(),
+                settings.specFor(entry.name).refreshAfterWriteMillis,
+                settings.refreshAheadPercent
+        );
+        entry.asyncBulkLoader = loader;
+        return cache;
+    }
+
+    private CoalescingCacheLoader<Object, Object> newCoalescingLoader(String cacheName, BulkLoader<Object, Object> bulkLoader) {
+        return new CoalescingCacheLoader<>(
+                cacheName,
+                bulkLoader,
+                executor(),
+                scheduler(),
+                settings.bulkLoadWindowMillis,
+                settings.bulkLoadMaxBatchSize,
+                logger
+        );
     }
 
     private void precreateConfiguredCaches() {
@@ -262,38 +618,229 @@ public final class DefaultCaffeineService implements CaffeineService {
         if (!settings.namedCacheSpecs.isEmpty()) {
             logInfo("[Caffeine] Precreated named caches: " + settings.namedCacheSpecs.keySet());
         }
+        if (snapshotStore != null) {
+            for (String cacheName : configuredCacheNames()) {
+                restoreSnapshot(cacheName).thenAccept(restored -> {
+                    if (restored > 0) {
+                        logInfo("[Caffeine] Restored " + restored + " entries into cache '" + cacheName + "'");
+                    }
+                });
+            }
+        }
     }
 
-    private void clearCachesQuietly() {
-        for (Cache<Object, Object> cache : syncViews.values()) {
-            cache.invalidateAll();
+    /**
+     * Visit every cache instance once, without creating any; loading and plain caches may share a name.
+     */
+    void forEachCache(BiConsumer<String, Cache<?, ?>> action) {
+        for (CacheEntry entry : registry.entries()) {
+            Cache<Object, Object> plain = entry.syncView;
+            if (plain != null) {
+                action.accept(entry.name, plain);
+            }
+            LoadingCache<Object, Object> loading = entry.loadingCache;
+            if (loading != null) {
+                action.accept(entry.name, loading);
+            }
+            AsyncLoadingCache<Object, Object> asyncLoading = entry.asyncLoadingCache;
+            if (asyncLoading != null) {
+                action.accept(entry.name, asyncLoading.synchronous());
+            }
+        }
+    }
+
+    /**
+     * Visit the batch counters of every bulk loading cache; sync and async caches may share a name.
+     */
+    void forEachBulkLoader(BiConsumer<String, BulkLoadStats> action) {
+        for (CacheEntry entry : registry.entries()) {
+            CoalescingCacheLoader<Object, Object> loader = entry.bulkLoader;
+            if (loader != null) {
+                action.accept(entry.name, loader.stats());
+            }
+            CoalescingCacheLoader<Object, Object> asyncLoader = entry.asyncBulkLoader;
+            if (asyncLoader != null) {
+                action.accept(entry.name, asyncLoader.stats());
+            }
+        }
+    }
+
+    /**
+     * Visit the byte accounting of every byte-bounded cache; cache kinds sharing a name are visited separately.
+     */
+    void forEachMemoryAccount(BiConsumer<String, CacheMemoryStats> action) {
+        memoryBudget.forEach(action);
+    }
+
+    /**
+     * Visit the counters of every cache {@link #guardedGet} has been used on.
+     */
+    void forEachLoadGuard(BiConsumer<String, LoadGuardStats> action) {
+        for (CacheEntry entry : registry.entries()) {
+            LoadGuard guard = entry.loadGuard;
+            if (guard != null) {
+                action.accept(entry.name, guard.stats());
+            }
         }
-        syncViews.clear();
+    }
 
-        for (AsyncCache<Object, Object> cache : asyncCaches.values()) {
-            cache.synchronous().invalidateAll();
+    private void registerMetrics() {
+        if (!settings.metricsEnabled || metricsRegistration != null) {
+            return;
+        }
+        if (!CaffeineMetricsCollector.isAvailable(DefaultCaffeineService.class.getClassLoader())) {
+            logInfo("[Caffeine] Prometheus client not found, cache metrics not exported.");
+            return;
         }
-        asyncCaches.clear();
+        try {
+            metricsRegistration = CaffeineMetricsCollector.registerDefault(this);
+            logInfo("[Caffeine] Cache metrics registered with Prometheus default registry");
+        } catch (RuntimeException | LinkageError ex) {
+            logWarning("[Caffeine] Failed to register cache metrics: " + ex.getMessage());
+        }
+    }
 
-        for (LoadingCache<Object, Object> cache : loadingCaches.values()) {
-            cache.invalidateAll();
+    private void unregisterMetrics() {
+        AutoCloseable registration = metricsRegistration;
+        metricsRegistration = null;
+        if (registration == null) {
+            return;
+        }
+        try {
+            registration.close();
+        } catch (Exception ex) {
+            logWarning("[Caffeine] Failed to unregister cache metrics: " + ex.getMessage());
         }
-        loadingCaches.clear();
-        loadingLoaderTypes.clear();
+    }
+
+    private Set<String> configuredCacheNames() {
+        LinkedHashSet<String> names = new LinkedHashSet<>();
+        names.add(settings.defaultCacheName);
+        names.addAll(settings.namedCacheSpecs.keySet());
+        return names;
+    }
+
+    private int writeSnapshotInternal(String cacheName) {
+        CacheEntry entry = registry.get(cacheName);
+        AsyncCache<Object, Object> cache = entry == null ? null : entry.asyncCache;
+        if (snapshotStore == null || cache == null) {
+            return 0;
+        }
+        try {
+            return snapshotStore.write(
+                    cacheName,
+                    hottestEntries(cache.synchronous(), settings.snapshotMaxEntries),
+                    snapshotCodec(cacheName)
+            );
+        } catch (IOException | RuntimeException ex) {
+            logWarning("[Caffeine] Failed to write snapshot of cache '" + cacheName + "': " + ex.getMessage());
+            return 0;
+        }
+    }
 
-        for (AsyncLoadingCache<Object, Object> cache : asyncLoadingCaches.values()) {
-            cache.synchronous().invalidateAll();
+    private int restoreSnapshotInternal(String cacheName, Cache<Object, Object> cache) {
+        List<Map.Entry<Object, Object>> entries;
+        try {
+            entries = snapshotStore.read(cacheName, snapshotCodec(cacheName));
+        } catch (IOException | RuntimeException ex) {
+            logWarning("[Caffeine] Failed to read snapshot of cache '" + cacheName + "': " + ex.getMessage());
+            return 0;
         }
-        asyncLoadingCaches.clear();
-        asyncLoadingLoaderTypes.clear();
+        int restored = 0;
+        // Coldest first, so recency-ordered policies end up with the hottest entries most recent
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            Map.Entry<Object, Object> entry = entries.get(i);
+            if (cache.asMap().putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+                restored++;
+            }
+        }
+        return restored;
+    }
+
+    private void writeSnapshotsQuietly() {
+        if (snapshotStore == null) {
+            return;
+        }
+        for (String cacheName : configuredCacheNames()) {
+            int written = writeSnapshotInternal(cacheName);
+            if (written > 0) {
+                logInfo("[Caffeine] Wrote " + written + " entries of cache '" + cacheName + "' to snapshot");
+            }
+        }
+    }
+
+    private CacheValueCodec<Object> snapshotCodec(String cacheName) {
+        return snapshotCodecs.getOrDefault(cacheName, defaultSnapshotCodec);
+    }
+
+    /**
+     * Hottest entries by the cache's own ordering: size eviction (frequency and recency), else
+     * access expiry (recency), else iteration order.
+     */
+    private static Iterable<Map.Entry<Object, Object>> hottestEntries(Cache<Object, Object> cache, int limit) {
+        Policy<Object, Object> policy = cache.policy();
+        if (policy.eviction().isPresent()) {
+            return policy.eviction().get().hottest(limit).entrySet();
+        }
+        if (policy.expireAfterAccess().isPresent()) {
+            return policy.expireAfterAccess().get().youngest(limit).entrySet();
+        }
+        List<Map.Entry<Object, Object>> entries = new ArrayList<>();
+        for (Map.Entry<Object, Object> entry : cache.asMap().entrySet()) {
+            if (entries.size() >= limit) {
+                break;
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static CacheValueCodec<Object> javaSerializationCodec() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = DefaultCaffeineService.class.getClassLoader();
+        }
+        CacheValueCodec<Serializable> codec = CacheValueCodecs.javaSerialization(classLoader);
+        return (CacheValueCodec) codec;
+    }
+
+    private <K, V> DefaultTieredCache<K, V> createTieredCache(CacheEntry entry,
+                                                             RemoteCacheStore remote,
+                                                             CacheValueCodec<V> codec,
+                                                             Function<? super K, String> keyMapper) {
+        String cacheName = entry.name;
+        CaffeineCacheSpec spec = settings.specFor(cacheName);
+        MemoryBudget.Account account = newMemoryAccount(cacheName);
+        @SuppressWarnings("unchecked")
+        Cache<String, V> local = (Cache<String, V>) (Cache<?, ?>) accountedBuilder(cacheName, account).build();
+        memoryBudget.register("tiered", account, local);
+        return new DefaultTieredCache<>(
+                cacheName,
+                local,
+                remote,
+                codec,
+                keyMapper,
+                settings.tieredKeyPrefix,
+                settings.tieredChannelPrefix,
+                spec.expireAfterWriteMillis,
+                logger,
+                () -> {
+                    entry.tieredCache = null;
+                    memoryBudget.unregister("tiered", cacheName);
+                }
+        );
+    }
+
+    private void clearCachesQuietly() {
+        registry.destroyAll();
+        memoryBudget.clear();
     }
 
-    private void ensureLoaderTypeCompatible(ConcurrentMap<String, String> loaderTypes,
-                                            String cacheName,
-                                            Object loader,
-                                            String cacheKind) {
-        String incoming = loader.getClass().getName();
-        String existing = loaderTypes.putIfAbsent(cacheName, incoming);
+    private static void ensureLoaderTypeCompatible(String existing,
+                                                   String cacheName,
+                                                   String incoming,
+                                                   String cacheKind) {
         if (existing != null && !existing.equals(incoming)) {
             throw new IllegalStateException(
                     cacheKind + " '" + cacheName + "' was already initialized with loader type '"
@@ -0,0 +1,84 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.cuzz.starter.bukkitspring.caffeine.api.CaffeineCacheSpec;
+import com.cuzz.starter.bukkitspring.caffeine.api.LongKeyCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongFunction;
+
+final class DefaultLongKeyCache<V> implements LongKeyCache<V> {
+    private final String name;
+    private final PrimitiveKeyTable<V> table;
+    private final Runnable onClose;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    DefaultLongKeyCache(String name, CaffeineCacheSpec spec, Runnable onClose) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.table = new PrimitiveKeyTable<>(false, spec.initialCapacity, spec.maximumSize, spec.expireAfterWriteMillis);
+        this.onClose = onClose;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public V getIfPresent(long key) {
+        return table.get(key, 0L);
+    }
+
+    @Override
+    public V get(long key, LongFunction<? extends V> loader) {
+        Objects.requireNonNull(loader, "loader");
+        V cached = table.get(key, 0L);
+        if (cached != null) {
+            return cached;
+        }
+        V loaded = loader.apply(key);
+        if (loaded == null) {
+            return null;
+        }
+        table.recordLoad();
+        V existing = table.putIfAbsent(key, 0L, loaded);
+        return existing == null ? loaded : existing;
+    }
+
+    @Override
+    public void put(long key, V value) {
+        table.put(key, 0L, Objects.requireNonNull(value, "value"));
+    }
+
+    @Override
+    public void invalidate(long key) {
+        table.remove(key, 0L);
+    }
+
+    @Override
+    public void invalidateAll() {
+        table.clear();
+    }
+
+    @Override
+    public long estimatedSize() {
+        return table.size();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return table.stats();
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        table.clear();
+        if (onClose != null) {
+            onClose.run();
+        }
+    }
+}
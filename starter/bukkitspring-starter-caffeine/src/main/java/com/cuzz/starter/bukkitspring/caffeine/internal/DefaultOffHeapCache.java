@@ -0,0 +1,176 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.cuzz.starter.bukkitspring.caffeine.api.CacheValueCodec;
+import com.cuzz.starter.bukkitspring.caffeine.api.CaffeineCacheSpec;
+import com.cuzz.starter.bukkitspring.caffeine.api.OffHeapCache;
+import com.cuzz.starter.bukkitspring.caffeine.api.OffHeapCacheStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+final class DefaultOffHeapCache<K, V> implements OffHeapCache<K, V> {
+    private final String name;
+    private final CacheValueCodec<V> codec;
+    private final OffHeapSlabAllocator allocator;
+    private final Cache<K, Long> index;
+    private final Runnable onClose;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder staleReads = new LongAdder();
+
+    DefaultOffHeapCache(String name,
+                        CaffeineCacheSpec spec,
+                        CacheValueCodec<V> codec,
+                        Executor executor,
+                        Runnable onClose) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.codec = Objects.requireNonNull(codec, "codec");
+        this.onClose = onClose;
+        this.allocator = new OffHeapSlabAllocator(spec.offHeapMaxBytes, spec.offHeapSlabBytes);
+        // Evict before the slabs are full: removal (and so free) runs after the write that triggered it
+        long weightBudget = allocator.capacityBytes() - allocator.capacityBytes() / 10;
+        Caffeine<K, Long> builder = Caffeine.newBuilder()
+                .executor(Objects.requireNonNull(executor, "executor"))
+                .maximumWeight(weightBudget)
+                .<K, Long>weigher((key, pointer) -> allocator.chunkBytes(pointer))
+                .removalListener((key, pointer, cause) -> {
+                    if (pointer != null) {
+                        allocator.free(pointer);
+                    }
+                });
+        if (spec.initialCapacity > 0) {
+            builder.initialCapacity(spec.initialCapacity);
+        }
+        if (spec.expireAfterWriteMillis > 0) {
+            builder.expireAfterWrite(Duration.ofMillis(spec.expireAfterWriteMillis));
+        }
+        if (spec.expireAfterAccessMillis > 0) {
+            builder.expireAfterAccess(Duration.ofMillis(spec.expireAfterAccessMillis));
+        }
+        this.index = builder.build();
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        Long pointer = index.getIfPresent(key);
+        V value = pointer == null ? null : decode(pointer);
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Objects.requireNonNull(loader, "loader");
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        Object[] loaded = new Object[1];
+        // Caffeine's compute keeps concurrent misses for one key to a single load
+        Long pointer = index.get(key, ignored -> {
+            V value = loader.apply(key);
+            loaded[0] = value;
+            return value == null ? null : store(value);
+        });
+        if (loaded[0] != null) {
+            return (V) loaded[0];
+        }
+        V value = pointer == null ? null : decode(pointer);
+        if (value != null) {
+            return value;
+        }
+        // Another thread's entry was evicted between lookup and read
+        value = loader.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        Long pointer = store(value);
+        if (pointer == null) {
+            index.invalidate(key);
+            return;
+        }
+        index.put(key, pointer);
+    }
+
+    @Override
+    public void invalidate(K key) {
+        index.invalidate(key);
+    }
+
+    @Override
+    public void invalidateAll() {
+        index.invalidateAll();
+    }
+
+    @Override
+    public long estimatedSize() {
+        return index.estimatedSize();
+    }
+
+    @Override
+    public OffHeapCacheStats stats() {
+        return new OffHeapCacheStats(
+                index.estimatedSize(),
+                hits.sum(),
+                misses.sum(),
+                staleReads.sum(),
+                allocator.allocationFailures(),
+                allocator.capacityBytes(),
+                allocator.reservedBytes(),
+                allocator.usedBytes()
+        );
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        index.invalidateAll();
+        index.cleanUp();
+        allocator.close();
+        if (onClose != null) {
+            onClose.run();
+        }
+    }
+
+    private Long store(V value) {
+        if (closed.get()) {
+            return null;
+        }
+        long pointer = allocator.allocate(codec.encode(value));
+        return pointer == OffHeapSlabAllocator.NULL ? null : pointer;
+    }
+
+    private V decode(long pointer) {
+        byte[] bytes = allocator.read(pointer);
+        if (bytes == null) {
+            staleReads.increment();
+            return null;
+        }
+        return codec.decode(bytes);
+    }
+}
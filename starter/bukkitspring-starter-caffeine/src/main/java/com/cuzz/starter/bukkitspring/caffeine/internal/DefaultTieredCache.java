@@ -0,0 +1,322 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.cuzz.starter.bukkitspring.caffeine.api.CacheValueCodec;
+import com.cuzz.starter.bukkitspring.caffeine.api.RemoteCacheStore;
+import com.cuzz.starter.bukkitspring.caffeine.api.TieredCache;
+import com.cuzz.starter.bukkitspring.caffeine.api.TieredCacheStats;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * L1 Caffeine cache in front of a shared {@link RemoteCacheStore}.
+ *
+ * <p>L2 keys carry a generation read from {@code <prefix><name>:generation}; {@link #invalidateAll()} writes a
+ * new one, so every node stops reading the entries written before it without scanning the store.
+ *
+ * <p>{@code epoch} counts the writes and invalidations this node has seen. A value read from L2 outside of
+ * Caffeine's compute only enters L1 when the epoch did not move while it was being read, so a late read cannot
+ * bring back a value another write replaced. Clearing L1 skips entries that are still computing, so loads that
+ * overlap a clear ({@code clears}) drop their result from L1 afterwards.
+ */
+final class DefaultTieredCache<K, V> implements TieredCache<K, V> {
+    private static final String INITIAL_GENERATION = "0";
+
+    private final String name;
+    private final Cache<String, V> local;
+    private final RemoteCacheStore remote;
+    private final CacheValueCodec<V> codec;
+    private final Function<? super K, String> keyMapper;
+    private final String remoteKeyPrefix;
+    private final String generationKey;
+    private final String channel;
+    private final long ttlMillis;
+    private final Logger logger;
+    private final Runnable onClose;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final AtomicBoolean remoteHealthy = new AtomicBoolean(true);
+    private final AtomicLong epoch = new AtomicLong();
+    private final AtomicLong clears = new AtomicLong();
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder remoteErrors = new LongAdder();
+    private final LongAdder invalidationsSent = new LongAdder();
+    private final LongAdder invalidationsReceived = new LongAdder();
+    private final LongAdder remoteReads = new LongAdder();
+    private final LongAdder remoteReadNanos = new LongAdder();
+    private final AutoCloseable subscription;
+    private volatile String generation;
+
+    DefaultTieredCache(String name,
+                       Cache<String, V> local,
+                       RemoteCacheStore remote,
+                       CacheValueCodec<V> codec,
+                       Function<? super K, String> keyMapper,
+                       String keyPrefix,
+                       String channelPrefix,
+                       long ttlMillis,
+                       Logger logger,
+                       Runnable onClose) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.local = Objects.requireNonNull(local, "local");
+        this.remote = Objects.requireNonNull(remote, "remote");
+        this.codec = Objects.requireNonNull(codec, "codec");
+        this.keyMapper = Objects.requireNonNull(keyMapper, "keyMapper");
+        this.remoteKeyPrefix = keyPrefix + name + ":";
+        this.generationKey = remoteKeyPrefix + "generation";
+        this.channel = channelPrefix + name;
+        this.ttlMillis = ttlMillis;
+        this.logger = logger;
+        this.onClose = onClose;
+        this.generation = readGeneration(INITIAL_GENERATION);
+        this.subscription = remote.subscribe(channel, this::onInvalidation);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        String localKey = keyMapper.apply(key);
+        V cached = local.getIfPresent(localKey);
+        if (cached != null) {
+            l1Hits.increment();
+            return cached;
+        }
+        long seen = epoch.get();
+        V remoteValue = readRemote(localKey);
+        if (remoteValue == null) {
+            misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        // an invalidation bumps the epoch before it evicts, so checking it under the key's lock is enough
+        local.asMap().compute(localKey, (ignored, current) -> {
+            if (current != null) {
+                return current;
+            }
+            return epoch.get() == seen ? remoteValue : null;
+        });
+        return remoteValue;
+    }
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Objects.requireNonNull(loader, "loader");
+        String localKey = keyMapper.apply(key);
+        V cached = local.getIfPresent(localKey);
+        if (cached != null) {
+            l1Hits.increment();
+            return cached;
+        }
+        // Caffeine's compute keeps concurrent misses on this node to a single L2 read and load
+        long seen = clears.get();
+        V value = local.get(localKey, ignored -> load(key, localKey, loader));
+        if (value != null && clears.get() != seen) {
+            local.asMap().remove(localKey, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        String localKey = keyMapper.apply(key);
+        epoch.incrementAndGet();
+        local.put(localKey, value);
+        writeRemote(localKey, value);
+        broadcast(nodeId + " " + localKey);
+    }
+
+    @Override
+    public void invalidate(K key) {
+        String localKey = keyMapper.apply(key);
+        epoch.incrementAndGet();
+        local.invalidate(localKey);
+        try {
+            remote.delete(remoteKey(localKey));
+            markRemoteHealthy();
+        } catch (RuntimeException ex) {
+            onRemoteError("delete", ex);
+        }
+        broadcast(nodeId + " " + localKey);
+    }
+
+    @Override
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+        clears.incrementAndGet();
+        String next = UUID.randomUUID().toString();
+        try {
+            remote.set(generationKey, next.getBytes(StandardCharsets.UTF_8), 0L);
+            markRemoteHealthy();
+            generation = next;
+        } catch (RuntimeException ex) {
+            onRemoteError("write", ex);
+        }
+        local.invalidateAll();
+        broadcast(nodeId);
+    }
+
+    @Override
+    public TieredCacheStats stats() {
+        long reads = remoteReads.sum();
+        return new TieredCacheStats(
+                l1Hits.sum(),
+                l2Hits.sum(),
+                misses.sum(),
+                remoteErrors.sum(),
+                invalidationsSent.sum(),
+                invalidationsReceived.sum(),
+                reads == 0 ? 0L : remoteReadNanos.sum() / reads
+        );
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            subscription.close();
+        } catch (Exception ex) {
+            logWarning("[Caffeine] Failed to unsubscribe tiered cache '" + name + "': " + ex.getMessage());
+        }
+        local.invalidateAll();
+        if (onClose != null) {
+            onClose.run();
+        }
+    }
+
+    private V load(K key, String localKey, Function<? super K, ? extends V> loader) {
+        V remoteValue = readRemote(localKey);
+        if (remoteValue != null) {
+            l2Hits.increment();
+            return remoteValue;
+        }
+        misses.increment();
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            writeRemote(localKey, loaded);
+        }
+        return loaded;
+    }
+
+    private V readRemote(String localKey) {
+        long start = System.nanoTime();
+        byte[] bytes;
+        try {
+            bytes = remote.get(remoteKey(localKey));
+            markRemoteHealthy();
+        } catch (RuntimeException ex) {
+            onRemoteError("read", ex);
+            return null;
+        } finally {
+            remoteReads.increment();
+            remoteReadNanos.add(System.nanoTime() - start);
+        }
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            return codec.decode(bytes);
+        } catch (RuntimeException ex) {
+            onRemoteError("decode", ex);
+            return null;
+        }
+    }
+
+    private void writeRemote(String localKey, V value) {
+        try {
+            remote.set(remoteKey(localKey), codec.encode(value), ttlMillis);
+            markRemoteHealthy();
+        } catch (RuntimeException ex) {
+            onRemoteError("write", ex);
+        }
+    }
+
+    private String remoteKey(String localKey) {
+        return remoteKeyPrefix + generation + ":" + localKey;
+    }
+
+    /**
+     * Generation stored in the remote store, or {@code fallback} when it cannot be read.
+     */
+    private String readGeneration(String fallback) {
+        try {
+            byte[] bytes = remote.get(generationKey);
+            markRemoteHealthy();
+            return bytes == null ? INITIAL_GENERATION : new String(bytes, StandardCharsets.UTF_8);
+        } catch (RuntimeException ex) {
+            onRemoteError("read", ex);
+            return fallback;
+        }
+    }
+
+    private void broadcast(String message) {
+        try {
+            remote.publish(channel, message);
+            invalidationsSent.increment();
+        } catch (RuntimeException ex) {
+            onRemoteError("publish", ex);
+        }
+    }
+
+    private void onInvalidation(String message) {
+        if (message == null || closed.get()) {
+            return;
+        }
+        int split = message.indexOf(' ');
+        String origin = split < 0 ? message : message.substring(0, split);
+        if (origin.equals(nodeId)) {
+            return;
+        }
+        invalidationsReceived.increment();
+        epoch.incrementAndGet();
+        if (split < 0) {
+            clears.incrementAndGet();
+            generation = readGeneration(generation);
+            local.invalidateAll();
+        } else {
+            local.invalidate(message.substring(split + 1));
+        }
+    }
+
+    private void markRemoteHealthy() {
+        if (!remoteHealthy.get() && remoteHealthy.compareAndSet(false, true)) {
+            logInfo("[Caffeine] Tiered cache '" + name + "' remote store recovered");
+        }
+    }
+
+    private void onRemoteError(String operation, RuntimeException ex) {
+        remoteErrors.increment();
+        // Warn once per outage instead of once per request
+        if (remoteHealthy.compareAndSet(true, false)) {
+            logWarning("[Caffeine] Tiered cache '" + name + "' remote " + operation
+                    + " failed, serving from L1/loader: " + ex.getMessage());
+        }
+    }
+
+    private void logInfo(String message) {
+        if (logger != null) {
+            logger.info(message);
+        }
+    }
+
+    private void logWarning(String message) {
+        if (logger != null) {
+            logger.warning(message);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.cuzz.starter.bukkitspring.caffeine.api.CaffeineCacheSpec;
+import com.cuzz.starter.bukkitspring.caffeine.api.UuidKeyCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+final class DefaultUuidKeyCache<V> implements UuidKeyCache<V> {
+    private final String name;
+    private final PrimitiveKeyTable<V> table;
+    private final Runnable onClose;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    DefaultUuidKeyCache(String name, CaffeineCacheSpec spec, Runnable onClose) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.table = new PrimitiveKeyTable<>(true, spec.initialCapacity, spec.maximumSize, spec.expireAfterWriteMillis);
+        this.onClose = onClose;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public V getIfPresent(UUID key) {
+        return table.get(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    @Override
+    public V getIfPresent(long mostSigBits, long leastSigBits) {
+        return table.get(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public V get(UUID key, Function<? super UUID, ? extends V> loader) {
+        Objects.requireNonNull(loader, "loader");
+        long most = key.getMostSignificantBits();
+        long least = key.getLeastSignificantBits();
+        V cached = table.get(most, least);
+        if (cached != null) {
+            return cached;
+        }
+        V loaded = loader.apply(key);
+        if (loaded == null) {
+            return null;
+        }
+        table.recordLoad();
+        V existing = table.putIfAbsent(most, least, loaded);
+        return existing == null ? loaded : existing;
+    }
+
+    @Override
+    public void put(UUID key, V value) {
+        put(key.getMostSignificantBits(), key.getLeastSignificantBits(), value);
+    }
+
+    @Override
+    public void put(long mostSigBits, long leastSigBits, V value) {
+        table.put(mostSigBits, leastSigBits, Objects.requireNonNull(value, "value"));
+    }
+
+    @Override
+    public void invalidate(UUID key) {
+        table.remove(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    @Override
+    public void invalidateAll() {
+        table.clear();
+    }
+
+    @Override
+    public long estimatedSize() {
+        return table.size();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return table.stats();
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        table.clear();
+        if (onClose != null) {
+            onClose.run();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.cuzz.starter.bukkitspring.caffeine.api.LoadGuardStats;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Single-flight front of one {@link AsyncCache}.
+ *
+ * <p>Misses go through {@link AsyncCache#get(Object, java.util.function.BiFunction)}, so concurrent
+ * requests for a key share one in-flight future no matter which view (sync or async) they came
+ * from, and no hash bin lock is held while the loader runs. Loaders run on the executor, at most
+ * {@code maxConcurrentLoads} at a time; further loads queue, or fail with
+ * {@link RejectedExecutionException} in fail-fast mode.
+ *
+ * <p>With stale-while-revalidate or serve-stale-on-error enabled, every successful load is also
+ * kept in a side cache for {@code staleTtlMillis}, which answers requests once the entry has left
+ * the main cache.
+ */
+final class LoadGuard {
+    private final String cacheName;
+    private final AsyncCache<Object, Object> cache;
+    private final Executor executor;
+    private final int maxConcurrentLoads;
+    private final boolean failFast;
+    private final boolean staleWhileRevalidate;
+    private final boolean serveStaleOnError;
+    private final Cache<Object, Object> lastKnownGood;
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger peakRunning = new AtomicInteger();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder rejectedLoads = new LongAdder();
+    private final LongAdder staleWhileRevalidateHits = new LongAdder();
+    private final LongAdder staleOnErrorHits = new LongAdder();
+
+    LoadGuard(String cacheName,
+              AsyncCache<Object, Object> cache,
+              Executor executor,
+              Ticker ticker,
+              int maxConcurrentLoads,
+              boolean failFast,
+              boolean staleWhileRevalidate,
+              boolean serveStaleOnError,
+              long staleTtlMillis,
+              long staleMaximumSize) {
+        this.cacheName = cacheName;
+        this.cache = cache;
+        this.executor = executor;
+        this.maxConcurrentLoads = maxConcurrentLoads;
+        this.failFast = failFast;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.serveStaleOnError = serveStaleOnError;
+        this.lastKnownGood = staleWhileRevalidate || serveStaleOnError
+                ? Caffeine.newBuilder()
+                .maximumSize(staleMaximumSize)
+                .expireAfterWrite(Duration.ofMillis(staleTtlMillis))
+                .executor(executor)
+                .ticker(ticker)
+                .build()
+                : null;
+    }
+
+    String cacheName() {
+        return cacheName;
+    }
+
+    CompletableFuture<Object> get(Object key, Function<Object, Object> loader) {
+        CompletableFuture<Object> present = cache.getIfPresent(key);
+        if (present != null) {
+            return withStaleFallback(key, present);
+        }
+        Object stale = lastKnownGood == null ? null : lastKnownGood.getIfPresent(key);
+        CompletableFuture<Object> loading = cache.get(key, (ignored, ignoredExecutor) -> load(key, loader));
+        if (stale != null && staleWhileRevalidate && !loading.isDone()) {
+            staleWhileRevalidateHits.increment();
+            return CompletableFuture.completedFuture(stale);
+        }
+        return withStaleFallback(key, loading);
+    }
+
+    void invalidateAll() {
+        if (lastKnownGood != null) {
+            lastKnownGood.invalidateAll();
+        }
+    }
+
+    LoadGuardStats stats() {
+        return new LoadGuardStats(
+                loads.sum(),
+                loadFailures.sum(),
+                rejectedLoads.sum(),
+                staleWhileRevalidateHits.sum(),
+                staleOnErrorHits.sum(),
+                peakRunning.get()
+        );
+    }
+
+    private CompletableFuture<Object> withStaleFallback(Object key, CompletableFuture<Object> future) {
+        if (!serveStaleOnError) {
+            return future;
+        }
+        return future.handle((value, error) -> {
+            if (error == null) {
+                return value;
+            }
+            Object stale = lastKnownGood.getIfPresent(key);
+            if (stale == null) {
+                throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+            }
+            staleOnErrorHits.increment();
+            return stale;
+        });
+    }
+
+    private CompletableFuture<Object> load(Object key, Function<Object, Object> loader) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        if (maxConcurrentLoads <= 0) {
+            execute(() -> run(key, loader, result, false), result);
+            return result;
+        }
+        if (failFast) {
+            if (!tryAcquire()) {
+                rejectedLoads.increment();
+                result.completeExceptionally(new RejectedExecutionException(
+                        "Cache '" + cacheName + "' already runs " + maxConcurrentLoads + " loads"));
+                return result;
+            }
+            execute(() -> run(key, loader, result, true), result);
+            return result;
+        }
+        waiting.add(() -> execute(() -> run(key, loader, result, true), result));
+        drain();
+        return result;
+    }
+
+    /**
+     * The permit goes back before {@code result} completes, so a caller may start its next load as soon as it
+     * sees this one finish.
+     */
+    private void run(Object key, Function<Object, Object> loader, CompletableFuture<Object> result, boolean permitted) {
+        loads.increment();
+        Object value = null;
+        Throwable failure = null;
+        try {
+            value = loader.apply(key);
+            if (value != null && lastKnownGood != null) {
+                lastKnownGood.put(key, value);
+            }
+        } catch (Throwable ex) {
+            loadFailures.increment();
+            failure = ex;
+        }
+        if (permitted) {
+            running.decrementAndGet();
+        }
+        if (failure == null) {
+            result.complete(value);
+        } else {
+            result.completeExceptionally(failure);
+        }
+        if (permitted) {
+            drain();
+        }
+    }
+
+    /**
+     * Start queued loads while permits are free; called after every enqueue and every finished load.
+     */
+    private void drain() {
+        while (!waiting.isEmpty() && tryAcquire()) {
+            Runnable next = waiting.poll();
+            if (next == null) {
+                running.decrementAndGet();
+                continue;
+            }
+            next.run();
+        }
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = running.get();
+            if (current >= maxConcurrentLoads) {
+                return false;
+            }
+            if (running.compareAndSet(current, current + 1)) {
+                peakRunning.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    private void execute(Runnable task, CompletableFuture<Object> result) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            if (maxConcurrentLoads > 0) {
+                running.decrementAndGet();
+            }
+            result.completeExceptionally(ex);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.cuzz.starter.bukkitspring.caffeine.api.CacheMemoryStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Byte accounting of the weighted caches a {@link DefaultCaffeineService} builds, and the optional
+ * global budget shared between them.
+ *
+ * <p>Each rebalance gives every cache a share of the budget proportional to its demand: the bytes it
+ * holds plus the bytes it evicted since the last rebalance, capped by its own {@code maximumBytes}.
+ * Caches under pressure grow at the expense of caches holding cold data; unused budget is handed out
+ * in the same proportions. Each cache keeps at least a tenth of an equal share so new caches can warm up.
+ */
+final class MemoryBudget {
+    private static final int MIN_SHARE_DIVISOR = 10;
+    private static final String[] KINDS = {"cache", "loading", "async-loading", "tiered"};
+
+    private final long budgetBytes;
+    private final ConcurrentMap<String, Account> accounts = new ConcurrentHashMap<>();
+    private volatile ScheduledFuture<?> rebalanceTask;
+
+    MemoryBudget(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    boolean isEnabled() {
+        return budgetBytes > 0;
+    }
+
+    /**
+     * @return a new account when caches named {@code cacheName} are byte-bounded, otherwise {@code null}
+     */
+    Account newAccount(String cacheName, long maximumBytes) {
+        if (maximumBytes <= 0 && budgetBytes <= 0) {
+            return null;
+        }
+        return new Account(cacheName, maximumBytes);
+    }
+
+    /**
+     * Start tracking {@code cache}; {@code kind} separates cache kinds sharing a name.
+     */
+    void register(String kind, Account account, Cache<?, ?> cache) {
+        if (account == null) {
+            return;
+        }
+        account.eviction = cache.policy().eviction().orElse(null);
+        accounts.put(kind + ':' + account.cacheName, account);
+        if (isEnabled()) {
+            rebalance();
+        }
+    }
+
+    void unregister(String cacheName) {
+        for (String kind : KINDS) {
+            unregister(kind, cacheName);
+        }
+    }
+
+    void unregister(String kind, String cacheName) {
+        accounts.remove(kind + ':' + cacheName);
+    }
+
+    void clear() {
+        accounts.clear();
+    }
+
+    void start(ScheduledExecutorService scheduler, long periodMillis) {
+        if (!isEnabled() || rebalanceTask != null) {
+            return;
+        }
+        synchronized (this) {
+            if (rebalanceTask == null) {
+                rebalanceTask = scheduler.scheduleWithFixedDelay(
+                        this::rebalance,
+                        periodMillis,
+                        periodMillis,
+                        TimeUnit.MILLISECONDS
+                );
+            }
+        }
+    }
+
+    void stop() {
+        ScheduledFuture<?> task = rebalanceTask;
+        rebalanceTask = null;
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    void forEach(BiConsumer<String, CacheMemoryStats> action) {
+        for (Account account : accounts.values()) {
+            action.accept(account.cacheName, account.stats());
+        }
+    }
+
+    CacheMemoryStats stats(String cacheName) {
+        CacheMemoryStats stats = CacheMemoryStats.empty();
+        for (Account account : accounts.values()) {
+            if (account.cacheName.equals(cacheName)) {
+                stats = stats.plus(account.stats());
+            }
+        }
+        return stats;
+    }
+
+    synchronized void rebalance() {
+        if (!isEnabled()) {
+            return;
+        }
+        List<Account> live = new ArrayList<>(accounts.size());
+        for (Map.Entry<String, Account> entry : accounts.entrySet()) {
+            if (entry.getValue().eviction != null) {
+                live.add(entry.getValue());
+            }
+        }
+        if (live.isEmpty()) {
+            return;
+        }
+        long[] demand = new long[live.size()];
+        long totalDemand = 0L;
+        for (int i = 0; i < live.size(); i++) {
+            Account account = live.get(i);
+            long evicted = account.evictedBytes.sum();
+            long recentlyEvicted = evicted - account.evictedAtLastRebalance;
+            account.evictedAtLastRebalance = evicted;
+            long wanted = Math.max(1L, account.weightedSize() + recentlyEvicted);
+            demand[i] = account.capBytes > 0 ? Math.min(wanted, account.capBytes) : wanted;
+            totalDemand += demand[i];
+        }
+        long floor = Math.max(1L, budgetBytes / ((long) MIN_SHARE_DIVISOR * live.size()));
+        for (int i = 0; i < live.size(); i++) {
+            Account account = live.get(i);
+            long share;
+            if (totalDemand <= budgetBytes) {
+                share = demand[i] + (long) ((double) (budgetBytes - totalDemand) * demand[i] / totalDemand);
+            } else {
+                share = (long) ((double) budgetBytes * demand[i] / totalDemand);
+            }
+            share = Math.max(floor, share);
+            if (account.capBytes > 0) {
+                share = Math.min(share, account.capBytes);
+            }
+            account.eviction.setMaximum(share);
+        }
+    }
+
+    /**
+     * Limit of a new cache before its first rebalance.
+     */
+    long initialBytes(Account account) {
+        if (!isEnabled()) {
+            return account.capBytes;
+        }
+        return account.capBytes > 0 ? Math.min(account.capBytes, budgetBytes) : budgetBytes;
+    }
+
+    static final class Account {
+        private final String cacheName;
+        private final long capBytes;
+        private final LongAdder evictedBytes = new LongAdder();
+        private volatile Policy.Eviction<?, ?> eviction;
+        private long evictedAtLastRebalance;
+
+        private Account(String cacheName, long capBytes) {
+            this.cacheName = cacheName;
+            this.capBytes = capBytes;
+        }
+
+        void recordEviction(int weight) {
+            evictedBytes.add(weight);
+        }
+
+        private long weightedSize() {
+            Policy.Eviction<?, ?> current = eviction;
+            return current == null ? 0L : current.weightedSize().orElse(0L);
+        }
+
+        private CacheMemoryStats stats() {
+            Policy.Eviction<?, ?> current = eviction;
+            return new CacheMemoryStats(
+                    weightedSize(),
+                    current == null ? capBytes : current.getMaximum(),
+                    evictedBytes.sum()
+            );
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Power-of-two chunk allocator over direct {@link ByteBuffer} slabs.
+ *
+ * <p>Each chunk starts with an 8-byte header: payload length and a stamp. Pointers carry the
+ * stamp they were issued with; freeing a chunk bumps its stamp, so a reader holding a stale
+ * pointer detects reuse by re-checking the stamp after copying and treats it as a miss.
+ * Reads are lock-free; allocation and free take a short lock. Freed chunks are reused per
+ * size class and never coalesced.
+ */
+final class OffHeapSlabAllocator {
+    static final long NULL = -1L;
+
+    private static final int HEADER_BYTES = 8;
+    private static final int MIN_CHUNK_SHIFT = 5;
+    private static final int MAX_SLABS = 1 << 16;
+    private static final int OFFSET_BITS = 28;
+    private static final int STAMP_BITS = 20;
+    private static final int STAMP_MASK = (1 << STAMP_BITS) - 1;
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final int slabBytes;
+    private final int maxSlabs;
+    private final AtomicReferenceArray<ByteBuffer> slabs;
+    private final LongStack[] freeLists;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final LongAdder allocationFailures = new LongAdder();
+    private int slabCount;
+    private int bumpOffset;
+    private volatile boolean closed;
+
+    OffHeapSlabAllocator(long capacityBytes, int slabBytes) {
+        int normalizedSlab = Math.min(1 << OFFSET_BITS, Math.max(1 << 16, slabBytes));
+        this.slabBytes = normalizedSlab & ~((1 << MIN_CHUNK_SHIFT) - 1);
+        long slabsNeeded = Math.max(1L, (capacityBytes + this.slabBytes - 1) / this.slabBytes);
+        this.maxSlabs = (int) Math.min(MAX_SLABS - 1, slabsNeeded);
+        this.slabs = new AtomicReferenceArray<>(maxSlabs);
+        this.freeLists = new LongStack[OFFSET_BITS + 1];
+        for (int i = 0; i < freeLists.length; i++) {
+            freeLists[i] = new LongStack();
+        }
+        this.bumpOffset = this.slabBytes;
+    }
+
+    /**
+     * Copy {@code payload} into a chunk.
+     *
+     * @return pointer, or {@link #NULL} when the payload does not fit or the budget is exhausted
+     */
+    long allocate(byte[] payload) {
+        int chunk = chunkSize(payload.length);
+        if (chunk < 0 || closed) {
+            allocationFailures.increment();
+            return NULL;
+        }
+        int sizeClass = Integer.numberOfTrailingZeros(chunk);
+        long location;
+        lock.lock();
+        try {
+            location = freeLists[sizeClass].pop();
+            if (location == NULL) {
+                location = bump(chunk);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (location == NULL) {
+            allocationFailures.increment();
+            return NULL;
+        }
+        int slabIndex = (int) (location >>> 32);
+        int offset = (int) location;
+        ByteBuffer slab = slabs.get(slabIndex);
+        int stamp = nextStamp((int) INT.getVolatile(slab, offset + 4));
+        slab.putInt(offset, payload.length);
+        slab.put(offset + HEADER_BYTES, payload);
+        INT.setVolatile(slab, offset + 4, stamp);
+        usedBytes.addAndGet(chunk);
+        return ((long) slabIndex << (OFFSET_BITS + STAMP_BITS)) | ((long) offset << STAMP_BITS) | stamp;
+    }
+
+    /**
+     * @return a copy of the payload, or {@code null} when the chunk was freed or reused meanwhile
+     */
+    byte[] read(long pointer) {
+        ByteBuffer slab = slabOf(pointer);
+        if (slab == null) {
+            return null;
+        }
+        int offset = offsetOf(pointer);
+        int stamp = stampOf(pointer);
+        if ((int) INT.getVolatile(slab, offset + 4) != stamp) {
+            return null;
+        }
+        int length = slab.getInt(offset);
+        if (length < 0 || length > slabBytes - offset - HEADER_BYTES) {
+            return null;
+        }
+        byte[] copy = new byte[length];
+        slab.get(offset + HEADER_BYTES, copy);
+        if ((int) INT.getVolatile(slab, offset + 4) != stamp) {
+            return null;
+        }
+        return copy;
+    }
+
+    void free(long pointer) {
+        ByteBuffer slab = slabOf(pointer);
+        if (slab == null) {
+            return;
+        }
+        int offset = offsetOf(pointer);
+        int stamp = stampOf(pointer);
+        int chunk = chunkSize(slab.getInt(offset));
+        if (chunk < 0 || !INT.compareAndSet(slab, offset + 4, stamp, nextStamp(stamp))) {
+            return;
+        }
+        usedBytes.addAndGet(-chunk);
+        long location = ((pointer >>> (OFFSET_BITS + STAMP_BITS)) << 32) | offset;
+        lock.lock();
+        try {
+            freeLists[Integer.numberOfTrailingZeros(chunk)].push(location);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return bytes reserved by the chunk behind {@code pointer}, 0 when it is no longer live
+     */
+    int chunkBytes(long pointer) {
+        ByteBuffer slab = slabOf(pointer);
+        if (slab == null) {
+            return 0;
+        }
+        int offset = offsetOf(pointer);
+        if ((int) INT.getVolatile(slab, offset + 4) != stampOf(pointer)) {
+            return 0;
+        }
+        return Math.max(0, chunkSize(slab.getInt(offset)));
+    }
+
+    long capacityBytes() {
+        return (long) maxSlabs * slabBytes;
+    }
+
+    long reservedBytes() {
+        lock.lock();
+        try {
+            return (long) slabCount * slabBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long usedBytes() {
+        return usedBytes.get();
+    }
+
+    long allocationFailures() {
+        return allocationFailures.sum();
+    }
+
+    /**
+     * Drop all slabs; their direct memory is released once no reader still references them.
+     */
+    void close() {
+        closed = true;
+        lock.lock();
+        try {
+            for (int i = 0; i < slabCount; i++) {
+                slabs.set(i, null);
+            }
+            for (LongStack freeList : freeLists) {
+                freeList.clear();
+            }
+            slabCount = 0;
+            bumpOffset = slabBytes;
+            usedBytes.set(0L);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long bump(int chunk) {
+        if (bumpOffset + chunk > slabBytes) {
+            if (slabCount >= maxSlabs) {
+                return NULL;
+            }
+            slabs.set(slabCount, ByteBuffer.allocateDirect(slabBytes).order(ByteOrder.nativeOrder()));
+            slabCount++;
+            bumpOffset = 0;
+        }
+        long location = ((long) (slabCount - 1) << 32) | bumpOffset;
+        bumpOffset += chunk;
+        return location;
+    }
+
+    private int chunkSize(int payloadLength) {
+        if (payloadLength < 0) {
+            return -1;
+        }
+        long needed = (long) payloadLength + HEADER_BYTES;
+        if (needed > slabBytes) {
+            return -1;
+        }
+        int shift = Math.max(MIN_CHUNK_SHIFT, 64 - Long.numberOfLeadingZeros(needed - 1));
+        return 1 << shift;
+    }
+
+    private ByteBuffer slabOf(long pointer) {
+        if (pointer == NULL) {
+            return null;
+        }
+        int slabIndex = (int) (pointer >>> (OFFSET_BITS + STAMP_BITS));
+        return slabIndex < maxSlabs ? slabs.get(slabIndex) : null;
+    }
+
+    private static int offsetOf(long pointer) {
+        return (int) ((pointer >>> STAMP_BITS) & ((1L << OFFSET_BITS) - 1));
+    }
+
+    private static int stampOf(long pointer) {
+        return (int) (pointer & STAMP_MASK);
+    }
+
+    private static int nextStamp(int stamp) {
+        int next = (stamp + 1) & STAMP_MASK;
+        return next == 0 ? 1 : next;
+    }
+
+    private static final class LongStack {
+        private long[] values = new long[16];
+        private int size;
+
+        void push(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long pop() {
+            return size == 0 ? NULL : values[--size];
+        }
+
+        void clear() {
+            values = new long[16];
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Striped open-addressing map from one or two {@code long}s to a value, bounded by entry count
+ * (CLOCK eviction) and optionally by time since write.
+ *
+ * <p>Each segment uses linear probing with backward-shift deletion, so there are no tombstones.
+ * Reads are optimistic ({@link StampedLock#tryOptimisticRead()}) and fall back to a read lock
+ * when a writer interleaved; writes take the segment's write lock.
+ */
+final class PrimitiveKeyTable<V> {
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_TABLE_LENGTH = 8;
+    private static final int MAX_TABLE_LENGTH = 1 << 30;
+
+    private final boolean wideKeys;
+    private final long expireAfterWriteNanos;
+    private final Segment[] segments;
+    private final int segmentShift;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+
+    /**
+     * @param wideKeys      whether keys have a second {@code long}
+     * @param maximumSize   total entry bound, 0 for unbounded
+     * @param expireAfterWriteMillis time to live, 0 for none
+     */
+    PrimitiveKeyTable(boolean wideKeys, int initialCapacity, long maximumSize, long expireAfterWriteMillis) {
+        this.wideKeys = wideKeys;
+        this.expireAfterWriteNanos = expireAfterWriteMillis > 0 ? expireAfterWriteMillis * 1_000_000L : 0L;
+        int segmentCount = maximumSize > 0
+                ? (int) Math.min(MAX_SEGMENTS, Math.max(1L, Long.highestOneBit(maximumSize / 64)))
+                : MAX_SEGMENTS;
+        @SuppressWarnings("unchecked")
+        Segment[] created = (Segment[]) Array.newInstance(Segment.class, segmentCount);
+        this.segments = created;
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+        long perSegmentMax = maximumSize > 0 ? (maximumSize + segmentCount - 1) / segmentCount : 0L;
+        int perSegmentInitial = Math.max(0, initialCapacity) / segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(perSegmentInitial, perSegmentMax);
+        }
+    }
+
+    V get(long key1, long key2) {
+        int hash = hash(key1, key2);
+        V value = segmentFor(hash).get(key1, key2, hash);
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Store {@code value} unless a live entry exists.
+     *
+     * @return the existing value, or {@code null} when {@code value} was stored
+     */
+    V putIfAbsent(long key1, long key2, V value) {
+        int hash = hash(key1, key2);
+        return segmentFor(hash).put(key1, key2, hash, value, true);
+    }
+
+    void put(long key1, long key2, V value) {
+        int hash = hash(key1, key2);
+        segmentFor(hash).put(key1, key2, hash, value, false);
+    }
+
+    void recordLoad() {
+        loads.increment();
+    }
+
+    void remove(long key1, long key2) {
+        int hash = hash(key1, key2);
+        segmentFor(hash).remove(key1, key2, hash);
+    }
+
+    void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    long size() {
+        long size = 0L;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    CacheStats stats() {
+        long evictions = 0L;
+        for (Segment segment : segments) {
+            evictions += segment.evictions;
+        }
+        return CacheStats.of(hits.sum(), misses.sum(), loads.sum(), 0L, 0L, evictions, evictions);
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments.length == 1 ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    private static int hash(long key1, long key2) {
+        long h = key1 ^ (key2 * 0xC2B2AE3D27D4EB4FL);
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private final class Segment {
+        private final StampedLock lock = new StampedLock();
+        private final int maxSize;
+        private final int maxTableLength;
+        private long[] keys1;
+        private long[] keys2;
+        private Object[] values;
+        private byte[] referenced;
+        private long[] writeNanos;
+        private volatile int size;
+        private volatile long evictions;
+        private int hand;
+
+        private Segment(int initialCapacity, long maxSize) {
+            this.maxSize = (int) Math.min(Integer.MAX_VALUE / 2, maxSize);
+            this.maxTableLength = maxSize > 0 ? tableLengthFor(this.maxSize) : MAX_TABLE_LENGTH;
+            allocate(Math.min(maxTableLength, tableLengthFor(initialCapacity)));
+        }
+
+        private V get(long key1, long key2, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            V value = find(key1, key2, hash);
+            if (lock.validate(stamp)) {
+                return value;
+            }
+            stamp = lock.readLock();
+            try {
+                return find(key1, key2, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private V find(long key1, long key2, int hash) {
+            // Read every array once: under an optimistic read they may be swapped concurrently
+            long[] k1 = keys1;
+            long[] k2 = keys2;
+            Object[] vs = values;
+            byte[] refs = referenced;
+            long[] written = writeNanos;
+            int mask = vs.length - 1;
+            if (k1.length != vs.length || refs.length != vs.length) {
+                return null;
+            }
+            int index = hash & mask;
+            for (int probes = 0; probes < vs.length; probes++) {
+                Object value = vs[index];
+                if (value == null) {
+                    return null;
+                }
+                if (k1[index] == key1 && (k2 == null || (k2.length == vs.length && k2[index] == key2))) {
+                    if (written != null && written.length == vs.length && isExpired(written[index])) {
+                        return null;
+                    }
+                    refs[index] = 1;
+                    return (V) value;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private V put(long key1, long key2, int hash, V value, boolean onlyIfAbsent) {
+            long stamp = lock.writeLock();
+            try {
+                int index = indexOf(key1, key2, hash);
+                if (index >= 0) {
+                    if (onlyIfAbsent && !isExpired(index)) {
+                        referenced[index] = 1;
+                        return (V) values[index];
+                    }
+                    values[index] = value;
+                    referenced[index] = 1;
+                    if (writeNanos != null) {
+                        writeNanos[index] = System.nanoTime();
+                    }
+                    return null;
+                }
+                if (maxSize > 0 && size >= maxSize) {
+                    evictOne();
+                } else if ((size + 1) * 2 > values.length && values.length < maxTableLength) {
+                    resize(values.length * 2);
+                }
+                insert(key1, key2, hash, value, (byte) 0, writeNanos == null ? 0L : System.nanoTime());
+                return null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void remove(long key1, long key2, int hash) {
+            long stamp = lock.writeLock();
+            try {
+                int index = indexOf(key1, key2, hash);
+                if (index >= 0) {
+                    delete(index);
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void clear() {
+            long stamp = lock.writeLock();
+            try {
+                Arrays.fill(values, null);
+                size = 0;
+                hand = 0;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private int indexOf(long key1, long key2, int hash) {
+            int mask = values.length - 1;
+            int index = hash & mask;
+            while (values[index] != null) {
+                if (keys1[index] == key1 && (keys2 == null || keys2[index] == key2)) {
+                    return index;
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void insert(long key1, long key2, int hash, Object value, byte reference, long writtenAt) {
+            int mask = values.length - 1;
+            int index = hash & mask;
+            while (values[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys1[index] = key1;
+            if (keys2 != null) {
+                keys2[index] = key2;
+            }
+            values[index] = value;
+            referenced[index] = reference;
+            if (writeNanos != null) {
+                writeNanos[index] = writtenAt;
+            }
+            size++;
+        }
+
+        /**
+         * Second-chance sweep: expired entries go first, referenced entries lose their bit once.
+         */
+        private void evictOne() {
+            int mask = values.length - 1;
+            for (int scanned = 0; scanned <= values.length * 2; scanned++) {
+                int index = hand;
+                hand = (hand + 1) & mask;
+                if (values[index] == null) {
+                    continue;
+                }
+                if (referenced[index] == 0 || isExpired(index)) {
+                    delete(index);
+                    evictions++;
+                    return;
+                }
+                referenced[index] = 0;
+            }
+        }
+
+        /**
+         * Backward-shift deletion: pull later entries of the same probe run into the hole.
+         */
+        private void delete(int index) {
+            int mask = values.length - 1;
+            int hole = index;
+            int next = (hole + 1) & mask;
+            while (values[next] != null) {
+                int home = hash(keys1[next], keys2 == null ? 0L : keys2[next]) & mask;
+                boolean movable = hole <= next
+                        ? home <= hole || home > next
+                        : home <= hole && home > next;
+                if (movable) {
+                    keys1[hole] = keys1[next];
+                    if (keys2 != null) {
+                        keys2[hole] = keys2[next];
+                    }
+                    values[hole] = values[next];
+                    referenced[hole] = referenced[next];
+                    if (writeNanos != null) {
+                        writeNanos[hole] = writeNanos[next];
+                    }
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            values[hole] = null;
+            size--;
+        }
+
+        private void resize(int length) {
+            long[] oldKeys1 = keys1;
+            long[] oldKeys2 = keys2;
+            Object[] oldValues = values;
+            byte[] oldReferenced = referenced;
+            long[] oldWriteNanos = writeNanos;
+            allocate(length);
+            size = 0;
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] == null) {
+                    continue;
+                }
+                long key2 = oldKeys2 == null ? 0L : oldKeys2[i];
+                insert(oldKeys1[i], key2, hash(oldKeys1[i], key2), oldValues[i], oldReferenced[i],
+                        oldWriteNanos == null ? 0L : oldWriteNanos[i]);
+            }
+            hand = 0;
+        }
+
+        private void allocate(int length) {
+            keys1 = new long[length];
+            keys2 = wideKeys ? new long[length] : null;
+            values = new Object[length];
+            referenced = new byte[length];
+            writeNanos = expireAfterWriteNanos > 0 ? new long[length] : null;
+        }
+
+        private boolean isExpired(int index) {
+            return writeNanos != null && isExpired(writeNanos[index]);
+        }
+
+        private boolean isExpired(long writtenAt) {
+            return expireAfterWriteNanos > 0 && System.nanoTime() - writtenAt >= expireAfterWriteNanos;
+        }
+    }
+
+    private static int tableLengthFor(int entries) {
+        long wanted = Math.max(MIN_TABLE_LENGTH, (long) entries * 2);
+        return (int) Math.min(MAX_TABLE_LENGTH, Long.highestOneBit(wanted - 1) << 1);
+    }
+}
@@ -0,0 +1,73 @@
+package com.cuzz.starter.bukkitspring.caffeine.redis;
+
+import com.cuzz.starter.bukkitspring.caffeine.api.RemoteCacheStore;
+import com.cuzz.starter.bukkitspring.redis.api.RedisService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * {@link RemoteCacheStore} backed by the Redis starter.
+ *
+ * <p>The Redis starter is an optional dependency of this starter: only load this class when
+ * {@code RedisService} is available at runtime.
+ */
+public final class RedisRemoteCacheStore implements RemoteCacheStore {
+    private final RedisService redis;
+
+    public RedisRemoteCacheStore(RedisService redis) {
+        this.redis = Objects.requireNonNull(redis, "redis");
+    }
+
+    /**
+     * @return {@code true} when the Redis starter classes are on the classpath
+     */
+    public static boolean isAvailable(ClassLoader classLoader) {
+        try {
+            Class.forName("com.cuzz.starter.bukkitspring.redis.api.RedisService", false, classLoader);
+            return true;
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public byte[] get(String key) {
+        return redis.client().get(bytes(key));
+    }
+
+    @Override
+    public void set(String key, byte[] value, long ttlMillis) {
+        if (ttlMillis > 0) {
+            redis.client().psetex(bytes(key), ttlMillis, value);
+        } else {
+            redis.client().set(bytes(key), value);
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        redis.client().del(bytes(key));
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        redis.publish(channel, message);
+    }
+
+    /**
+     * Registers on the Redis starter's shared subscription connections ({@code redis.pubsub}), so tiered
+     * caches hold neither a worker thread nor a pooled connection while idle. The listener is registered
+     * before this returns, and closing the handle stops delivery.
+     */
+    @Override
+    public AutoCloseable subscribe(String channel, Consumer<String> listener) {
+        Objects.requireNonNull(listener, "listener");
+        return redis.subscriptions().subscribe(channel, (ignored, message) -> listener.accept(message));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
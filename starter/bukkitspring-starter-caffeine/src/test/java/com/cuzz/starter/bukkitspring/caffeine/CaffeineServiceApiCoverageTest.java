@@ -61,5 +61,20 @@ public class CaffeineServiceApiCoverageTest {
         assertTrue(methods.contains("asyncLoadingGet"));
         assertTrue(methods.contains("asyncLoadingGetAll"));
         assertTrue(methods.contains("asyncLoadingSynchronous"));
+
+        assertTrue(methods.contains("bulkLoadingCache"));
+        assertTrue(methods.contains("bulkAsyncLoadingCache"));
+        assertTrue(methods.contains("bulkLoadStats"));
+        assertTrue(methods.contains("tieredCache"));
+        assertTrue(methods.contains("offHeapCache"));
+        assertTrue(methods.contains("longKeyCache"));
+        assertTrue(methods.contains("uuidKeyCache"));
+        assertTrue(methods.contains("registerSizer"));
+        assertTrue(methods.contains("memoryStats"));
+        assertTrue(methods.contains("guardedGet"));
+        assertTrue(methods.contains("loadGuardStats"));
+        assertTrue(methods.contains("handle"));
+        assertTrue(methods.contains("writeSnapshot"));
+        assertTrue(methods.contains("restoreSnapshot"));
     }
 }
@@ -0,0 +1,223 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.cuzz.starter.bukkitspring.caffeine.api.BulkLoadStats;
+import com.cuzz.starter.bukkitspring.caffeine.api.BulkLoader;
+import com.cuzz.starter.bukkitspring.caffeine.testutil.TestServices;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.prometheus.client.CollectorRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BulkLoadingCacheTest {
+
+    @Test
+    public void concurrentMissesShareOneBatch() throws Exception {
+        DefaultCaffeineService service = newService(Map.of(), Map.of("window-ms", 50L));
+        CountingBackend backend = new CountingBackend(0L);
+        AsyncLoadingCache<Integer, String> cache = service.bulkAsyncLoadingCache("players", backend);
+
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int key = 0; key < 100; key++) {
+            futures.add(cache.get(key));
+        }
+        futures.add(cache.get(7));
+        for (int key = 0; key < 100; key++) {
+            assertEquals("v" + key, futures.get(key).get(3, TimeUnit.SECONDS));
+        }
+
+        BulkLoadStats stats = service.bulkLoadStats("players");
+        assertEquals(1L, stats.batches);
+        assertEquals(100L, stats.keys);
+        assertEquals(100L, stats.largestBatch);
+        assertEquals(1, backend.calls.get());
+        assertSame(cache, service.bulkAsyncLoadingCache("players", backend));
+        service.close();
+    }
+
+    @Test
+    public void blockingReadersOnSeveralThreadsAreCoalesced() throws Exception {
+        DefaultCaffeineService service = newService(Map.of(), Map.of("window-ms", 50L));
+        CountingBackend backend = new CountingBackend(0L);
+        LoadingCache<Integer, String> cache = service.bulkLoadingCache("players", backend);
+        CountDownLatch done = new CountDownLatch(16);
+        for (int t = 0; t < 16; t++) {
+            int key = t;
+            new Thread(() -> {
+                try {
+                    assertEquals("v" + key, cache.get(key));
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        assertTrue(done.await(3, TimeUnit.SECONDS));
+        assertTrue(backend.calls.get() < 16, "backend calls: " + backend.calls.get());
+
+        Map<Integer, String> all = cache.getAll(List.of(100, 101, 102));
+        assertEquals(3, all.size());
+        service.close();
+    }
+
+    @Test
+    public void fullBatchesAreSentBeforeTheWindowEnds() throws Exception {
+        DefaultCaffeineService service = newService(Map.of(), Map.of("window-ms", 1_000L, "max-batch-size", 16));
+        AsyncLoadingCache<Integer, String> cache = service.bulkAsyncLoadingCache("players", new CountingBackend(0L));
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int key = 0; key < 64; key++) {
+            futures.add(cache.get(key));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(500, TimeUnit.MILLISECONDS);
+
+        BulkLoadStats stats = service.bulkLoadStats("players");
+        assertEquals(4L, stats.batches);
+        assertEquals(16L, stats.largestBatch);
+        service.close();
+    }
+
+    @Test
+    public void missingKeysAreAbsentAndFailuresReachEveryCaller() throws Exception {
+        DefaultCaffeineService service = newService(Map.of(), Map.of("window-ms", 20L));
+        AsyncLoadingCache<Integer, String> sparse = service.bulkAsyncLoadingCache("sparse", keys -> {
+            Map<Integer, String> found = new HashMap<>();
+            for (Integer key : keys) {
+                if (key % 2 == 0) {
+                    found.put(key, "v" + key);
+                }
+            }
+            return found;
+        });
+        assertEquals("v2", sparse.get(2).get(3, TimeUnit.SECONDS));
+        assertNull(sparse.get(3).get(3, TimeUnit.SECONDS));
+
+        AsyncLoadingCache<Integer, String> broken = service.bulkAsyncLoadingCache("broken", keys -> {
+            throw new IllegalStateException("database down");
+        });
+        CompletableFuture<String> first = broken.get(1);
+        CompletableFuture<String> second = broken.get(2);
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> first.get(3, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertThrows(ExecutionException.class, () -> second.get(3, TimeUnit.SECONDS));
+        assertEquals(1L, service.bulkLoadStats("broken").failedBatches);
+        service.close();
+    }
+
+    @Test
+    public void refreshAheadReloadsEntriesBeforeTheyTurnStale() throws Exception {
+        DefaultCaffeineService service = newService(
+                Map.of("refresh-after-write-ms", 200L),
+                Map.of("window-ms", 5L, "refresh-ahead-percent", 50)
+        );
+        AtomicInteger version = new AtomicInteger();
+        LoadingCache<Integer, String> cache = service.bulkLoadingCache("ranks", keys -> {
+            int current = version.incrementAndGet();
+            Map<Integer, String> values = new HashMap<>();
+            for (Integer key : keys) {
+                values.put(key, key + "@" + current);
+            }
+            return values;
+        });
+        cache.getAll(List.of(1, 2, 3));
+        assertEquals("1@1", cache.getIfPresent(1));
+
+        Thread.sleep(400L);
+
+        assertTrue(version.get() >= 2, "loader versions: " + version.get());
+        assertTrue(!"1@1".equals(cache.getIfPresent(1)));
+        BulkLoadStats stats = service.bulkLoadStats("ranks");
+        assertTrue(stats.refreshAheadKeys >= 3L);
+        // the three keys turn due together, so refreshes go out as one batch per sweep
+        assertEquals(3L, stats.largestBatch);
+        service.close();
+    }
+
+    @Test
+    public void batchCountersAreExported() throws Exception {
+        DefaultCaffeineService service = newService(Map.of(), Map.of("window-ms", 20L));
+        CollectorRegistry registry = new CollectorRegistry();
+        registry.register(new CaffeineMetricsCollector(service));
+        AsyncLoadingCache<Integer, String> cache = service.bulkAsyncLoadingCache("players", new CountingBackend(0L));
+        CompletableFuture.allOf(cache.get(1), cache.get(2)).get(3, TimeUnit.SECONDS);
+
+        String[] label = {"cache"};
+        String[] players = {"players"};
+        assertEquals(1.0D, registry.getSampleValue("caffeine_cache_bulk_load_batches_total", label, players));
+        assertEquals(2.0D, registry.getSampleValue("caffeine_cache_bulk_load_keys_total", label, players));
+        assertEquals(2.0D, registry.getSampleValue("caffeine_cache_bulk_load_largest_batch", label, players));
+        service.close();
+    }
+
+    @Test
+    public void refreshOfManyKeysIsCoalesced() throws Exception {
+        // 500 cached keys turn due together and are refreshed at once; each backend call costs 1ms
+        List<Integer> keys = new ArrayList<>();
+        for (int key = 0; key < 500; key++) {
+            keys.add(key);
+        }
+        CountingBackend perKeyBackend = new CountingBackend(1_000_000L);
+        DefaultCaffeineService plainService = newService(Map.of(), Map.of());
+        LoadingCache<Object, Object> perKey = plainService.getLoadingCache(
+                "players",
+                key -> perKeyBackend.loadAll(Set.of((Integer) key)).get(key)
+        );
+        perKey.getAll(keys);
+        perKeyBackend.calls.set(0);
+        perKey.refreshAll(keys).get(10, TimeUnit.SECONDS);
+
+        CountingBackend bulkBackend = new CountingBackend(1_000_000L);
+        DefaultCaffeineService bulkService = newService(Map.of(), Map.of("window-ms", 5L));
+        LoadingCache<Integer, String> coalesced = bulkService.bulkLoadingCache("players", bulkBackend);
+        coalesced.getAll(keys);
+        bulkBackend.calls.set(0);
+        coalesced.refreshAll(keys).get(10, TimeUnit.SECONDS);
+
+        assertEquals(keys.size(), perKeyBackend.calls.get());
+        assertTrue(bulkBackend.calls.get() <= 4, "coalesced calls: " + bulkBackend.calls.get());
+        plainService.close();
+        bulkService.close();
+    }
+
+    private static final class CountingBackend implements BulkLoader<Integer, String> {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final long latencyNanos;
+
+        private CountingBackend(long latencyNanos) {
+            this.latencyNanos = latencyNanos;
+        }
+
+        @Override
+        public Map<Integer, String> loadAll(Set<? extends Integer> keys) {
+            calls.incrementAndGet();
+            if (latencyNanos > 0L) {
+                LockSupport.parkNanos(latencyNanos);
+            }
+            Map<Integer, String> values = new HashMap<>();
+            for (Integer key : keys) {
+                values.put(key, "v" + key);
+            }
+            return values;
+        }
+    }
+
+    private static DefaultCaffeineService newService(Map<String, Object> defaultSpec, Map<String, Object> bulkLoad) {
+        return TestServices.newService(Map.of("default", defaultSpec, "bulk-load", bulkLoad));
+    }
+}
@@ -0,0 +1,242 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.cuzz.starter.bukkitspring.caffeine.annotation.CacheEvict;
+import com.cuzz.starter.bukkitspring.caffeine.annotation.CachePut;
+import com.cuzz.starter.bukkitspring.caffeine.annotation.Cacheable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static com.cuzz.starter.bukkitspring.caffeine.testutil.TestServices.newService;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CacheAnnotationBeanPostProcessorTest {
+
+    @Test
+    public void cacheableCallsTheRepositoryOncePerKey() throws Exception {
+        DefaultCaffeineService service = newService();
+        ProfileRepositoryImpl target = new ProfileRepositoryImpl();
+        ProfileRepository repository = (ProfileRepository) newProcessor(service).postProcessAfterInitialization(target, "repo");
+
+        assertEquals("profile:steve", repository.load("steve"));
+        assertEquals("profile:steve", repository.load("steve"));
+        assertEquals("profile:alex", repository.load("alex"));
+        assertEquals(2, target.loads.get());
+        assertEquals("profile:steve", service.getCache("profiles").getIfPresent("steve"));
+
+        assertEquals("region:1:2", repository.region(1, 2));
+        assertEquals("region:1:2", repository.region(1, 2));
+        assertEquals(1, target.regionLoads.get());
+        assertEquals("region:1:2", service.getCache("regions").getIfPresent(List.of("r", 1, 2)));
+
+        repository.delete("steve");
+        assertEquals(null, service.getCache("profiles").getIfPresent("steve"));
+        assertEquals("profile:alex", service.getCache("profiles").getIfPresent("alex"));
+
+        repository.save(new Profile("jo", "builder"));
+        assertEquals("builder", service.getCache("by-id").getIfPresent("jo"));
+
+        repository.clear();
+        assertEquals(0L, service.getCache("profiles").estimatedSize());
+        assertEquals("ProfileRepositoryImpl", repository.toString());
+        service.close();
+    }
+
+    @Test
+    public void concurrentCallersShareOneInvocation() throws Exception {
+        DefaultCaffeineService service = newService();
+        ProfileRepositoryImpl target = new ProfileRepositoryImpl();
+        ProfileRepository repository = (ProfileRepository) newProcessor(service).postProcessAfterInitialization(target, "repo");
+        target.delayMillis = 50L;
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return repository.load("hot");
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertEquals("profile:hot", result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, target.loads.get());
+
+        CompletableFuture<String> release = new CompletableFuture<>();
+        target.pending = release;
+        CompletableFuture<String> first = repository.loadAsync("slow");
+        CompletableFuture<String> second = repository.loadAsync("slow");
+        assertFalse(first.isDone());
+        release.complete("async:slow");
+        assertEquals("async:slow", first.get(10, TimeUnit.SECONDS));
+        assertEquals("async:slow", second.get(10, TimeUnit.SECONDS));
+        assertEquals(1, target.asyncLoads.get());
+        assertEquals("async:slow", repository.loadAsync("slow").get(10, TimeUnit.SECONDS));
+        assertEquals(1, target.asyncLoads.get());
+        service.close();
+    }
+
+    @Test
+    public void failuresAreNotCached() {
+        DefaultCaffeineService service = newService();
+        ProfileRepositoryImpl target = new ProfileRepositoryImpl();
+        ProfileRepository repository = (ProfileRepository) newProcessor(service).postProcessAfterInitialization(target, "repo");
+        target.failNext = true;
+        assertThrows(IllegalStateException.class, () -> repository.load("steve"));
+        assertEquals("profile:steve", repository.load("steve"));
+        assertEquals(2, target.loads.get());
+        service.close();
+    }
+
+    @Test
+    public void beansWithoutAnnotationsAreLeftAlone() {
+        DefaultCaffeineService service = newService();
+        CacheAnnotationBeanPostProcessor processor = newProcessor(service);
+        Runnable plain = () -> {
+        };
+        assertSame(plain, processor.postProcessAfterInitialization(plain, "plain"));
+        NoInterface noInterface = new NoInterface();
+        assertSame(noInterface, processor.postProcessAfterInitialization(noInterface, "noInterface"));
+        assertThrows(IllegalArgumentException.class,
+                () -> processor.postProcessAfterInitialization(new BrokenKey(), "broken"));
+        service.close();
+    }
+
+    @Test
+    public void repeatedHitsNeverReachTheTarget() {
+        DefaultCaffeineService service = newService();
+        ProfileRepositoryImpl target = new ProfileRepositoryImpl();
+        ProfileRepository repository = (ProfileRepository) newProcessor(service)
+                .postProcessAfterInitialization(target, "repo");
+
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals("region:" + (i & 63) + ":7", repository.region(i & 63, 7));
+        }
+        assertEquals(64, target.regionLoads.get());
+        // the proxy and hand-written lookups share one key layout
+        assertEquals("region:5:7", service.get("regions", List.of("r", 5, 7), key -> "manual"));
+
+        service.invalidate("regions", List.of("r", 5, 7));
+        assertEquals("region:5:7", repository.region(5, 7));
+        assertEquals(65, target.regionLoads.get());
+        assertEquals("ProfileRepositoryImpl", repository.toString());
+        assertEquals(0, target.loads.get());
+        service.close();
+    }
+
+    public record Profile(String id, String role) {
+    }
+
+    public interface ProfileRepository {
+        String load(String id);
+
+        CompletableFuture<String> loadAsync(String id);
+
+        String region(int x, int z);
+
+        void delete(String id);
+
+        void clear();
+
+        String save(Profile profile);
+    }
+
+    public static final class ProfileRepositoryImpl implements ProfileRepository {
+        private final AtomicInteger loads = new AtomicInteger();
+        private final AtomicInteger asyncLoads = new AtomicInteger();
+        private final AtomicInteger regionLoads = new AtomicInteger();
+        private volatile long delayMillis;
+        private volatile boolean failNext;
+        private volatile CompletableFuture<String> pending;
+
+        @Override
+        @Cacheable(cache = "profiles")
+        public String load(String id) {
+            loads.incrementAndGet();
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("database down");
+            }
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "profile:" + id;
+        }
+
+        @Override
+        @Cacheable(cache = "profiles-async", key = "#p0")
+        public CompletableFuture<String> loadAsync(String id) {
+            asyncLoads.incrementAndGet();
+            return pending;
+        }
+
+        @Override
+        @Cacheable(cache = "regions", key = "'r', #p0, #p1")
+        public String region(int x, int z) {
+            regionLoads.incrementAndGet();
+            return "region:" + x + ":" + z;
+        }
+
+        @Override
+        @CacheEvict(cache = "profiles")
+        public void delete(String id) {
+        }
+
+        @Override
+        @CacheEvict(cache = "profiles", allEntries = true)
+        public void clear() {
+        }
+
+        @Override
+        @CachePut(cache = "by-id", key = "#p0.id")
+        public String save(Profile profile) {
+            return profile.role();
+        }
+
+        @Override
+        public String toString() {
+            return "ProfileRepositoryImpl";
+        }
+    }
+
+    public static final class NoInterface {
+        @Cacheable(cache = "x")
+        public String value() {
+            return "x";
+        }
+    }
+
+    public static final class BrokenKey implements Runnable {
+        @Override
+        @Cacheable(cache = "x", key = "#p3")
+        public void run() {
+        }
+    }
+
+    private static CacheAnnotationBeanPostProcessor newProcessor(DefaultCaffeineService service) {
+        return new CacheAnnotationBeanPostProcessor(service.settings(), () -> service, Logger.getLogger("test"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.cuzz.starter.bukkitspring.caffeine.api.BulkLoader;
+import com.cuzz.starter.bukkitspring.caffeine.api.CacheHandle;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.cuzz.starter.bukkitspring.caffeine.testutil.TestServices.newService;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CacheRegistryTest {
+
+    @Test
+    public void arenaChurnLeavesNothingBehind() {
+        DefaultCaffeineService service = newService();
+        BulkLoader<Object, Object> bulk = keys -> {
+            Map<Object, Object> values = new HashMap<>();
+            keys.forEach(key -> values.put(key, "bulk:" + key));
+            return values;
+        };
+        Set<String> names = service.cacheNames();
+        for (int i = 0; i < 200; i++) {
+            String arena = "arena-" + i;
+            service.put(arena, "spawn", i);
+            service.getLoadingCache(arena, key -> "loaded:" + key).get("k");
+            service.bulkAsyncLoadingCache(arena, bulk).synchronous().get("k");
+            service.<Object>longKeyCache(arena).put(1L, "chunk");
+            service.<Object>uuidKeyCache(arena).put(new UUID(1L, 2L), "player");
+            service.guardedGet(arena, "k", key -> "guarded").join();
+            assertTrue(names.contains(arena));
+            service.destroyCache(arena);
+            assertFalse(names.contains(arena));
+        }
+        assertEquals(Set.of("default"), names);
+        assertEquals(Set.of("default"), service.cacheNames());
+
+        // a destroyed name starts over, including the loader type it was first built with
+        assertNull(service.getIfPresent("arena-7", "spawn"));
+        assertEquals("other:k", service.getLoadingCache("arena-7", key -> "other:" + key).get("k"));
+        assertTrue(names.contains("arena-7"));
+        assertEquals(2, names.size());
+        service.close();
+    }
+
+    @Test
+    public void destroyDropsMemoryAccounts() {
+        DefaultCaffeineService service = newService(Map.of("caches", Map.of("nbt", Map.of("maximum-bytes", 1L << 20))));
+        service.put("nbt", "a", new byte[1_000]);
+        service.getLoadingCache("nbt", key -> new byte[10]).get("b");
+        assertEquals(2L << 20, service.memoryStats("nbt").maximumBytes);
+
+        service.destroyCache("nbt");
+        assertEquals(0L, service.memoryStats("nbt").maximumBytes);
+        service.getCache("nbt");
+        assertEquals(1L << 20, service.memoryStats("nbt").maximumBytes);
+        service.close();
+    }
+
+    @Test
+    public void handlesRebindAfterDestroy() throws Exception {
+        DefaultCaffeineService service = newService();
+        CacheHandle<String, String> handle = service.handle("profiles");
+        assertSame(handle, service.<String, String>handle("profiles"));
+        assertEquals("profiles", handle.name());
+
+        handle.put("steve", "builder");
+        assertEquals("builder", service.getIfPresent("profiles", "steve"));
+        assertEquals("builder", handle.getIfPresent("steve"));
+        assertEquals("alex:loaded", handle.get("alex", key -> key + ":loaded"));
+        assertEquals("jo:guarded", handle.guardedGet("jo", key -> key + ":guarded").get(5, TimeUnit.SECONDS));
+        assertEquals(1L, service.loadGuardStats("profiles").loads);
+        Cache<String, String> before = handle.cache();
+        assertSame(service.getCache("profiles"), before);
+
+        service.destroyCache("profiles");
+        assertNull(handle.getIfPresent("steve"));
+        assertNotSame(before, handle.cache());
+        assertSame(service.getCache("profiles"), handle.cache());
+        handle.put("steve", "miner");
+        assertEquals("miner", service.getIfPresent("profiles", "steve"));
+        handle.invalidate("steve");
+        assertNull(service.getIfPresent("profiles", "steve"));
+        assertNotSame(handle, service.handle("profiles"));
+
+        service.close();
+        assertThrows(IllegalStateException.class, () -> handle.getIfPresent("steve"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.cuzz.starter.bukkitspring.caffeine.api.CacheValueCodec;
+import com.cuzz.starter.bukkitspring.caffeine.testutil.TestServices;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CacheSnapshotTest {
+
+    @Test
+    public void writesOnCloseAndRestoresWithoutReplacingLiveEntries(@TempDir Path dataDirectory) throws Exception {
+        DefaultCaffeineService first = newService(dataDirectory, 5);
+        for (int i = 0; i < 10; i++) {
+            first.put("hot", "k" + i, "v" + i);
+        }
+        first.put("hot", "socket", new Object());
+        first.close();
+        assertTrue(Files.isRegularFile(dataDirectory.resolve("cache-snapshots").resolve("hot.snapshot")));
+
+        DefaultCaffeineService second = newService(dataDirectory, 5);
+        second.put("hot", "k0", "live");
+        int restored = second.restoreSnapshot("hot").get(3, TimeUnit.SECONDS);
+
+        assertTrue(restored > 0 && restored <= 5);
+        assertEquals("live", second.getIfPresent("hot", "k0"));
+        assertNull(second.getIfPresent("hot", "socket"));
+        assertEquals(0, second.restoreSnapshot("missing").get(3, TimeUnit.SECONDS));
+        second.close();
+    }
+
+    @Test
+    public void usesRegisteredCodec(@TempDir Path dataDirectory) throws Exception {
+        CacheValueCodec<Object> text = new CacheValueCodec<>() {
+            @Override
+            public byte[] encode(Object value) {
+                return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public Object decode(byte[] bytes) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+        DefaultCaffeineService first = newService(dataDirectory, 100);
+        first.registerSnapshotCodec("hot", text);
+        first.put("hot", "answer", 42);
+        assertEquals(1, first.writeSnapshot("hot"));
+
+        DefaultCaffeineService second = newService(dataDirectory, 100);
+        second.registerSnapshotCodec("hot", text);
+        assertEquals(1, second.restoreSnapshot("hot").get(3, TimeUnit.SECONDS));
+        assertEquals("42", second.getIfPresent("hot", "answer"));
+    }
+
+    @Test
+    public void snapshotShortensTheWarmup(@TempDir Path dataDirectory, @TempDir Path emptyDirectory)
+            throws Exception {
+        // 1k-entry cache over a skewed 2.5k key space; warm means half of the last 200 requests hit.
+        int[] keys = skewedKeys(20_000, 2_500);
+        DefaultCaffeineService previous = newService(dataDirectory, 1_000);
+        for (int key : keys) {
+            previous.get("hot", key, CacheSnapshotTest::load);
+        }
+        previous.close();
+
+        // Traffic starts once the startup restore has finished
+        DefaultCaffeineService restarted = newService(dataDirectory, 1_000);
+        restarted.restoreSnapshot("hot").get(10, TimeUnit.SECONDS);
+        int withSnapshot = requestsUntilWarm(restarted, keys);
+
+        DefaultCaffeineService cold = newService(emptyDirectory, 1_000);
+        cold.restoreSnapshot("hot").get(10, TimeUnit.SECONDS);
+        int withoutSnapshot = requestsUntilWarm(cold, keys);
+
+        assertTrue(withSnapshot < withoutSnapshot, withSnapshot + " vs " + withoutSnapshot + " requests");
+        restarted.close();
+        cold.close();
+    }
+
+    private static int requestsUntilWarm(DefaultCaffeineService service, int[] keys) {
+        int window = 200;
+        boolean[] hits = new boolean[window];
+        int hitCount = 0;
+        for (int i = 0; i < keys.length; i++) {
+            boolean hit = service.getIfPresent("hot", keys[i]) != null;
+            if (!hit) {
+                service.get("hot", keys[i], CacheSnapshotTest::load);
+            }
+            int slot = i % window;
+            hitCount += (hit ? 1 : 0) - (i >= window && hits[slot] ? 1 : 0);
+            hits[slot] = hit;
+            if (i >= window && hitCount >= window / 2) {
+                return i + 1;
+            }
+        }
+        return keys.length;
+    }
+
+    private static Object load(Object key) {
+        return "value-" + key;
+    }
+
+    private static int[] skewedKeys(int count, int keySpace) {
+        Random random = new Random(7L);
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = (int) Math.floor(Math.pow(random.nextDouble(), 2) * keySpace);
+        }
+        return keys;
+    }
+
+    private static DefaultCaffeineService newService(Path dataDirectory, int maxEntries) {
+        return TestServices.newService(Map.of(
+                "caches", Map.of("hot", Map.of("maximum-size", 1_000L)),
+                "snapshot", Map.of("enabled", true, "max-entries", maxEntries)
+        ), dataDirectory);
+    }
+}
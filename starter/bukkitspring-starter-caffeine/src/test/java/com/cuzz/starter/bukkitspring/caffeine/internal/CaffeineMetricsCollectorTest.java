@@ -0,0 +1,82 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.CollectorRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static com.cuzz.starter.bukkitspring.caffeine.testutil.TestServices.newService;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CaffeineMetricsCollectorTest {
+    private static final String[] CACHE = {"cache"};
+
+    @Test
+    public void exportsMergedStatsPerCacheName() {
+        DefaultCaffeineService service = newService(Map.of("default", Map.of("record-stats", true)));
+        CollectorRegistry registry = new CollectorRegistry();
+        registry.register(new CaffeineMetricsCollector(service));
+
+        service.put("players", "u1", "Alice");
+        service.getIfPresent("players", "u1");
+        service.getIfPresent("players", "u2");
+        service.loadingGet("players", "u3", key -> "Bob");
+
+        assertEquals(1.0D, sample(registry, "caffeine_cache_hits_total", "players"));
+        assertEquals(2.0D, sample(registry, "caffeine_cache_misses_total", "players"));
+        assertEquals(1.0D, sample(registry, "caffeine_cache_loads_total", "players"));
+        assertEquals(2.0D, sample(registry, "caffeine_cache_estimated_size", "players"));
+        assertTrue(sample(registry, "caffeine_cache_load_duration_seconds_total", "players") > 0.0D);
+        assertNull(sample(registry, "caffeine_cache_weighted_size", "players"));
+        service.close();
+    }
+
+    @Test
+    public void registersWithDefaultRegistryUntilClosed() {
+        DefaultCaffeineService service = newService(Map.of("default", Map.of("record-stats", true)));
+        service.registerGlobalBean();
+        service.put("arena", "k", "v");
+
+        assertNotNull(sample(CollectorRegistry.defaultRegistry, "caffeine_cache_estimated_size", "arena"));
+        service.close();
+        assertNull(sample(CollectorRegistry.defaultRegistry, "caffeine_cache_estimated_size", "arena"));
+    }
+
+    @Test
+    public void exportsOneSamplePerCacheAcrossManyCaches() {
+        DefaultCaffeineService service = newService(Map.of("default", Map.of("record-stats", true)));
+        for (int i = 0; i < 500; i++) {
+            String name = "cache-" + i;
+            for (int key = 0; key < 20; key++) {
+                service.put(name, key, key);
+                service.getIfPresent(name, key);
+            }
+        }
+        CollectorRegistry registry = new CollectorRegistry();
+        CaffeineMetricsCollector collector = new CaffeineMetricsCollector(service);
+        registry.register(collector);
+
+        Set<String> statsFamilies = Set.of("caffeine_cache_hits", "caffeine_cache_misses",
+                "caffeine_cache_evictions", "caffeine_cache_estimated_size");
+        int checked = 0;
+        for (Collector.MetricFamilySamples family : collector.collect()) {
+            if (statsFamilies.contains(family.name)) {
+                assertEquals(500, family.samples.size(), family.name);
+                checked++;
+            }
+        }
+        assertEquals(statsFamilies.size(), checked);
+        assertEquals(20.0D, sample(registry, "caffeine_cache_hits_total", "cache-0"));
+        assertEquals(20.0D, sample(registry, "caffeine_cache_estimated_size", "cache-499"));
+        service.close();
+    }
+
+    private static Double sample(CollectorRegistry registry, String name, String cache) {
+        return registry.getSampleValue(name, CACHE, new String[]{cache});
+    }
+}
@@ -0,0 +1,140 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.cuzz.starter.bukkitspring.caffeine.api.CacheValueCodec;
+import com.cuzz.starter.bukkitspring.caffeine.api.CacheValueCodecs;
+import com.cuzz.starter.bukkitspring.caffeine.api.CaffeineCacheSpec;
+import com.cuzz.starter.bukkitspring.caffeine.api.OffHeapCache;
+import com.cuzz.starter.bukkitspring.caffeine.api.OffHeapCacheStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.cuzz.starter.bukkitspring.caffeine.testutil.TestServices.newService;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DefaultOffHeapCacheTest {
+    private static final CacheValueCodec<byte[]> RAW = new CacheValueCodec<>() {
+        @Override
+        public byte[] encode(byte[] value) {
+            return value;
+        }
+
+        @Override
+        public byte[] decode(byte[] bytes) {
+            return bytes;
+        }
+    };
+
+    @Test
+    public void roundTripsThroughServiceAndClosesOnDestroy() {
+        DefaultCaffeineService service = newService();
+        OffHeapCache<String, String> cache = service.offHeapCache("profiles", CacheValueCodecs.utf8());
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v-k1", cache.get("k1", key -> {
+            loads.incrementAndGet();
+            return "v-" + key;
+        }));
+        assertEquals("v-k1", cache.get("k1", key -> "other"));
+        cache.put("k2", "second");
+        assertEquals("second", cache.getIfPresent("k2"));
+        cache.invalidate("k2");
+        assertNull(cache.getIfPresent("k2"));
+
+        assertEquals(1, loads.get());
+        OffHeapCacheStats stats = cache.stats();
+        assertEquals(2L, stats.hits);
+        assertTrue(stats.usedBytes > 0L);
+        assertSame(cache, service.offHeapCache("profiles", CacheValueCodecs.utf8()));
+
+        service.destroyCache("profiles");
+        assertNull(cache.getIfPresent("k1"));
+        assertNotSame(cache, service.offHeapCache("profiles", CacheValueCodecs.utf8()));
+    }
+
+    @Test
+    public void evictionKeepsDirectMemoryWithinBudget() {
+        CaffeineCacheSpec spec = spec(1024L * 1024, 64 * 1024);
+        DefaultOffHeapCache<Integer, byte[]> cache = new DefaultOffHeapCache<>("bounded", spec, RAW, Runnable::run, null);
+        byte[] value = new byte[200];
+        for (int i = 0; i < 20_000; i++) {
+            value[0] = (byte) i;
+            cache.put(i, value.clone());
+        }
+        byte[] last = cache.getIfPresent(19_999);
+
+        OffHeapCacheStats stats = cache.stats();
+        assertTrue(stats.entries < 20_000L);
+        assertTrue(stats.reservedBytes <= stats.capacityBytes);
+        assertTrue(stats.usedBytes <= stats.capacityBytes);
+        assertEquals(stats.entries * 256L, stats.usedBytes);
+        assertEquals((byte) 19_999, last[0]);
+
+        cache.close();
+        assertEquals(0L, cache.stats().usedBytes);
+        assertNull(cache.getIfPresent(19_999));
+    }
+
+    @Test
+    public void stalePointersReadAsMissAfterReuse() {
+        OffHeapSlabAllocator allocator = new OffHeapSlabAllocator(1024L * 1024, 64 * 1024);
+        long first = allocator.allocate(new byte[]{1, 2, 3});
+        assertArrayEquals(new byte[]{1, 2, 3}, allocator.read(first));
+
+        allocator.free(first);
+        assertNull(allocator.read(first));
+        long second = allocator.allocate(new byte[]{4, 5});
+        assertNotEquals(first, second);
+        assertNull(allocator.read(first));
+        assertArrayEquals(new byte[]{4, 5}, allocator.read(second));
+
+        // a second free of the old pointer must not release the reused chunk
+        allocator.free(first);
+        assertArrayEquals(new byte[]{4, 5}, allocator.read(second));
+        assertEquals(32L, allocator.usedBytes());
+        assertEquals(OffHeapSlabAllocator.NULL, allocator.allocate(new byte[128 * 1024]));
+    }
+
+    @Test
+    public void directMemoryAccountingTracksLiveChunks() {
+        // 200-byte values plus the 8-byte header round up to 256-byte chunks, 256 per 64 KiB slab
+        int entries = 10_000;
+        CaffeineCacheSpec spec = spec(entries * 256L * 2, 64 * 1024);
+        DefaultOffHeapCache<Integer, byte[]> cache = new DefaultOffHeapCache<>("accounting", spec, RAW, Runnable::run, null);
+        for (int i = 0; i < entries; i++) {
+            cache.put(i, new byte[200]);
+        }
+        OffHeapCacheStats filled = cache.stats();
+        long slabs = (entries + 255) / 256;
+        assertEquals(entries, filled.entries);
+        assertEquals(0L, filled.allocationFailures);
+        assertEquals(entries * 256L, filled.usedBytes);
+        assertEquals(slabs * 64 * 1024, filled.reservedBytes);
+
+        for (int i = 0; i < entries; i += 2) {
+            cache.invalidate(i);
+        }
+        assertEquals(entries / 2 * 256L, cache.stats().usedBytes);
+
+        for (int i = 0; i < entries; i += 2) {
+            cache.put(i, new byte[200]);
+        }
+        OffHeapCacheStats refilled = cache.stats();
+        assertEquals(entries * 256L, refilled.usedBytes);
+        assertEquals(filled.reservedBytes, refilled.reservedBytes);
+
+        cache.close();
+        assertEquals(0L, cache.stats().usedBytes);
+        assertEquals(0L, cache.stats().reservedBytes);
+    }
+
+    private static CaffeineCacheSpec spec(long maxBytes, int slabBytes) {
+        return new CaffeineCacheSpec(0, 0L, 0L, 0L, 0L, false, false, false, false, maxBytes, slabBytes);
+    }
+}
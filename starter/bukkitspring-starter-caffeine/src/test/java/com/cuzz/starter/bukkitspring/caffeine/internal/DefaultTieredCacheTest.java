@@ -0,0 +1,222 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.cuzz.starter.bukkitspring.caffeine.api.CacheValueCodecs;
+import com.cuzz.starter.bukkitspring.caffeine.api.RemoteCacheStore;
+import com.cuzz.starter.bukkitspring.caffeine.api.TieredCache;
+import com.cuzz.starter.bukkitspring.caffeine.api.TieredCacheStats;
+import com.cuzz.starter.bukkitspring.caffeine.testutil.InMemoryRemoteCacheStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static com.cuzz.starter.bukkitspring.caffeine.testutil.TestServices.newService;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DefaultTieredCacheTest {
+
+    @Test
+    public void readsFallBackToRemoteAndLoaderOnlyOnce() {
+        InMemoryRemoteCacheStore store = new InMemoryRemoteCacheStore();
+        try (DefaultCaffeineService nodeA = newService();
+             DefaultCaffeineService nodeB = newService()) {
+            TieredCache<String, String> cacheA = nodeA.tieredCache("profiles", store, CacheValueCodecs.utf8());
+            TieredCache<String, String> cacheB = nodeB.tieredCache("profiles", store, CacheValueCodecs.utf8());
+            AtomicInteger loads = new AtomicInteger();
+
+            assertEquals("v-k1", cacheA.get("k1", key -> {
+                loads.incrementAndGet();
+                return "v-" + key;
+            }));
+            assertEquals("v-k1", cacheB.get("k1", key -> {
+                loads.incrementAndGet();
+                return "other";
+            }));
+            assertEquals("v-k1", cacheB.get("k1", key -> "other"));
+
+            assertEquals(1, loads.get());
+            TieredCacheStats statsB = cacheB.stats();
+            assertEquals(1L, statsB.l2Hits);
+            assertEquals(1L, statsB.l1Hits);
+            assertEquals(0L, statsB.misses);
+            assertSame(cacheA, nodeA.tieredCache("profiles", store, CacheValueCodecs.utf8()));
+        }
+    }
+
+    @Test
+    public void writesAndInvalidationsEvictOtherNodes() {
+        InMemoryRemoteCacheStore store = new InMemoryRemoteCacheStore();
+        try (DefaultCaffeineService nodeA = newService();
+             DefaultCaffeineService nodeB = newService()) {
+            TieredCache<String, String> cacheA = nodeA.tieredCache("arena", store, CacheValueCodecs.utf8());
+            TieredCache<String, String> cacheB = nodeB.tieredCache("arena", store, CacheValueCodecs.utf8());
+
+            cacheA.put("k", "1");
+            assertEquals("1", cacheB.getIfPresent("k"));
+
+            cacheA.put("k", "2");
+            assertEquals("2", cacheB.getIfPresent("k"));
+            assertTrue(cacheB.stats().invalidationsReceived >= 1L);
+
+            cacheB.invalidate("k");
+            assertNull(cacheA.getIfPresent("k"));
+        }
+    }
+
+    @Test
+    public void invalidateAllStopsEveryNodeReadingOldRemoteEntries() {
+        InMemoryRemoteCacheStore store = new InMemoryRemoteCacheStore();
+        try (DefaultCaffeineService nodeA = newService();
+             DefaultCaffeineService nodeB = newService()) {
+            TieredCache<String, String> cacheA = nodeA.tieredCache("ranks", store, CacheValueCodecs.utf8());
+            TieredCache<String, String> cacheB = nodeB.tieredCache("ranks", store, CacheValueCodecs.utf8());
+            cacheA.put("steve", "admin");
+            assertEquals("admin", cacheB.getIfPresent("steve"));
+
+            cacheA.invalidateAll();
+
+            assertNull(cacheA.getIfPresent("steve"));
+            assertEquals("member", cacheB.get("steve", key -> "member"));
+            assertEquals("member", cacheA.getIfPresent("steve"));
+            try (DefaultCaffeineService nodeC = newService()) {
+                TieredCache<String, String> cacheC = nodeC.tieredCache("ranks", store, CacheValueCodecs.utf8());
+                assertEquals("member", cacheC.getIfPresent("steve"));
+            }
+        }
+    }
+
+    @Test
+    public void remoteReadThatRacesAWriteIsNotKeptInL1() {
+        InMemoryRemoteCacheStore store = new InMemoryRemoteCacheStore();
+        AtomicReference<Runnable> afterRead = new AtomicReference<>();
+        try (DefaultCaffeineService nodeA = newService();
+             DefaultCaffeineService nodeB = newService()) {
+            TieredCache<String, String> cacheA = nodeA.tieredCache("motd", store, CacheValueCodecs.utf8());
+            TieredCache<String, String> cacheB = nodeB.tieredCache("motd", new RacingStore(store, afterRead),
+                    CacheValueCodecs.utf8());
+            cacheA.put("lobby", "old");
+
+            // node A replaces the value after node B read the old one from L2, but before B stores it in L1
+            afterRead.set(() -> cacheA.put("lobby", "new"));
+            assertEquals("old", cacheB.getIfPresent("lobby"));
+
+            assertEquals("new", cacheB.getIfPresent("lobby"));
+            assertEquals(2L, cacheB.stats().l2Hits);
+        }
+    }
+
+    @Test
+    public void tieredL1SharesTheMemoryBudget() {
+        long budget = 1L << 20;
+        try (DefaultCaffeineService service = newService(Map.of("memory-budget", Map.of("max-bytes", budget)))) {
+            TieredCache<String, String> cache = service.tieredCache(
+                    "profiles", new InMemoryRemoteCacheStore(), CacheValueCodecs.utf8());
+            assertEquals(budget, service.memoryStats("profiles").maximumBytes);
+
+            cache.close();
+            assertEquals(0L, service.memoryStats("profiles").maximumBytes);
+        }
+    }
+
+    @Test
+    public void warmRemoteServesColdNodeWithoutReloading() {
+        // Skewed access over 2k keys with L1 capped below the key space: node A warms the shared store,
+        // node B starts cold and must never fall through to the loader.
+        InMemoryRemoteCacheStore store = new InMemoryRemoteCacheStore();
+        try (DefaultCaffeineService nodeA = newService(Map.of("default", Map.of("maximum-size", 500L)));
+             DefaultCaffeineService nodeB = newService(Map.of("default", Map.of("maximum-size", 500L)))) {
+            TieredCache<Integer, String> warm = nodeA.tieredCache("skewed", store, CacheValueCodecs.utf8());
+            TieredCache<Integer, String> cold = nodeB.tieredCache("skewed", store, CacheValueCodecs.utf8());
+            int requests = 5_000;
+            int[] keys = skewedKeys(requests, 2_000);
+            for (int key : keys) {
+                warm.get(key, String::valueOf);
+            }
+            int readsBefore = store.reads.get();
+
+            for (int key : keys) {
+                assertEquals(String.valueOf(key), cold.get(key, ignored -> "reloaded"));
+            }
+
+            TieredCacheStats stats = cold.stats();
+            assertEquals(requests, stats.requests());
+            assertEquals(0L, stats.misses);
+            assertTrue(stats.l1Hits > stats.l2Hits);
+            assertEquals(stats.l2Hits, store.reads.get() - readsBefore);
+        }
+    }
+
+    @Test
+    public void closedCacheStopsReceivingInvalidations() {
+        InMemoryRemoteCacheStore store = new InMemoryRemoteCacheStore();
+        try (DefaultCaffeineService nodeA = newService();
+             DefaultCaffeineService nodeB = newService()) {
+            TieredCache<String, String> cacheA = nodeA.tieredCache("lobby", store, CacheValueCodecs.utf8());
+            TieredCache<String, String> cacheB = nodeB.tieredCache("lobby", store, CacheValueCodecs.utf8());
+
+            cacheB.close();
+            cacheA.put("k", "1");
+
+            assertEquals(0L, cacheB.stats().invalidationsReceived);
+            assertEquals(1L, cacheA.stats().invalidationsSent);
+        }
+    }
+
+    private static int[] skewedKeys(int count, int keySpace) {
+        Random random = new Random(42L);
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = (int) Math.floor(Math.pow(random.nextDouble(), 3) * keySpace);
+        }
+        return keys;
+    }
+
+    /**
+     * Runs the armed task once, right after a read returned a value.
+     */
+    private static final class RacingStore implements RemoteCacheStore {
+        private final RemoteCacheStore delegate;
+        private final AtomicReference<Runnable> afterRead;
+
+        private RacingStore(RemoteCacheStore delegate, AtomicReference<Runnable> afterRead) {
+            this.delegate = delegate;
+            this.afterRead = afterRead;
+        }
+
+        @Override
+        public byte[] get(String key) {
+            byte[] value = delegate.get(key);
+            Runnable task = value == null ? null : afterRead.getAndSet(null);
+            if (task != null) {
+                task.run();
+            }
+            return value;
+        }
+
+        @Override
+        public void set(String key, byte[] value, long ttlMillis) {
+            delegate.set(key, value, ttlMillis);
+        }
+
+        @Override
+        public void delete(String key) {
+            delegate.delete(key);
+        }
+
+        @Override
+        public void publish(String channel, String message) {
+            delegate.publish(channel, message);
+        }
+
+        @Override
+        public AutoCloseable subscribe(String channel, Consumer<String> listener) {
+            return delegate.subscribe(channel, listener);
+        }
+    }
+}
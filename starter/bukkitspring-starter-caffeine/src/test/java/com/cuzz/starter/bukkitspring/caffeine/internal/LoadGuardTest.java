@@ -0,0 +1,238 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.cuzz.starter.bukkitspring.caffeine.api.LoadGuardStats;
+import com.cuzz.starter.bukkitspring.caffeine.testutil.FakeTicker;
+import com.cuzz.starter.bukkitspring.caffeine.testutil.TestServices;
+import io.prometheus.client.CollectorRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoadGuardTest {
+
+    @Test
+    public void concurrentRequestsShareOneLoad() throws Exception {
+        DefaultCaffeineService service = newService(Map.of(), Map.of());
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(service.guardedGet("profiles", "steve", key -> {
+                calls.incrementAndGet();
+                await(release);
+                return "profile:" + key;
+            }));
+        }
+        release.countDown();
+        for (CompletableFuture<Object> future : futures) {
+            assertEquals("profile:steve", future.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals("profile:steve", service.getCache("profiles").getIfPresent("steve"));
+        assertEquals(1L, service.loadGuardStats("profiles").loads);
+        service.close();
+    }
+
+    @Test
+    public void concurrentLoadsAreLimitedPerCache() throws Exception {
+        DefaultCaffeineService service = newService(Map.of("max-concurrent-loads", 4), Map.of());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<CompletableFuture<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            futures.add(service.guardedGet("regions", i, key -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(5L);
+                running.decrementAndGet();
+                return key;
+            }));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i, futures.get(i).get(10, TimeUnit.SECONDS));
+        }
+        LoadGuardStats stats = service.loadGuardStats("regions");
+        assertTrue(peak.get() <= 4, "peak " + peak.get());
+        assertTrue(stats.peakConcurrentLoads <= 4, stats.toString());
+        assertEquals(40L, stats.loads);
+        service.close();
+    }
+
+    @Test
+    public void failFastRejectsLoadsOverTheLimit() throws Exception {
+        DefaultCaffeineService service = newService(Map.of("max-concurrent-loads", 1, "fail-fast", true), Map.of());
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> slow = service.guardedGet("db", "a", key -> {
+            await(release);
+            return "A";
+        });
+        CompletableFuture<Object> rejected = service.guardedGet("db", "b", key -> "B");
+        ExecutionException error = assertThrows(ExecutionException.class, () -> rejected.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        release.countDown();
+        assertEquals("A", slow.get(10, TimeUnit.SECONDS));
+        assertEquals("B", service.guardedGet("db", "b", key -> "B").get(10, TimeUnit.SECONDS));
+        assertEquals(1L, service.loadGuardStats("db").rejectedLoads);
+        service.close();
+    }
+
+    @Test
+    public void staleValuesAnswerWhileTheKeyReloads() throws Exception {
+        FakeTicker ticker = new FakeTicker();
+        DefaultCaffeineService service = newService(
+                Map.of("stale-while-revalidate", true),
+                Map.of("prices", Map.of("expire-after-write-ms", 50L)),
+                ticker
+        );
+        AtomicInteger version = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        assertEquals(0, service.guardedGet("prices", "gold", key -> version.getAndIncrement()).get(10, TimeUnit.SECONDS));
+        ticker.advance(Duration.ofMillis(100L));
+
+        CompletableFuture<Object> stale = service.guardedGet("prices", "gold", key -> {
+            await(release);
+            return version.getAndIncrement();
+        });
+        assertTrue(stale.isDone());
+        assertEquals(0, stale.get());
+        release.countDown();
+        assertEquals(1, service.getAsyncCache("prices").getIfPresent("gold").get(10, TimeUnit.SECONDS));
+        assertEquals(1L, service.loadGuardStats("prices").staleWhileRevalidate);
+        service.close();
+    }
+
+    @Test
+    public void staleValuesAnswerWhenTheLoaderFails() throws Exception {
+        FakeTicker ticker = new FakeTicker();
+        DefaultCaffeineService service = newService(
+                Map.of("serve-stale-on-error", true),
+                Map.of("ranks", Map.of("expire-after-write-ms", 50L)),
+                ticker
+        );
+        assertEquals("admin", service.guardedGet("ranks", "alex", key -> "admin").get(10, TimeUnit.SECONDS));
+        ticker.advance(Duration.ofMillis(100L));
+
+        Object value = service.guardedGet("ranks", "alex", key -> {
+            throw new IllegalStateException("database down");
+        }).get(10, TimeUnit.SECONDS);
+        assertEquals("admin", value);
+        ExecutionException error = assertThrows(ExecutionException.class, () -> service.guardedGet("ranks", "jo", key -> {
+            throw new IllegalStateException("database down");
+        }).get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+
+        LoadGuardStats stats = service.loadGuardStats("ranks");
+        assertEquals(1L, stats.staleOnError);
+        assertEquals(2L, stats.loadFailures);
+
+        CollectorRegistry registry = new CollectorRegistry();
+        registry.register(new CaffeineMetricsCollector(service));
+        assertEquals(1.0, registry.getSampleValue(
+                "caffeine_cache_stale_served_total", new String[]{"cache", "reason"}, new String[]{"ranks", "error"}));
+        service.close();
+    }
+
+    @Test
+    public void stampedeOnExpiredHotKeysLoadsEachKeyOnce() throws Exception {
+        // 8 threads x 500 requests over 20 keys that expired at once
+        int threads = 8;
+        int requests = 500;
+        int keys = 20;
+        FakeTicker ticker = new FakeTicker();
+        DefaultCaffeineService service = newService(
+                Map.of(),
+                Map.of("guarded", Map.of("expire-after-write-ms", 1_000L)),
+                ticker
+        );
+        for (int key = 0; key < keys; key++) {
+            service.guardedGet("guarded", key, ignored -> "old").get(10, TimeUnit.SECONDS);
+        }
+        ticker.advance(Duration.ofSeconds(2L));
+        AtomicInteger backendCalls = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            CountDownLatch start = new CountDownLatch(1);
+            Map<Integer, Object> seen = new HashMap<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(pool.submit(() -> {
+                    await(start);
+                    for (int i = 0; i < requests; i++) {
+                        int key = i % keys;
+                        Object value = service.guardedGet("guarded", key, ignored -> {
+                            backendCalls.incrementAndGet();
+                            sleep(1L);
+                            return "value-" + ignored;
+                        }).join();
+                        synchronized (seen) {
+                            seen.put(key, value);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(keys, backendCalls.get());
+            assertEquals(keys, seen.size());
+            assertTrue(seen.values().stream().allMatch(value -> !"old".equals(value)), seen.toString());
+        } finally {
+            pool.shutdownNow();
+            service.close();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("latch timed out");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static DefaultCaffeineService newService(Map<String, Object> guard, Map<String, Object> caches) {
+        return TestServices.newService(Map.of("load-guard", guard, "caches", caches));
+    }
+
+    private static DefaultCaffeineService newService(Map<String, Object> guard,
+                                                     Map<String, Object> caches,
+                                                     FakeTicker ticker) {
+        return new DefaultCaffeineService(
+                TestServices.settings(Map.of("load-guard", guard, "caches", caches)),
+                Logger.getLogger("test"),
+                null,
+                ticker
+        );
+    }
+}
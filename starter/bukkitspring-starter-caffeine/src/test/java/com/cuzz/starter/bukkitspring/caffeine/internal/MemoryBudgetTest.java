@@ -0,0 +1,164 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.cuzz.starter.bukkitspring.caffeine.api.CacheMemoryStats;
+import com.cuzz.starter.bukkitspring.caffeine.api.ObjectSizeEstimator;
+import com.cuzz.starter.bukkitspring.caffeine.testutil.TestServices;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.prometheus.client.CollectorRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MemoryBudgetTest {
+
+    @Test
+    public void estimatesFollowObjectLayout() {
+        ObjectSizeEstimator estimator = new ObjectSizeEstimator();
+        assertEquals(0L, estimator.estimate(null));
+        assertEquals(1_040L, estimator.estimate(new byte[1_024]));
+        assertEquals(16L + 8L * 4L, estimator.estimate(new long[4]));
+
+        long text = estimator.estimate("abcdefghijklmnop");
+        long wideText = estimator.estimate("中文中文中文中文中文中文中文中文");
+        assertTrue(text >= 40L && text < wideText, text + " / " + wideText);
+
+        Blob blob = new Blob("region", new byte[4_096]);
+        long blobBytes = estimator.estimate(blob);
+        assertTrue(blobBytes > 4_096L && blobBytes < 4_096L + 256L, "blob: " + blobBytes);
+
+        Node first = new Node();
+        Node second = new Node();
+        first.next = second;
+        second.next = first;
+        assertEquals(estimator.estimate(new Node()) * 2, estimator.estimate(first));
+
+        Map<String, byte[]> map = new HashMap<>();
+        map.put("a", new byte[1_000]);
+        map.put("b", new byte[1_000]);
+        assertTrue(estimator.estimate(map) > 2_000L);
+    }
+
+    @Test
+    public void registeredSizersReplaceTheFieldWalk() {
+        ObjectSizeEstimator estimator = new ObjectSizeEstimator();
+        estimator.registerSizer(Sized.class, Sized::declaredBytes);
+        Sized large = () -> 1_000_000L;
+        assertEquals(1_000_000L, estimator.estimate(large));
+        assertEquals(ObjectSizeEstimator.ENTRY_OVERHEAD_BYTES + 1_000_000L, estimator.weigh(null, large));
+
+        estimator.registerSizer(Blob.class, blob -> 7L);
+        assertEquals(7L, estimator.estimate(new Blob("subclass", new byte[100]) {
+        }));
+    }
+
+    @Test
+    public void maximumBytesBoundsLargeValues() {
+        DefaultCaffeineService service = newService(Map.of(), Map.of("nbt", Map.of("maximum-bytes", 1L << 20)));
+        Cache<Object, Object> cache = service.getCache("nbt");
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(i, new byte[10_000]);
+        }
+        cache.cleanUp();
+
+        CacheMemoryStats stats = service.memoryStats("nbt");
+        assertEquals(1L << 20, stats.maximumBytes);
+        assertTrue(stats.estimatedBytes <= 1L << 20, stats.toString());
+        assertTrue(stats.evictedBytes > 8_000_000L, stats.toString());
+        assertTrue(cache.estimatedSize() < 110L);
+        assertEquals(CacheMemoryStats.empty().maximumBytes, service.memoryStats("other").maximumBytes);
+        service.close();
+    }
+
+    @Test
+    public void globalBudgetFollowsDemand() throws Exception {
+        long budget = 4L << 20;
+        DefaultCaffeineService service = newService(
+                Map.of("max-bytes", budget, "rebalance-ms", 100L),
+                Map.of("regions", Map.of("maximum-size", 0L), "names", Map.of("maximum-size", 0L))
+        );
+        Cache<Object, Object> regions = service.getCache("regions");
+        Cache<Object, Object> names = service.getCache("names");
+        for (int i = 0; i < 50; i++) {
+            names.put(i, "player-" + i);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 2_000; i++) {
+                regions.put(round * 2_000 + i, new byte[4_096]);
+            }
+            Thread.sleep(150L);
+        }
+        regions.cleanUp();
+        names.cleanUp();
+
+        CacheMemoryStats regionStats = service.memoryStats("regions");
+        CacheMemoryStats nameStats = service.memoryStats("names");
+        assertTrue(regionStats.maximumBytes > nameStats.maximumBytes * 4);
+        assertTrue(regionStats.maximumBytes + nameStats.maximumBytes <= budget + budget / 10);
+        assertTrue(regionStats.estimatedBytes + nameStats.estimatedBytes <= budget + budget / 10);
+        assertEquals(50L, names.estimatedSize());
+
+        CollectorRegistry registry = new CollectorRegistry();
+        registry.register(new CaffeineMetricsCollector(service));
+        assertNotNull(registry.getSampleValue("caffeine_cache_max_bytes", new String[]{"cache"}, new String[]{"regions"}));
+        service.close();
+    }
+
+    @Test
+    public void entryCountDoesNotBoundNbtSizedValues() {
+        // 2k chunk-sized blobs of 64KB: maximum-size 10000 keeps all ~128MB, maximum-bytes 16MB keeps ~16MB
+        DefaultCaffeineService service = newService(Map.of(), Map.of(
+                "by-count", Map.of("maximum-size", 10_000L),
+                "by-bytes", Map.of("maximum-bytes", 16L << 20)
+        ));
+        Cache<Object, Object> byCount = service.getCache("by-count");
+        Cache<Object, Object> byBytes = service.getCache("by-bytes");
+        List<byte[]> blobs = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            blobs.add(new byte[64 * 1024]);
+        }
+        for (int i = 0; i < blobs.size(); i++) {
+            byBytes.put(i, blobs.get(i));
+        }
+        for (int i = 0; i < blobs.size(); i++) {
+            byCount.put(i, blobs.get(i));
+        }
+        byBytes.cleanUp();
+        byCount.cleanUp();
+
+        CacheMemoryStats bytes = service.memoryStats("by-bytes");
+        assertEquals(2_000L, byCount.estimatedSize());
+        assertTrue(bytes.estimatedBytes <= 16L << 20);
+        assertTrue(byBytes.estimatedSize() <= 256L, "by-bytes entries: " + byBytes.estimatedSize());
+        service.close();
+    }
+
+    private interface Sized {
+        long declaredBytes();
+    }
+
+    private static class Blob {
+        private final String name;
+        private final byte[] data;
+
+        private Blob(String name, byte[] data) {
+            this.name = name;
+            this.data = data;
+        }
+    }
+
+    private static final class Node {
+        private Node next;
+        private long value;
+    }
+
+    private static DefaultCaffeineService newService(Map<String, Object> budget, Map<String, Object> caches) {
+        return TestServices.newService(Map.of("memory-budget", budget, "caches", caches));
+    }
+}
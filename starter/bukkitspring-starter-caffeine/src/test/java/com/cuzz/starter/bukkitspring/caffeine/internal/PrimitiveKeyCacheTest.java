@@ -0,0 +1,141 @@
+package com.cuzz.starter.bukkitspring.caffeine.internal;
+
+import com.cuzz.starter.bukkitspring.caffeine.api.LongKeyCache;
+import com.cuzz.starter.bukkitspring.caffeine.api.UuidKeyCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.cuzz.starter.bukkitspring.caffeine.testutil.TestServices.newService;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrimitiveKeyCacheTest {
+
+    @Test
+    public void longKeysRoundTripThroughService() {
+        DefaultCaffeineService service = newService();
+        LongKeyCache<String> cache = service.longKeyCache("entities");
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.put(0L, "zero");
+        cache.put(-1L, "minus");
+        cache.put(Long.MIN_VALUE, "min");
+        assertEquals("zero", cache.getIfPresent(0L));
+        assertEquals("minus", cache.getIfPresent(-1L));
+        assertEquals("min", cache.getIfPresent(Long.MIN_VALUE));
+        assertEquals("v42", cache.get(42L, key -> {
+            loads.incrementAndGet();
+            return "v" + key;
+        }));
+        assertEquals("v42", cache.get(42L, key -> "other"));
+        cache.invalidate(-1L);
+        assertNull(cache.getIfPresent(-1L));
+
+        assertEquals(1, loads.get());
+        assertEquals(3L, cache.estimatedSize());
+        assertEquals(1L, cache.stats().loadSuccessCount());
+        assertSame(cache, service.longKeyCache("entities"));
+        service.destroyCache("entities");
+        assertNull(cache.getIfPresent(0L));
+    }
+
+    @Test
+    public void uuidKeysSurviveCollisionsAndDeletes() {
+        UuidKeyCache<Integer> cache = newService(Map.of("default", Map.of("maximum-size", 0L)))
+                .uuidKeyCache("players");
+        List<UUID> ids = new ArrayList<>();
+        Random random = new Random(3L);
+        for (int i = 0; i < 50_000; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            ids.add(id);
+            cache.put(id, i);
+        }
+        for (int i = 0; i < ids.size(); i += 2) {
+            cache.invalidate(ids.get(i));
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            UUID id = ids.get(i);
+            Integer expected = i % 2 == 0 ? null : i;
+            assertEquals(expected, cache.getIfPresent(id.getMostSignificantBits(), id.getLeastSignificantBits()));
+        }
+        assertEquals(25_000L, cache.estimatedSize());
+    }
+
+    @Test
+    public void sizeBoundKeepsReferencedEntries() {
+        LongKeyCache<Long> cache = newService(Map.of("default", Map.of("maximum-size", 1_024L)))
+                .longKeyCache("chunks");
+        for (long key = 0; key < 20_000; key++) {
+            cache.put(key, key);
+            // keys 0..63 are touched continuously and should survive the CLOCK sweeps
+            cache.getIfPresent(key % 64);
+        }
+        int hotRetained = 0;
+        for (long key = 0; key < 64; key++) {
+            if (cache.getIfPresent(key) != null) {
+                hotRetained++;
+            }
+        }
+        assertTrue(cache.estimatedSize() <= 1_024L);
+        assertTrue(cache.stats().evictionCount() >= 20_000L - 1_024L);
+        assertTrue(hotRetained >= 56, "hot keys retained: " + hotRetained);
+    }
+
+    @Test
+    public void entriesExpireAfterWrite() throws Exception {
+        LongKeyCache<String> cache = newService(Map.of("default", Map.of("expire-after-write-ms", 50L)))
+                .longKeyCache("ttl");
+        cache.put(1L, "a");
+        assertEquals("a", cache.getIfPresent(1L));
+        Thread.sleep(80L);
+        assertNull(cache.getIfPresent(1L));
+        cache.put(1L, "b");
+        assertEquals("b", cache.getIfPresent(1L));
+    }
+
+    @Test
+    public void concurrentReadersAndWritersSeeConsistentValues() throws Exception {
+        LongKeyCache<Long> cache = newService(Map.of("default", Map.of("maximum-size", 4_096L)))
+                .longKeyCache("concurrent");
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(4);
+        for (int t = 0; t < 4; t++) {
+            long seed = t;
+            new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                try {
+                    for (int i = 0; i < 200_000; i++) {
+                        long key = random.nextLong(16_384);
+                        Long value = cache.getIfPresent(key);
+                        if (value != null && value != key * 2) {
+                            throw new AssertionError("key " + key + " read " + value);
+                        }
+                        if (random.nextInt(4) == 0) {
+                            cache.put(key, key * 2);
+                        } else if (random.nextInt(16) == 0) {
+                            cache.invalidate(key);
+                        }
+                    }
+                } catch (Throwable ex) {
+                    failure.compareAndSet(null, ex);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        done.await();
+        assertNull(failure.get());
+        assertTrue(cache.estimatedSize() <= 4_096L);
+    }
+}
@@ -0,0 +1,22 @@
+package com.cuzz.starter.bukkitspring.caffeine.testutil;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ticker that only moves when a test advances it, so expiry does not depend on wall-clock sleeps.
+ */
+public final class FakeTicker implements Ticker {
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Override
+    public long read() {
+        return nanos.get();
+    }
+
+    public void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,50 @@
+package com.cuzz.starter.bukkitspring.caffeine.testutil;
+
+import com.cuzz.starter.bukkitspring.caffeine.api.RemoteCacheStore;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Local Redis stand-in: a shared map plus synchronous pub/sub.
+ */
+public final class InMemoryRemoteCacheStore implements RemoteCacheStore {
+    private final Map<String, byte[]> values = new ConcurrentHashMap<>();
+    private final Map<String, List<Consumer<String>>> subscribers = new ConcurrentHashMap<>();
+    public final AtomicInteger reads = new AtomicInteger();
+    public final AtomicInteger writes = new AtomicInteger();
+
+    @Override
+    public byte[] get(String key) {
+        reads.incrementAndGet();
+        return values.get(key);
+    }
+
+    @Override
+    public void set(String key, byte[] value, long ttlMillis) {
+        writes.incrementAndGet();
+        values.put(key, value);
+    }
+
+    @Override
+    public void delete(String key) {
+        values.remove(key);
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        for (Consumer<String> listener : subscribers.getOrDefault(channel, List.of())) {
+            listener.accept(message);
+        }
+    }
+
+    @Override
+    public AutoCloseable subscribe(String channel, Consumer<String> listener) {
+        subscribers.computeIfAbsent(channel, ignored -> new CopyOnWriteArrayList<>()).add(listener);
+        return () -> subscribers.getOrDefault(channel, List.of()).remove(listener);
+    }
+}
@@ -0,0 +1,37 @@
+package com.cuzz.starter.bukkitspring.caffeine.testutil;
+
+import com.cuzz.starter.bukkitspring.caffeine.config.CaffeineSettings;
+import com.cuzz.starter.bukkitspring.caffeine.internal.DefaultCaffeineService;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Builds enabled services on platform threads; {@code caffeine} holds the sections a test needs under {@code caffeine}.
+ */
+public final class TestServices {
+    private TestServices() {
+    }
+
+    public static DefaultCaffeineService newService() {
+        return newService(Map.of());
+    }
+
+    public static DefaultCaffeineService newService(Map<String, Object> caffeine) {
+        return new DefaultCaffeineService(settings(caffeine), Logger.getLogger("test"));
+    }
+
+    public static DefaultCaffeineService newService(Map<String, Object> caffeine, Path dataDirectory) {
+        return new DefaultCaffeineService(settings(caffeine), Logger.getLogger("test"), dataDirectory);
+    }
+
+    public static CaffeineSettings settings(Map<String, Object> caffeine) {
+        Map<String, Object> section = new LinkedHashMap<>();
+        section.put("enabled", true);
+        section.put("virtual-threads", false);
+        section.putAll(caffeine);
+        return CaffeineSettings.fromConfig(new MapConfigView(Map.of("caffeine", section)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+/**
+ * Counters of a {@link RedisAutoBatcher}. With {@code redis.auto-batch.metrics} off only {@link #pending} is tracked.
+ */
+public final class AutoBatchStats {
+    private static final AutoBatchStats EMPTY = new AutoBatchStats(0, 0, 0, 0, 0, 0, 0);
+
+    /**
+     * Commands submitted by callers, merged or not.
+     */
+    public final long commands;
+    public final long batches;
+    /**
+     * Increments folded into an earlier command of the same key.
+     */
+    public final long mergedCommands;
+    public final long failedCommands;
+    /**
+     * Commands refused because {@code max-pending} was reached.
+     */
+    public final long rejectedCommands;
+    public final long largestBatch;
+    public final long pending;
+
+    public AutoBatchStats(long commands,
+                          long batches,
+                          long mergedCommands,
+                          long failedCommands,
+                          long rejectedCommands,
+                          long largestBatch,
+                          long pending) {
+        this.commands = commands;
+        this.batches = batches;
+        this.mergedCommands = mergedCommands;
+        this.failedCommands = failedCommands;
+        this.rejectedCommands = rejectedCommands;
+        this.largestBatch = largestBatch;
+        this.pending = pending;
+    }
+
+    public static AutoBatchStats empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Average number of caller commands per pipeline.
+     */
+    public double averageBatchSize() {
+        return batches == 0 ? 0.0 : (double) commands / batches;
+    }
+
+    @Override
+    public String toString() {
+        return "AutoBatchStats{"
+                + "commands=" + commands
+                + ", batches=" + batches
+                + ", mergedCommands=" + mergedCommands
+                + ", failedCommands=" + failedCommands
+                + ", rejectedCommands=" + rejectedCommands
+                + ", largestBatch=" + largestBatch
+                + ", pending=" + pending
+                + '}';
+    }
+}
@@ -0,0 +1,67 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+/**
+ * Counters of the client-side cache ({@code redis.client-cache}).
+ */
+public final class ClientCacheStats {
+    private static final ClientCacheStats DISABLED = new ClientCacheStats(false, 0, 0, 0, 0, 0, 0);
+
+    public final boolean enabled;
+    public final long hits;
+    /**
+     * Cacheable reads that went to Redis.
+     */
+    public final long misses;
+    /**
+     * Entries dropped because the cache was full.
+     */
+    public final long evictions;
+    /**
+     * Entries dropped on an invalidation pushed by Redis.
+     */
+    public final long invalidations;
+    public final int size;
+    public final int maxSize;
+
+    public ClientCacheStats(boolean enabled,
+                            long hits,
+                            long misses,
+                            long evictions,
+                            long invalidations,
+                            int size,
+                            int maxSize) {
+        this.enabled = enabled;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+        this.size = size;
+        this.maxSize = maxSize;
+    }
+
+    public static ClientCacheStats disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Share of cacheable reads answered locally.
+     */
+    public double hitRatio() {
+        long reads = hits + misses;
+        return reads == 0 ? 0.0 : (double) hits / reads;
+    }
+
+    @Override
+    public String toString() {
+        return "ClientCacheStats{"
+                + "enabled=" + enabled
+                + ", hits=" + hits
+                + ", misses=" + misses
+                + ", hitRatio=" + hitRatio()
+                + ", evictions=" + evictions
+                + ", invalidations=" + invalidations
+                + ", size=" + size
+                + ", maxSize=" + maxSize
+                + '}';
+    }
+}
@@ -0,0 +1,49 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Buffers and zlib streams shared by codecs. Bounded queues rather than thread locals, so virtual threads reuse
+ * them too; buffers that grew past {@link #MAX_RETAINED_BYTES} are left to the GC.
+ */
+final class CodecBuffers {
+    static final int MAX_RETAINED_BYTES = 64 * 1024;
+    private static final int INITIAL_BYTES = 512;
+    private static final int POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    private static final BlockingQueue<BinaryWriter> WRITERS = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final BlockingQueue<Inflater> INFLATERS = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private CodecBuffers() {
+    }
+
+    static BinaryWriter borrowWriter() {
+        BinaryWriter writer = WRITERS.poll();
+        return writer == null ? new BinaryWriter(INITIAL_BYTES) : writer;
+    }
+
+    static void release(BinaryWriter writer) {
+        if (writer.buffer.length <= MAX_RETAINED_BYTES) {
+            writer.reset();
+            WRITERS.offer(writer);
+        }
+    }
+
+    static Inflater borrowInflater() {
+        Inflater inflater = INFLATERS.poll();
+        return inflater == null ? new Inflater() : inflater;
+    }
+
+    static void release(Inflater inflater) {
+        inflater.reset();
+        if (!INFLATERS.offer(inflater)) {
+            inflater.end();
+        }
+    }
+
+    static BlockingQueue<Deflater> deflaterPool() {
+        return new ArrayBlockingQueue<>(POOL_SIZE);
+    }
+}
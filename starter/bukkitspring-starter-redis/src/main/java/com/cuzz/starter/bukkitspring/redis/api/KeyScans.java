@@ -0,0 +1,178 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.CommandObjects;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.ConnectionPool;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.JedisClusterInfoCache;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Cursor walks over {@code SCAN}, {@code HSCAN}, {@code SSCAN} and {@code ZSCAN} as lazy streams.
+ *
+ * <p>A page is fetched only when the previous one has been consumed, and no connection is held between pages.
+ * {@code SCAN} in cluster mode walks every master listed by {@code CLUSTER SLOTS} with its own cursor, skipping
+ * replicas; the node streams run in parallel.
+ */
+final class KeyScans {
+    static final int DEFAULT_COUNT = 100;
+    static final int DEFAULT_DELETE_BATCH = 500;
+
+    private static final CommandObjects COMMANDS = new CommandObjects();
+
+    private KeyScans() {
+    }
+
+    static Stream<String> keys(RedisService service, String match, int count) {
+        return keyPages(service, match, count).flatMap(List::stream);
+    }
+
+    /**
+     * Delete every page of matching keys with one pipeline of {@code UNLINK}s as soon as it is scanned.
+     */
+    static long deleteByPattern(RedisService service, String match, int batchSize) {
+        if (match == null || match.isBlank()) {
+            throw new IllegalArgumentException("match pattern cannot be empty");
+        }
+        LongAdder removed = new LongAdder();
+        keyPages(service, match, batchSize).forEach(page -> {
+            if (!page.isEmpty()) {
+                removed.add(unlink(service, page));
+            }
+        });
+        return removed.sum();
+    }
+
+    /**
+     * Elements of every page {@code scan} returns, starting from cursor 0.
+     */
+    static <T> Stream<T> walk(Function<String, ScanResult<T>> scan) {
+        return pages(scan).flatMap(List::stream);
+    }
+
+    private static Stream<List<String>> keyPages(RedisService service, String match, int count) {
+        ScanParams params = params(match, count);
+        UnifiedJedis client = service.client();
+        if (client instanceof JedisCluster cluster) {
+            List<ConnectionPool> masters = masters(cluster);
+            return masters.parallelStream().flatMap(node -> pages(cursor -> scanNode(node, cursor, params)));
+        }
+        return pages(cursor -> client.scan(cursor, params));
+    }
+
+    /**
+     * One pool per node that owns slots. Jedis also keeps pools for replicas, which hold the same keys.
+     */
+    private static List<ConnectionPool> masters(JedisCluster cluster) {
+        Map<String, ConnectionPool> nodes = cluster.getClusterNodes();
+        if (nodes.isEmpty()) {
+            return List.of();
+        }
+        Map.Entry<String, ConnectionPool> asked = nodes.entrySet().iterator().next();
+        List<Object> ranges;
+        try (Connection connection = asked.getValue().getResource()) {
+            ranges = castList(connection.executeCommand(
+                    new CommandArguments(Protocol.Command.CLUSTER).add(Protocol.ClusterKeyword.SLOTS)));
+        }
+        String askedHost = HostAndPort.from(asked.getKey()).getHost();
+        Set<ConnectionPool> masters = new LinkedHashSet<>();
+        for (Object range : ranges) {
+            // {start, end, master, replica...}; each node is {host, port, id, ...}
+            List<Object> master = castList(castList(range).get(2));
+            String host = SafeEncoder.encode((byte[]) master.get(0));
+            int port = ((Long) master.get(1)).intValue();
+            // an empty host means the node that answered
+            HostAndPort node = new HostAndPort(host.isEmpty() ? askedHost : host, port);
+            ConnectionPool pool = nodes.get(JedisClusterInfoCache.getNodeKey(node));
+            if (pool != null) {
+                masters.add(pool);
+            }
+        }
+        return new ArrayList<>(masters);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> castList(Object reply) {
+        return (List<Object>) reply;
+    }
+
+    private static ScanResult<String> scanNode(ConnectionPool node, String cursor, ScanParams params) {
+        try (Connection connection = node.getResource()) {
+            return connection.executeCommand(COMMANDS.scan(cursor, params));
+        }
+    }
+
+    private static long unlink(RedisService service, List<String> keys) {
+        List<Response<Long>> responses = new ArrayList<>(keys.size());
+        // one UNLINK per key, so cluster pipelines can route each key to its slot
+        service.pipelined(ops -> {
+            for (String key : keys) {
+                responses.add(ops.unlink(key));
+            }
+        });
+        long removed = 0;
+        for (Response<Long> response : responses) {
+            removed += response.get();
+        }
+        return removed;
+    }
+
+    static ScanParams params(String match, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be >= 1");
+        }
+        ScanParams params = new ScanParams().count(count);
+        if (match != null && !match.isEmpty()) {
+            params.match(match);
+        }
+        return params;
+    }
+
+    private static <T> Stream<List<T>> pages(Function<String, ScanResult<T>> scan) {
+        Iterator<List<T>> pages = new Iterator<>() {
+            private String cursor = ScanParams.SCAN_POINTER_START;
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                return !done;
+            }
+
+            @Override
+            public List<T> next() {
+                if (done) {
+                    throw new NoSuchElementException();
+                }
+                ScanResult<T> result = scan.apply(cursor);
+                cursor = result.getCursor();
+                done = result.isCompleteIteration();
+                return result.getResult();
+            }
+        };
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL),
+                false
+        );
+    }
+}
@@ -0,0 +1,40 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+/**
+ * Latency distribution in microseconds. Percentiles are bucket upper bounds, so they are accurate to within 2x.
+ */
+public final class LatencyStats {
+    private static final LatencyStats EMPTY = new LatencyStats(0, 0.0, 0, 0, 0, 0);
+
+    public final long count;
+    public final double meanMicros;
+    public final long p50Micros;
+    public final long p90Micros;
+    public final long p99Micros;
+    public final long maxMicros;
+
+    public LatencyStats(long count, double meanMicros, long p50Micros, long p90Micros, long p99Micros, long maxMicros) {
+        this.count = count;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p90Micros = p90Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    public static LatencyStats empty() {
+        return EMPTY;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyStats{"
+                + "count=" + count
+                + ", meanMicros=" + Math.round(meanMicros)
+                + ", p50Micros=" + p50Micros
+                + ", p90Micros=" + p90Micros
+                + ", p99Micros=" + p99Micros
+                + ", maxMicros=" + maxMicros
+                + '}';
+    }
+}
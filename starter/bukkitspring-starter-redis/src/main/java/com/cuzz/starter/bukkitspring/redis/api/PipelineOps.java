@@ -0,0 +1,171 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+import redis.clients.jedis.AbstractPipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.StreamEntryID;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Commands queued inside {@link RedisService#pipelined}.
+ *
+ * <p>Each method returns a {@link Response} that can be read once the pipeline has been sent,
+ * i.e. after {@code pipelined(...)} returns. Commands that have no shortcut here are available on
+ * {@link #pipeline()}.
+ */
+public final class PipelineOps {
+    private final AbstractPipeline pipeline;
+
+    PipelineOps(AbstractPipeline pipeline) {
+        this.pipeline = Objects.requireNonNull(pipeline, "pipeline");
+    }
+
+    /**
+     * Underlying Jedis pipeline, for commands not covered by this class.
+     */
+    public AbstractPipeline pipeline() {
+        return pipeline;
+    }
+
+    // -------------------- String operations --------------------
+
+    public Response<String> get(String key) {
+        return pipeline.get(key);
+    }
+
+    public Response<List<String>> mget(String... keys) {
+        return pipeline.mget(keys);
+    }
+
+    public Response<String> set(String key, String value) {
+        return pipeline.set(key, value);
+    }
+
+    public Response<String> setEx(String key, long seconds, String value) {
+        return pipeline.setex(key, seconds, value);
+    }
+
+    public Response<String> mset(String... keysAndValues) {
+        return pipeline.mset(keysAndValues);
+    }
+
+    public Response<Long> del(String... keys) {
+        return pipeline.del(keys);
+    }
+
+    /**
+     * Like {@code DEL}, but the memory is reclaimed in the background.
+     */
+    public Response<Long> unlink(String... keys) {
+        return pipeline.unlink(keys);
+    }
+
+    public Response<Boolean> exists(String key) {
+        return pipeline.exists(key);
+    }
+
+    public Response<Long> expire(String key, long seconds) {
+        return pipeline.expire(key, seconds);
+    }
+
+    public Response<Long> ttl(String key) {
+        return pipeline.ttl(key);
+    }
+
+    public Response<Long> incr(String key) {
+        return pipeline.incr(key);
+    }
+
+    public Response<Long> incrBy(String key, long delta) {
+        return pipeline.incrBy(key, delta);
+    }
+
+    public Response<Long> decr(String key) {
+        return pipeline.decr(key);
+    }
+
+    // -------------------- Hash operations --------------------
+
+    public Response<Long> hset(String key, String field, String value) {
+        return pipeline.hset(key, field, value);
+    }
+
+    public Response<Long> hset(String key, Map<String, String> values) {
+        return pipeline.hset(key, values);
+    }
+
+    public Response<String> hget(String key, String field) {
+        return pipeline.hget(key, field);
+    }
+
+    public Response<Map<String, String>> hgetAll(String key) {
+        return pipeline.hgetAll(key);
+    }
+
+    public Response<Long> hdel(String key, String... fields) {
+        return pipeline.hdel(key, fields);
+    }
+
+    public Response<Long> hincrBy(String key, String field, long delta) {
+        return pipeline.hincrBy(key, field, delta);
+    }
+
+    // -------------------- List operations --------------------
+
+    public Response<Long> lpush(String key, String... values) {
+        return pipeline.lpush(key, values);
+    }
+
+    public Response<Long> rpush(String key, String... values) {
+        return pipeline.rpush(key, values);
+    }
+
+    public Response<List<String>> lrange(String key, long start, long stop) {
+        return pipeline.lrange(key, start, stop);
+    }
+
+    // -------------------- Set operations --------------------
+
+    public Response<Long> sadd(String key, String... members) {
+        return pipeline.sadd(key, members);
+    }
+
+    public Response<Long> srem(String key, String... members) {
+        return pipeline.srem(key, members);
+    }
+
+    public Response<Set<String>> smembers(String key) {
+        return pipeline.smembers(key);
+    }
+
+    // -------------------- ZSet operations --------------------
+
+    public Response<Long> zadd(String key, double score, String member) {
+        return pipeline.zadd(key, score, member);
+    }
+
+    public Response<Double> zincrby(String key, double delta, String member) {
+        return pipeline.zincrby(key, delta, member);
+    }
+
+    public Response<Long> zrem(String key, String... members) {
+        return pipeline.zrem(key, members);
+    }
+
+    public Response<Double> zscore(String key, String member) {
+        return pipeline.zscore(key, member);
+    }
+
+    // -------------------- Stream / Pub/Sub operations --------------------
+
+    public Response<StreamEntryID> xadd(String key, Map<String, String> fields) {
+        return pipeline.xadd(key, StreamEntryID.NEW_ENTRY, fields);
+    }
+
+    public Response<Long> publish(String channel, String message) {
+        return pipeline.publish(channel, message);
+    }
+}
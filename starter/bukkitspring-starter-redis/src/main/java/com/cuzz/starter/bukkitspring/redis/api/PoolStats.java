@@ -0,0 +1,83 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+import java.util.Map;
+
+/**
+ * Connection pool gauges and latency histograms. In cluster mode the gauges are summed over every node pool.
+ * With {@code redis.pool.metrics} and {@code redis.pool.adaptive} both off only the gauges are tracked.
+ */
+public final class PoolStats {
+    private static final PoolStats EMPTY = new PoolStats(false, 0, 0, 0, 0, 0, 0, 0,
+            LatencyStats.empty(), Map.of());
+
+    public final boolean metricsEnabled;
+    /**
+     * Connections currently borrowed.
+     */
+    public final int active;
+    public final int idle;
+    /**
+     * Threads blocked waiting for a connection; anything above zero means the pool is exhausted.
+     */
+    public final int waiters;
+    public final int maxTotal;
+    /**
+     * Current idle floor; moves between the configured bounds when {@code redis.pool.adaptive} is on.
+     */
+    public final int minIdle;
+    /**
+     * How often the adaptive mode changed {@link #minIdle}.
+     */
+    public final long minIdleAdjustments;
+    /**
+     * Borrows that gave up after {@code redis.pool.max-wait-ms} or failed to connect.
+     */
+    public final long failedBorrows;
+    public final LatencyStats borrowWait;
+    /**
+     * Round-trip latency per command name. Standalone mode only; pipelined commands are not included.
+     */
+    public final Map<String, LatencyStats> commandLatency;
+
+    public PoolStats(boolean metricsEnabled,
+                     int active,
+                     int idle,
+                     int waiters,
+                     int maxTotal,
+                     int minIdle,
+                     long minIdleAdjustments,
+                     long failedBorrows,
+                     LatencyStats borrowWait,
+                     Map<String, LatencyStats> commandLatency) {
+        this.metricsEnabled = metricsEnabled;
+        this.active = active;
+        this.idle = idle;
+        this.waiters = waiters;
+        this.maxTotal = maxTotal;
+        this.minIdle = minIdle;
+        this.minIdleAdjustments = minIdleAdjustments;
+        this.failedBorrows = failedBorrows;
+        this.borrowWait = borrowWait == null ? LatencyStats.empty() : borrowWait;
+        this.commandLatency = commandLatency == null ? Map.of() : commandLatency;
+    }
+
+    public static PoolStats empty() {
+        return EMPTY;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolStats{"
+                + "metricsEnabled=" + metricsEnabled
+                + ", active=" + active
+                + ", idle=" + idle
+                + ", waiters=" + waiters
+                + ", maxTotal=" + maxTotal
+                + ", minIdle=" + minIdle
+                + ", minIdleAdjustments=" + minIdleAdjustments
+                + ", failedBorrows=" + failedBorrows
+                + ", borrowWait=" + borrowWait
+                + ", commandLatency=" + commandLatency
+                + '}';
+    }
+}
@@ -0,0 +1,44 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+/**
+ * Counters of {@link RedisSubscriptions}.
+ */
+public final class PubSubStats {
+    /**
+     * Open listeners, counting every listener of a shared channel.
+     */
+    public final long subscriptions;
+    /**
+     * Subscriber connections that are currently subscribed.
+     */
+    public final int connectedConnections;
+    /**
+     * Messages received from Redis, counted once per listener including dropped ones.
+     */
+    public final long messages;
+    public final long droppedMessages;
+    public final long reconnects;
+
+    public PubSubStats(long subscriptions,
+                       int connectedConnections,
+                       long messages,
+                       long droppedMessages,
+                       long reconnects) {
+        this.subscriptions = subscriptions;
+        this.connectedConnections = connectedConnections;
+        this.messages = messages;
+        this.droppedMessages = droppedMessages;
+        this.reconnects = reconnects;
+    }
+
+    @Override
+    public String toString() {
+        return "PubSubStats{"
+                + "subscriptions=" + subscriptions
+                + ", connectedConnections=" + connectedConnections
+                + ", messages=" + messages
+                + ", droppedMessages=" + droppedMessages
+                + ", reconnects=" + reconnects
+                + '}';
+    }
+}
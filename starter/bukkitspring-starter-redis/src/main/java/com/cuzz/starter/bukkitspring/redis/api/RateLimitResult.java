@@ -0,0 +1,31 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+/**
+ * Outcome of {@link RedisScripts#rateLimit}.
+ */
+public final class RateLimitResult {
+    public final boolean allowed;
+    /**
+     * Calls still allowed in the current window after this one.
+     */
+    public final long remaining;
+    /**
+     * When denied, how long until the oldest call in the window expires; 0 when allowed.
+     */
+    public final long retryAfterMillis;
+
+    public RateLimitResult(boolean allowed, long remaining, long retryAfterMillis) {
+        this.allowed = allowed;
+        this.remaining = remaining;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimitResult{"
+                + "allowed=" + allowed
+                + ", remaining=" + remaining
+                + ", retryAfterMillis=" + retryAfterMillis
+                + '}';
+    }
+}
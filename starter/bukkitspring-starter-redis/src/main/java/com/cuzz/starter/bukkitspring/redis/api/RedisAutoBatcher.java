@@ -0,0 +1,49 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+import redis.clients.jedis.Response;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Write commands that are queued and sent together in one pipeline by a dedicated flusher thread.
+ *
+ * <p>A batch is sent once {@code redis.auto-batch.max-batch-size} commands are queued or
+ * {@code flush-interval-ms} after its first command, whichever comes first. Callers never block on
+ * Redis; each command completes its own future. When more than {@code max-pending} commands are
+ * queued, new commands fail with {@link java.util.concurrent.RejectedExecutionException}.
+ */
+public interface RedisAutoBatcher {
+    /**
+     * INCRBY; with {@code merge-increments}, increments of one key in a batch become one command and
+     * each caller still sees the value right after its own increment.
+     */
+    CompletableFuture<Long> incrBy(String key, long delta);
+
+    /**
+     * HINCRBY; merged per key and field like {@link #incrBy}.
+     */
+    CompletableFuture<Long> hincrBy(String key, String field, long delta);
+
+    CompletableFuture<Long> zadd(String key, double score, String member);
+
+    CompletableFuture<Double> zincrby(String key, double delta, String member);
+
+    CompletableFuture<Long> hset(String key, String field, String value);
+
+    CompletableFuture<String> set(String key, String value);
+
+    CompletableFuture<Long> expire(String key, long seconds);
+
+    /**
+     * Queue any pipeline command, e.g. {@code submit(ops -> ops.sadd(key, member))}.
+     */
+    <T> CompletableFuture<T> submit(Function<PipelineOps, Response<T>> command);
+
+    /**
+     * Send everything queued so far without waiting for the window; completes once it was sent.
+     */
+    CompletableFuture<Void> flush();
+
+    AutoBatchStats stats();
+}
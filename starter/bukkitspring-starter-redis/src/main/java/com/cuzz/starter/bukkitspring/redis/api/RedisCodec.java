@@ -0,0 +1,64 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+/**
+ * Converts values to the bytes stored in Redis and back.
+ *
+ * <p>Codecs write into a {@link BinaryWriter} so they compose: a list codec calls its element codec on the same
+ * writer. See {@link RedisCodecs} for built-in codecs.
+ *
+ * <pre>{@code
+ * RedisCodec<Profile> PROFILE = RedisCodec.of(
+ *         (profile, out) -> {
+ *             out.writeUuid(profile.id());
+ *             out.writeString(profile.name());
+ *             out.writeVarLong(profile.coins());
+ *         },
+ *         in -> new Profile(in.readUuid(), in.readString(), in.readVarLong()));
+ * }</pre>
+ */
+public interface RedisCodec<T> {
+    void write(T value, BinaryWriter out);
+
+    T read(BinaryReader in);
+
+    /**
+     * Encode {@code value} through a pooled buffer; the returned array is the only allocation of the buffer.
+     */
+    default byte[] encode(T value) {
+        BinaryWriter out = CodecBuffers.borrowWriter();
+        try {
+            write(value, out);
+            return out.toByteArray();
+        } finally {
+            CodecBuffers.release(out);
+        }
+    }
+
+    default T decode(byte[] bytes) {
+        return read(new BinaryReader(bytes));
+    }
+
+    static <T> RedisCodec<T> of(Writer<T> writer, Reader<T> reader) {
+        return new RedisCodec<>() {
+            @Override
+            public void write(T value, BinaryWriter out) {
+                writer.write(value, out);
+            }
+
+            @Override
+            public T read(BinaryReader in) {
+                return reader.read(in);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    interface Writer<T> {
+        void write(T value, BinaryWriter out);
+    }
+
+    @FunctionalInterface
+    interface Reader<T> {
+        T read(BinaryReader in);
+    }
+}
@@ -0,0 +1,245 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Built-in {@link RedisCodec} implementations.
+ *
+ * <p>Values carry no type tags or field names, so a codec can only read what the same codec wrote. Change the
+ * format of a stored type by writing a new codec under new keys, or by leading with a version byte.
+ */
+public final class RedisCodecs {
+    private static final byte RAW = 0;
+    private static final byte DEFLATE = 1;
+
+    private static final RedisCodec<String> UTF8 = RedisCodec.of((value, out) -> out.writeString(value), BinaryReader::readString);
+    private static final RedisCodec<Integer> INTS = RedisCodec.of((value, out) -> out.writeVarInt(value), BinaryReader::readVarInt);
+    private static final RedisCodec<Long> LONGS = RedisCodec.of((value, out) -> out.writeVarLong(value), BinaryReader::readVarLong);
+    private static final RedisCodec<Double> DOUBLES = RedisCodec.of((value, out) -> out.writeDouble(value), BinaryReader::readDouble);
+    private static final RedisCodec<Boolean> BOOLEANS = RedisCodec.of((value, out) -> out.writeBoolean(value), BinaryReader::readBoolean);
+    private static final RedisCodec<UUID> UUIDS = RedisCodec.of((value, out) -> out.writeUuid(value), BinaryReader::readUuid);
+    private static final RedisCodec<byte[]> BYTES = RedisCodec.of((value, out) -> out.writeBytes(value), BinaryReader::readBytes);
+
+    private RedisCodecs() {
+    }
+
+    public static RedisCodec<String> utf8() {
+        return UTF8;
+    }
+
+    /**
+     * Zig-zag variable length: one byte for -64..63, five at most.
+     */
+    public static RedisCodec<Integer> ints() {
+        return INTS;
+    }
+
+    /**
+     * Zig-zag variable length: one byte for -64..63, ten at most.
+     */
+    public static RedisCodec<Long> longs() {
+        return LONGS;
+    }
+
+    public static RedisCodec<Double> doubles() {
+        return DOUBLES;
+    }
+
+    public static RedisCodec<Boolean> booleans() {
+        return BOOLEANS;
+    }
+
+    /**
+     * 16 bytes instead of the 36 characters of {@link UUID#toString()}.
+     */
+    public static RedisCodec<UUID> uuid() {
+        return UUIDS;
+    }
+
+    public static RedisCodec<byte[]> bytes() {
+        return BYTES;
+    }
+
+    /**
+     * Adds a presence byte so {@code null} can be stored, e.g. as a list element or map value.
+     */
+    public static <T> RedisCodec<T> nullable(RedisCodec<T> codec) {
+        Objects.requireNonNull(codec, "codec");
+        return RedisCodec.of(
+                (value, out) -> {
+                    out.writeBoolean(value != null);
+                    if (value != null) {
+                        codec.write(value, out);
+                    }
+                },
+                in -> in.readBoolean() ? codec.read(in) : null);
+    }
+
+    public static <T> RedisCodec<List<T>> listOf(RedisCodec<T> element) {
+        Objects.requireNonNull(element, "element");
+        return RedisCodec.of(
+                (values, out) -> {
+                    out.writeLength(values.size());
+                    for (T value : values) {
+                        element.write(value, out);
+                    }
+                },
+                in -> {
+                    int size = in.readLength();
+                    List<T> values = new ArrayList<>(Math.min(size, in.remaining()));
+                    for (int i = 0; i < size; i++) {
+                        values.add(element.read(in));
+                    }
+                    return values;
+                });
+    }
+
+    public static <K, V> RedisCodec<Map<K, V>> mapOf(RedisCodec<K> key, RedisCodec<V> value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        return RedisCodec.of(
+                (map, out) -> {
+                    out.writeLength(map.size());
+                    for (Map.Entry<K, V> entry : map.entrySet()) {
+                        key.write(entry.getKey(), out);
+                        value.write(entry.getValue(), out);
+                    }
+                },
+                in -> {
+                    int size = in.readLength();
+                    Map<K, V> map = new LinkedHashMap<>(Math.max(16, (int) (Math.min(size, in.remaining()) / 0.75f) + 1));
+                    for (int i = 0; i < size; i++) {
+                        map.put(key.read(in), value.read(in));
+                    }
+                    return map;
+                });
+    }
+
+    /**
+     * Deflate values whose encoded form is at least {@code thresholdBytes}, at {@link Deflater#BEST_SPEED}.
+     */
+    public static <T> RedisCodec<T> compressed(RedisCodec<T> codec, int thresholdBytes) {
+        return compressed(codec, thresholdBytes, Deflater.BEST_SPEED);
+    }
+
+    /**
+     * Deflate values whose encoded form is at least {@code thresholdBytes}. Smaller values, and values that do not
+     * shrink, are stored as they are behind a one-byte header.
+     */
+    public static <T> RedisCodec<T> compressed(RedisCodec<T> codec, int thresholdBytes, int level) {
+        Objects.requireNonNull(codec, "codec");
+        if (thresholdBytes < 0) {
+            throw new IllegalArgumentException("thresholdBytes must be >= 0");
+        }
+        if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("level must be between 1 and 9");
+        }
+        return new CompressedCodec<>(codec, thresholdBytes, level);
+    }
+
+    private static final class CompressedCodec<T> implements RedisCodec<T> {
+        private final RedisCodec<T> codec;
+        private final int thresholdBytes;
+        private final int level;
+        private final BlockingQueue<Deflater> deflaters = CodecBuffers.deflaterPool();
+
+        private CompressedCodec(RedisCodec<T> codec, int thresholdBytes, int level) {
+            this.codec = codec;
+            this.thresholdBytes = thresholdBytes;
+            this.level = level;
+        }
+
+        @Override
+        public void write(T value, BinaryWriter out) {
+            BinaryWriter raw = CodecBuffers.borrowWriter();
+            try {
+                codec.write(value, raw);
+                int start = out.position;
+                if (raw.position >= thresholdBytes && deflate(raw, out)) {
+                    return;
+                }
+                out.position = start;
+                out.writeByte(RAW);
+                out.writeRaw(raw.buffer, 0, raw.position);
+            } finally {
+                CodecBuffers.release(raw);
+            }
+        }
+
+        @Override
+        public T read(BinaryReader in) {
+            byte format = in.readByte();
+            if (format == RAW) {
+                return codec.read(in);
+            }
+            if (format != DEFLATE) {
+                throw new IllegalStateException("Unknown compression format " + format);
+            }
+            int rawLength = in.readLength();
+            BinaryWriter raw = CodecBuffers.borrowWriter();
+            Inflater inflater = CodecBuffers.borrowInflater();
+            try {
+                // one spare byte tells a stream that inflates past its declared length from an exact fit
+                raw.ensureCapacity(rawLength + 1);
+                inflater.setInput(in.buffer, in.position, in.remaining());
+                int inflated = 0;
+                while (!inflater.finished()) {
+                    int count = inflater.inflate(raw.buffer, inflated, rawLength + 1 - inflated);
+                    if (count == 0 && !inflater.finished()) {
+                        throw new IllegalStateException("Corrupt compressed value");
+                    }
+                    inflated += count;
+                }
+                if (inflated != rawLength) {
+                    throw new IllegalStateException("Corrupt compressed value: " + inflated + " bytes, expected " + rawLength);
+                }
+                in.skip(in.remaining() - inflater.getRemaining());
+                return codec.read(new BinaryReader(raw.buffer, 0, rawLength));
+            } catch (DataFormatException ex) {
+                throw new IllegalStateException("Corrupt compressed value: " + ex.getMessage(), ex);
+            } finally {
+                CodecBuffers.release(inflater);
+                CodecBuffers.release(raw);
+            }
+        }
+
+        /**
+         * Writes the compressed frame; false when compression would not save space.
+         */
+        private boolean deflate(BinaryWriter raw, BinaryWriter out) {
+            Deflater deflater = deflaters.poll();
+            if (deflater == null) {
+                deflater = new Deflater(level);
+            }
+            try {
+                deflater.setInput(raw.buffer, 0, raw.position);
+                deflater.finish();
+                int limit = out.position + raw.position;
+                out.writeByte(DEFLATE);
+                out.writeLength(raw.position);
+                out.ensureCapacity(raw.position);
+                while (!deflater.finished()) {
+                    if (out.position >= limit) {
+                        return false;
+                    }
+                    out.position += deflater.deflate(out.buffer, out.position, limit - out.position);
+                }
+                return out.position < limit;
+            } finally {
+                deflater.reset();
+                if (!deflaters.offer(deflater)) {
+                    deflater.end();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+/**
+ * Receives messages of a managed subscription.
+ */
+@FunctionalInterface
+public interface RedisMessageListener {
+    /**
+     * @param channel channel the message was published to; for pattern subscriptions the matching channel
+     */
+    void onMessage(String channel, String message);
+}
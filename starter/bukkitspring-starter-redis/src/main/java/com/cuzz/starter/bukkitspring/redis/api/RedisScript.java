@@ -0,0 +1,82 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+
+/**
+ * A Lua script and the SHA1 digest {@code EVALSHA} refers to it by.
+ */
+public final class RedisScript {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String name;
+    private final String source;
+    private final String sha1;
+
+    private RedisScript(String name, String source) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("name cannot be empty");
+        }
+        this.name = name;
+        this.source = Objects.requireNonNull(source, "source");
+        this.sha1 = sha1(source);
+    }
+
+    public static RedisScript of(String name, String source) {
+        return new RedisScript(name, source);
+    }
+
+    /**
+     * Load a {@code .lua} resource, e.g. {@code fromResource(getClass().getClassLoader(), "scripts/transfer.lua")};
+     * the file name without extension becomes the script name.
+     */
+    public static RedisScript fromResource(ClassLoader classLoader, String path) {
+        Objects.requireNonNull(classLoader, "classLoader");
+        Objects.requireNonNull(path, "path");
+        try (InputStream input = classLoader.getResourceAsStream(path)) {
+            if (input == null) {
+                throw new IllegalArgumentException("Script resource not found: " + path);
+            }
+            String fileName = path.substring(path.lastIndexOf('/') + 1);
+            String name = fileName.endsWith(".lua") ? fileName.substring(0, fileName.length() - 4) : fileName;
+            return new RedisScript(name, new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to read script resource " + path + ": " + ex.getMessage(), ex);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public String getSha1() {
+        return sha1;
+    }
+
+    private static String sha1(String source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(source.getBytes(StandardCharsets.UTF_8));
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+                hex[i * 2 + 1] = HEX[digest[i] & 0xF];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-1 is not available", ex);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RedisScript{name=" + name + ", sha1=" + sha1 + '}';
+    }
+}
@@ -0,0 +1,83 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+import java.util.List;
+
+/**
+ * Registry of Lua scripts run with {@code EVALSHA}.
+ *
+ * <p>Scripts are sent by digest. When the server answers {@code NOSCRIPT}, e.g. after a restart or failover
+ * emptied its script cache, every registered script is loaded again on that node and the call is retried. In
+ * cluster mode a call goes to the node owning its keys, so all keys of one call must share a hash slot: give
+ * them a common hash tag such as {@code {player:42}:balance} and {@code {player:42}:bank}.
+ *
+ * <pre>{@code
+ * RedisScripts scripts = redis.scripts();
+ * scripts.load(getClass().getClassLoader(), "scripts/transfer.lua");
+ * Object moved = scripts.eval("transfer", List.of(from, to), List.of("100"));
+ * }</pre>
+ */
+public interface RedisScripts {
+    /**
+     * Register or replace the script called {@code name}.
+     */
+    RedisScript register(String name, String source);
+
+    RedisScript register(RedisScript script);
+
+    /**
+     * Register a {@code .lua} resource under its file name without extension.
+     */
+    RedisScript load(ClassLoader classLoader, String path);
+
+    /**
+     * The registered script, or null.
+     */
+    RedisScript get(String name);
+
+    /**
+     * Run a registered script. Lua integers come back as {@code Long}, strings as {@code String}, tables as
+     * {@code List} and nil as null.
+     *
+     * @throws IllegalArgumentException when no script is registered under {@code name}
+     */
+    Object eval(String name, List<String> keys, List<String> args);
+
+    /**
+     * Run {@code script}, registering it first if needed.
+     */
+    Object eval(RedisScript script, List<String> keys, List<String> args);
+
+    /**
+     * Sliding-window limiter: allow at most {@code limit} calls per {@code windowMillis} for {@code key},
+     * using the Redis server clock.
+     */
+    RateLimitResult rateLimit(String key, int limit, long windowMillis);
+
+    /**
+     * Set {@code key} to {@code newValue} only if it currently holds {@code expected}; a null {@code expected}
+     * means the key must be absent.
+     */
+    default boolean compareAndSet(String key, String expected, String newValue) {
+        return compareAndSet(key, expected, newValue, 0);
+    }
+
+    /**
+     * Like {@link #compareAndSet(String, String, String)}, also setting a TTL when {@code ttlMillis > 0}.
+     */
+    boolean compareAndSet(String key, String expected, String newValue, long ttlMillis);
+
+    /**
+     * Add or update {@code member} in a sorted set kept to the {@code capacity} highest scores.
+     *
+     * @return the member's rank from the top (0 = best), or -1 when its score did not make the board
+     */
+    long leaderboardAdd(String key, String member, double score, int capacity);
+
+    /**
+     * Token bucket at {@code key} holding up to {@code capacity} tokens and refilled at {@code refillPerSecond};
+     * this node leases {@code leaseSize} tokens per Redis call. Keep the returned bucket and reuse it.
+     *
+     * @throws IllegalArgumentException when {@code leaseSize} is outside {@code 1..capacity}
+     */
+    RedisTokenBucket tokenBucket(String key, long capacity, double refillPerSecond, int leaseSize);
+}
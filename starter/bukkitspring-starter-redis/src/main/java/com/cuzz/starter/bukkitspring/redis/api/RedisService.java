@@ -1,22 +1,32 @@
 package com.cuzz.starter.bukkitspring.redis.api;
 
+import redis.clients.jedis.AbstractPipeline;
 import redis.clients.jedis.UnifiedJedis;
 import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.StreamEntryID;
 import redis.clients.jedis.args.BitOP;
 import redis.clients.jedis.params.BitPosParams;
+import redis.clients.jedis.params.ScanParams;
 import redis.clients.jedis.params.XAddParams;
 import redis.clients.jedis.params.XReadGroupParams;
 import redis.clients.jedis.params.XReadParams;
 import redis.clients.jedis.resps.StreamEntry;
+import redis.clients.jedis.resps.Tuple;
+import redis.clients.jedis.util.SafeEncoder;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map.Entry;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Redis facade service.
@@ -33,6 +43,43 @@ public interface RedisService extends AutoCloseable {
 
     UnifiedJedis client();
 
+    /**
+     * Auto-batching writer configured by {@code redis.auto-batch}.
+     *
+     * @throws IllegalStateException when {@code redis.auto-batch.enabled} is false
+     */
+    RedisAutoBatcher autoBatcher();
+
+    /**
+     * Managed subscriptions over dedicated connections configured by {@code redis.pubsub}.
+     */
+    RedisSubscriptions subscriptions();
+
+    /**
+     * Start a managed consumer-group reader; it runs until closed or until the service closes.
+     *
+     * @throws redis.clients.jedis.exceptions.JedisDataException when the group is missing and
+     *                                                           {@code createGroup} is off
+     */
+    RedisStreamConsumer startStreamConsumer(StreamConsumerSpec spec);
+
+    /**
+     * Lua script registry with {@code EVALSHA} caching and built-in atomic helpers.
+     */
+    RedisScripts scripts();
+
+    /**
+     * Hit and invalidation counters of the client-side cache; {@link ClientCacheStats#disabled()} when
+     * {@code redis.client-cache.enabled} is false.
+     */
+    ClientCacheStats clientCacheStats();
+
+    /**
+     * Connection pool gauges plus borrow-wait and per-command latency; {@link PoolStats#empty()} until the
+     * client is first used.
+     */
+    PoolStats poolStats();
+
     default boolean isCluster() {
         return mode() == RedisMode.CLUSTER;
     }
@@ -45,6 +92,156 @@ public interface RedisService extends AutoCloseable {
         return CompletableFuture.supplyAsync(task, executor());
     }
 
+    // -------------------- Pipelining --------------------
+
+    /**
+     * Queue the commands issued by {@code commands} and send them in one round trip per node.
+     *
+     * <p>The {@link Response}s returned by {@link PipelineOps} can be read once
+     * this method returns. In cluster mode commands are grouped by the node owning their key.
+     */
+    default void pipelined(Consumer<PipelineOps> commands) {
+        try (AbstractPipeline pipeline = client().pipelined()) {
+            commands.accept(new PipelineOps(pipeline));
+            pipeline.sync();
+        }
+    }
+
+    default CompletableFuture<Void> pipelinedAsync(Consumer<PipelineOps> commands) {
+        return runAsync(() -> pipelined(commands));
+    }
+
+    /**
+     * Values of {@code keys} in the same order, {@code null} for missing keys.
+     *
+     * <p>In cluster mode keys are split into one MGET per hash slot, sent in a single pipeline.
+     */
+    default List<String> mget(String... keys) {
+        if (keys.length == 0) {
+            return List.of();
+        }
+        if (isCluster()) {
+            return SlotBatches.mget(this, keys);
+        }
+        return client().mget(keys);
+    }
+
+    /**
+     * Set every key in {@code values}; in cluster mode one MSET per hash slot, sent in a single pipeline.
+     */
+    default String mset(Map<String, String> values) {
+        if (values.isEmpty()) {
+            return "OK";
+        }
+        if (isCluster()) {
+            return SlotBatches.mset(this, values);
+        }
+        return client().mset(SlotBatches.flatten(values));
+    }
+
+    /**
+     * HSET every hash in {@code hashes} in one pipeline.
+     *
+     * @return total number of fields added
+     */
+    default long hsetAll(Map<String, Map<String, String>> hashes) {
+        List<Response<Long>> responses = new ArrayList<>(hashes.size());
+        pipelined(ops -> {
+            for (Entry<String, Map<String, String>> hash : hashes.entrySet()) {
+                if (!hash.getValue().isEmpty()) {
+                    responses.add(ops.hset(hash.getKey(), hash.getValue()));
+                }
+            }
+        });
+        long added = 0;
+        for (Response<Long> response : responses) {
+            added += response.get();
+        }
+        return added;
+    }
+
+    /**
+     * HGETALL every key in one pipeline; keys without a hash map to an empty map.
+     */
+    default Map<String, Map<String, String>> hgetAll(Collection<String> keys) {
+        Map<String, Response<Map<String, String>>> responses = new LinkedHashMap<>();
+        pipelined(ops -> {
+            for (String key : keys) {
+                responses.put(key, ops.hgetAll(key));
+            }
+        });
+        Map<String, Map<String, String>> hashes = new LinkedHashMap<>();
+        for (Entry<String, Response<Map<String, String>>> entry : responses.entrySet()) {
+            hashes.put(entry.getKey(), entry.getValue().get());
+        }
+        return hashes;
+    }
+
+    // -------------------- Key iteration --------------------
+
+    /**
+     * Keys matching the glob {@code match} (null for all), walked lazily with {@code SCAN} so Redis is never
+     * blocked the way {@code KEYS} blocks it. Keys may repeat if they are renamed during the walk.
+     *
+     * <p>In cluster mode every master is walked with its own cursor and the returned stream is parallel across
+     * nodes; call {@code sequential()} to walk them one after another.
+     */
+    default Stream<String> scan(String match) {
+        return scan(match, KeyScans.DEFAULT_COUNT);
+    }
+
+    /**
+     * @param count {@code COUNT} hint: keys Redis examines per call, not the number returned
+     */
+    default Stream<String> scan(String match, int count) {
+        return KeyScans.keys(this, match, count);
+    }
+
+    default Stream<Map.Entry<String, String>> hscan(String key) {
+        return hscan(key, null, KeyScans.DEFAULT_COUNT);
+    }
+
+    /**
+     * Fields of hash {@code key} matching {@code match} (null for all), walked lazily with {@code HSCAN}.
+     */
+    default Stream<Map.Entry<String, String>> hscan(String key, String match, int count) {
+        ScanParams params = KeyScans.params(match, count);
+        return KeyScans.walk(cursor -> client().hscan(key, cursor, params));
+    }
+
+    default Stream<String> sscan(String key) {
+        return sscan(key, null, KeyScans.DEFAULT_COUNT);
+    }
+
+    default Stream<String> sscan(String key, String match, int count) {
+        ScanParams params = KeyScans.params(match, count);
+        return KeyScans.walk(cursor -> client().sscan(key, cursor, params));
+    }
+
+    default Stream<Tuple> zscan(String key) {
+        return zscan(key, null, KeyScans.DEFAULT_COUNT);
+    }
+
+    default Stream<Tuple> zscan(String key, String match, int count) {
+        ScanParams params = KeyScans.params(match, count);
+        return KeyScans.walk(cursor -> client().zscan(key, cursor, params));
+    }
+
+    default long deleteByPattern(String match) {
+        return deleteByPattern(match, KeyScans.DEFAULT_DELETE_BATCH);
+    }
+
+    /**
+     * Delete every key matching {@code match} without blocking Redis: keys are scanned {@code batchSize} at a
+     * time and each page is removed with one pipeline of {@code UNLINK}s before the next page is fetched.
+     *
+     * @return number of keys removed
+     * @throws IllegalArgumentException when {@code match} is null or blank
+     */
+    default long deleteByPattern(String match, int batchSize) {
+        return KeyScans.deleteByPattern(this, match, batchSize);
+    }
+
     // -------------------- String operations --------------------
 
     default String get(String key) {
@@ -117,6 +314,33 @@ public interface RedisService extends AutoCloseable {
         return client().hincrBy(key, field, delta);
     }
 
+    // -------------------- Typed value operations --------------------
+
+    /**
+     * Read a value written by {@link #setObject}; null when the key is missing.
+     */
+    default <T> T getObject(String key, RedisCodec<T> codec) {
+        byte[] bytes = client().get(SafeEncoder.encode(key));
+        return bytes == null ? null : codec.decode(bytes);
+    }
+
+    default <T> String setObject(String key, T value, RedisCodec<T> codec) {
+        return client().set(SafeEncoder.encode(key), codec.encode(value));
+    }
+
+    default <T> String setObjectEx(String key, long seconds, T value, RedisCodec<T> codec) {
+        return client().setex(SafeEncoder.encode(key), seconds, codec.encode(value));
+    }
+
+    default <T> T hgetObject(String key, String field, RedisCodec<T> codec) {
+        byte[] bytes = client().hget(SafeEncoder.encode(key), SafeEncoder.encode(field));
+        return bytes == null ? null : codec.decode(bytes);
+    }
+
+    default <T> long hsetObject(String key, String field, T value, RedisCodec<T> codec) {
+        return client().hset(SafeEncoder.encode(key), SafeEncoder.encode(field), codec.encode(value));
+    }
+
     // -------------------- List operations --------------------
 
     default long lpush(String key, String... values) {
@@ -233,6 +457,7 @@ public interface RedisService extends AutoCloseable {
 
     /**
      * Subscribe is a blocking call and should usually run in async context.
+     * It holds a pooled connection until unsubscribed; {@link #subscriptions()} shares a few instead.
      */
     default void subscribe(JedisPubSub listener, String... channels) {
         client().subscribe(listener, channels);
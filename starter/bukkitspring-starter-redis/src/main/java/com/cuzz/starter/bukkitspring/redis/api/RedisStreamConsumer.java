@@ -0,0 +1,25 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+/**
+ * A running consumer-group reader started by {@link RedisService#startStreamConsumer}.
+ */
+public interface RedisStreamConsumer extends AutoCloseable {
+    StreamConsumerSpec spec();
+
+    StreamConsumerState state();
+
+    /**
+     * Stop reading new entries; a paused consumer still acknowledges what was already dispatched.
+     */
+    void pause();
+
+    void resume();
+
+    StreamConsumerStats stats();
+
+    /**
+     * Stop reading, wait for dispatched entries and acknowledge them.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,22 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+/**
+ * A listener registered through {@link RedisSubscriptions}. Closing it unsubscribes the listener; the
+ * channel itself is unsubscribed once its last listener is closed.
+ */
+public interface RedisSubscription extends AutoCloseable {
+    /**
+     * Channel or pattern this subscription listens to.
+     */
+    String name();
+
+    boolean isPattern();
+
+    /**
+     * Messages dropped because this listener fell {@code redis.pubsub.max-queued-messages} behind.
+     */
+    long droppedMessages();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,33 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Subscriptions multiplexed over a few dedicated connections ({@code redis.pubsub.connections}).
+ *
+ * <p>Any number of listeners share those connections, none of them holds a pooled connection or a
+ * thread while idle. Each listener gets its messages in publish order on its executor, and a slow
+ * listener only delays itself. Lost connections are re-established with backoff and every channel and
+ * pattern is subscribed again; messages published while disconnected are not delivered.
+ */
+public interface RedisSubscriptions {
+    /**
+     * Subscribe to a channel; the listener runs on the pub/sub dispatch executor.
+     */
+    RedisSubscription subscribe(String channel, RedisMessageListener listener);
+
+    /**
+     * Subscribe to a channel with the listener running on {@code executor},
+     * e.g. the server main thread.
+     */
+    RedisSubscription subscribe(String channel, RedisMessageListener listener, Executor executor);
+
+    /**
+     * Subscribe to a glob-style pattern such as {@code "events:*"}.
+     */
+    RedisSubscription psubscribe(String pattern, RedisMessageListener listener);
+
+    RedisSubscription psubscribe(String pattern, RedisMessageListener listener, Executor executor);
+
+    PubSubStats stats();
+}
@@ -0,0 +1,35 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+/**
+ * Distributed token bucket created by {@link RedisScripts#tokenBucket}. The bucket lives in Redis; each node
+ * leases a block of tokens with one script call and hands them out locally with a compare-and-set, going back to
+ * Redis only when its lease is used up.
+ *
+ * <p>Across all nodes no more tokens are handed out than the bucket produced. Leased tokens are reserved for the
+ * node holding them, so a node may still admit up to {@code leaseSize} calls the others can no longer see, and
+ * idle leases keep tokens from other nodes until they are spent.
+ */
+public interface RedisTokenBucket {
+    String getKey();
+
+    default boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    /**
+     * Take {@code permits} tokens if they are available right now.
+     *
+     * @throws IllegalArgumentException when {@code permits} is below 1 or above the bucket capacity
+     */
+    boolean tryAcquire(int permits);
+
+    /**
+     * Tokens leased by this node and not handed out yet.
+     */
+    long localTokens();
+
+    /**
+     * Lease calls sent to Redis so far.
+     */
+    long leases();
+}
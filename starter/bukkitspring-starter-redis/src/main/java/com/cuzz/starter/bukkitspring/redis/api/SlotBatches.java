@@ -0,0 +1,83 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+import redis.clients.jedis.Response;
+import redis.clients.jedis.util.JedisClusterCRC16;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-key commands split per hash slot for cluster mode.
+ *
+ * <p>Keys of one slot become one command; all commands share one cluster pipeline, which sends the
+ * commands of each node together.
+ */
+final class SlotBatches {
+    private SlotBatches() {
+    }
+
+    static List<String> mget(RedisService service, String... keys) {
+        Map<Integer, List<Integer>> slots = groupBySlot(Arrays.asList(keys));
+        List<Response<List<String>>> responses = new ArrayList<>(slots.size());
+        service.pipelined(ops -> {
+            for (List<Integer> indexes : slots.values()) {
+                String[] slotKeys = new String[indexes.size()];
+                for (int i = 0; i < slotKeys.length; i++) {
+                    slotKeys[i] = keys[indexes.get(i)];
+                }
+                responses.add(ops.mget(slotKeys));
+            }
+        });
+        String[] values = new String[keys.length];
+        int group = 0;
+        for (List<Integer> indexes : slots.values()) {
+            List<String> slotValues = responses.get(group++).get();
+            for (int i = 0; i < indexes.size(); i++) {
+                values[indexes.get(i)] = slotValues.get(i);
+            }
+        }
+        return Arrays.asList(values);
+    }
+
+    static String mset(RedisService service, Map<String, String> values) {
+        List<String> keys = new ArrayList<>(values.keySet());
+        Map<Integer, List<Integer>> slots = groupBySlot(keys);
+        List<Response<String>> responses = new ArrayList<>(slots.size());
+        service.pipelined(ops -> {
+            for (List<Integer> indexes : slots.values()) {
+                String[] keysAndValues = new String[indexes.size() * 2];
+                for (int i = 0; i < indexes.size(); i++) {
+                    String key = keys.get(indexes.get(i));
+                    keysAndValues[i * 2] = key;
+                    keysAndValues[i * 2 + 1] = values.get(key);
+                }
+                responses.add(ops.mset(keysAndValues));
+            }
+        });
+        for (Response<String> response : responses) {
+            response.get();
+        }
+        return "OK";
+    }
+
+    static String[] flatten(Map<String, String> values) {
+        String[] keysAndValues = new String[values.size() * 2];
+        int index = 0;
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            keysAndValues[index++] = entry.getKey();
+            keysAndValues[index++] = entry.getValue();
+        }
+        return keysAndValues;
+    }
+
+    private static Map<Integer, List<Integer>> groupBySlot(List<String> keys) {
+        Map<Integer, List<Integer>> slots = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            slots.computeIfAbsent(JedisClusterCRC16.getSlot(keys.get(i)), slot -> new ArrayList<>()).add(i);
+        }
+        return slots;
+    }
+}
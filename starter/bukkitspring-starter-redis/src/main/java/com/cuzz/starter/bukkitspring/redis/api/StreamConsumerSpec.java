@@ -0,0 +1,259 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+import redis.clients.jedis.StreamEntryID;
+
+import java.util.Objects;
+
+/**
+ * What a managed stream consumer reads and how.
+ *
+ * <pre>{@code
+ * StreamConsumerSpec.builder()
+ *         .stream("events")
+ *         .group("lobby")
+ *         .consumer("lobby-1")
+ *         .handler(entry -> ...)
+ *         .build();
+ * }</pre>
+ */
+public final class StreamConsumerSpec {
+    private final String stream;
+    private final String group;
+    private final String consumer;
+    private final StreamEntryHandler handler;
+    private final int batchSize;
+    private final int blockMillis;
+    private final int workers;
+    private final int maxInFlight;
+    private final int ackBatchSize;
+    private final long ackIntervalMillis;
+    private final long claimIdleMillis;
+    private final long claimIntervalMillis;
+    private final boolean createGroup;
+    private final StreamEntryID startId;
+
+    private StreamConsumerSpec(Builder builder) {
+        this.stream = requireText(builder.stream, "stream");
+        this.group = requireText(builder.group, "group");
+        this.consumer = requireText(builder.consumer, "consumer");
+        this.handler = Objects.requireNonNull(builder.handler, "handler");
+        this.batchSize = builder.batchSize;
+        this.blockMillis = builder.blockMillis;
+        this.workers = builder.workers;
+        this.maxInFlight = builder.maxInFlight > 0 ? builder.maxInFlight : builder.workers * builder.batchSize;
+        this.ackBatchSize = builder.ackBatchSize;
+        this.ackIntervalMillis = builder.ackIntervalMillis;
+        this.claimIdleMillis = builder.claimIdleMillis;
+        this.claimIntervalMillis = builder.claimIntervalMillis;
+        this.createGroup = builder.createGroup;
+        this.startId = builder.startId;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getStream() {
+        return stream;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public String getConsumer() {
+        return consumer;
+    }
+
+    public StreamEntryHandler getHandler() {
+        return handler;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getBlockMillis() {
+        return blockMillis;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getAckBatchSize() {
+        return ackBatchSize;
+    }
+
+    public long getAckIntervalMillis() {
+        return ackIntervalMillis;
+    }
+
+    public long getClaimIdleMillis() {
+        return claimIdleMillis;
+    }
+
+    public long getClaimIntervalMillis() {
+        return claimIntervalMillis;
+    }
+
+    public boolean isCreateGroup() {
+        return createGroup;
+    }
+
+    public StreamEntryID getStartId() {
+        return startId;
+    }
+
+    private static String requireText(String value, String name) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(name + " cannot be empty");
+        }
+        return value;
+    }
+
+    public static class Builder {
+        private String stream;
+        private String group;
+        private String consumer;
+        private StreamEntryHandler handler;
+        private int batchSize = 64;
+        private int blockMillis = 1000;
+        private int workers = 4;
+        private int maxInFlight;
+        private int ackBatchSize = 64;
+        private long ackIntervalMillis = 100;
+        private long claimIdleMillis = 30000;
+        private long claimIntervalMillis = 10000;
+        private boolean createGroup = true;
+        private StreamEntryID startId = StreamEntryID.XGROUP_LAST_ENTRY;
+
+        public Builder stream(String stream) {
+            this.stream = stream;
+            return this;
+        }
+
+        public Builder group(String group) {
+            this.group = group;
+            return this;
+        }
+
+        /**
+         * Consumer name within the group; keep it stable across restarts so pending entries are resumed.
+         */
+        public Builder consumer(String consumer) {
+            this.consumer = consumer;
+            return this;
+        }
+
+        public Builder handler(StreamEntryHandler handler) {
+            this.handler = handler;
+            return this;
+        }
+
+        /**
+         * XREADGROUP COUNT, default 64.
+         */
+        public Builder batchSize(int batchSize) {
+            this.batchSize = requirePositive(batchSize, "batchSize");
+            return this;
+        }
+
+        /**
+         * XREADGROUP BLOCK, default 1000; capped below {@code redis.timeouts.socket-ms}.
+         */
+        public Builder blockMillis(int blockMillis) {
+            this.blockMillis = requirePositive(blockMillis, "blockMillis");
+            return this;
+        }
+
+        /**
+         * Threads running the handler, default 4. With more than one, entries may finish out of order.
+         */
+        public Builder workers(int workers) {
+            this.workers = requirePositive(workers, "workers");
+            return this;
+        }
+
+        /**
+         * Entries dispatched but unfinished before reading pauses, default {@code workers * batchSize}.
+         */
+        public Builder maxInFlight(int maxInFlight) {
+            this.maxInFlight = requirePositive(maxInFlight, "maxInFlight");
+            return this;
+        }
+
+        /**
+         * Acknowledgements sent in one XACK, default 64.
+         */
+        public Builder ackBatchSize(int ackBatchSize) {
+            this.ackBatchSize = requirePositive(ackBatchSize, "ackBatchSize");
+            return this;
+        }
+
+        /**
+         * Longest a smaller batch of acknowledgements waits while the consumer is active, default 100.
+         */
+        public Builder ackIntervalMillis(long ackIntervalMillis) {
+            this.ackIntervalMillis = requirePositive(ackIntervalMillis, "ackIntervalMillis");
+            return this;
+        }
+
+        /**
+         * Idle time after which another consumer's pending entry is claimed, default 30000; 0 disables claiming.
+         */
+        public Builder claimIdleMillis(long claimIdleMillis) {
+            if (claimIdleMillis < 0) {
+                throw new IllegalArgumentException("claimIdleMillis must be >= 0");
+            }
+            this.claimIdleMillis = claimIdleMillis;
+            return this;
+        }
+
+        /**
+         * How often XAUTOCLAIM runs, default 10000.
+         */
+        public Builder claimIntervalMillis(long claimIntervalMillis) {
+            this.claimIntervalMillis = requirePositive(claimIntervalMillis, "claimIntervalMillis");
+            return this;
+        }
+
+        /**
+         * Create the group (and the stream) when missing, default true.
+         */
+        public Builder createGroup(boolean createGroup) {
+            this.createGroup = createGroup;
+            return this;
+        }
+
+        /**
+         * Where a newly created group starts, default {@code $} (only new entries).
+         */
+        public Builder startId(StreamEntryID startId) {
+            this.startId = Objects.requireNonNull(startId, "startId");
+            return this;
+        }
+
+        public StreamConsumerSpec build() {
+            return new StreamConsumerSpec(this);
+        }
+
+        private static int requirePositive(int value, String name) {
+            if (value < 1) {
+                throw new IllegalArgumentException(name + " must be >= 1");
+            }
+            return value;
+        }
+
+        private static long requirePositive(long value, String name) {
+            if (value < 1) {
+                throw new IllegalArgumentException(name + " must be >= 1");
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+/**
+ * State of a {@link RedisStreamConsumer}.
+ */
+public enum StreamConsumerState {
+    /**
+     * Reading and dispatching entries.
+     */
+    RUNNING,
+
+    /**
+     * Not reading new entries; entries already dispatched still finish and are acknowledged.
+     */
+    PAUSED,
+
+    /**
+     * Closed, either explicitly or with the service.
+     */
+    STOPPED
+}
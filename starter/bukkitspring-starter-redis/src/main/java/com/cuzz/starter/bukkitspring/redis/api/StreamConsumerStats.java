@@ -0,0 +1,71 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+/**
+ * Counters of a {@link RedisStreamConsumer}. {@link #pending}, {@link #lag} and
+ * {@link #processedPerSecond} are refreshed about once a second.
+ */
+public final class StreamConsumerStats {
+    public final StreamConsumerState state;
+    /**
+     * Entries handed to the workers, claimed ones included.
+     */
+    public final long delivered;
+    /**
+     * Entries taken over from idle consumers through XAUTOCLAIM.
+     */
+    public final long claimed;
+    public final long processed;
+    public final long failed;
+    public final long acked;
+    /**
+     * Entries dispatched but not finished yet.
+     */
+    public final int inFlight;
+    /**
+     * Entries delivered to the group but not acknowledged, across all its consumers; -1 when unknown.
+     */
+    public final long pending;
+    /**
+     * Entries not yet delivered to the group, as reported by Redis 7+; -1 when unknown.
+     */
+    public final long lag;
+    public final double processedPerSecond;
+
+    public StreamConsumerStats(StreamConsumerState state,
+                               long delivered,
+                               long claimed,
+                               long processed,
+                               long failed,
+                               long acked,
+                               int inFlight,
+                               long pending,
+                               long lag,
+                               double processedPerSecond) {
+        this.state = state;
+        this.delivered = delivered;
+        this.claimed = claimed;
+        this.processed = processed;
+        this.failed = failed;
+        this.acked = acked;
+        this.inFlight = inFlight;
+        this.pending = pending;
+        this.lag = lag;
+        this.processedPerSecond = processedPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return "StreamConsumerStats{"
+                + "state=" + state
+                + ", delivered=" + delivered
+                + ", claimed=" + claimed
+                + ", processed=" + processed
+                + ", failed=" + failed
+                + ", acked=" + acked
+                + ", inFlight=" + inFlight
+                + ", pending=" + pending
+                + ", lag=" + lag
+                + ", processedPerSecond=" + processedPerSecond
+                + '}';
+    }
+}
@@ -0,0 +1,12 @@
+package com.cuzz.starter.bukkitspring.redis.api;
+
+import redis.clients.jedis.resps.StreamEntry;
+
+/**
+ * Handles one entry of a managed stream consumer. Returning normally acknowledges the entry; throwing
+ * leaves it pending so it is claimed and delivered again after {@code claimIdleMillis}.
+ */
+@FunctionalInterface
+public interface StreamEntryHandler {
+    void handle(StreamEntry entry) throws Exception;
+}
@@ -0,0 +1,39 @@
+package com.cuzz.starter.bukkitspring.redis.config;
+
+/**
+ * Adaptive idle-floor settings ({@code redis.pool.adaptive}).
+ */
+public final class RedisAdaptivePoolSettings {
+    public final boolean enabled;
+    /**
+     * Lowest {@code minIdle} the pool shrinks back to.
+     */
+    public final int minIdleFloor;
+    /**
+     * Highest {@code minIdle} the pool grows to; never above {@code redis.pool.max-idle}.
+     */
+    public final int minIdleCeiling;
+    /**
+     * A borrow that waits at least this long counts as slow and makes the pool grow.
+     */
+    public final long waitThresholdMillis;
+    public final long intervalMillis;
+    /**
+     * Quiet intervals in a row before the floor drops by one connection.
+     */
+    public final int shrinkAfterIntervals;
+
+    public RedisAdaptivePoolSettings(boolean enabled,
+                                     int minIdleFloor,
+                                     int minIdleCeiling,
+                                     long waitThresholdMillis,
+                                     long intervalMillis,
+                                     int shrinkAfterIntervals) {
+        this.enabled = enabled;
+        this.minIdleFloor = minIdleFloor;
+        this.minIdleCeiling = minIdleCeiling;
+        this.waitThresholdMillis = waitThresholdMillis;
+        this.intervalMillis = intervalMillis;
+        this.shrinkAfterIntervals = shrinkAfterIntervals;
+    }
+}
@@ -0,0 +1,27 @@
+package com.cuzz.starter.bukkitspring.redis.config;
+
+/**
+ * Auto-batching settings ({@code redis.auto-batch}).
+ */
+public final class RedisAutoBatchSettings {
+    public final boolean enabled;
+    public final int maxBatchSize;
+    public final long flushIntervalMillis;
+    public final int maxPending;
+    public final boolean mergeIncrements;
+    public final boolean metrics;
+
+    public RedisAutoBatchSettings(boolean enabled,
+                                  int maxBatchSize,
+                                  long flushIntervalMillis,
+                                  int maxPending,
+                                  boolean mergeIncrements,
+                                  boolean metrics) {
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxPending = maxPending;
+        this.mergeIncrements = mergeIncrements;
+        this.metrics = metrics;
+    }
+}
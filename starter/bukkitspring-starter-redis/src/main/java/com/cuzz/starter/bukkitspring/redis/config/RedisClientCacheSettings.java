@@ -0,0 +1,24 @@
+package com.cuzz.starter.bukkitspring.redis.config;
+
+import java.util.List;
+
+/**
+ * Client-side caching settings ({@code redis.client-cache}).
+ */
+public final class RedisClientCacheSettings {
+    public final boolean enabled;
+    /**
+     * Most cached replies kept locally; least recently used ones are evicted first.
+     */
+    public final int maxSize;
+    /**
+     * Key prefixes whose reads are cached; empty caches every key.
+     */
+    public final List<String> prefixes;
+
+    public RedisClientCacheSettings(boolean enabled, int maxSize, List<String> prefixes) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.prefixes = prefixes == null ? List.of() : List.copyOf(prefixes);
+    }
+}
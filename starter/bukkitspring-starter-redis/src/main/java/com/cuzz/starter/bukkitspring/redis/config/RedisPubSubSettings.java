@@ -0,0 +1,33 @@
+package com.cuzz.starter.bukkitspring.redis.config;
+
+/**
+ * Managed subscription settings ({@code redis.pubsub}).
+ */
+public final class RedisPubSubSettings {
+    /**
+     * Dedicated subscriber connections; channels and patterns are spread across them by name.
+     */
+    public final int connections;
+    /**
+     * Threads delivering messages to listeners; 0 uses the service executor.
+     */
+    public final int dispatchThreads;
+    /**
+     * Per-subscription backlog; messages beyond it are dropped and counted.
+     */
+    public final int maxQueuedMessages;
+    public final long reconnectDelayMillis;
+    public final long maxReconnectDelayMillis;
+
+    public RedisPubSubSettings(int connections,
+                               int dispatchThreads,
+                               int maxQueuedMessages,
+                               long reconnectDelayMillis,
+                               long maxReconnectDelayMillis) {
+        this.connections = connections;
+        this.dispatchThreads = dispatchThreads;
+        this.maxQueuedMessages = maxQueuedMessages;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+        this.maxReconnectDelayMillis = maxReconnectDelayMillis;
+    }
+}
@@ -28,6 +28,11 @@ public final class RedisSettings {
     public final int poolMinIdle;
     public final long poolMaxWaitMillis;
     public final RedisClusterSettings cluster;
+    public final RedisAutoBatchSettings autoBatch;
+    public final RedisPubSubSettings pubsub;
+    public final RedisClientCacheSettings clientCache;
+    public final boolean poolMetrics;
+    public final RedisAdaptivePoolSettings adaptivePool;
 
     private RedisSettings(boolean enabled,
                           boolean useVirtualThreads,
@@ -45,7 +50,12 @@ public final class RedisSettings {
                           int poolMaxIdle,
                           int poolMinIdle,
                           long poolMaxWaitMillis,
-                          RedisClusterSettings cluster) {
+                          RedisClusterSettings cluster,
+                          RedisAutoBatchSettings autoBatch,
+                          RedisPubSubSettings pubsub,
+                          RedisClientCacheSettings clientCache,
+                          boolean poolMetrics,
+                          RedisAdaptivePoolSettings adaptivePool) {
         this.enabled = enabled;
         this.useVirtualThreads = useVirtualThreads;
         this.mode = mode;
@@ -63,6 +73,11 @@ public final class RedisSettings {
         this.poolMinIdle = poolMinIdle;
         this.poolMaxWaitMillis = poolMaxWaitMillis;
         this.cluster = cluster;
+        this.autoBatch = autoBatch;
+        this.pubsub = pubsub;
+        this.clientCache = clientCache;
+        this.poolMetrics = poolMetrics;
+        this.adaptivePool = adaptivePool;
     }
 
     public static RedisSettings fromConfig(ConfigView config) {
@@ -86,6 +101,17 @@ public final class RedisSettings {
         int poolMaxIdle = clampInt(safeConfig.getInt("redis.pool.max-idle", 16), 0, 512);
         int poolMinIdle = clampInt(safeConfig.getInt("redis.pool.min-idle", 0), 0, 512);
         long poolMaxWaitMillis = clampLong(safeConfig.getLong("redis.pool.max-wait-ms", 3000), 1, 60000);
+        boolean poolMetrics = safeConfig.getBoolean("redis.pool.metrics", false);
+
+        int minIdleCeiling = clampInt(safeConfig.getInt("redis.pool.adaptive.min-idle-ceiling", poolMaxIdle), 0, poolMaxIdle);
+        RedisAdaptivePoolSettings adaptivePool = new RedisAdaptivePoolSettings(
+                safeConfig.getBoolean("redis.pool.adaptive.enabled", false),
+                clampInt(safeConfig.getInt("redis.pool.adaptive.min-idle-floor", poolMinIdle), 0, minIdleCeiling),
+                minIdleCeiling,
+                clampLong(safeConfig.getLong("redis.pool.adaptive.wait-threshold-ms", 2), 0, 60000),
+                clampLong(safeConfig.getLong("redis.pool.adaptive.interval-ms", 1000), 10, 600000),
+                clampInt(safeConfig.getInt("redis.pool.adaptive.shrink-after-intervals", 30), 1, 10000)
+        );
 
         boolean clusterEnabled = safeConfig.getBoolean("redis.cluster.enabled", false);
         List<String> nodes = normalizeNodes(readStringList(safeConfig, "redis.cluster", "nodes", "redis.cluster.nodes"));
@@ -103,6 +129,30 @@ public final class RedisSettings {
                 topologyRefreshMillis
         );
 
+        RedisAutoBatchSettings autoBatch = new RedisAutoBatchSettings(
+                safeConfig.getBoolean("redis.auto-batch.enabled", false),
+                clampInt(safeConfig.getInt("redis.auto-batch.max-batch-size", 256), 1, 10000),
+                clampLong(safeConfig.getLong("redis.auto-batch.flush-interval-ms", 2), 1, 1000),
+                clampInt(safeConfig.getInt("redis.auto-batch.max-pending", 100000), 1, 10000000),
+                safeConfig.getBoolean("redis.auto-batch.merge-increments", true),
+                safeConfig.getBoolean("redis.auto-batch.metrics", true)
+        );
+
+        long reconnectDelayMillis = clampLong(safeConfig.getLong("redis.pubsub.reconnect-delay-ms", 1000), 10, 60000);
+        RedisPubSubSettings pubsub = new RedisPubSubSettings(
+                clampInt(safeConfig.getInt("redis.pubsub.connections", 1), 1, 16),
+                clampInt(safeConfig.getInt("redis.pubsub.dispatch-threads", 0), 0, 64),
+                clampInt(safeConfig.getInt("redis.pubsub.max-queued-messages", 10000), 1, 1000000),
+                reconnectDelayMillis,
+                clampLong(safeConfig.getLong("redis.pubsub.max-reconnect-delay-ms", 30000), reconnectDelayMillis, 600000)
+        );
+
+        RedisClientCacheSettings clientCache = new RedisClientCacheSettings(
+                safeConfig.getBoolean("redis.client-cache.enabled", false),
+                clampInt(safeConfig.getInt("redis.client-cache.max-size", 10000), 1, 1000000),
+                readStringList(safeConfig, "redis.client-cache", "prefixes", "redis.client-cache.prefixes")
+        );
+
         return new RedisSettings(
                 enabled,
                 useVirtualThreads,
@@ -120,7 +170,12 @@ public final class RedisSettings {
                 poolMaxIdle,
                 poolMinIdle,
                 poolMaxWaitMillis,
-                cluster
+                cluster,
+                autoBatch,
+                pubsub,
+                clientCache,
+                poolMetrics,
+                adaptivePool
         );
     }
 
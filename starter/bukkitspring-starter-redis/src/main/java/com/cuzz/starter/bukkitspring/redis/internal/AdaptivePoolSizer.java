@@ -0,0 +1,122 @@
+package com.cuzz.starter.bukkitspring.redis.internal;
+
+import com.cuzz.starter.bukkitspring.redis.config.RedisAdaptivePoolSettings;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.util.Pool;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Moves the pools' {@code minIdle} between the configured bounds: it grows by half (at least one connection)
+ * in any interval with slow borrows or waiting threads, and drops by one after a run of quiet intervals.
+ * Connections above the floor are closed by the pool's idle evictor.
+ */
+final class AdaptivePoolSizer implements AutoCloseable {
+    private static final long CLOSE_TIMEOUT_MILLIS = 2000L;
+
+    private final Supplier<List<? extends Pool<Connection>>> pools;
+    private final PoolMetrics metrics;
+    private final RedisAdaptivePoolSettings settings;
+    private final Logger logger;
+    private final Thread worker;
+    private volatile boolean running = true;
+    private volatile int minIdle;
+    private volatile long adjustments;
+    private int quietIntervals;
+
+    AdaptivePoolSizer(Supplier<List<? extends Pool<Connection>>> pools,
+                      PoolMetrics metrics,
+                      RedisAdaptivePoolSettings settings,
+                      Logger logger) {
+        this.pools = Objects.requireNonNull(pools, "pools");
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+        this.settings = Objects.requireNonNull(settings, "settings");
+        this.logger = logger;
+        this.minIdle = settings.minIdleFloor;
+        this.worker = new Thread(this::run, "bukkitspring-redis-pool-sizer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    long adjustments() {
+        return adjustments;
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Thread.sleep(settings.intervalMillis);
+            } catch (InterruptedException ex) {
+                return;
+            }
+            try {
+                adjust();
+            } catch (RuntimeException ex) {
+                logWarning("[Redis] Adaptive pool sizing failed: " + ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private void adjust() {
+        List<? extends Pool<Connection>> current = pools.get();
+        long slowBorrows = metrics.drainSlowBorrows();
+        int waiters = 0;
+        for (Pool<Connection> pool : current) {
+            waiters += pool.getNumWaiters();
+        }
+        int previous = minIdle;
+        int target = previous;
+        if (slowBorrows > 0 || waiters > 0) {
+            quietIntervals = 0;
+            target = Math.min(settings.minIdleCeiling, previous + Math.max(1, previous / 2));
+        } else if (++quietIntervals >= settings.shrinkAfterIntervals) {
+            quietIntervals = 0;
+            target = Math.max(settings.minIdleFloor, previous - 1);
+        }
+        if (target != previous) {
+            minIdle = target;
+            adjustments++;
+        }
+        // applied every interval so that node pools created after a cluster topology change follow along
+        for (Pool<Connection> pool : current) {
+            if (pool.getMinIdle() != target) {
+                pool.setMinIdle(target);
+            }
+            if (target > previous) {
+                prepare(pool);
+            }
+        }
+    }
+
+    private void prepare(Pool<Connection> pool) {
+        try {
+            pool.preparePool();
+        } catch (Exception ex) {
+            logWarning("[Redis] Failed to open idle connections: " + ex.getMessage(), null);
+        }
+    }
+
+    private void logWarning(String message, Throwable error) {
+        if (logger != null) {
+            logger.log(Level.WARNING, message, error);
+        }
+    }
+}
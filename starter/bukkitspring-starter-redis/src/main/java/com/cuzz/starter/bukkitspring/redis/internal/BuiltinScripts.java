@@ -0,0 +1,103 @@
+package com.cuzz.starter.bukkitspring.redis.internal;
+
+import com.cuzz.starter.bukkitspring.redis.api.RedisScript;
+
+/**
+ * Lua sources of the helpers on {@link com.cuzz.starter.bukkitspring.redis.api.RedisScripts}.
+ */
+final class BuiltinScripts {
+    /**
+     * KEYS[1] sorted set of call timestamps; ARGV limit, window millis, unique member.
+     * Returns {allowed, remaining, retry-after millis}.
+     */
+    static final RedisScript RATE_LIMIT = RedisScript.of("bukkitspring:rate-limit", """
+            if redis.replicate_commands then
+              redis.replicate_commands()
+            end
+            local limit = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+            local count = redis.call('ZCARD', KEYS[1])
+            if count < limit then
+              redis.call('ZADD', KEYS[1], now, ARGV[3])
+              redis.call('PEXPIRE', KEYS[1], window)
+              return {1, limit - count - 1, 0}
+            end
+            local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+            return {0, 0, math.max(0, tonumber(oldest[2]) + window - now)}
+            """);
+
+    /**
+     * KEYS[1]; ARGV expect-absent flag, expected value, new value, TTL millis (0 = none). Returns 1 when set.
+     */
+    static final RedisScript COMPARE_AND_SET = RedisScript.of("bukkitspring:compare-and-set", """
+            local current = redis.call('GET', KEYS[1])
+            if ARGV[1] == '1' then
+              if current then
+                return 0
+              end
+            elseif current ~= ARGV[2] then
+              return 0
+            end
+            if tonumber(ARGV[4]) > 0 then
+              redis.call('SET', KEYS[1], ARGV[3], 'PX', ARGV[4])
+            else
+              redis.call('SET', KEYS[1], ARGV[3])
+            end
+            return 1
+            """);
+
+    /**
+     * KEYS[1] sorted set; ARGV score, member, capacity. Returns the member's rank from the top, or -1.
+     */
+    static final RedisScript LEADERBOARD_ADD = RedisScript.of("bukkitspring:leaderboard-add", """
+            redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2])
+            local capacity = tonumber(ARGV[3])
+            local size = redis.call('ZCARD', KEYS[1])
+            if size > capacity then
+              redis.call('ZREMRANGEBYRANK', KEYS[1], 0, size - capacity - 1)
+            end
+            local rank = redis.call('ZREVRANK', KEYS[1], ARGV[2])
+            if rank then
+              return rank
+            end
+            return -1
+            """);
+
+    /**
+     * KEYS[1] hash of {tokens, ts}; ARGV capacity, refill per second, requested tokens.
+     * Returns {granted, retry-after millis}; the retry delay is 0 when everything requested was granted.
+     */
+    static final RedisScript TOKEN_BUCKET = RedisScript.of("bukkitspring:token-bucket", """
+            if redis.replicate_commands then
+              redis.replicate_commands()
+            end
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2]) / 1000
+            local requested = tonumber(ARGV[3])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1])
+            local ts = tonumber(state[2])
+            if tokens == nil or ts == nil then
+              tokens = capacity
+              ts = now
+            end
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+            local granted = math.min(requested, math.floor(tokens))
+            tokens = tokens - granted
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], math.ceil((capacity - tokens) / rate) + 1000)
+            local retry = 0
+            if granted < requested then
+              retry = math.ceil((1 - tokens) / rate)
+            end
+            return {granted, retry}
+            """);
+
+    private BuiltinScripts() {
+    }
+}
@@ -0,0 +1,406 @@
+package com.cuzz.starter.bukkitspring.redis.internal;
+
+import com.cuzz.starter.bukkitspring.redis.api.AutoBatchStats;
+import com.cuzz.starter.bukkitspring.redis.api.PipelineOps;
+import com.cuzz.starter.bukkitspring.redis.api.RedisAutoBatcher;
+import com.cuzz.starter.bukkitspring.redis.api.RedisService;
+import com.cuzz.starter.bukkitspring.redis.config.RedisAutoBatchSettings;
+import redis.clients.jedis.Response;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link RedisAutoBatcher} with a lock-free submission queue drained by one flusher thread.
+ *
+ * <p>Increments are merged only while no other command of the same key sits between them, so a
+ * merged batch leaves Redis in the same state as sending every command on its own.
+ */
+final class DefaultRedisAutoBatcher implements RedisAutoBatcher, AutoCloseable {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long CLOSE_TIMEOUT_MILLIS = 5_000L;
+
+    private final RedisService service;
+    private final RedisAutoBatchSettings settings;
+    private final Logger logger;
+    private final long flushIntervalNanos;
+    private final ConcurrentLinkedQueue<Command<?>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger barriers = new AtomicInteger();
+    private final LongAdder commands = new LongAdder();
+    private final LongAdder mergedCommands = new LongAdder();
+    private final LongAdder failedCommands = new LongAdder();
+    private final LongAdder rejectedCommands = new LongAdder();
+    private final Thread flusher;
+    private volatile boolean running = true;
+    private volatile long batches;
+    private volatile long largestBatch;
+
+    DefaultRedisAutoBatcher(RedisService service, RedisAutoBatchSettings settings, Logger logger) {
+        this.service = Objects.requireNonNull(service, "service");
+        this.settings = Objects.requireNonNull(settings, "settings");
+        this.logger = logger;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(settings.flushIntervalMillis);
+        this.flusher = new Thread(this::runFlusher, "bukkitspring-redis-autobatch");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    @Override
+    public CompletableFuture<Long> incrBy(String key, long delta) {
+        Objects.requireNonNull(key, "key");
+        return enqueue(new Command<>(Kind.INCR, key, null, delta, ops -> ops.incrBy(key, delta)));
+    }
+
+    @Override
+    public CompletableFuture<Long> hincrBy(String key, String field, long delta) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(field, "field");
+        return enqueue(new Command<>(Kind.HINCR, key, field, delta, ops -> ops.hincrBy(key, field, delta)));
+    }
+
+    @Override
+    public CompletableFuture<Long> zadd(String key, double score, String member) {
+        Objects.requireNonNull(key, "key");
+        return enqueue(new Command<>(Kind.OTHER, key, null, 0, ops -> ops.zadd(key, score, member)));
+    }
+
+    @Override
+    public CompletableFuture<Double> zincrby(String key, double delta, String member) {
+        Objects.requireNonNull(key, "key");
+        return enqueue(new Command<>(Kind.OTHER, key, null, 0, ops -> ops.zincrby(key, delta, member)));
+    }
+
+    @Override
+    public CompletableFuture<Long> hset(String key, String field, String value) {
+        Objects.requireNonNull(key, "key");
+        return enqueue(new Command<>(Kind.OTHER, key, null, 0, ops -> ops.hset(key, field, value)));
+    }
+
+    @Override
+    public CompletableFuture<String> set(String key, String value) {
+        Objects.requireNonNull(key, "key");
+        return enqueue(new Command<>(Kind.OTHER, key, null, 0, ops -> ops.set(key, value)));
+    }
+
+    @Override
+    public CompletableFuture<Long> expire(String key, long seconds) {
+        Objects.requireNonNull(key, "key");
+        return enqueue(new Command<>(Kind.OTHER, key, null, 0, ops -> ops.expire(key, seconds)));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(Function<PipelineOps, Response<T>> command) {
+        Objects.requireNonNull(command, "command");
+        return enqueue(new Command<>(Kind.OTHER, null, null, 0, command));
+    }
+
+    @Override
+    public CompletableFuture<Void> flush() {
+        Command<Void> barrier = new Command<>(Kind.BARRIER, null, null, 0, null);
+        if (!running) {
+            barrier.future.complete(null);
+            return barrier.future;
+        }
+        barriers.incrementAndGet();
+        pending.incrementAndGet();
+        queue.add(barrier);
+        LockSupport.unpark(flusher);
+        return barrier.future;
+    }
+
+    @Override
+    public AutoBatchStats stats() {
+        if (!settings.metrics) {
+            return new AutoBatchStats(0, 0, 0, 0, 0, 0, pending.get());
+        }
+        return new AutoBatchStats(
+                commands.sum(),
+                batches,
+                mergedCommands.sum(),
+                failedCommands.sum(),
+                rejectedCommands.sum(),
+                largestBatch,
+                pending.get()
+        );
+    }
+
+    /**
+     * Send what is queued, stop the flusher and fail commands that raced the shutdown.
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        Command<?> leftover;
+        while ((leftover = queue.poll()) != null) {
+            leftover.future.completeExceptionally(new IllegalStateException("Redis auto-batcher is closed."));
+        }
+    }
+
+    private <T> CompletableFuture<T> enqueue(Command<T> command) {
+        if (!running) {
+            command.future.completeExceptionally(new IllegalStateException("Redis auto-batcher is closed."));
+            return command.future;
+        }
+        int size = pending.incrementAndGet();
+        if (size > settings.maxPending) {
+            pending.decrementAndGet();
+            if (settings.metrics) {
+                rejectedCommands.increment();
+            }
+            command.future.completeExceptionally(new RejectedExecutionException(
+                    "Redis auto-batch queue is full (" + settings.maxPending + " pending)."
+            ));
+            return command.future;
+        }
+        if (settings.metrics) {
+            commands.increment();
+        }
+        queue.add(command);
+        if (size == 1 || size >= settings.maxBatchSize) {
+            LockSupport.unpark(flusher);
+        }
+        return command.future;
+    }
+
+    private void runFlusher() {
+        while (running || !queue.isEmpty()) {
+            if (queue.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            long deadline = System.nanoTime() + flushIntervalNanos;
+            while (running && barriers.get() == 0 && pending.get() < settings.maxBatchSize) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+            try {
+                sendBatch();
+            } catch (RuntimeException ex) {
+                logWarning("[Redis] Auto-batch flush failed: " + ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private void sendBatch() {
+        List<Command<?>> drained = new ArrayList<>(Math.min(pending.get(), settings.maxBatchSize));
+        Command<?> next;
+        while (drained.size() < settings.maxBatchSize && (next = queue.poll()) != null) {
+            drained.add(next);
+        }
+        pending.addAndGet(-drained.size());
+
+        List<Operation> operations = new ArrayList<>(drained.size());
+        List<Command<?>> flushed = new ArrayList<>(0);
+        Map<String, Operation> increments = new HashMap<>();
+        Map<String, Map<String, Operation>> hashIncrements = new HashMap<>();
+        for (Command<?> command : drained) {
+            if (command.kind == Kind.BARRIER) {
+                flushed.add(command);
+                continue;
+            }
+            if (settings.mergeIncrements && mergeInto(command, increments, hashIncrements)) {
+                continue;
+            }
+            Operation operation = new Operation(command);
+            operations.add(operation);
+            if (command.kind == Kind.INCR) {
+                increments.put(command.key, operation);
+            } else if (command.kind == Kind.HINCR) {
+                hashIncrements.computeIfAbsent(command.key, key -> new HashMap<>()).put(command.field, operation);
+            } else if (command.key == null) {
+                increments.clear();
+                hashIncrements.clear();
+            } else {
+                increments.remove(command.key);
+                hashIncrements.remove(command.key);
+            }
+        }
+
+        if (!operations.isEmpty()) {
+            send(operations, drained.size() - flushed.size());
+        }
+        for (Command<?> barrier : flushed) {
+            barriers.decrementAndGet();
+            barrier.future.complete(null);
+        }
+    }
+
+    private boolean mergeInto(Command<?> command,
+                              Map<String, Operation> increments,
+                              Map<String, Map<String, Operation>> hashIncrements) {
+        Operation target = null;
+        if (command.kind == Kind.INCR) {
+            target = increments.get(command.key);
+        } else if (command.kind == Kind.HINCR) {
+            Map<String, Operation> fields = hashIncrements.get(command.key);
+            target = fields == null ? null : fields.get(command.field);
+        }
+        if (target == null) {
+            return false;
+        }
+        target.merge(command);
+        if (settings.metrics) {
+            mergedCommands.increment();
+        }
+        return true;
+    }
+
+    private void send(List<Operation> operations, int commandCount) {
+        try {
+            service.pipelined(ops -> {
+                for (Operation operation : operations) {
+                    operation.issue(ops);
+                }
+            });
+        } catch (RuntimeException ex) {
+            for (Operation operation : operations) {
+                operation.fail(ex);
+            }
+            if (settings.metrics) {
+                failedCommands.add(commandCount);
+                batches++;
+            }
+            logWarning("[Redis] Auto-batch of " + commandCount + " commands failed: " + ex.getMessage(), null);
+            return;
+        }
+        for (Operation operation : operations) {
+            int failed = operation.complete();
+            if (failed > 0 && settings.metrics) {
+                failedCommands.add(failed);
+            }
+        }
+        if (settings.metrics) {
+            batches++;
+            if (commandCount > largestBatch) {
+                largestBatch = commandCount;
+            }
+        }
+    }
+
+    private void logWarning(String message, Throwable error) {
+        if (logger != null) {
+            logger.log(Level.WARNING, message, error);
+        }
+    }
+
+    private enum Kind {
+        INCR,
+        HINCR,
+        OTHER,
+        BARRIER
+    }
+
+    private static final class Command<T> {
+        private final Kind kind;
+        private final String key;
+        private final String field;
+        private final long delta;
+        private final Function<PipelineOps, Response<T>> op;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private Command(Kind kind, String key, String field, long delta, Function<PipelineOps, Response<T>> op) {
+            this.kind = kind;
+            this.key = key;
+            this.field = field;
+            this.delta = delta;
+            this.op = op;
+        }
+    }
+
+    /**
+     * One command on the wire: a single caller command, or several increments of one key summed up.
+     */
+    private static final class Operation {
+        private final Command<?> first;
+        private List<Command<?>> merged;
+        private long totalDelta;
+        private Response<?> response;
+
+        private Operation(Command<?> first) {
+            this.first = first;
+            this.totalDelta = first.delta;
+        }
+
+        private void merge(Command<?> command) {
+            if (merged == null) {
+                merged = new ArrayList<>();
+                merged.add(first);
+            }
+            merged.add(command);
+            totalDelta += command.delta;
+        }
+
+        private void issue(PipelineOps ops) {
+            if (merged == null) {
+                response = first.op.apply(ops);
+            } else if (first.kind == Kind.INCR) {
+                response = ops.incrBy(first.key, totalDelta);
+            } else {
+                response = ops.hincrBy(first.key, first.field, totalDelta);
+            }
+        }
+
+        /**
+         * Complete the callers' futures; merged callers get the value right after their own increment.
+         *
+         * @return number of failed caller commands
+         */
+        @SuppressWarnings("unchecked")
+        private int complete() {
+            Object value;
+            try {
+                value = response.get();
+            } catch (RuntimeException ex) {
+                fail(ex);
+                return merged == null ? 1 : merged.size();
+            }
+            if (merged == null) {
+                ((CompletableFuture<Object>) first.future).complete(value);
+                return 0;
+            }
+            long result = (Long) value;
+            for (int i = merged.size() - 1; i >= 0; i--) {
+                Command<?> command = merged.get(i);
+                ((CompletableFuture<Object>) command.future).complete(result);
+                result -= command.delta;
+            }
+            return 0;
+        }
+
+        private void fail(Throwable error) {
+            if (merged == null) {
+                first.future.completeExceptionally(error);
+                return;
+            }
+            for (Command<?> command : merged) {
+                command.future.completeExceptionally(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.cuzz.starter.bukkitspring.redis.internal;
+
+import com.cuzz.starter.bukkitspring.redis.api.RateLimitResult;
+import com.cuzz.starter.bukkitspring.redis.api.RedisScript;
+import com.cuzz.starter.bukkitspring.redis.api.RedisScripts;
+import com.cuzz.starter.bukkitspring.redis.api.RedisService;
+import com.cuzz.starter.bukkitspring.redis.api.RedisTokenBucket;
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
+import redis.clients.jedis.util.JedisClusterCRC16;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Logger;
+
+/**
+ * {@code EVALSHA} first, reloading the registry on {@code NOSCRIPT} and falling back to {@code EVAL} if the
+ * digest is still unknown.
+ */
+final class DefaultRedisScripts implements RedisScripts {
+    private final RedisService service;
+    private final boolean cluster;
+    private final Logger logger;
+    private final Map<String, RedisScript> scripts = new ConcurrentHashMap<>();
+
+    DefaultRedisScripts(RedisService service, boolean cluster, Logger logger) {
+        this.service = service;
+        this.cluster = cluster;
+        this.logger = logger;
+        register(BuiltinScripts.RATE_LIMIT);
+        register(BuiltinScripts.COMPARE_AND_SET);
+        register(BuiltinScripts.LEADERBOARD_ADD);
+        register(BuiltinScripts.TOKEN_BUCKET);
+    }
+
+    @Override
+    public RedisScript register(String name, String source) {
+        return register(RedisScript.of(name, source));
+    }
+
+    @Override
+    public RedisScript register(RedisScript script) {
+        Objects.requireNonNull(script, "script");
+        scripts.put(script.getName(), script);
+        return script;
+    }
+
+    @Override
+    public RedisScript load(ClassLoader classLoader, String path) {
+        return register(RedisScript.fromResource(classLoader, path));
+    }
+
+    @Override
+    public RedisScript get(String name) {
+        return scripts.get(name);
+    }
+
+    @Override
+    public Object eval(String name, List<String> keys, List<String> args) {
+        RedisScript script = scripts.get(name);
+        if (script == null) {
+            throw new IllegalArgumentException("No Redis script registered as '" + name + "'");
+        }
+        return evalSha(script, keys, args);
+    }
+
+    @Override
+    public Object eval(RedisScript script, List<String> keys, List<String> args) {
+        Objects.requireNonNull(script, "script");
+        if (scripts.get(script.getName()) != script) {
+            register(script);
+        }
+        return evalSha(script, keys, args);
+    }
+
+    @Override
+    public RateLimitResult rateLimit(String key, int limit, long windowMillis) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be >= 1");
+        }
+        if (windowMillis < 1) {
+            throw new IllegalArgumentException("windowMillis must be >= 1");
+        }
+        // the member only has to be unique among calls within one window
+        String member = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        List<?> reply = (List<?>) evalSha(BuiltinScripts.RATE_LIMIT, List.of(key),
+                List.of(Integer.toString(limit), Long.toString(windowMillis), member));
+        return new RateLimitResult((Long) reply.get(0) == 1L, (Long) reply.get(1), (Long) reply.get(2));
+    }
+
+    @Override
+    public boolean compareAndSet(String key, String expected, String newValue, long ttlMillis) {
+        Objects.requireNonNull(newValue, "newValue");
+        if (ttlMillis < 0) {
+            throw new IllegalArgumentException("ttlMillis must be >= 0");
+        }
+        Object reply = evalSha(BuiltinScripts.COMPARE_AND_SET, List.of(key),
+                List.of(expected == null ? "1" : "0", expected == null ? "" : expected, newValue, Long.toString(ttlMillis)));
+        return Long.valueOf(1L).equals(reply);
+    }
+
+    @Override
+    public long leaderboardAdd(String key, String member, double score, int capacity) {
+        if (Double.isNaN(score)) {
+            throw new IllegalArgumentException("score cannot be NaN");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be >= 1");
+        }
+        return (Long) evalSha(BuiltinScripts.LEADERBOARD_ADD, List.of(key),
+                List.of(Double.toString(score), member, Integer.toString(capacity)));
+    }
+
+    @Override
+    public RedisTokenBucket tokenBucket(String key, long capacity, double refillPerSecond, int leaseSize) {
+        Objects.requireNonNull(key, "key");
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be >= 1");
+        }
+        if (!(refillPerSecond > 0) || Double.isInfinite(refillPerSecond)) {
+            throw new IllegalArgumentException("refillPerSecond must be a positive number");
+        }
+        if (leaseSize < 1 || leaseSize > capacity) {
+            throw new IllegalArgumentException("leaseSize must be within 1.." + capacity);
+        }
+        return new DefaultRedisTokenBucket(key, capacity, leaseSize,
+                requested -> lease(key, capacity, refillPerSecond, requested));
+    }
+
+    /**
+     * @return {granted tokens, retry-after millis}
+     */
+    private long[] lease(String key, long capacity, double refillPerSecond, long requested) {
+        List<?> reply = (List<?>) evalSha(BuiltinScripts.TOKEN_BUCKET, List.of(key),
+                List.of(Long.toString(capacity), Double.toString(refillPerSecond), Long.toString(requested)));
+        return new long[]{(Long) reply.get(0), (Long) reply.get(1)};
+    }
+
+    private Object evalSha(RedisScript script, List<String> keys, List<String> args) {
+        Objects.requireNonNull(keys, "keys");
+        Objects.requireNonNull(args, "args");
+        if (cluster) {
+            checkSameSlot(script, keys);
+        }
+        UnifiedJedis client = service.client();
+        try {
+            return client.evalsha(script.getSha1(), keys, args);
+        } catch (JedisNoScriptException first) {
+            reloadAll(client, keys);
+            try {
+                return client.evalsha(script.getSha1(), keys, args);
+            } catch (JedisNoScriptException second) {
+                return client.eval(script.getSource(), keys, args);
+            }
+        }
+    }
+
+    /**
+     * A node without one script has usually lost them all, so they are loaded together on that node.
+     */
+    private void reloadAll(UnifiedJedis client, List<String> keys) {
+        int loaded = 0;
+        for (RedisScript script : scripts.values()) {
+            if (keys.isEmpty()) {
+                client.scriptLoad(script.getSource());
+            } else {
+                client.scriptLoad(script.getSource(), keys.get(0));
+            }
+            loaded++;
+        }
+        if (logger != null) {
+            logger.info("[Redis] Script cache was empty on the server, reloaded " + loaded + " scripts.");
+        }
+    }
+
+    private static void checkSameSlot(RedisScript script, List<String> keys) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("Script '" + script.getName()
+                    + "' needs at least one key in cluster mode to pick a node.");
+        }
+        int slot = JedisClusterCRC16.getSlot(keys.get(0));
+        for (int i = 1; i < keys.size(); i++) {
+            if (JedisClusterCRC16.getSlot(keys.get(i)) != slot) {
+                throw new IllegalArgumentException("Keys of script '" + script.getName()
+                        + "' span hash slots; give them a common hash tag, e.g. {player:42}:balance ("
+                        + keys.get(0) + ", " + keys.get(i) + ")");
+            }
+        }
+    }
+}
@@ -4,14 +4,28 @@ import com.cuzz.bukkitspring.api.annotation.Autowired;
 import com.cuzz.bukkitspring.api.annotation.Component;
 import com.cuzz.bukkitspring.api.annotation.PostConstruct;
 import com.cuzz.bukkitspring.api.annotation.PreDestroy;
+import com.cuzz.starter.bukkitspring.redis.api.ClientCacheStats;
+import com.cuzz.starter.bukkitspring.redis.api.PoolStats;
+import com.cuzz.starter.bukkitspring.redis.api.RedisAutoBatcher;
 import com.cuzz.starter.bukkitspring.redis.api.RedisMode;
+import com.cuzz.starter.bukkitspring.redis.api.RedisScripts;
 import com.cuzz.starter.bukkitspring.redis.api.RedisService;
+import com.cuzz.starter.bukkitspring.redis.api.RedisStreamConsumer;
+import com.cuzz.starter.bukkitspring.redis.api.RedisSubscriptions;
+import com.cuzz.starter.bukkitspring.redis.api.StreamConsumerSpec;
 import com.cuzz.starter.bukkitspring.redis.config.RedisSettings;
+import redis.clients.jedis.Connection;
 import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.csc.Cache;
+import redis.clients.jedis.csc.CacheStats;
+import redis.clients.jedis.util.Pool;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Logger;
 
 @Component
@@ -19,17 +33,32 @@ public final class DefaultRedisService implements RedisService {
     private final RedisSettings settings;
     private final Logger logger;
     private final RedisClientFactory clientFactory;
+    private final PoolMetrics poolMetrics;
+    private final AtomicBoolean closing = new AtomicBoolean(false);
     private final AtomicBoolean closed = new AtomicBoolean(false);
     private final Object clientLock = new Object();
     private final Object executorLock = new Object();
+    private final Object autoBatcherLock = new Object();
+    private final Object subscriptionsLock = new Object();
+    private final Object scriptsLock = new Object();
     private volatile UnifiedJedis client;
+    private volatile Cache clientCache;
+    private volatile AdaptivePoolSizer poolSizer;
     private volatile ExecutorService executor;
+    private volatile DefaultRedisAutoBatcher autoBatcher;
+    private volatile DefaultRedisSubscriptions subscriptions;
+    private volatile DefaultRedisScripts scripts;
+    private final List<DefaultRedisStreamConsumer> streamConsumers = new CopyOnWriteArrayList<>();
 
     @Autowired
     public DefaultRedisService(RedisSettings settings, Logger logger) {
         this.settings = Objects.requireNonNull(settings, "settings");
         this.logger = logger;
         this.clientFactory = new RedisClientFactory();
+        // the adaptive sizer feeds on borrow timings, so it keeps the metered pool even with metrics off
+        this.poolMetrics = settings.poolMetrics || settings.adaptivePool.enabled
+                ? new PoolMetrics(settings.adaptivePool.waitThresholdMillis)
+                : null;
     }
 
     @PostConstruct
@@ -82,17 +111,178 @@ public final class DefaultRedisService implements RedisService {
         }
         synchronized (clientLock) {
             if (client == null) {
-                client = clientFactory.create(settings, logger);
+                clientCache = clientFactory.createClientCache(settings);
+                UnifiedJedis created = clientFactory.create(settings, logger, clientCache, poolMetrics);
+                if (settings.adaptivePool.enabled) {
+                    poolSizer = new AdaptivePoolSizer(
+                            () -> clientFactory.connectionPools(created),
+                            poolMetrics,
+                            settings.adaptivePool,
+                            logger
+                    );
+                }
+                client = created;
             }
             return client;
         }
     }
 
+    @Override
+    public RedisAutoBatcher autoBatcher() {
+        ensureEnabled();
+        if (!settings.autoBatch.enabled) {
+            throw new IllegalStateException("Redis auto-batching is disabled (redis.auto-batch.enabled=false).");
+        }
+        DefaultRedisAutoBatcher current = autoBatcher;
+        if (current != null) {
+            return current;
+        }
+        synchronized (autoBatcherLock) {
+            ensureNotClosing();
+            if (autoBatcher == null) {
+                autoBatcher = new DefaultRedisAutoBatcher(this, settings.autoBatch, logger);
+            }
+            return autoBatcher;
+        }
+    }
+
+    @Override
+    public RedisSubscriptions subscriptions() {
+        ensureEnabled();
+        DefaultRedisSubscriptions current = subscriptions;
+        if (current != null) {
+            return current;
+        }
+        synchronized (subscriptionsLock) {
+            if (subscriptions == null) {
+                subscriptions = new DefaultRedisSubscriptions(
+                        this,
+                        settings.pubsub,
+                        index -> clientFactory.createSubscriberConnection(settings, index),
+                        logger
+                );
+            }
+            return subscriptions;
+        }
+    }
+
+    @Override
+    public RedisStreamConsumer startStreamConsumer(StreamConsumerSpec spec) {
+        ensureEnabled();
+        Objects.requireNonNull(spec, "spec");
+        // a blocking read must return before the socket timeout
+        int blockMillis = Math.max(1, Math.min(spec.getBlockMillis(), settings.socketTimeoutMillis * 3 / 4));
+        AtomicReference<DefaultRedisStreamConsumer> self = new AtomicReference<>();
+        DefaultRedisStreamConsumer consumer = new DefaultRedisStreamConsumer(
+                this,
+                spec,
+                blockMillis,
+                logger,
+                () -> streamConsumers.remove(self.get())
+        );
+        self.set(consumer);
+        streamConsumers.add(consumer);
+        if (closing.get()) {
+            // close() may already have walked the consumers
+            consumer.close();
+            ensureNotClosing();
+        }
+        return consumer;
+    }
+
+    @Override
+    public RedisScripts scripts() {
+        ensureEnabled();
+        DefaultRedisScripts current = scripts;
+        if (current != null) {
+            return current;
+        }
+        synchronized (scriptsLock) {
+            if (scripts == null) {
+                scripts = new DefaultRedisScripts(this, isCluster(), logger);
+            }
+            return scripts;
+        }
+    }
+
+    @Override
+    public ClientCacheStats clientCacheStats() {
+        Cache current = clientCache;
+        if (current == null) {
+            return ClientCacheStats.disabled();
+        }
+        CacheStats stats = current.getStats();
+        return new ClientCacheStats(
+                true,
+                stats.getHitCount(),
+                stats.getMissCount(),
+                stats.getEvictCount(),
+                stats.getInvalidationCount(),
+                current.getSize(),
+                current.getMaxSize()
+        );
+    }
+
+    @Override
+    public PoolStats poolStats() {
+        UnifiedJedis current = client;
+        if (current == null) {
+            return PoolStats.empty();
+        }
+        int active = 0;
+        int idle = 0;
+        int waiters = 0;
+        int maxTotal = 0;
+        int minIdle = 0;
+        for (Pool<Connection> pool : clientFactory.connectionPools(current)) {
+            active += pool.getNumActive();
+            idle += pool.getNumIdle();
+            waiters += pool.getNumWaiters();
+            maxTotal += pool.getMaxTotal();
+            minIdle += pool.getMinIdle();
+        }
+        AdaptivePoolSizer sizer = poolSizer;
+        PoolMetrics metrics = poolMetrics;
+        return new PoolStats(
+                metrics != null,
+                active,
+                idle,
+                waiters,
+                maxTotal,
+                minIdle,
+                sizer == null ? 0L : sizer.adjustments(),
+                metrics == null ? 0L : metrics.failedBorrows(),
+                metrics == null ? null : metrics.borrowWait(),
+                metrics == null ? null : metrics.commandLatency()
+        );
+    }
+
     @Override
     public void close() {
-        if (!closed.compareAndSet(false, true)) {
+        if (!closing.compareAndSet(false, true)) {
             return;
         }
+        // consumers acknowledge and the batcher sends what is still queued, so both close before `closed`
+        // turns the client away
+        for (DefaultRedisStreamConsumer consumer : streamConsumers) {
+            consumer.close();
+        }
+        DefaultRedisAutoBatcher currentBatcher;
+        synchronized (autoBatcherLock) {
+            currentBatcher = autoBatcher;
+        }
+        if (currentBatcher != null) {
+            currentBatcher.close();
+        }
+        closed.set(true);
+        DefaultRedisSubscriptions currentSubscriptions = subscriptions;
+        if (currentSubscriptions != null) {
+            currentSubscriptions.close();
+        }
+        AdaptivePoolSizer currentSizer = poolSizer;
+        if (currentSizer != null) {
+            currentSizer.close();
+        }
         UnifiedJedis current = client;
         if (current != null) {
             current.close();
@@ -103,6 +293,15 @@ public final class DefaultRedisService implements RedisService {
         }
     }
 
+    /**
+     * Refuses new batchers and consumers once {@link #close()} has started draining the existing ones.
+     */
+    private void ensureNotClosing() {
+        if (closing.get()) {
+            throw new IllegalStateException("Redis service is closed.");
+        }
+    }
+
     private void ensureEnabled() {
         if (!settings.enabled) {
             throw new IllegalStateException("Redis is disabled (redis.enabled=false).");
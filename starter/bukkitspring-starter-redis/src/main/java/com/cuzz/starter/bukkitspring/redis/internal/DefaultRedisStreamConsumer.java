@@ -0,0 +1,403 @@
+package com.cuzz.starter.bukkitspring.redis.internal;
+
+import com.cuzz.starter.bukkitspring.redis.api.RedisService;
+import com.cuzz.starter.bukkitspring.redis.api.RedisStreamConsumer;
+import com.cuzz.starter.bukkitspring.redis.api.StreamConsumerSpec;
+import com.cuzz.starter.bukkitspring.redis.api.StreamConsumerState;
+import com.cuzz.starter.bukkitspring.redis.api.StreamConsumerStats;
+import redis.clients.jedis.StreamEntryID;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.params.XAutoClaimParams;
+import redis.clients.jedis.params.XReadGroupParams;
+import redis.clients.jedis.resps.StreamEntry;
+import redis.clients.jedis.resps.StreamGroupInfo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Consumer-group reader: one thread runs XREADGROUP and XAUTOCLAIM and hands entries to a fixed worker
+ * pool. A semaphore of {@code maxInFlight} permits is the backpressure; the reader only asks for as
+ * many entries as there are free permits. Workers queue acknowledgements, which go out as one XACK
+ * once {@code ackBatchSize} are queued or {@code ackIntervalMillis} passed.
+ */
+final class DefaultRedisStreamConsumer implements RedisStreamConsumer {
+    private static final long METRICS_INTERVAL_MILLIS = 1000L;
+    private static final long MAX_RETRY_DELAY_MILLIS = 30000L;
+    private static final long PAUSED_WAIT_MILLIS = 100L;
+
+    private final RedisService service;
+    private final StreamConsumerSpec spec;
+    private final int blockMillis;
+    private final Logger logger;
+    private final Runnable onClose;
+    private final ExecutorService workers;
+    private final Semaphore permits;
+    private final Thread reader;
+    private final Object lock = new Object();
+    private final Object ackLock = new Object();
+    private final Queue<StreamEntryID> acks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedAcks = new AtomicInteger();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder claimed = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder acked = new LongAdder();
+    private volatile StreamConsumerState state = StreamConsumerState.RUNNING;
+    private volatile long pending = -1;
+    private volatile long lag = -1;
+    private volatile double processedPerSecond;
+    private volatile long lastAckFlush;
+    private long nextClaim;
+    private StreamEntryID claimCursor = new StreamEntryID();
+    private long lastMetrics;
+    private long lastProcessed;
+
+    DefaultRedisStreamConsumer(RedisService service,
+                               StreamConsumerSpec spec,
+                               int blockMillis,
+                               Logger logger,
+                               Runnable onClose) {
+        this.service = service;
+        this.spec = spec;
+        this.blockMillis = blockMillis;
+        this.logger = logger;
+        this.onClose = onClose;
+        this.workers = RedisExecutors.fixed(spec.getWorkers(), "bukkitspring-redis-stream-worker-");
+        this.permits = new Semaphore(spec.getMaxInFlight());
+        if (spec.isCreateGroup()) {
+            createGroup();
+        }
+        this.reader = new Thread(this::run, "bukkitspring-redis-stream-" + spec.getStream() + "-" + spec.getConsumer());
+        this.reader.setDaemon(true);
+        this.reader.start();
+    }
+
+    @Override
+    public StreamConsumerSpec spec() {
+        return spec;
+    }
+
+    @Override
+    public StreamConsumerState state() {
+        return state;
+    }
+
+    @Override
+    public void pause() {
+        synchronized (lock) {
+            if (state == StreamConsumerState.RUNNING) {
+                state = StreamConsumerState.PAUSED;
+            }
+        }
+    }
+
+    @Override
+    public void resume() {
+        synchronized (lock) {
+            if (state == StreamConsumerState.PAUSED) {
+                state = StreamConsumerState.RUNNING;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public StreamConsumerStats stats() {
+        return new StreamConsumerStats(
+                state,
+                delivered.sum(),
+                claimed.sum(),
+                processed.sum(),
+                failed.sum(),
+                acked.sum(),
+                spec.getMaxInFlight() - permits.availablePermits(),
+                pending,
+                lag,
+                processedPerSecond
+        );
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (state == StreamConsumerState.STOPPED) {
+                return;
+            }
+            state = StreamConsumerState.STOPPED;
+            lock.notifyAll();
+        }
+        try {
+            // the reader may be inside a blocking read
+            reader.join(blockMillis + 1000L);
+            workers.shutdown();
+            if (!workers.awaitTermination(5, TimeUnit.SECONDS)) {
+                logWarning("[Redis] Stream consumer " + spec.getConsumer() + " left entries unfinished.", null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushAcks();
+        onClose.run();
+    }
+
+    private void run() {
+        long retryDelay = 0;
+        while (state != StreamConsumerState.STOPPED) {
+            try {
+                if (state == StreamConsumerState.PAUSED) {
+                    flushAcks();
+                    long now = System.currentTimeMillis();
+                    if (now - lastMetrics >= METRICS_INTERVAL_MILLIS) {
+                        refreshMetrics(now);
+                    }
+                    await(PAUSED_WAIT_MILLIS);
+                    continue;
+                }
+                long now = System.currentTimeMillis();
+                if (spec.getClaimIdleMillis() > 0 && now >= nextClaim) {
+                    claim();
+                    nextClaim = now + spec.getClaimIntervalMillis();
+                }
+                read();
+                now = System.currentTimeMillis();
+                if (now - lastAckFlush >= spec.getAckIntervalMillis()) {
+                    flushAcks();
+                }
+                if (now - lastMetrics >= METRICS_INTERVAL_MILLIS) {
+                    refreshMetrics(now);
+                }
+                retryDelay = 0;
+            } catch (RuntimeException e) {
+                if (state == StreamConsumerState.STOPPED) {
+                    return;
+                }
+                if (spec.isCreateGroup() && isMissingGroup(e)) {
+                    // the stream was deleted or the group destroyed
+                    recreateGroup();
+                }
+                if (retryDelay == 0) {
+                    logWarning("[Redis] Stream consumer " + spec.getConsumer() + " on " + spec.getStream()
+                            + " failed, retrying.", e);
+                }
+                retryDelay = retryDelay == 0 ? 100L : Math.min(retryDelay * 2, MAX_RETRY_DELAY_MILLIS);
+                await(retryDelay);
+            }
+        }
+    }
+
+    private void read() {
+        int count = freePermits();
+        if (count == 0 || state != StreamConsumerState.RUNNING) {
+            return;
+        }
+        XReadGroupParams params = XReadGroupParams.xReadGroupParams().count(count).block(blockMillis);
+        List<Map.Entry<String, List<StreamEntry>>> batches = service.client().xreadGroup(
+                spec.getGroup(),
+                spec.getConsumer(),
+                params,
+                Map.of(spec.getStream(), StreamEntryID.XREADGROUP_UNDELIVERED_ENTRY)
+        );
+        if (batches == null) {
+            return;
+        }
+        for (Map.Entry<String, List<StreamEntry>> batch : batches) {
+            dispatch(batch.getValue());
+        }
+    }
+
+    /**
+     * Take over entries that other consumers (or this one, before a restart) left pending too long.
+     */
+    private void claim() {
+        int count = freePermits();
+        if (count == 0 || state != StreamConsumerState.RUNNING) {
+            return;
+        }
+        Map.Entry<StreamEntryID, List<StreamEntry>> result = service.client().xautoclaim(
+                spec.getStream(),
+                spec.getGroup(),
+                spec.getConsumer(),
+                spec.getClaimIdleMillis(),
+                claimCursor,
+                XAutoClaimParams.xAutoClaimParams().count(count)
+        );
+        if (result == null) {
+            return;
+        }
+        claimCursor = result.getKey() == null ? new StreamEntryID() : result.getKey();
+        List<StreamEntry> entries = result.getValue();
+        if (entries != null && !entries.isEmpty()) {
+            claimed.add(entries.size());
+            dispatch(entries);
+        }
+    }
+
+    /**
+     * Wait briefly for a free permit so a saturated pool does not spin. The caller checks the state
+     * again afterwards, a pause may have come in while waiting.
+     */
+    private int freePermits() {
+        try {
+            if (!permits.tryAcquire(PAUSED_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                return 0;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+        permits.release();
+        return Math.min(spec.getBatchSize(), permits.availablePermits());
+    }
+
+    private void dispatch(List<StreamEntry> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return;
+        }
+        // only this thread acquires, so the permits counted before the read are still free
+        permits.acquireUninterruptibly(entries.size());
+        delivered.add(entries.size());
+        for (StreamEntry entry : entries) {
+            try {
+                workers.execute(() -> process(entry));
+            } catch (RejectedExecutionException e) {
+                // closing: the entry stays pending and is claimed again later
+                permits.release();
+            }
+        }
+    }
+
+    private void process(StreamEntry entry) {
+        try {
+            // a claimed entry may have been deleted in the meantime; there is nothing left to handle
+            if (entry.getFields() != null) {
+                spec.getHandler().handle(entry);
+            }
+            processed.increment();
+            acks.add(entry.getID());
+            if (queuedAcks.incrementAndGet() >= spec.getAckBatchSize()) {
+                flushAcks();
+            }
+        } catch (Exception e) {
+            failed.increment();
+            logWarning("[Redis] Handler failed for " + spec.getStream() + " entry " + entry.getID() + ".", e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void flushAcks() {
+        synchronized (ackLock) {
+            lastAckFlush = System.currentTimeMillis();
+            while (true) {
+                List<StreamEntryID> ids = new ArrayList<>(Math.min(queuedAcks.get(), spec.getAckBatchSize()));
+                StreamEntryID id;
+                while (ids.size() < spec.getAckBatchSize() && (id = acks.poll()) != null) {
+                    ids.add(id);
+                }
+                if (ids.isEmpty()) {
+                    return;
+                }
+                queuedAcks.addAndGet(-ids.size());
+                try {
+                    service.client().xack(spec.getStream(), spec.getGroup(), ids.toArray(new StreamEntryID[0]));
+                    acked.add(ids.size());
+                } catch (RuntimeException e) {
+                    // unacknowledged entries stay pending and are claimed again
+                    logWarning("[Redis] XACK of " + ids.size() + " entries on " + spec.getStream() + " failed.", e);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void refreshMetrics(long now) {
+        long total = processed.sum();
+        if (lastMetrics > 0) {
+            processedPerSecond = (total - lastProcessed) * 1000.0 / (now - lastMetrics);
+        }
+        lastProcessed = total;
+        lastMetrics = now;
+        try {
+            for (StreamGroupInfo info : service.client().xinfoGroups(spec.getStream())) {
+                if (spec.getGroup().equals(info.getName())) {
+                    pending = info.getPending();
+                    lag = toLong(info.getGroupInfo().get("lag"));
+                }
+            }
+        } catch (RuntimeException e) {
+            pending = -1;
+            lag = -1;
+        }
+    }
+
+    private void createGroup() {
+        try {
+            service.client().xgroupCreate(spec.getStream(), spec.getGroup(), spec.getStartId(), true);
+        } catch (JedisDataException e) {
+            if (e.getMessage() == null || !e.getMessage().startsWith("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    private void recreateGroup() {
+        try {
+            createGroup();
+        } catch (RuntimeException e) {
+            logWarning("[Redis] Could not recreate group " + spec.getGroup() + " on " + spec.getStream() + ".", e);
+        }
+    }
+
+    private void await(long millis) {
+        synchronized (lock) {
+            if (state == StreamConsumerState.STOPPED) {
+                return;
+            }
+            try {
+                lock.wait(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static boolean isMissingGroup(RuntimeException e) {
+        return e instanceof JedisDataException && e.getMessage() != null && e.getMessage().startsWith("NOGROUP");
+    }
+
+    private static long toLong(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof byte[] bytes) {
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        if (value instanceof String text) {
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException ignored) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private void logWarning(String message, Throwable error) {
+        if (logger != null) {
+            logger.log(Level.WARNING, message, error);
+        }
+    }
+}
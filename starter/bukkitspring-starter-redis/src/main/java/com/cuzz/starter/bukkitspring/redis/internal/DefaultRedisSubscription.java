@@ -0,0 +1,130 @@
+package com.cuzz.starter.bukkitspring.redis.internal;
+
+import com.cuzz.starter.bukkitspring.redis.api.RedisMessageListener;
+import com.cuzz.starter.bukkitspring.redis.api.RedisSubscription;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A listener with its own bounded queue, drained by at most one task at a time so messages arrive in
+ * order and a slow listener never holds up the connection or other listeners.
+ */
+final class DefaultRedisSubscription implements RedisSubscription {
+    private static final int DRAIN_BUDGET = 256;
+
+    private final String name;
+    private final boolean pattern;
+    private final RedisMessageListener listener;
+    private final Executor executor;
+    private final int maxQueued;
+    private final PubSubConnection connection;
+    private final Logger logger;
+    private final Queue<String[]> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+
+    DefaultRedisSubscription(String name,
+                             boolean pattern,
+                             RedisMessageListener listener,
+                             Executor executor,
+                             int maxQueued,
+                             PubSubConnection connection,
+                             Logger logger) {
+        this.name = name;
+        this.pattern = pattern;
+        this.listener = listener;
+        this.executor = executor;
+        this.maxQueued = maxQueued;
+        this.connection = connection;
+        this.logger = logger;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public boolean isPattern() {
+        return pattern;
+    }
+
+    @Override
+    public long droppedMessages() {
+        return dropped.get();
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            connection.remove(this);
+            queue.clear();
+            queued.set(0);
+        }
+    }
+
+    /**
+     * Queue a message from the connection thread.
+     *
+     * @return false when it was dropped
+     */
+    boolean offer(String channel, String message) {
+        if (closed.get()) {
+            return true;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            return false;
+        }
+        queue.add(new String[]{channel, message});
+        schedule();
+        return true;
+    }
+
+    private void schedule() {
+        if (!scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            scheduled.set(false);
+            logWarning("[Redis] Dispatch executor rejected messages for " + name + ".", e);
+        }
+    }
+
+    private void drain() {
+        int budget = DRAIN_BUDGET;
+        String[] next;
+        while (budget-- > 0 && !closed.get() && (next = queue.poll()) != null) {
+            queued.decrementAndGet();
+            try {
+                listener.onMessage(next[0], next[1]);
+            } catch (RuntimeException e) {
+                logWarning("[Redis] Listener of " + name + " failed.", e);
+            }
+        }
+        scheduled.set(false);
+        // budget used up, or a message arrived after the last poll
+        if (!closed.get() && !queue.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private void logWarning(String message, Throwable error) {
+        if (logger != null) {
+            logger.log(Level.WARNING, message, error);
+        }
+    }
+}
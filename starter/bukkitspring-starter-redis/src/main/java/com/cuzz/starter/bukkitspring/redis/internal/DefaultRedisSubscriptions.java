@@ -0,0 +1,132 @@
+package com.cuzz.starter.bukkitspring.redis.internal;
+
+import com.cuzz.starter.bukkitspring.redis.api.PubSubStats;
+import com.cuzz.starter.bukkitspring.redis.api.RedisMessageListener;
+import com.cuzz.starter.bukkitspring.redis.api.RedisService;
+import com.cuzz.starter.bukkitspring.redis.api.RedisSubscription;
+import com.cuzz.starter.bukkitspring.redis.api.RedisSubscriptions;
+import com.cuzz.starter.bukkitspring.redis.config.RedisPubSubSettings;
+import redis.clients.jedis.Jedis;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.logging.Logger;
+
+/**
+ * Spreads channels and patterns over {@code redis.pubsub.connections} subscriber connections by name,
+ * so each name is subscribed once no matter how many listeners share it.
+ */
+final class DefaultRedisSubscriptions implements RedisSubscriptions, AutoCloseable {
+    private final RedisService service;
+    private final RedisPubSubSettings settings;
+    private final Logger logger;
+    private final PubSubConnection[] connections;
+    private final ExecutorService dispatchExecutor;
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder droppedMessages = new LongAdder();
+    private final LongAdder reconnects = new LongAdder();
+
+    DefaultRedisSubscriptions(RedisService service,
+                              RedisPubSubSettings settings,
+                              IntFunction<Jedis> connector,
+                              Logger logger) {
+        this.service = service;
+        this.settings = settings;
+        this.logger = logger;
+        this.dispatchExecutor = settings.dispatchThreads > 0
+                ? RedisExecutors.fixed(settings.dispatchThreads, "bukkitspring-redis-pubsub-dispatch-")
+                : null;
+        this.connections = new PubSubConnection[settings.connections];
+        for (int i = 0; i < connections.length; i++) {
+            connections[i] = new PubSubConnection(i, settings, connector, this, logger);
+        }
+    }
+
+    @Override
+    public RedisSubscription subscribe(String channel, RedisMessageListener listener) {
+        return subscribe(channel, listener, defaultExecutor());
+    }
+
+    @Override
+    public RedisSubscription subscribe(String channel, RedisMessageListener listener, Executor executor) {
+        return register(channel, false, listener, executor);
+    }
+
+    @Override
+    public RedisSubscription psubscribe(String pattern, RedisMessageListener listener) {
+        return psubscribe(pattern, listener, defaultExecutor());
+    }
+
+    @Override
+    public RedisSubscription psubscribe(String pattern, RedisMessageListener listener, Executor executor) {
+        return register(pattern, true, listener, executor);
+    }
+
+    @Override
+    public PubSubStats stats() {
+        long subscriptions = 0;
+        int connected = 0;
+        for (PubSubConnection connection : connections) {
+            subscriptions += connection.subscriptionCount();
+            if (connection.isConnected()) {
+                connected++;
+            }
+        }
+        return new PubSubStats(
+                subscriptions,
+                connected,
+                messages.sum(),
+                droppedMessages.sum(),
+                reconnects.sum()
+        );
+    }
+
+    @Override
+    public void close() {
+        for (PubSubConnection connection : connections) {
+            connection.close();
+        }
+        if (dispatchExecutor != null) {
+            dispatchExecutor.shutdown();
+        }
+    }
+
+    void recordDelivery(boolean queued) {
+        messages.increment();
+        if (!queued) {
+            droppedMessages.increment();
+        }
+    }
+
+    void recordReconnect() {
+        reconnects.increment();
+    }
+
+    private RedisSubscription register(String name, boolean pattern, RedisMessageListener listener, Executor executor) {
+        Objects.requireNonNull(name, pattern ? "pattern" : "channel");
+        Objects.requireNonNull(listener, "listener");
+        Objects.requireNonNull(executor, "executor");
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException((pattern ? "Pattern" : "Channel") + " must not be empty.");
+        }
+        PubSubConnection connection = connections[Math.floorMod(name.hashCode(), connections.length)];
+        DefaultRedisSubscription subscription = new DefaultRedisSubscription(
+                name,
+                pattern,
+                listener,
+                executor,
+                settings.maxQueuedMessages,
+                connection,
+                logger
+        );
+        connection.add(subscription);
+        return subscription;
+    }
+
+    private Executor defaultExecutor() {
+        return dispatchExecutor != null ? dispatchExecutor : service.executor();
+    }
+}
@@ -0,0 +1,104 @@
+package com.cuzz.starter.bukkitspring.redis.internal;
+
+import com.cuzz.starter.bukkitspring.redis.api.RedisTokenBucket;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * Hands out leased tokens with a compare-and-set; only the thread that runs dry takes the lease lock and calls
+ * Redis. After a refused lease the bucket answers locally until the retry delay Redis reported has passed.
+ */
+final class DefaultRedisTokenBucket implements RedisTokenBucket {
+    private final String key;
+    private final long capacity;
+    private final int leaseSize;
+    private final LongFunction<long[]> lease;
+    private final AtomicLong local = new AtomicLong();
+    private final LongAdder leases = new LongAdder();
+    private final Object leaseLock = new Object();
+    private volatile long emptyUntilNanos;
+
+    /**
+     * @param lease asks Redis for up to the given number of tokens; returns {granted, retry-after millis}
+     */
+    DefaultRedisTokenBucket(String key, long capacity, int leaseSize, LongFunction<long[]> lease) {
+        this.key = key;
+        this.capacity = capacity;
+        this.leaseSize = leaseSize;
+        this.lease = lease;
+        this.emptyUntilNanos = System.nanoTime();
+    }
+
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public boolean tryAcquire(int permits) {
+        if (permits < 1 || permits > capacity) {
+            throw new IllegalArgumentException("permits must be within 1.." + capacity);
+        }
+        if (takeLocal(permits)) {
+            return true;
+        }
+        if (System.nanoTime() - emptyUntilNanos < 0) {
+            return false;
+        }
+        synchronized (leaseLock) {
+            // another thread may have leased while this one waited for the lock
+            if (takeLocal(permits)) {
+                return true;
+            }
+            long now = System.nanoTime();
+            if (now - emptyUntilNanos < 0) {
+                return false;
+            }
+            long missing = permits - local.get();
+            long[] reply = lease.apply(Math.max(leaseSize, missing));
+            leases.increment();
+            if (reply[0] > 0) {
+                local.addAndGet(reply[0]);
+            }
+            if (reply[1] > 0) {
+                emptyUntilNanos = now + TimeUnit.MILLISECONDS.toNanos(reply[1]);
+            }
+            return takeLocal(permits);
+        }
+    }
+
+    @Override
+    public long localTokens() {
+        return local.get();
+    }
+
+    @Override
+    public long leases() {
+        return leases.sum();
+    }
+
+    private boolean takeLocal(int permits) {
+        long current = local.get();
+        while (current >= permits) {
+            if (local.compareAndSet(current, current - permits)) {
+                return true;
+            }
+            current = local.get();
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "RedisTokenBucket{"
+                + "key=" + key
+                + ", capacity=" + capacity
+                + ", leaseSize=" + leaseSize
+                + ", localTokens=" + local.get()
+                + ", leases=" + leases.sum()
+                + '}';
+    }
+}
@@ -0,0 +1,74 @@
+package com.cuzz.starter.bukkitspring.redis.internal;
+
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.csc.Cache;
+import redis.clients.jedis.providers.ClusterConnectionProvider;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Cluster provider that records how long each borrow waits. The lookup methods call each other, so only the
+ * outermost call on a thread is timed.
+ */
+final class MeteredClusterConnectionProvider extends ClusterConnectionProvider {
+    private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+    private final PoolMetrics metrics;
+
+    MeteredClusterConnectionProvider(Set<HostAndPort> nodes,
+                                     JedisClientConfig clientConfig,
+                                     Cache cache,
+                                     GenericObjectPoolConfig<Connection> poolConfig,
+                                     Duration topologyRefreshPeriod,
+                                     PoolMetrics metrics) {
+        super(nodes, clientConfig, cache, poolConfig, topologyRefreshPeriod);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Connection getConnection(HostAndPort node) {
+        return timed(() -> super.getConnection(node));
+    }
+
+    @Override
+    public Connection getConnection(CommandArguments args) {
+        return timed(() -> super.getConnection(args));
+    }
+
+    @Override
+    public Connection getConnection() {
+        return timed(super::getConnection);
+    }
+
+    @Override
+    public Connection getConnectionFromSlot(int slot) {
+        return timed(() -> super.getConnectionFromSlot(slot));
+    }
+
+    private Connection timed(Supplier<Connection> borrow) {
+        int[] calls = depth.get();
+        if (calls[0]++ > 0) {
+            try {
+                return borrow.get();
+            } finally {
+                calls[0]--;
+            }
+        }
+        long started = System.nanoTime();
+        try {
+            Connection connection = borrow.get();
+            metrics.recordBorrow(System.nanoTime() - started);
+            return connection;
+        } catch (RuntimeException e) {
+            metrics.recordFailedBorrow();
+            throw e;
+        } finally {
+            calls[0]--;
+        }
+    }
+}
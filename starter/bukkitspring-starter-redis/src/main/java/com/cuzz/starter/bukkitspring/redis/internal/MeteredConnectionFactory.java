@@ -0,0 +1,88 @@
+package com.cuzz.starter.bukkitspring.redis.internal;
+
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.ConnectionFactory;
+import redis.clients.jedis.DefaultJedisSocketFactory;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.JedisSocketFactory;
+import redis.clients.jedis.csc.Cache;
+import redis.clients.jedis.csc.CacheConnection;
+
+/**
+ * Pooled connection factory whose connections time every command they execute.
+ */
+final class MeteredConnectionFactory extends ConnectionFactory {
+    private final JedisSocketFactory socketFactory;
+    private final JedisClientConfig clientConfig;
+    private final Cache cache;
+    private final PoolMetrics metrics;
+
+    MeteredConnectionFactory(HostAndPort hostAndPort, JedisClientConfig clientConfig, Cache cache, PoolMetrics metrics) {
+        super(hostAndPort, clientConfig, cache);
+        this.socketFactory = new DefaultJedisSocketFactory(hostAndPort, clientConfig);
+        this.clientConfig = clientConfig;
+        this.cache = cache;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public PooledObject<Connection> makeObject() {
+        Connection connection = cache == null
+                ? new TimedConnection(socketFactory, clientConfig, metrics)
+                : new TimedCacheConnection(socketFactory, clientConfig, cache, metrics);
+        return new DefaultPooledObject<>(connection);
+    }
+
+    private static <T> T timed(PoolMetrics metrics, CommandObject<T> commandObject, CommandCall<T> call) {
+        // the handshake runs inside the super constructor, before the metrics field is assigned
+        if (metrics == null) {
+            return call.execute(commandObject);
+        }
+        long started = System.nanoTime();
+        try {
+            return call.execute(commandObject);
+        } finally {
+            metrics.recordCommand(commandObject.getArguments(), System.nanoTime() - started);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CommandCall<T> {
+        T execute(CommandObject<T> commandObject);
+    }
+
+    private static final class TimedConnection extends Connection {
+        private final PoolMetrics metrics;
+
+        TimedConnection(JedisSocketFactory socketFactory, JedisClientConfig clientConfig, PoolMetrics metrics) {
+            super(socketFactory, clientConfig);
+            this.metrics = metrics;
+        }
+
+        @Override
+        public <T> T executeCommand(CommandObject<T> commandObject) {
+            return timed(metrics, commandObject, super::executeCommand);
+        }
+    }
+
+    private static final class TimedCacheConnection extends CacheConnection {
+        private final PoolMetrics metrics;
+
+        TimedCacheConnection(JedisSocketFactory socketFactory,
+                             JedisClientConfig clientConfig,
+                             Cache cache,
+                             PoolMetrics metrics) {
+            super(socketFactory, clientConfig, cache);
+            this.metrics = metrics;
+        }
+
+        @Override
+        public <T> T executeCommand(CommandObject<T> commandObject) {
+            return timed(metrics, commandObject, super::executeCommand);
+        }
+    }
+}
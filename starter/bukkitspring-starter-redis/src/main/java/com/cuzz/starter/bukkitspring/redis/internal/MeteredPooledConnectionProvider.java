@@ -0,0 +1,47 @@
+package com.cuzz.starter.bukkitspring.redis.internal;
+
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.providers.PooledConnectionProvider;
+
+/**
+ * Standalone pool provider that records how long each borrow waits.
+ */
+final class MeteredPooledConnectionProvider extends PooledConnectionProvider {
+    private final PoolMetrics metrics;
+
+    MeteredPooledConnectionProvider(MeteredConnectionFactory factory,
+                                    GenericObjectPoolConfig<Connection> poolConfig,
+                                    PoolMetrics metrics) {
+        super(factory, poolConfig);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Connection getConnection() {
+        long started = System.nanoTime();
+        try {
+            Connection connection = super.getConnection();
+            metrics.recordBorrow(System.nanoTime() - started);
+            return connection;
+        } catch (RuntimeException e) {
+            metrics.recordFailedBorrow();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(CommandArguments args) {
+        // the base implementation borrows from the pool directly rather than through getConnection()
+        long started = System.nanoTime();
+        try {
+            Connection connection = super.getConnection(args);
+            metrics.recordBorrow(System.nanoTime() - started);
+            return connection;
+        } catch (RuntimeException e) {
+            metrics.recordFailedBorrow();
+            throw e;
+        }
+    }
+}
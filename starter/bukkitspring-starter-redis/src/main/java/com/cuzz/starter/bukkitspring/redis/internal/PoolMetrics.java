@@ -0,0 +1,80 @@
+package com.cuzz.starter.bukkitspring.redis.internal;
+
+import com.cuzz.starter.bukkitspring.redis.api.LatencyStats;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.commands.ProtocolCommand;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Borrow-wait and per-command latency recorded by the metered connection pool.
+ */
+final class PoolMetrics {
+    private final LatencyHistogram borrowWait = new LatencyHistogram();
+    private final Map<String, LatencyHistogram> commands = new ConcurrentHashMap<>();
+    private final LongAdder failedBorrows = new LongAdder();
+    private final LongAdder slowBorrows = new LongAdder();
+    private final long slowBorrowNanos;
+
+    /**
+     * @param slowBorrowMillis borrows waiting at least this long are counted for the adaptive sizer
+     */
+    PoolMetrics(long slowBorrowMillis) {
+        this.slowBorrowNanos = TimeUnit.MILLISECONDS.toNanos(slowBorrowMillis);
+    }
+
+    void recordBorrow(long nanos) {
+        borrowWait.record(nanos);
+        if (nanos >= slowBorrowNanos) {
+            slowBorrows.increment();
+        }
+    }
+
+    void recordFailedBorrow() {
+        failedBorrows.increment();
+        slowBorrows.increment();
+    }
+
+    void recordCommand(CommandArguments arguments, long nanos) {
+        String name = commandName(arguments);
+        LatencyHistogram histogram = commands.get(name);
+        if (histogram == null) {
+            histogram = commands.computeIfAbsent(name, ignored -> new LatencyHistogram());
+        }
+        histogram.record(nanos);
+    }
+
+    /**
+     * Slow and failed borrows since the previous call.
+     */
+    long drainSlowBorrows() {
+        return slowBorrows.sumThenReset();
+    }
+
+    long failedBorrows() {
+        return failedBorrows.sum();
+    }
+
+    LatencyStats borrowWait() {
+        return borrowWait.snapshot();
+    }
+
+    Map<String, LatencyStats> commandLatency() {
+        Map<String, LatencyStats> snapshot = new TreeMap<>();
+        commands.forEach((name, histogram) -> snapshot.put(name, histogram.snapshot()));
+        return snapshot;
+    }
+
+    private static String commandName(CommandArguments arguments) {
+        ProtocolCommand command = arguments.getCommand();
+        if (command instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        return SafeEncoder.encode(command.getRaw());
+    }
+}
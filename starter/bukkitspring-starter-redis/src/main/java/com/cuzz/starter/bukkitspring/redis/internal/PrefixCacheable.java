@@ -0,0 +1,45 @@
+package com.cuzz.starter.bukkitspring.redis.internal;
+
+import redis.clients.jedis.commands.ProtocolCommand;
+import redis.clients.jedis.csc.Cacheable;
+import redis.clients.jedis.csc.DefaultCacheable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Caches the read commands Jedis supports when every key starts with one of the configured prefixes.
+ */
+final class PrefixCacheable implements Cacheable {
+    private final String[] prefixes;
+
+    PrefixCacheable(List<String> prefixes) {
+        this.prefixes = prefixes.toArray(new String[0]);
+    }
+
+    @Override
+    public boolean isCacheable(ProtocolCommand command, List<Object> keys) {
+        if (!DefaultCacheable.isDefaultCacheableCommand(command)) {
+            return false;
+        }
+        if (prefixes.length == 0) {
+            return true;
+        }
+        for (Object key : keys) {
+            if (!matches(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matches(Object key) {
+        String text = key instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : String.valueOf(key);
+        for (String prefix : prefixes) {
+            if (text.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
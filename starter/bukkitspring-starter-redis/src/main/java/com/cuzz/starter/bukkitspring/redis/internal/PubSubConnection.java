@@ -0,0 +1,330 @@
+package com.cuzz.starter.bukkitspring.redis.internal;
+
+import com.cuzz.starter.bukkitspring.redis.config.RedisPubSubSettings;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPubSub;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * One dedicated subscriber connection and the channels and patterns routed to it.
+ *
+ * <p>The maps hold what should be subscribed; the connection thread keeps Redis in line with them.
+ * A (re)connect subscribes everything in one command, and changes made while the connection is
+ * subscribed are sent right away. All writes to the connection happen under {@link #lock}.
+ */
+final class PubSubConnection {
+    private final int index;
+    private final RedisPubSubSettings settings;
+    private final IntFunction<Jedis> connector;
+    private final DefaultRedisSubscriptions owner;
+    private final Logger logger;
+    private final Map<String, List<DefaultRedisSubscription>> channels = new ConcurrentHashMap<>();
+    private final Map<String, List<DefaultRedisSubscription>> patterns = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private final Thread thread;
+    private Listener listener;
+    private volatile Jedis jedis;
+    private volatile boolean connected;
+    private volatile boolean closed;
+
+    PubSubConnection(int index,
+                     RedisPubSubSettings settings,
+                     IntFunction<Jedis> connector,
+                     DefaultRedisSubscriptions owner,
+                     Logger logger) {
+        this.index = index;
+        this.settings = settings;
+        this.connector = connector;
+        this.owner = owner;
+        this.logger = logger;
+        this.thread = new Thread(this::run, "bukkitspring-redis-pubsub-" + index);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    void add(DefaultRedisSubscription subscription) {
+        Map<String, List<DefaultRedisSubscription>> target = subscription.isPattern() ? patterns : channels;
+        synchronized (lock) {
+            boolean first = !target.containsKey(subscription.name());
+            target.computeIfAbsent(subscription.name(), ignored -> new CopyOnWriteArrayList<>()).add(subscription);
+            if (!first) {
+                return;
+            }
+            if (listener != null && listener.ready) {
+                send(() -> {
+                    if (subscription.isPattern()) {
+                        listener.psubscribe(subscription.name());
+                    } else {
+                        listener.subscribe(subscription.name());
+                    }
+                });
+            } else {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    void remove(DefaultRedisSubscription subscription) {
+        Map<String, List<DefaultRedisSubscription>> target = subscription.isPattern() ? patterns : channels;
+        synchronized (lock) {
+            List<DefaultRedisSubscription> listeners = target.get(subscription.name());
+            if (listeners == null || !listeners.remove(subscription) || !listeners.isEmpty()) {
+                return;
+            }
+            target.remove(subscription.name());
+            if (listener != null && listener.ready) {
+                send(() -> {
+                    if (subscription.isPattern()) {
+                        listener.punsubscribe(subscription.name());
+                    } else {
+                        listener.unsubscribe(subscription.name());
+                    }
+                });
+            }
+        }
+    }
+
+    long subscriptionCount() {
+        long count = 0;
+        for (List<DefaultRedisSubscription> listeners : channels.values()) {
+            count += listeners.size();
+        }
+        for (List<DefaultRedisSubscription> listeners : patterns.values()) {
+            count += listeners.size();
+        }
+        return count;
+    }
+
+    boolean isConnected() {
+        return connected;
+    }
+
+    void close() {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        disconnect();
+        try {
+            thread.join(1000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        long delay = settings.reconnectDelayMillis;
+        boolean failing = false;
+        while (!awaitWork()) {
+            Listener current;
+            List<String> initialChannels;
+            List<String> initialPatterns;
+            synchronized (lock) {
+                current = new Listener();
+                listener = current;
+                initialChannels = new ArrayList<>(channels.keySet());
+                initialPatterns = new ArrayList<>(patterns.keySet());
+                // one command starts the subscription, the other kind follows once it is confirmed
+                current.initialChannels = initialChannels;
+                current.initialPatterns = initialChannels.isEmpty() ? initialPatterns : List.of();
+            }
+            try {
+                Jedis connection = jedis;
+                if (connection == null) {
+                    connection = connector.apply(index);
+                    jedis = connection;
+                    if (closed) {
+                        disconnect();
+                        return;
+                    }
+                }
+                // returns once every channel and pattern was unsubscribed, the connection stays usable
+                if (!initialChannels.isEmpty()) {
+                    connection.subscribe(current, initialChannels.toArray(new String[0]));
+                } else if (!initialPatterns.isEmpty()) {
+                    connection.psubscribe(current, initialPatterns.toArray(new String[0]));
+                }
+                failing = false;
+                delay = settings.reconnectDelayMillis;
+            } catch (RuntimeException e) {
+                if (closed) {
+                    return;
+                }
+                if (current.ready) {
+                    failing = false;
+                    delay = settings.reconnectDelayMillis;
+                }
+                if (!failing) {
+                    logWarning("[Redis] Pub/sub connection " + index + " lost, resubscribing.", e);
+                    failing = true;
+                }
+                disconnect();
+                pause(delay);
+                delay = Math.min(delay * 2, settings.maxReconnectDelayMillis);
+                owner.recordReconnect();
+            } finally {
+                connected = false;
+                synchronized (lock) {
+                    current.ready = false;
+                    listener = null;
+                }
+            }
+        }
+        disconnect();
+    }
+
+    /**
+     * Wait until something should be subscribed.
+     *
+     * @return true once closed
+     */
+    private boolean awaitWork() {
+        synchronized (lock) {
+            while (!closed && channels.isEmpty() && patterns.isEmpty()) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return true;
+                }
+            }
+            return closed;
+        }
+    }
+
+    private void pause(long millis) {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            try {
+                lock.wait(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void disconnect() {
+        Jedis current = jedis;
+        jedis = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (RuntimeException ignored) {
+                // already broken
+            }
+        }
+    }
+
+    /**
+     * Send a subscription change; a failure means the connection is going away and the next connect
+     * subscribes from the maps again.
+     */
+    private void send(Runnable command) {
+        try {
+            command.run();
+        } catch (RuntimeException e) {
+            if (logger != null) {
+                logger.log(Level.FINE, "[Redis] Pub/sub change deferred to reconnect.", e);
+            }
+        }
+    }
+
+    private void reconcile(Listener current) {
+        synchronized (lock) {
+            if (current.ready || listener != current) {
+                return;
+            }
+            current.ready = true;
+            connected = true;
+            List<String> missingChannels = missing(channels, current.initialChannels);
+            List<String> missingPatterns = missing(patterns, current.initialPatterns);
+            List<String> staleChannels = stale(channels, current.initialChannels);
+            List<String> stalePatterns = stale(patterns, current.initialPatterns);
+            send(() -> {
+                if (!missingChannels.isEmpty()) {
+                    current.subscribe(missingChannels.toArray(new String[0]));
+                }
+                if (!missingPatterns.isEmpty()) {
+                    current.psubscribe(missingPatterns.toArray(new String[0]));
+                }
+                if (!staleChannels.isEmpty()) {
+                    current.unsubscribe(staleChannels.toArray(new String[0]));
+                }
+                if (!stalePatterns.isEmpty()) {
+                    current.punsubscribe(stalePatterns.toArray(new String[0]));
+                }
+            });
+        }
+    }
+
+    private static List<String> missing(Map<String, List<DefaultRedisSubscription>> desired, List<String> sent) {
+        List<String> missing = new ArrayList<>();
+        for (String name : desired.keySet()) {
+            if (!sent.contains(name)) {
+                missing.add(name);
+            }
+        }
+        return missing;
+    }
+
+    private static List<String> stale(Map<String, List<DefaultRedisSubscription>> desired, List<String> sent) {
+        List<String> stale = new ArrayList<>();
+        for (String name : sent) {
+            if (!desired.containsKey(name)) {
+                stale.add(name);
+            }
+        }
+        return stale;
+    }
+
+    private void logWarning(String message, Throwable error) {
+        if (logger != null) {
+            logger.log(Level.WARNING, message, error);
+        }
+    }
+
+    private final class Listener extends JedisPubSub {
+        private List<String> initialChannels = List.of();
+        private List<String> initialPatterns = List.of();
+        private volatile boolean ready;
+
+        @Override
+        public void onSubscribe(String channel, int subscribedChannels) {
+            reconcile(this);
+        }
+
+        @Override
+        public void onPSubscribe(String pattern, int subscribedChannels) {
+            reconcile(this);
+        }
+
+        @Override
+        public void onMessage(String channel, String message) {
+            dispatch(channels.get(channel), channel, message);
+        }
+
+        @Override
+        public void onPMessage(String pattern, String channel, String message) {
+            dispatch(patterns.get(pattern), channel, message);
+        }
+
+        private void dispatch(List<DefaultRedisSubscription> listeners, String channel, String message) {
+            if (listeners == null) {
+                return;
+            }
+            for (DefaultRedisSubscription subscription : listeners) {
+                owner.recordDelivery(subscription.offer(channel, message));
+            }
+        }
+    }
+}
@@ -6,27 +6,87 @@ import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import redis.clients.jedis.Connection;
 import redis.clients.jedis.DefaultJedisClientConfig;
 import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisClientConfig;
 import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.RedisProtocol;
 import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.csc.Cache;
+import redis.clients.jedis.csc.CacheConfig;
+import redis.clients.jedis.csc.CacheFactory;
+import redis.clients.jedis.util.Pool;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.logging.Logger;
 
 final class RedisClientFactory {
-    UnifiedJedis create(RedisSettings settings, Logger logger) {
-        JedisClientConfig clientConfig = buildClientConfig(settings);
+    private static final long ADAPTIVE_EVICTION_RUN_MILLIS = 30000L;
+    private static final long ADAPTIVE_SOFT_MIN_IDLE_MILLIS = 60000L;
+
+    /**
+     * @param cache   client-side cache from {@link #createClientCache}, or null
+     * @param metrics borrow and command timings, or null for plain Jedis pools
+     */
+    UnifiedJedis create(RedisSettings settings, Logger logger, Cache cache, PoolMetrics metrics) {
+        JedisClientConfig clientConfig = buildClientConfig(
+                settings,
+                settings.socketTimeoutMillis,
+                settings.database,
+                cache != null
+        );
         GenericObjectPoolConfig<Connection> poolConfig = buildPoolConfig(settings);
 
         if (settings.mode == RedisMode.CLUSTER) {
             warnClusterDatabaseIgnored(settings, logger);
-            return createClusterClient(settings, clientConfig, poolConfig);
+            return createClusterClient(settings, clientConfig, poolConfig, cache, metrics);
+        }
+        return createStandaloneClient(settings, clientConfig, poolConfig, cache, metrics);
+    }
+
+    /**
+     * The connection pools behind {@code client}: one in standalone mode, one per known node in cluster mode.
+     */
+    List<? extends Pool<Connection>> connectionPools(UnifiedJedis client) {
+        if (client instanceof JedisPooled pooled) {
+            return List.of(pooled.getPool());
+        }
+        if (client instanceof JedisCluster cluster) {
+            return new ArrayList<>(cluster.getClusterNodes().values());
         }
-        return createStandaloneClient(settings, clientConfig, poolConfig);
+        return List.of();
+    }
+
+    /**
+     * The local cache of server-assisted client-side caching, or null when {@code redis.client-cache} is off.
+     * Jedis invalidates it from the tracking messages Redis pushes on the command connections.
+     */
+    Cache createClientCache(RedisSettings settings) {
+        if (!settings.clientCache.enabled) {
+            return null;
+        }
+        return CacheFactory.getCache(CacheConfig.builder()
+                .maxSize(settings.clientCache.maxSize)
+                .cacheable(new PrefixCacheable(settings.clientCache.prefixes))
+                .build());
+    }
+
+    /**
+     * A dedicated, unpooled connection for pub/sub; reads never time out. In cluster mode messages are
+     * broadcast to every node, so subscriber {@code index} simply picks one of the configured nodes.
+     * Channels are not scoped by database, so it stays on database 0.
+     */
+    Jedis createSubscriberConnection(RedisSettings settings, int index) {
+        JedisClientConfig clientConfig = buildClientConfig(settings, 0, 0, false);
+        if (settings.mode == RedisMode.CLUSTER) {
+            List<HostAndPort> nodes = new ArrayList<>(parseClusterNodes(settings, settings.cluster.nodes));
+            return new Jedis(nodes.get(Math.floorMod(index, nodes.size())), clientConfig);
+        }
+        return new Jedis(new HostAndPort(settings.host, settings.port), clientConfig);
     }
 
     private void warnClusterDatabaseIgnored(RedisSettings settings, Logger logger) {
@@ -35,11 +95,14 @@ final class RedisClientFactory {
         }
     }
 
-    private JedisClientConfig buildClientConfig(RedisSettings settings) {
+    private JedisClientConfig buildClientConfig(RedisSettings settings,
+                                                int socketTimeoutMillis,
+                                                int database,
+                                                boolean resp3) {
         DefaultJedisClientConfig.Builder builder = DefaultJedisClientConfig.builder()
                 .connectionTimeoutMillis(settings.connectionTimeoutMillis)
-                .socketTimeoutMillis(settings.socketTimeoutMillis)
-                .database(settings.database)
+                .socketTimeoutMillis(socketTimeoutMillis)
+                .database(database)
                 .ssl(settings.ssl)
                 .clientName(settings.clientName);
         if (!settings.user.isBlank()) {
@@ -48,6 +111,10 @@ final class RedisClientFactory {
         if (!settings.password.isBlank()) {
             builder.password(settings.password);
         }
+        if (resp3) {
+            // client-side caching needs RESP3 for the invalidation pushes
+            builder.protocol(RedisProtocol.RESP3);
+        }
         return builder.build();
     }
 
@@ -57,22 +124,53 @@ final class RedisClientFactory {
         poolConfig.setMaxIdle(settings.poolMaxIdle);
         poolConfig.setMinIdle(settings.poolMinIdle);
         poolConfig.setMaxWaitMillis(settings.poolMaxWaitMillis);
+        if (settings.adaptivePool.enabled) {
+            poolConfig.setMinIdle(settings.adaptivePool.minIdleFloor);
+            // the evictor closes connections idle above the current floor once the load goes away
+            poolConfig.setTimeBetweenEvictionRuns(Duration.ofMillis(ADAPTIVE_EVICTION_RUN_MILLIS));
+            poolConfig.setSoftMinEvictableIdleDuration(Duration.ofMillis(ADAPTIVE_SOFT_MIN_IDLE_MILLIS));
+        }
         return poolConfig;
     }
 
     private UnifiedJedis createStandaloneClient(RedisSettings settings,
                                                 JedisClientConfig clientConfig,
-                                                GenericObjectPoolConfig<Connection> poolConfig) {
+                                                GenericObjectPoolConfig<Connection> poolConfig,
+                                                Cache cache,
+                                                PoolMetrics metrics) {
         HostAndPort hostAndPort = new HostAndPort(settings.host, settings.port);
+        if (metrics != null) {
+            MeteredConnectionFactory factory = new MeteredConnectionFactory(hostAndPort, clientConfig, cache, metrics);
+            // the protocol comes from the client config through the provider's first connection
+            return new JedisPooled(new MeteredPooledConnectionProvider(factory, poolConfig, metrics));
+        }
+        if (cache != null) {
+            return new JedisPooled(hostAndPort, clientConfig, cache, poolConfig);
+        }
         return new JedisPooled(poolConfig, hostAndPort, clientConfig);
     }
 
     private UnifiedJedis createClusterClient(RedisSettings settings,
                                              JedisClientConfig clientConfig,
-                                             GenericObjectPoolConfig<Connection> poolConfig) {
+                                             GenericObjectPoolConfig<Connection> poolConfig,
+                                             Cache cache,
+                                             PoolMetrics metrics) {
         Set<HostAndPort> nodes = parseClusterNodes(settings, settings.cluster.nodes);
         int maxRedirects = settings.cluster.maxRedirects;
         long refreshMillis = settings.cluster.topologyRefreshMillis;
+        Duration maxRetryDuration = Duration.ofMillis((long) settings.socketTimeoutMillis * maxRedirects);
+        Duration refreshPeriod = refreshMillis > 0 ? Duration.ofMillis(refreshMillis) : null;
+        if (metrics != null) {
+            // the cluster command executor cannot be wrapped, so only borrows are timed here
+            return new JedisCluster(
+                    new MeteredClusterConnectionProvider(nodes, clientConfig, cache, poolConfig, refreshPeriod, metrics),
+                    maxRedirects,
+                    maxRetryDuration
+            );
+        }
+        if (cache != null) {
+            return new JedisCluster(nodes, clientConfig, cache, poolConfig, refreshPeriod, maxRedirects, maxRetryDuration);
+        }
         if (refreshMillis > 0) {
             return new JedisCluster(nodes, clientConfig, maxRedirects, Duration.ofMillis(refreshMillis), poolConfig);
         }
@@ -27,6 +27,10 @@ final class RedisExecutors {
         return Executors.newCachedThreadPool(new NamedThreadFactory("bukkitspring-redis-"));
     }
 
+    static ExecutorService fixed(int threads, String prefix) {
+        return Executors.newFixedThreadPool(threads, new NamedThreadFactory(prefix));
+    }
+
     private static ExecutorService createVirtualExecutor() {
         try {
             Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
@@ -0,0 +1,144 @@
+package com.cuzz.starter.bukkitspring.redis;
+
+import com.cuzz.starter.bukkitspring.redis.api.AutoBatchStats;
+import com.cuzz.starter.bukkitspring.redis.api.RedisAutoBatcher;
+import com.cuzz.starter.bukkitspring.redis.internal.DefaultRedisService;
+import com.cuzz.starter.bukkitspring.redis.testutil.FakeRedisServer;
+import com.cuzz.starter.bukkitspring.redis.testutil.TestServices;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RedisAutoBatcherTest {
+
+    @Test
+    public void concurrentIncrementsShareFewPipelines() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server, Map.of("enabled", true))) {
+            RedisAutoBatcher batcher = service.autoBatcher();
+            int threads = 8;
+            int perThread = 2_000;
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            List<Future<List<CompletableFuture<Long>>>> submitted = new ArrayList<>();
+            server.resetCounters();
+            try {
+                for (int t = 0; t < threads; t++) {
+                    submitted.add(pool.submit(() -> {
+                        List<CompletableFuture<Long>> futures = new ArrayList<>(perThread);
+                        for (int i = 0; i < perThread; i++) {
+                            futures.add(batcher.incrBy("stats:kills", 1));
+                            if ((i & 7) == 0) {
+                                batcher.hincrBy("stats:player", "blocks", 2);
+                            }
+                        }
+                        return futures;
+                    }));
+                }
+                Set<Long> seen = new HashSet<>();
+                for (Future<List<CompletableFuture<Long>>> future : submitted) {
+                    for (CompletableFuture<Long> value : future.get(10, TimeUnit.SECONDS)) {
+                        seen.add(value.get(10, TimeUnit.SECONDS));
+                    }
+                }
+                // every caller sees the value right after its own increment, merged or not
+                assertEquals(threads * perThread, seen.size());
+                assertTrue(seen.contains(1L) && seen.contains((long) threads * perThread));
+            } finally {
+                pool.shutdownNow();
+            }
+            batcher.flush().get(10, TimeUnit.SECONDS);
+            assertEquals(String.valueOf(threads * perThread), service.get("stats:kills"));
+            assertEquals(String.valueOf(threads * perThread / 8 * 2), service.hget("stats:player", "blocks"));
+
+            AutoBatchStats stats = batcher.stats();
+            assertEquals(threads * perThread + threads * perThread / 8, stats.commands);
+            assertTrue(stats.mergedCommands > 0, stats.toString());
+            assertTrue(stats.batches < stats.commands / 10, stats.toString());
+            assertTrue(server.commands() < stats.commands, "server commands: " + server.commands());
+            assertEquals(0L, stats.failedCommands);
+        }
+    }
+
+    @Test
+    public void mergingKeepsCommandOrder() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server, Map.of(
+                     "enabled", true,
+                     "flush-interval-ms", 1000,
+                     "max-batch-size", 1000
+             ))) {
+            RedisAutoBatcher batcher = service.autoBatcher();
+            CompletableFuture<Long> first = batcher.incrBy("coins", 5);
+            CompletableFuture<String> reset = batcher.set("coins", "100");
+            CompletableFuture<Long> second = batcher.incrBy("coins", 1);
+            CompletableFuture<Long> third = batcher.incrBy("coins", 2);
+            CompletableFuture<Long> added = batcher.submit(ops -> ops.sadd("online", "steve"));
+            assertFalse(first.isDone());
+
+            batcher.flush().get(10, TimeUnit.SECONDS);
+            assertEquals(5L, first.get());
+            assertEquals("OK", reset.get());
+            assertEquals(101L, second.get());
+            assertEquals(103L, third.get());
+            assertEquals(1L, added.get());
+            assertEquals("103", service.get("coins"));
+            assertEquals(1L, batcher.stats().mergedCommands);
+        }
+    }
+
+    @Test
+    public void queueIsBoundedAndCloseFlushes() throws Exception {
+        FakeRedisServer server = FakeRedisServer.start();
+        DefaultRedisService service = newService(server, Map.of(
+                "enabled", true,
+                "flush-interval-ms", 1000,
+                "max-batch-size", 1000,
+                "max-pending", 10
+        ));
+        try (server) {
+            RedisAutoBatcher batcher = service.autoBatcher();
+            List<CompletableFuture<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < 15; i++) {
+                futures.add(batcher.incrBy("bounded", 1));
+            }
+            ExecutionException rejected = assertThrows(ExecutionException.class, () -> futures.get(14).get());
+            assertInstanceOf(RejectedExecutionException.class, rejected.getCause());
+            assertEquals(5L, batcher.stats().rejectedCommands);
+            assertEquals(10L, batcher.stats().pending);
+
+            service.close();
+            assertEquals(10L, futures.get(9).get(10, TimeUnit.SECONDS));
+            assertEquals(0L, batcher.stats().pending);
+            assertThrows(ExecutionException.class, () -> batcher.incrBy("bounded", 1).get());
+        }
+    }
+
+    @Test
+    public void autoBatchingIsOptIn() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server, Map.of())) {
+            assertThrows(IllegalStateException.class, service::autoBatcher);
+        }
+    }
+
+    private static DefaultRedisService newService(FakeRedisServer server, Map<String, Object> autoBatch) {
+        return TestServices.newService(server, Map.of("auto-batch", autoBatch));
+    }
+}
@@ -0,0 +1,90 @@
+package com.cuzz.starter.bukkitspring.redis;
+
+import com.cuzz.starter.bukkitspring.redis.api.ClientCacheStats;
+import com.cuzz.starter.bukkitspring.redis.internal.DefaultRedisService;
+import com.cuzz.starter.bukkitspring.redis.testutil.FakeRedisServer;
+import com.cuzz.starter.bukkitspring.redis.testutil.TestServices;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RedisClientCacheTest {
+
+    @Test
+    public void repeatedReadsAreServedLocally() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newCachedService(server)) {
+            service.set("config:motd", "welcome");
+            long before = server.commands("GET");
+            for (int i = 0; i < 1000; i++) {
+                assertEquals("welcome", service.get("config:motd"));
+            }
+            ClientCacheStats stats = service.clientCacheStats();
+            assertEquals(1L, server.commands("GET") - before);
+            assertTrue(stats.enabled);
+            assertEquals(999L, stats.hits);
+            assertTrue(stats.hitRatio() > 0.99);
+        }
+    }
+
+    @Test
+    public void writesInvalidateCachedEntries() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newCachedService(server)) {
+            service.set("config:motd", "welcome");
+            assertEquals("welcome", service.get("config:motd"));
+            assertEquals("welcome", service.get("config:motd"));
+
+            service.set("config:motd", "maintenance");
+            awaitTrue(() -> "maintenance".equals(service.get("config:motd")));
+            assertTrue(service.clientCacheStats().invalidations >= 1, service.clientCacheStats().toString());
+        }
+    }
+
+    @Test
+    public void keysOutsideThePrefixesAreNotCached() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newCachedService(server)) {
+            service.set("session:1", "steve");
+            long before = server.commands("GET");
+            for (int i = 0; i < 10; i++) {
+                assertEquals("steve", service.get("session:1"));
+            }
+            assertEquals(10L, server.commands("GET") - before);
+            assertEquals(0, service.clientCacheStats().size);
+        }
+    }
+
+    @Test
+    public void disabledByDefault() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = TestServices.newService(server)) {
+            service.set("config:motd", "welcome");
+            assertEquals("welcome", service.get("config:motd"));
+            assertFalse(service.clientCacheStats().enabled);
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("condition not met in time");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static DefaultRedisService newCachedService(FakeRedisServer server) {
+        return TestServices.newService(server, Map.of(
+                "client-cache", Map.of("enabled", true, "prefixes", List.of("config:"))
+        ));
+    }
+}
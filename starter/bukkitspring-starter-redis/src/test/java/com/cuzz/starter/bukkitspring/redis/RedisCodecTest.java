@@ -0,0 +1,171 @@
+package com.cuzz.starter.bukkitspring.redis;
+
+import com.cuzz.starter.bukkitspring.redis.api.RedisCodec;
+import com.cuzz.starter.bukkitspring.redis.api.RedisCodecs;
+import com.cuzz.starter.bukkitspring.redis.internal.DefaultRedisService;
+import com.cuzz.starter.bukkitspring.redis.testutil.FakeRedisServer;
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.cuzz.starter.bukkitspring.redis.testutil.TestServices.newService;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RedisCodecTest {
+    private static final RedisCodec<Profile> PROFILE = RedisCodec.of(
+            (profile, out) -> {
+                out.writeUuid(profile.id);
+                out.writeString(profile.name);
+                out.writeVarInt(profile.level);
+                out.writeVarLong(profile.coins);
+                out.writeVarLong(profile.lastSeen);
+                RedisCodecs.listOf(RedisCodecs.ints()).write(profile.achievements, out);
+            },
+            in -> new Profile(in.readUuid(), in.readString(), in.readVarInt(), in.readVarLong(), in.readVarLong(),
+                    RedisCodecs.listOf(RedisCodecs.ints()).read(in)));
+
+    @Test
+    public void storesTypedValues() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server)) {
+            Profile profile = profile(7);
+            service.setObject("profile:7", profile, PROFILE);
+            assertEquals(profile, service.getObject("profile:7", PROFILE));
+
+            service.hsetObject("profiles", "7", profile, PROFILE);
+            assertEquals(profile, service.hgetObject("profiles", "7", PROFILE));
+            assertNull(service.getObject("profile:missing", PROFILE));
+            assertNull(service.hgetObject("profiles", "missing", PROFILE));
+
+            service.setObjectEx("online", 60, List.of(profile.id), RedisCodecs.listOf(RedisCodecs.uuid()));
+            assertEquals(List.of(profile.id), service.getObject("online", RedisCodecs.listOf(RedisCodecs.uuid())));
+        }
+    }
+
+    @Test
+    public void builtInCodecsRoundTrip() {
+        assertEquals("ascii é 中文 😀", roundTrip(RedisCodecs.utf8(), "ascii é 中文 😀"));
+        for (long value : new long[]{0, 1, -1, 63, -64, 64, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertEquals(value, roundTrip(RedisCodecs.longs(), value));
+        }
+        for (int value : new int[]{0, -1, 300, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+            assertEquals(value, roundTrip(RedisCodecs.ints(), value));
+        }
+        assertEquals(1, RedisCodecs.longs().encode(-64L).length);
+        assertEquals(16, RedisCodecs.uuid().encode(UUID.randomUUID()).length);
+        assertEquals(Math.PI, roundTrip(RedisCodecs.doubles(), Math.PI));
+        assertArrayEquals(new byte[]{0, -1, 127}, roundTrip(RedisCodecs.bytes(), new byte[]{0, -1, 127}));
+
+        Map<String, List<String>> groups = new LinkedHashMap<>();
+        groups.put("admins", List.of("steve"));
+        groups.put("empty", List.of());
+        RedisCodec<Map<String, List<String>>> codec = RedisCodecs.mapOf(RedisCodecs.utf8(), RedisCodecs.listOf(RedisCodecs.utf8()));
+        assertEquals(groups, roundTrip(codec, groups));
+
+        List<String> withNull = Arrays.asList("a", null, "b");
+        assertEquals(withNull, roundTrip(RedisCodecs.listOf(RedisCodecs.nullable(RedisCodecs.utf8())), withNull));
+
+        byte[] truncated = Arrays.copyOf(PROFILE.encode(profile(1)), 10);
+        assertThrows(IllegalStateException.class, () -> PROFILE.decode(truncated));
+    }
+
+    @Test
+    public void compressesOnlyAboveThreshold() throws Exception {
+        RedisCodec<List<Profile>> codec = RedisCodecs.compressed(RedisCodecs.listOf(PROFILE), 256);
+        List<Profile> small = List.of(profile(1));
+        List<Profile> large = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            large.add(profile(i));
+        }
+        byte[] smallBytes = codec.encode(small);
+        byte[] largeBytes = codec.encode(large);
+        byte[] largeRaw = RedisCodecs.listOf(PROFILE).encode(large);
+        assertEquals(0, smallBytes[0]);
+        assertEquals(1, largeBytes[0]);
+        assertTrue(largeBytes.length < largeRaw.length / 2, largeBytes.length + " vs " + largeRaw.length);
+        assertEquals(small, codec.decode(smallBytes));
+        assertEquals(large, codec.decode(largeBytes));
+
+        // compressed frames compose with the codec around them
+        RedisCodec<List<List<Profile>>> nested = RedisCodecs.listOf(codec);
+        assertEquals(List.of(large, small, large), nested.decode(nested.encode(List.of(large, small, large))));
+
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server)) {
+            service.setObject("leaderboard", large, codec);
+            assertEquals(largeBytes.length, service.client().get(SafeEncoder.encode("leaderboard")).length);
+            assertEquals(large, service.getObject("leaderboard", codec));
+        }
+    }
+
+    @Test
+    public void encodesSmallerThanJsonStrings() {
+        Gson gson = new Gson();
+        List<Profile> profiles = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            profiles.add(profile(i));
+        }
+        long jsonBytes = 0;
+        long binaryBytes = 0;
+        for (Profile profile : profiles) {
+            jsonBytes += gson.toJson(profile).getBytes(StandardCharsets.UTF_8).length;
+            byte[] encoded = PROFILE.encode(profile);
+            binaryBytes += encoded.length;
+            assertEquals(profile, PROFILE.decode(encoded));
+        }
+        assertTrue(binaryBytes * 2 < jsonBytes, binaryBytes + " vs " + jsonBytes);
+    }
+
+    private static <T> T roundTrip(RedisCodec<T> codec, T value) {
+        return codec.decode(codec.encode(value));
+    }
+
+    private static Profile profile(int i) {
+        return new Profile(new UUID(i, i * 31L), "player_" + i, i % 100, 1_000L * i, 1_700_000_000_000L + i,
+                List.of(1, 4, 9, i % 50));
+    }
+
+    private static final class Profile {
+        private final UUID id;
+        private final String name;
+        private final int level;
+        private final long coins;
+        private final long lastSeen;
+        private final List<Integer> achievements;
+
+        private Profile(UUID id, String name, int level, long coins, long lastSeen, List<Integer> achievements) {
+            this.id = id;
+            this.name = name;
+            this.level = level;
+            this.coins = coins;
+            this.lastSeen = lastSeen;
+            this.achievements = achievements;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Profile profile)) {
+                return false;
+            }
+            return level == profile.level && coins == profile.coins && lastSeen == profile.lastSeen
+                    && id.equals(profile.id) && name.equals(profile.name) && achievements.equals(profile.achievements);
+        }
+
+        @Override
+        public int hashCode() {
+            return id.hashCode();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.cuzz.starter.bukkitspring.redis;
+
+import com.cuzz.starter.bukkitspring.redis.internal.DefaultRedisService;
+import com.cuzz.starter.bukkitspring.redis.testutil.FakeRedisServer;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.resps.Tuple;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.cuzz.starter.bukkitspring.redis.testutil.TestServices.newClusterService;
+import static com.cuzz.starter.bukkitspring.redis.testutil.TestServices.newService;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RedisKeyScanTest {
+
+    @Test
+    public void scanWalksKeysLazily() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server)) {
+            service.mset(values("player:", 1000));
+            service.mset(values("guild:", 50));
+
+            server.resetCounters();
+            Set<String> players = service.scan("player:*", 100).collect(Collectors.toSet());
+            assertEquals(1000, players.size());
+            assertTrue(players.contains("player:999"));
+            assertEquals(11L, server.commands("SCAN"));
+            assertEquals(0L, server.commands("KEYS"));
+            assertEquals(1050L, service.scan(null).count());
+
+            server.resetCounters();
+            assertEquals(5L, service.scan("*", 100).limit(5).count());
+            assertEquals(1L, server.commands("SCAN"));
+        }
+    }
+
+    @Test
+    public void memberScansCoverHashesSetsAndSortedSets() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server)) {
+            Map<String, String> fields = values("home:", 300);
+            service.hset("player:steve:homes", fields);
+            for (int i = 0; i < 300; i++) {
+                service.sadd("online", "player-" + i);
+                service.zadd("kills", i, "player-" + i);
+            }
+
+            Map<String, String> scanned = service.hscan("player:steve:homes")
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            assertEquals(fields, scanned);
+            assertEquals(111L, service.hscan("player:steve:homes", "home:1*", 50).count());
+            assertEquals(300L, service.sscan("online").distinct().count());
+            assertEquals(List.of("player-7"), service.sscan("online", "player-7", 20).toList());
+            Map<String, Double> scores = service.zscan("kills")
+                    .collect(Collectors.toMap(Tuple::getElement, Tuple::getScore));
+            assertEquals(300, scores.size());
+            assertEquals(42.0, scores.get("player-42"));
+            assertEquals(0L, service.zscan("missing").count());
+        }
+    }
+
+    @Test
+    public void deleteByPatternUnlinksPageByPage() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server)) {
+            service.mset(values("session:", 2000));
+            service.mset(values("player:", 500));
+
+            server.resetCounters();
+            assertEquals(2000L, service.deleteByPattern("session:*", 500));
+            assertEquals(2000L, server.commands("UNLINK"));
+            assertEquals(0L, server.commands("DEL"));
+            // one SCAN and one pipeline per page
+            long pages = server.commands("SCAN");
+            assertTrue(server.roundTrips() <= pages * 2, "round trips: " + server.roundTrips() + ", pages: " + pages);
+            assertEquals(0L, service.scan("session:*").count());
+            assertEquals(500L, service.scan("player:*").count());
+            assertEquals(0L, service.deleteByPattern("session:*"));
+            assertThrows(IllegalArgumentException.class, () -> service.deleteByPattern(" "));
+        }
+    }
+
+    @Test
+    public void clusterScanVisitsEveryNode() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.startCluster();
+             DefaultRedisService service = newClusterService(server)) {
+            service.mset(values("player:", 300));
+            service.mset(values("{guild:1}:member:", 20));
+
+            Set<String> keys = service.scan("player:*", 50).collect(Collectors.toSet());
+            assertEquals(300, keys.size());
+            assertEquals(20L, service.deleteByPattern("{guild:1}:*", 8));
+            assertFalse(service.exists("{guild:1}:member:3"));
+            assertEquals(300L, service.scan(null).count());
+        }
+    }
+
+    @Test
+    public void clusterScanSkipsReplicas() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.startCluster();
+             FakeRedisServer replica = server.startReplica();
+             DefaultRedisService service = newClusterService(server)) {
+            service.mset(values("player:", 300));
+            // Jedis keeps a pool for the replica as well
+            assertEquals(2, ((JedisCluster) service.client()).getClusterNodes().size());
+
+            server.resetCounters();
+            replica.resetCounters();
+            assertEquals(300L, service.scan("player:*", 50).count());
+            assertEquals(300L, service.deleteByPattern("player:*", 100));
+            assertEquals(300L, server.commands("UNLINK"));
+            assertEquals(0L, replica.commands("SCAN"));
+        }
+    }
+
+    private static Map<String, String> values(String prefix, int count) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            values.put(prefix + i, "value-" + i);
+        }
+        return values;
+    }
+}
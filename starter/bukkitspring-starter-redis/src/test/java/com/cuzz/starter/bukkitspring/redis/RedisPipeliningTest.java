@@ -0,0 +1,118 @@
+package com.cuzz.starter.bukkitspring.redis;
+
+import com.cuzz.starter.bukkitspring.redis.internal.DefaultRedisService;
+import com.cuzz.starter.bukkitspring.redis.testutil.FakeRedisServer;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.Response;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.cuzz.starter.bukkitspring.redis.testutil.TestServices.newClusterService;
+import static com.cuzz.starter.bukkitspring.redis.testutil.TestServices.newService;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RedisPipeliningTest {
+
+    @Test
+    public void pipelineReturnsTypedResponses() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server)) {
+            List<Response<Long>> counters = new ArrayList<>();
+            Response<String>[] name = new Response[1];
+            service.pipelined(ops -> {
+                ops.set("player:1:name", "steve");
+                for (int i = 0; i < 10; i++) {
+                    counters.add(ops.incrBy("player:1:kills", 2));
+                }
+                ops.hset("player:1:stats", Map.of("deaths", "3"));
+                name[0] = ops.get("player:1:name");
+            });
+            assertEquals("steve", name[0].get());
+            assertEquals(20L, counters.get(9).get());
+            assertEquals("3", service.hget("player:1:stats", "deaths"));
+
+            Map<String, String> values = new LinkedHashMap<>();
+            for (int i = 0; i < 100; i++) {
+                values.put("k" + i, "v" + i);
+            }
+            assertEquals("OK", service.mset(values));
+            assertEquals(Arrays.asList("v0", null, "v99"), service.mget("k0", "missing", "k99"));
+
+            assertEquals(3L, service.hsetAll(Map.of(
+                    "h1", Map.of("a", "1", "b", "2"),
+                    "h2", Map.of("c", "3"),
+                    "h3", Map.of()
+            )));
+            Map<String, Map<String, String>> hashes = service.hgetAll(List.of("h1", "h2", "none"));
+            assertEquals("2", hashes.get("h1").get("b"));
+            assertEquals(Map.of("c", "3"), hashes.get("h2"));
+            assertEquals(Map.of(), hashes.get("none"));
+        }
+    }
+
+    @Test
+    public void clusterBulkCommandsAreSplitPerSlot() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.startCluster();
+             DefaultRedisService service = newClusterService(server)) {
+            assertTrue(service.isCluster());
+            Map<String, String> values = new LinkedHashMap<>();
+            String[] keys = new String[200];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = "player:" + i;
+                values.put(keys[i], "data-" + i);
+            }
+            values.put("{guild:1}:name", "builders");
+            values.put("{guild:1}:owner", "steve");
+
+            server.resetCounters();
+            assertEquals("OK", service.mset(values));
+            List<String> loaded = service.mget(keys);
+            for (int i = 0; i < keys.length; i++) {
+                assertEquals("data-" + i, loaded.get(i));
+            }
+            assertEquals(List.of("builders", "steve"), service.mget("{guild:1}:name", "{guild:1}:owner"));
+            // one pipeline per bulk call, plus the single-slot MGET
+            assertTrue(server.roundTrips() <= 6, "round trips: " + server.roundTrips());
+        }
+    }
+
+    @Test
+    public void pipeliningCutsRoundTrips() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server)) {
+            int commands = 5_000;
+            // opens the connection, so the handshake is not counted
+            service.del("bench:counter");
+            server.resetCounters();
+            sequential(service, commands);
+            long sequentialTrips = server.roundTrips();
+
+            server.resetCounters();
+            pipelined(service, commands);
+            long pipelinedTrips = server.roundTrips();
+
+            assertEquals(commands, sequentialTrips);
+            assertTrue(pipelinedTrips < commands / 10, "pipelined round trips: " + pipelinedTrips);
+            assertEquals(String.valueOf(commands * 2L), service.get("bench:counter"));
+        }
+    }
+
+    private static void sequential(DefaultRedisService service, int commands) {
+        for (int i = 0; i < commands; i++) {
+            service.incrBy("bench:counter", 1);
+        }
+    }
+
+    private static void pipelined(DefaultRedisService service, int commands) {
+        service.pipelined(ops -> {
+            for (int i = 0; i < commands; i++) {
+                ops.incrBy("bench:counter", 1);
+            }
+        });
+    }
+}
@@ -0,0 +1,114 @@
+package com.cuzz.starter.bukkitspring.redis;
+
+import com.cuzz.starter.bukkitspring.redis.api.LatencyStats;
+import com.cuzz.starter.bukkitspring.redis.api.PoolStats;
+import com.cuzz.starter.bukkitspring.redis.internal.DefaultRedisService;
+import com.cuzz.starter.bukkitspring.redis.testutil.FakeRedisServer;
+import com.cuzz.starter.bukkitspring.redis.testutil.TestServices;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.commands.ProtocolCommand;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RedisPoolMetricsTest {
+    private static final ProtocolCommand DEBUG = () -> SafeEncoder.encode("DEBUG");
+
+    @Test
+    public void recordsGaugesAndLatency() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server, Map.of("metrics", true))) {
+            assertFalse(service.poolStats().metricsEnabled);
+            for (int i = 0; i < 100; i++) {
+                service.set("key:" + i, "value");
+                service.get("key:" + i);
+            }
+
+            PoolStats stats = service.poolStats();
+            assertTrue(stats.metricsEnabled);
+            assertEquals(0, stats.active);
+            assertTrue(stats.idle >= 1);
+            assertEquals(16, stats.maxTotal);
+            // plus the protocol probe when the client is created
+            assertEquals(201L, stats.borrowWait.count);
+            LatencyStats get = stats.commandLatency.get("GET");
+            assertEquals(100L, get.count);
+            assertTrue(get.p50Micros <= get.p99Micros && get.p99Micros <= get.maxMicros);
+            assertEquals(100L, stats.commandLatency.get("SET").count);
+        }
+    }
+
+    @Test
+    public void metricsAreOffByDefault() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server, Map.of())) {
+            service.set("key", "value");
+
+            PoolStats stats = service.poolStats();
+            assertFalse(stats.metricsEnabled);
+            assertEquals(1, stats.idle);
+            assertTrue(stats.commandLatency.isEmpty());
+        }
+    }
+
+    @Test
+    public void adaptiveModeGrowsUnderContentionAndShrinksWhenIdle() throws Exception {
+        Map<String, Object> pool = Map.of(
+                "max-total", 4,
+                "max-idle", 4,
+                "adaptive", Map.of(
+                        "enabled", true,
+                        "wait-threshold-ms", 1,
+                        "interval-ms", 50,
+                        "shrink-after-intervals", 2
+                )
+        );
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server, pool)) {
+            ExecutorService threads = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> calls = new ArrayList<>();
+                for (int i = 0; i < 80; i++) {
+                    calls.add(threads.submit(() -> service.client().sendCommand(DEBUG, "SLEEP", "0.01")));
+                }
+                awaitTrue(() -> service.poolStats().minIdle > 0);
+                for (Future<?> call : calls) {
+                    call.get(10, TimeUnit.SECONDS);
+                }
+            } finally {
+                threads.shutdownNow();
+            }
+            PoolStats busy = service.poolStats();
+            assertTrue(busy.borrowWait.maxMicros >= 1000L, "borrow wait: " + busy.borrowWait);
+            assertTrue(busy.minIdle <= 4);
+
+            awaitTrue(() -> service.poolStats().minIdle == 0);
+            assertTrue(service.poolStats().minIdleAdjustments >= 2);
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("condition not met in time");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static DefaultRedisService newService(FakeRedisServer server, Map<String, Object> pool) {
+        return TestServices.newService(server, Map.of("pool", pool));
+    }
+}
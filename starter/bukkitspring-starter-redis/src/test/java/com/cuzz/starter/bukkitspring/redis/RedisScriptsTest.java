@@ -0,0 +1,167 @@
+package com.cuzz.starter.bukkitspring.redis;
+
+import com.cuzz.starter.bukkitspring.redis.api.RateLimitResult;
+import com.cuzz.starter.bukkitspring.redis.api.RedisScript;
+import com.cuzz.starter.bukkitspring.redis.api.RedisScripts;
+import com.cuzz.starter.bukkitspring.redis.internal.DefaultRedisService;
+import com.cuzz.starter.bukkitspring.redis.testutil.FakeRedisServer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.cuzz.starter.bukkitspring.redis.testutil.TestServices.newClusterService;
+import static com.cuzz.starter.bukkitspring.redis.testutil.TestServices.newService;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RedisScriptsTest {
+
+    @Test
+    public void evalShaReloadsScriptsAfterFailover() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server)) {
+            RedisScripts scripts = service.scripts();
+            RedisScript transfer = scripts.load(RedisScriptsTest.class.getClassLoader(), "scripts/transfer.lua");
+            assertEquals("transfer", transfer.getName());
+            emulateTransfer(server, transfer);
+            service.set("balance:steve", "500");
+
+            // nothing loaded yet: NOSCRIPT, every registered script is loaded, then EVALSHA succeeds
+            assertEquals(1L, scripts.eval("transfer", List.of("balance:steve", "balance:alex"), List.of("200")));
+            assertEquals(2L, server.commands("EVALSHA"));
+            assertEquals(5L, server.commands("SCRIPT"));
+
+            server.resetCounters();
+            assertEquals(1L, scripts.eval("transfer", List.of("balance:steve", "balance:alex"), List.of("200")));
+            assertEquals(0L, scripts.eval("transfer", List.of("balance:steve", "balance:alex"), List.of("200")));
+            assertEquals(2L, server.commands("EVALSHA"));
+            assertEquals(0L, server.commands("SCRIPT"));
+            assertEquals(0L, server.commands("EVAL"));
+
+            server.flushScripts();
+            assertEquals(1L, scripts.eval("transfer", List.of("balance:alex", "balance:steve"), List.of("400")));
+            assertEquals("500", service.get("balance:steve"));
+            assertEquals("0", service.get("balance:alex"));
+            assertThrows(IllegalArgumentException.class, () -> scripts.eval("missing", List.of(), List.of()));
+        }
+    }
+
+    @Test
+    public void slidingWindowRateLimit() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server)) {
+            RedisScripts scripts = service.scripts();
+            emulateBuiltins(server, scripts);
+
+            assertEquals(2L, scripts.rateLimit("rl:chat:steve", 3, 60_000).remaining);
+            assertEquals(1L, scripts.rateLimit("rl:chat:steve", 3, 60_000).remaining);
+            assertEquals(0L, scripts.rateLimit("rl:chat:steve", 3, 60_000).remaining);
+            RateLimitResult denied = scripts.rateLimit("rl:chat:steve", 3, 60_000);
+            assertFalse(denied.allowed);
+            assertTrue(denied.retryAfterMillis > 0 && denied.retryAfterMillis <= 60_000, denied.toString());
+            assertTrue(scripts.rateLimit("rl:chat:alex", 3, 60_000).allowed);
+
+            assertTrue(scripts.rateLimit("rl:short", 1, 50).allowed);
+            assertFalse(scripts.rateLimit("rl:short", 1, 50).allowed);
+            Thread.sleep(80);
+            assertTrue(scripts.rateLimit("rl:short", 1, 50).allowed);
+        }
+    }
+
+    @Test
+    public void compareAndSetAndLeaderboard() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server)) {
+            RedisScripts scripts = service.scripts();
+            emulateBuiltins(server, scripts);
+
+            assertTrue(scripts.compareAndSet("owner:arena", null, "lobby-1"));
+            assertFalse(scripts.compareAndSet("owner:arena", null, "lobby-2"));
+            assertFalse(scripts.compareAndSet("owner:arena", "lobby-2", "lobby-3"));
+            assertTrue(scripts.compareAndSet("owner:arena", "lobby-1", "lobby-3", 30_000));
+            assertEquals("lobby-3", service.get("owner:arena"));
+
+            assertEquals(0L, scripts.leaderboardAdd("top", "steve", 100, 3));
+            assertEquals(0L, scripts.leaderboardAdd("top", "alex", 300, 3));
+            assertEquals(1L, scripts.leaderboardAdd("top", "herobrine", 200, 3));
+            assertEquals(-1L, scripts.leaderboardAdd("top", "notch", 50, 3));
+            assertEquals(0L, scripts.leaderboardAdd("top", "jeb", 400, 3));
+            // steve fell off the board
+            assertNull(service.zscore("top", "steve"));
+            assertEquals(List.of("herobrine", "alex", "jeb"), service.zrange("top", 0, -1));
+        }
+    }
+
+    @Test
+    public void clusterKeysMustShareASlot() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.startCluster();
+             DefaultRedisService service = newClusterService(server)) {
+            RedisScripts scripts = service.scripts();
+            RedisScript transfer = scripts.load(RedisScriptsTest.class.getClassLoader(), "scripts/transfer.lua");
+            emulateTransfer(server, transfer);
+            service.set("{player:1}:wallet", "50");
+
+            assertEquals(1L, scripts.eval("transfer", List.of("{player:1}:wallet", "{player:1}:bank"), List.of("50")));
+            assertEquals("50", service.get("{player:1}:bank"));
+            assertThrows(IllegalArgumentException.class,
+                    () -> scripts.eval("transfer", List.of("player:1:wallet", "player:2:wallet"), List.of("1")));
+            assertThrows(IllegalArgumentException.class, () -> scripts.eval("transfer", List.of(), List.of("1")));
+        }
+    }
+
+    private static void emulateTransfer(FakeRedisServer server, RedisScript transfer) {
+        server.emulateScript(transfer.getSource(), (keys, args, call) -> {
+            long amount = Long.parseLong(args.get(0));
+            Object current = call.apply(List.of("GET", keys.get(0)));
+            long balance = current == null ? 0 : Long.parseLong((String) current);
+            if (balance < amount) {
+                return 0L;
+            }
+            call.apply(List.of("INCRBY", keys.get(0), Long.toString(-amount)));
+            call.apply(List.of("INCRBY", keys.get(1), Long.toString(amount)));
+            return 1L;
+        });
+    }
+
+    /**
+     * Java versions of the built-in Lua scripts, command for command.
+     */
+    private static void emulateBuiltins(FakeRedisServer server, RedisScripts scripts) {
+        server.emulateScript(scripts.get("bukkitspring:rate-limit").getSource(), (keys, args, call) -> {
+            long limit = Long.parseLong(args.get(0));
+            long window = Long.parseLong(args.get(1));
+            List<?> time = (List<?>) call.apply(List.of("TIME"));
+            long now = Long.parseLong((String) time.get(0)) * 1000 + Long.parseLong((String) time.get(1)) / 1000;
+            call.apply(List.of("ZREMRANGEBYSCORE", keys.get(0), "-inf", Long.toString(now - window)));
+            long count = (Long) call.apply(List.of("ZCARD", keys.get(0)));
+            if (count < limit) {
+                call.apply(List.of("ZADD", keys.get(0), Long.toString(now), args.get(2)));
+                call.apply(List.of("PEXPIRE", keys.get(0), Long.toString(window)));
+                return List.of(1L, limit - count - 1, 0L);
+            }
+            List<?> oldest = (List<?>) call.apply(List.of("ZRANGE", keys.get(0), "0", "0", "WITHSCORES"));
+            return List.of(0L, 0L, Math.max(0, (long) Double.parseDouble((String) oldest.get(1)) + window - now));
+        });
+        server.emulateScript(scripts.get("bukkitspring:compare-and-set").getSource(), (keys, args, call) -> {
+            Object current = call.apply(List.of("GET", keys.get(0)));
+            if (args.get(0).equals("1") ? current != null : !args.get(1).equals(current)) {
+                return 0L;
+            }
+            call.apply(List.of("SET", keys.get(0), args.get(2)));
+            return 1L;
+        });
+        server.emulateScript(scripts.get("bukkitspring:leaderboard-add").getSource(), (keys, args, call) -> {
+            call.apply(List.of("ZADD", keys.get(0), args.get(0), args.get(1)));
+            long capacity = Long.parseLong(args.get(2));
+            long size = (Long) call.apply(List.of("ZCARD", keys.get(0)));
+            if (size > capacity) {
+                call.apply(List.of("ZREMRANGEBYRANK", keys.get(0), "0", Long.toString(size - capacity - 1)));
+            }
+            Object rank = call.apply(List.of("ZREVRANK", keys.get(0), args.get(1)));
+            return rank == null ? -1L : rank;
+        });
+    }
+}
@@ -40,5 +40,25 @@ public class RedisServiceApiCoverageTest {
         assertTrue(methods.contains("xreadGroup"));
         assertTrue(methods.contains("xreadGroupAsMap"));
         assertTrue(methods.contains("xack"));
+
+        assertTrue(methods.contains("pipelined"));
+        assertTrue(methods.contains("pipelinedAsync"));
+        assertTrue(methods.contains("mget"));
+        assertTrue(methods.contains("mset"));
+        assertTrue(methods.contains("hsetAll"));
+        assertTrue(methods.contains("autoBatcher"));
+        assertTrue(methods.contains("subscriptions"));
+        assertTrue(methods.contains("startStreamConsumer"));
+        assertTrue(methods.contains("clientCacheStats"));
+        assertTrue(methods.contains("poolStats"));
+        assertTrue(methods.contains("scan"));
+        assertTrue(methods.contains("hscan"));
+        assertTrue(methods.contains("sscan"));
+        assertTrue(methods.contains("zscan"));
+        assertTrue(methods.contains("deleteByPattern"));
+        assertTrue(methods.contains("getObject"));
+        assertTrue(methods.contains("setObject"));
+        assertTrue(methods.contains("hgetObject"));
+        assertTrue(methods.contains("scripts"));
     }
 }
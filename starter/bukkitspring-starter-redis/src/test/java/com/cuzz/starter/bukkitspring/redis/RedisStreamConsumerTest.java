@@ -0,0 +1,121 @@
+package com.cuzz.starter.bukkitspring.redis;
+
+import com.cuzz.starter.bukkitspring.redis.api.RedisStreamConsumer;
+import com.cuzz.starter.bukkitspring.redis.api.StreamConsumerSpec;
+import com.cuzz.starter.bukkitspring.redis.api.StreamConsumerState;
+import com.cuzz.starter.bukkitspring.redis.api.StreamConsumerStats;
+import com.cuzz.starter.bukkitspring.redis.api.StreamEntryHandler;
+import com.cuzz.starter.bukkitspring.redis.internal.DefaultRedisService;
+import com.cuzz.starter.bukkitspring.redis.testutil.FakeRedisServer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static com.cuzz.starter.bukkitspring.redis.testutil.TestServices.newService;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RedisStreamConsumerTest {
+
+    @Test
+    public void consumesWithBatchedAcks() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server)) {
+            Set<String> seen = ConcurrentHashMap.newKeySet();
+            RedisStreamConsumer consumer = service.startStreamConsumer(spec(entry -> seen.add(entry.getFields().get("n")))
+                    .ackBatchSize(50)
+                    .build());
+            int total = 2000;
+            for (int i = 0; i < total; i++) {
+                service.xadd("events", Map.of("n", String.valueOf(i)));
+            }
+            awaitTrue(() -> consumer.stats().acked == total);
+
+            assertEquals(total, seen.size());
+            assertEquals(0L, service.client().xinfoGroups("events").get(0).getPending());
+            StreamConsumerStats stats = consumer.stats();
+            assertEquals(total, stats.processed);
+            assertTrue(server.commands("XACK") <= total / 10, "XACK commands: " + server.commands("XACK"));
+        }
+    }
+
+    @Test
+    public void failedEntriesAreClaimedAgain() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server)) {
+            AtomicInteger attempts = new AtomicInteger();
+            CountDownLatch done = new CountDownLatch(1);
+            RedisStreamConsumer consumer = service.startStreamConsumer(spec(entry -> {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new IllegalStateException("first attempt fails");
+                }
+                done.countDown();
+            }).claimIdleMillis(200).claimIntervalMillis(50).build());
+            service.xadd("events", Map.of("kind", "join"));
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            awaitTrue(() -> consumer.stats().acked == 1);
+            StreamConsumerStats stats = consumer.stats();
+            assertEquals(1L, stats.failed);
+            assertEquals(1L, stats.claimed);
+            assertEquals(2L, stats.delivered);
+        }
+    }
+
+    @Test
+    public void inFlightLimitAndPauseHoldBackReads() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server)) {
+            CountDownLatch release = new CountDownLatch(1);
+            RedisStreamConsumer consumer = service.startStreamConsumer(spec(entry -> release.await())
+                    .workers(1)
+                    .maxInFlight(5)
+                    .build());
+            for (int i = 0; i < 20; i++) {
+                service.xadd("events", Map.of("n", String.valueOf(i)));
+            }
+            awaitTrue(() -> consumer.stats().inFlight == 5);
+            Thread.sleep(200);
+            assertEquals(5L, consumer.stats().delivered);
+
+            consumer.pause();
+            release.countDown();
+            awaitTrue(() -> consumer.stats().processed == 5);
+            // undelivered entries show up as lag once the metrics refresh
+            awaitTrue(() -> consumer.stats().lag == 15);
+            assertEquals(StreamConsumerState.PAUSED, consumer.state());
+            assertEquals(5L, consumer.stats().delivered);
+
+            consumer.resume();
+            awaitTrue(() -> consumer.stats().acked == 20);
+            consumer.close();
+            assertEquals(StreamConsumerState.STOPPED, consumer.state());
+        }
+    }
+
+    private static StreamConsumerSpec.Builder spec(StreamEntryHandler handler) {
+        return StreamConsumerSpec.builder()
+                .stream("events")
+                .group("lobby")
+                .consumer("lobby-1")
+                .blockMillis(100)
+                .ackIntervalMillis(20)
+                .handler(handler);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("condition not met in time");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.cuzz.starter.bukkitspring.redis;
+
+import com.cuzz.starter.bukkitspring.redis.api.PubSubStats;
+import com.cuzz.starter.bukkitspring.redis.api.RedisSubscription;
+import com.cuzz.starter.bukkitspring.redis.api.RedisSubscriptions;
+import com.cuzz.starter.bukkitspring.redis.internal.DefaultRedisService;
+import com.cuzz.starter.bukkitspring.redis.testutil.FakeRedisServer;
+import com.cuzz.starter.bukkitspring.redis.testutil.TestServices;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RedisSubscriptionsTest {
+
+    @Test
+    public void channelsAndPatternsShareConnections() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server, Map.of("connections", 2))) {
+            RedisSubscriptions subscriptions = service.subscriptions();
+            BlockingQueue<String> received = new LinkedBlockingQueue<>();
+            List<RedisSubscription> opened = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                String channel = "chat:" + (i % 10);
+                opened.add(subscriptions.subscribe(channel, (ch, message) -> received.add(ch + "=" + message)));
+            }
+            opened.add(subscriptions.psubscribe("events:*", (ch, message) -> received.add("p:" + ch + "=" + message)));
+            awaitTrue(() -> server.subscriberConnections() == 2);
+
+            // five listeners, one server-side subscriber
+            awaitTrue(() -> service.publish("chat:3", "hi") == 1);
+            for (int i = 0; i < 5; i++) {
+                assertEquals("chat:3=hi", received.poll(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1L, service.publish("events:join", "steve"));
+            assertEquals("p:events:join=steve", received.poll(5, TimeUnit.SECONDS));
+
+            PubSubStats stats = subscriptions.stats();
+            assertEquals(51L, stats.subscriptions);
+            assertEquals(2, stats.connectedConnections);
+            // 51 listeners, but only the dedicated connections are subscribed on the server
+            assertEquals(2, server.subscriberConnections());
+            opened.forEach(RedisSubscription::close);
+            awaitTrue(() -> server.subscriberConnections() == 0);
+        }
+    }
+
+    @Test
+    public void slowListenerDoesNotDelayOthers() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server, Map.of("dispatch-threads", 4, "max-queued-messages", 100))) {
+            RedisSubscriptions subscriptions = service.subscriptions();
+            CountDownLatch release = new CountDownLatch(1);
+            RedisSubscription slow = subscriptions.subscribe("tick", (ch, message) -> await(release));
+            List<String> fast = new ArrayList<>();
+            CountDownLatch fastDone = new CountDownLatch(300);
+            subscriptions.subscribe("tick", (ch, message) -> {
+                fast.add(message);
+                fastDone.countDown();
+            });
+            awaitTrue(() -> service.publish("tick", "warmup") == 1);
+
+            for (int i = 0; i < 299; i++) {
+                service.publish("tick", String.valueOf(i));
+            }
+            assertTrue(fastDone.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 299; i++) {
+                assertEquals(String.valueOf(i), fast.get(i + 1));
+            }
+            // the blocked listener keeps its first message in hand and 100 queued, the rest is dropped
+            awaitTrue(() -> slow.droppedMessages() == 199);
+            assertEquals(199L, subscriptions.stats().droppedMessages);
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void resubscribesAfterConnectionLoss() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server, Map.of("reconnect-delay-ms", 20))) {
+            RedisSubscriptions subscriptions = service.subscriptions();
+            BlockingQueue<String> received = new LinkedBlockingQueue<>();
+            subscriptions.subscribe("alerts", (ch, message) -> received.add(message));
+            subscriptions.psubscribe("audit:*", (ch, message) -> received.add(ch));
+            awaitTrue(() -> service.publish("alerts", "before") == 1);
+            assertEquals("before", received.poll(5, TimeUnit.SECONDS));
+
+            server.dropClients();
+            awaitTrue(() -> publishQuietly(service, "alerts", "after") == 1);
+            assertEquals("after", received.poll(5, TimeUnit.SECONDS));
+            awaitTrue(() -> service.publish("audit:ban", "x") == 1);
+            assertEquals("audit:ban", received.poll(5, TimeUnit.SECONDS));
+            assertTrue(subscriptions.stats().reconnects >= 1, subscriptions.stats().toString());
+        }
+    }
+
+    @Test
+    public void closedSubscriptionStopsReceiving() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server, Map.of())) {
+            RedisSubscriptions subscriptions = service.subscriptions();
+            BlockingQueue<String> received = new LinkedBlockingQueue<>();
+            RedisSubscription first = subscriptions.subscribe("news", (ch, message) -> received.add("first"));
+            RedisSubscription second = subscriptions.subscribe("news", (ch, message) -> received.add("second"));
+            awaitTrue(() -> service.publish("news", "a") == 1);
+            received.poll(5, TimeUnit.SECONDS);
+            received.poll(5, TimeUnit.SECONDS);
+
+            first.close();
+            service.publish("news", "b");
+            assertEquals("second", received.poll(5, TimeUnit.SECONDS));
+            second.close();
+            awaitTrue(() -> service.publish("news", "c") == 0);
+            assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("condition not met in time");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Publish through the pool, whose connections were dropped too.
+     */
+    private static long publishQuietly(DefaultRedisService service, String channel, String message) {
+        try {
+            return service.publish(channel, message);
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static DefaultRedisService newService(FakeRedisServer server, Map<String, Object> pubsub) {
+        return TestServices.newService(server, Map.of("pubsub", pubsub));
+    }
+}
@@ -0,0 +1,145 @@
+package com.cuzz.starter.bukkitspring.redis;
+
+import com.cuzz.starter.bukkitspring.redis.api.RedisScripts;
+import com.cuzz.starter.bukkitspring.redis.api.RedisTokenBucket;
+import com.cuzz.starter.bukkitspring.redis.internal.DefaultRedisService;
+import com.cuzz.starter.bukkitspring.redis.testutil.FakeRedisServer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.cuzz.starter.bukkitspring.redis.testutil.TestServices.newService;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RedisTokenBucketTest {
+
+    @Test
+    public void nodesNeverHandOutMoreThanTheBucketHolds() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server)) {
+            RedisScripts scripts = service.scripts();
+            emulateTokenBucket(server, scripts);
+            // two servers sharing one bucket; the refill is too slow to matter during the test
+            RedisTokenBucket lobby = scripts.tokenBucket("tb:chat", 1000, 0.001, 50);
+            RedisTokenBucket survival = scripts.tokenBucket("tb:chat", 1000, 0.001, 50);
+
+            server.resetCounters();
+            AtomicLong granted = new AtomicLong();
+            ExecutorService threads = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> workers = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    RedisTokenBucket bucket = i % 2 == 0 ? lobby : survival;
+                    workers.add(threads.submit(() -> {
+                        for (int n = 0; n < 500; n++) {
+                            if (bucket.tryAcquire()) {
+                                granted.incrementAndGet();
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> worker : workers) {
+                    worker.get(10, TimeUnit.SECONDS);
+                }
+            } finally {
+                threads.shutdownNow();
+            }
+
+            assertEquals(1000L, granted.get() + lobby.localTokens() + survival.localTokens());
+            assertTrue(lobby.localTokens() < 50 && survival.localTokens() < 50);
+            assertFalse(lobby.tryAcquire(50));
+            // 1000 tokens in blocks of 50, plus the refused leases that started the backoff
+            assertTrue(server.commands("EVALSHA") <= 24, "EVALSHA commands: " + server.commands("EVALSHA"));
+        }
+    }
+
+    @Test
+    public void emptyBucketWaitsForTheRefill() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server)) {
+            RedisScripts scripts = service.scripts();
+            emulateTokenBucket(server, scripts);
+            RedisTokenBucket bucket = scripts.tokenBucket("tb:steve", 5, 20, 5);
+
+            for (int i = 0; i < 5; i++) {
+                assertTrue(bucket.tryAcquire());
+            }
+            assertFalse(bucket.tryAcquire());
+            long leases = bucket.leases();
+            for (int i = 0; i < 1000; i++) {
+                assertFalse(bucket.tryAcquire());
+            }
+            // denied calls are answered locally until the reported retry delay has passed
+            assertEquals(leases, bucket.leases());
+
+            Thread.sleep(120);
+            assertTrue(bucket.tryAcquire());
+            assertThrows(IllegalArgumentException.class, () -> bucket.tryAcquire(6));
+            assertThrows(IllegalArgumentException.class, () -> scripts.tokenBucket("tb:steve", 5, 20, 6));
+        }
+    }
+
+    @Test
+    public void emulationMatchesTheShippedScript() throws Exception {
+        try (FakeRedisServer server = FakeRedisServer.start();
+             DefaultRedisService service = newService(server)) {
+            RedisScripts scripts = service.scripts();
+            String source = scripts.get("bukkitspring:token-bucket").getSource();
+            // the lines the emulation below copies; change both together
+            assertTrue(source.contains("local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)"));
+            assertTrue(source.contains("tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)"));
+            assertTrue(source.contains("local granted = math.min(requested, math.floor(tokens))"));
+            assertTrue(source.contains("redis.call('PEXPIRE', KEYS[1], math.ceil((capacity - tokens) / rate) + 1000)"));
+            assertTrue(source.contains("if granted < requested then\n  retry = math.ceil((1 - tokens) / rate)\nend"));
+
+            AtomicLong expiry = emulateTokenBucket(server, scripts);
+            // 500 tokens/s is 0.5 per millisecond, exact in binary; a fresh bucket has no refill yet
+            assertEquals(List.of(4L, 0L), scripts.eval("bukkitspring:token-bucket", List.of("tb:full"), List.of("10", "500", "4")));
+            assertEquals(1008L, expiry.get());
+            // partial grant: everything left, and the time until one token is back
+            assertEquals(List.of(10L, 2L), scripts.eval("bukkitspring:token-bucket", List.of("tb:partial"), List.of("10", "500", "15")));
+            assertEquals(1020L, expiry.get());
+        }
+    }
+
+    /**
+     * Java version of the built-in token bucket script, command for command.
+     *
+     * @return the last expiry the script set, in milliseconds
+     */
+    private static AtomicLong emulateTokenBucket(FakeRedisServer server, RedisScripts scripts) {
+        AtomicLong expiry = new AtomicLong();
+        server.emulateScript(scripts.get("bukkitspring:token-bucket").getSource(), (keys, args, call) -> {
+            double capacity = Double.parseDouble(args.get(0));
+            double rate = Double.parseDouble(args.get(1)) / 1000;
+            long requested = Long.parseLong(args.get(2));
+            List<?> time = (List<?>) call.apply(List.of("TIME"));
+            long now = Long.parseLong((String) time.get(0)) * 1000 + Long.parseLong((String) time.get(1)) / 1000;
+            List<?> state = (List<?>) call.apply(List.of("HMGET", keys.get(0), "tokens", "ts"));
+            double tokens = capacity;
+            long ts = now;
+            if (state.get(0) != null && state.get(1) != null) {
+                tokens = Double.parseDouble((String) state.get(0));
+                ts = Long.parseLong((String) state.get(1));
+            }
+            tokens = Math.min(capacity, tokens + Math.max(0, now - ts) * rate);
+            long granted = Math.min(requested, (long) Math.floor(tokens));
+            tokens -= granted;
+            call.apply(List.of("HSET", keys.get(0), "tokens", Double.toString(tokens), "ts", Long.toString(now)));
+            expiry.set((long) Math.ceil((capacity - tokens) / rate) + 1000);
+            call.apply(List.of("PEXPIRE", keys.get(0), Long.toString(expiry.get())));
+            long retry = granted < requested ? (long) Math.ceil((1 - tokens) / rate) : 0L;
+            return List.of(granted, retry);
+        });
+        return expiry;
+    }
+}
@@ -0,0 +1,1205 @@
+package com.cuzz.starter.bukkitspring.redis.testutil;
+
+import redis.clients.jedis.util.JedisClusterCRC16;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * In-process stand-in for a Redis server speaking RESP2, covering the commands the starter's tests use.
+ *
+ * <p>In cluster mode it answers {@code CLUSTER SLOTS} as a single node owning every slot and rejects
+ * multi-key commands whose keys span slots, like a real cluster node. Replicas from {@link #startReplica()}
+ * share the keyspace and are listed after it in {@code CLUSTER SLOTS}.
+ */
+public final class FakeRedisServer implements AutoCloseable {
+    private static final Object OK = new Status("OK");
+    private static final Object NO_REPLY = new Object();
+
+    private final ServerSocket serverSocket;
+    private final boolean cluster;
+    private final FakeRedisServer primary;
+    private final Map<String, Object> data;
+    private final List<FakeRedisServer> replicas = new CopyOnWriteArrayList<>();
+    private final List<Socket> clients = new CopyOnWriteArrayList<>();
+    private final List<Client> connections = new CopyOnWriteArrayList<>();
+    private final AtomicLong commands = new AtomicLong();
+    private final AtomicLong roundTrips = new AtomicLong();
+    private final Map<String, AtomicLong> commandsByName = new ConcurrentHashMap<>();
+    private final Map<String, String> scriptCache = new ConcurrentHashMap<>();
+    private final Map<String, ScriptEmulation> scriptEmulations = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    private FakeRedisServer(boolean cluster, FakeRedisServer primary) throws IOException {
+        this.cluster = cluster;
+        this.primary = primary;
+        this.data = primary == null ? new HashMap<>() : primary.data;
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptLoop, "fake-redis-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public static FakeRedisServer start() throws IOException {
+        return new FakeRedisServer(false, null);
+    }
+
+    public static FakeRedisServer startCluster() throws IOException {
+        return new FakeRedisServer(true, null);
+    }
+
+    /**
+     * A replica of this cluster node: it serves the same keys and {@code CLUSTER SLOTS} reports it for every slot.
+     */
+    public FakeRedisServer startReplica() throws IOException {
+        if (!cluster) {
+            throw new IllegalStateException("replicas need a cluster node");
+        }
+        FakeRedisServer replica = new FakeRedisServer(true, this);
+        replicas.add(replica);
+        return replica;
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Commands executed so far.
+     */
+    public long commands() {
+        return commands.get();
+    }
+
+    /**
+     * Command batches read so far; a pipeline counts once per batch of bytes the client sent together.
+     */
+    public long roundTrips() {
+        return roundTrips.get();
+    }
+
+    /**
+     * Commands named {@code name} received since start or the last {@link #resetCounters()}.
+     */
+    public long commands(String name) {
+        AtomicLong count = commandsByName.get(name.toUpperCase(Locale.ROOT));
+        return count == null ? 0 : count.get();
+    }
+
+    public void resetCounters() {
+        commands.set(0);
+        roundTrips.set(0);
+        commandsByName.clear();
+    }
+
+    /**
+     * Connections currently subscribed to at least one channel or pattern.
+     */
+    public int subscriberConnections() {
+        int count = 0;
+        for (Client client : connections) {
+            if (client.subscriptions() > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Run {@code emulation} when a client evaluates {@code source}; there is no Lua interpreter here.
+     */
+    public void emulateScript(String source, ScriptEmulation emulation) {
+        scriptEmulations.put(source, emulation);
+    }
+
+    /**
+     * Forget loaded scripts, as a restart or failover to a fresh node would.
+     */
+    public void flushScripts() {
+        scriptCache.clear();
+    }
+
+    /**
+     * Close every client connection, as a server restart or network drop would.
+     */
+    public void dropClients() {
+        for (Socket client : clients) {
+            try {
+                client.close();
+            } catch (IOException ignored) {
+                // dropping anyway
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+            // closing anyway
+        }
+        for (Socket client : clients) {
+            try {
+                client.close();
+            } catch (IOException ignored) {
+                // closing anyway
+            }
+        }
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                clients.add(socket);
+                Thread worker = new Thread(() -> serve(socket), "fake-redis-client");
+                worker.setDaemon(true);
+                worker.start();
+            } catch (IOException ex) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        Client client = null;
+        try (socket) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            client = new Client(out);
+            connections.add(client);
+            boolean batchStarted = false;
+            while (!closed) {
+                List<String> command = readCommand(in);
+                commands.incrementAndGet();
+                commandsByName.computeIfAbsent(command.get(0).toUpperCase(Locale.ROOT), ignored -> new AtomicLong())
+                        .incrementAndGet();
+                if (!batchStarted) {
+                    batchStarted = true;
+                    roundTrips.incrementAndGet();
+                }
+                // run before taking this connection's stream: publish and invalidation lock other streams
+                Object reply = NO_REPLY;
+                String name = command.get(0).toUpperCase(Locale.ROOT);
+                if (name.equals("PUBLISH")) {
+                    reply = publish(command.get(1), command.get(2));
+                } else if (name.equals("XREADGROUP")) {
+                    reply = readGroup(command);
+                } else if (name.equals("HELLO")) {
+                    reply = hello(command);
+                } else if (name.equals("DEBUG") && command.size() > 2 && "SLEEP".equalsIgnoreCase(command.get(1))) {
+                    // only holds this connection, so it simulates a slow command without stalling the others
+                    sleepSeconds(Double.parseDouble(command.get(2)));
+                    reply = OK;
+                } else if (name.equals("CLIENT") && command.size() > 2 && "TRACKING".equalsIgnoreCase(command.get(1))) {
+                    client.tracking = "ON".equalsIgnoreCase(command.get(2));
+                    reply = OK;
+                } else if (!Client.isSubscribeCommand(name)) {
+                    synchronized (data) {
+                        reply = execute(command);
+                    }
+                    if (client.tracking) {
+                        client.tracked.addAll(readKeys(name, command));
+                    }
+                    invalidate(name, command);
+                }
+                synchronized (out) {
+                    if (reply != NO_REPLY) {
+                        write(out, reply);
+                    } else {
+                        client.handle(command);
+                    }
+                    if (in.available() == 0) {
+                        out.flush();
+                        batchStarted = false;
+                    }
+                }
+            }
+        } catch (IOException ignored) {
+            // client went away
+        } finally {
+            clients.remove(socket);
+            if (client != null) {
+                connections.remove(client);
+            }
+        }
+    }
+
+    private static void sleepSeconds(double seconds) {
+        try {
+            Thread.sleep(Math.round(seconds * 1000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Object execute(List<String> args) {
+        String name = args.get(0).toUpperCase(Locale.ROOT);
+        switch (name) {
+            case "PING":
+                return new Status("PONG");
+            case "ECHO":
+                return args.get(1);
+            case "CLIENT":
+            case "SELECT":
+            case "AUTH":
+                return OK;
+            case "CLUSTER":
+                return cluster ? clusterSlots() : new ErrorReply("ERR This instance has cluster support disabled");
+            case "FLUSHALL":
+            case "FLUSHDB":
+                data.clear();
+                return OK;
+            case "DBSIZE":
+                return (long) data.size();
+            case "GET":
+                return string(args.get(1));
+            case "SET":
+            case "SETEX":
+                data.put(args.get(1), args.get(name.equals("SET") ? 2 : 3));
+                return OK;
+            case "MGET": {
+                ErrorReply crossSlot = checkSlots(args, 1, 1);
+                if (crossSlot != null) {
+                    return crossSlot;
+                }
+                List<Object> values = new ArrayList<>();
+                for (int i = 1; i < args.size(); i++) {
+                    values.add(string(args.get(i)));
+                }
+                return values;
+            }
+            case "MSET": {
+                ErrorReply crossSlot = checkSlots(args, 1, 2);
+                if (crossSlot != null) {
+                    return crossSlot;
+                }
+                for (int i = 1; i + 1 < args.size(); i += 2) {
+                    data.put(args.get(i), args.get(i + 1));
+                }
+                return OK;
+            }
+            case "DEL":
+            case "UNLINK": {
+                ErrorReply crossSlot = checkSlots(args, 1, 1);
+                if (crossSlot != null) {
+                    return crossSlot;
+                }
+                long removed = 0;
+                for (int i = 1; i < args.size(); i++) {
+                    removed += data.remove(args.get(i)) != null ? 1 : 0;
+                }
+                return removed;
+            }
+            case "EXISTS":
+                return data.containsKey(args.get(1)) ? 1L : 0L;
+            case "INCR":
+                return incrBy(args.get(1), 1);
+            case "DECR":
+                return incrBy(args.get(1), -1);
+            case "INCRBY":
+                return incrBy(args.get(1), Long.parseLong(args.get(2)));
+            case "HSET": {
+                Map<String, String> hash = hash(args.get(1), true);
+                long added = 0;
+                for (int i = 2; i + 1 < args.size(); i += 2) {
+                    added += hash.put(args.get(i), args.get(i + 1)) == null ? 1 : 0;
+                }
+                return added;
+            }
+            case "HGET": {
+                Map<String, String> hash = hash(args.get(1), false);
+                return hash == null ? null : hash.get(args.get(2));
+            }
+            case "SCAN":
+                return scan(new ArrayList<>(data.keySet()), null, args, 1);
+            case "HSCAN":
+            case "SSCAN":
+            case "ZSCAN": {
+                Map<String, String> members = hash(args.get(1), false);
+                if (members == null) {
+                    members = Map.of();
+                }
+                return scan(new ArrayList<>(members.keySet()), name.equals("SSCAN") ? null : members, args, 2);
+            }
+            case "HMGET": {
+                Map<String, String> hash = hash(args.get(1), false);
+                List<Object> values = new ArrayList<>();
+                for (int i = 2; i < args.size(); i++) {
+                    values.add(hash == null ? null : hash.get(args.get(i)));
+                }
+                return values;
+            }
+            case "HGETALL": {
+                Map<String, String> hash = hash(args.get(1), false);
+                List<Object> flat = new ArrayList<>();
+                if (hash != null) {
+                    hash.forEach((field, value) -> {
+                        flat.add(field);
+                        flat.add(value);
+                    });
+                }
+                return flat;
+            }
+            case "HINCRBY": {
+                Map<String, String> hash = hash(args.get(1), true);
+                long value = Long.parseLong(hash.getOrDefault(args.get(2), "0")) + Long.parseLong(args.get(3));
+                hash.put(args.get(2), Long.toString(value));
+                return value;
+            }
+            case "SADD": {
+                Map<String, String> set = hash(args.get(1), true);
+                long added = 0;
+                for (int i = 2; i < args.size(); i++) {
+                    added += set.put(args.get(i), "") == null ? 1 : 0;
+                }
+                return added;
+            }
+            case "SMEMBERS": {
+                Map<String, String> set = hash(args.get(1), false);
+                return set == null ? List.of() : new ArrayList<Object>(set.keySet());
+            }
+            case "ZADD": {
+                Map<String, String> zset = hash(args.get(1), true);
+                long added = 0;
+                for (int i = 2; i + 1 < args.size(); i += 2) {
+                    added += zset.put(args.get(i + 1), args.get(i)) == null ? 1 : 0;
+                }
+                return added;
+            }
+            case "ZSCORE": {
+                Map<String, String> zset = hash(args.get(1), false);
+                return zset == null ? null : zset.get(args.get(2));
+            }
+            case "ZCARD": {
+                Map<String, String> zset = hash(args.get(1), false);
+                return zset == null ? 0L : (long) zset.size();
+            }
+            case "ZRANGE": {
+                List<Map.Entry<String, String>> sorted = sortedByScore(args.get(1));
+                boolean withScores = args.size() > 4 && "WITHSCORES".equalsIgnoreCase(args.get(4));
+                List<Object> range = new ArrayList<>();
+                for (Map.Entry<String, String> entry : sorted.subList(rangeStart(args.get(2), sorted.size()),
+                        rangeEnd(args.get(3), sorted.size()))) {
+                    range.add(entry.getKey());
+                    if (withScores) {
+                        range.add(entry.getValue());
+                    }
+                }
+                return range;
+            }
+            case "ZREVRANK": {
+                List<Map.Entry<String, String>> sorted = sortedByScore(args.get(1));
+                for (int i = 0; i < sorted.size(); i++) {
+                    if (sorted.get(i).getKey().equals(args.get(2))) {
+                        return (long) (sorted.size() - 1 - i);
+                    }
+                }
+                return null;
+            }
+            case "ZREMRANGEBYRANK": {
+                List<Map.Entry<String, String>> sorted = sortedByScore(args.get(1));
+                Map<String, String> zset = hash(args.get(1), false);
+                long removed = 0;
+                for (Map.Entry<String, String> entry : sorted.subList(rangeStart(args.get(2), sorted.size()),
+                        rangeEnd(args.get(3), sorted.size()))) {
+                    zset.remove(entry.getKey());
+                    removed++;
+                }
+                return removed;
+            }
+            case "ZREMRANGEBYSCORE": {
+                Map<String, String> zset = hash(args.get(1), false);
+                if (zset == null) {
+                    return 0L;
+                }
+                double min = score(args.get(2));
+                double max = score(args.get(3));
+                long before = zset.size();
+                zset.values().removeIf(value -> Double.parseDouble(value) >= min && Double.parseDouble(value) <= max);
+                return before - zset.size();
+            }
+            case "PEXPIRE":
+                return data.containsKey(args.get(1)) ? 1L : 0L;
+            case "TIME": {
+                long micros = System.currentTimeMillis() * 1000;
+                return List.of(Long.toString(micros / 1_000_000), Long.toString(micros % 1_000_000));
+            }
+            case "SCRIPT": {
+                String sub = args.get(1).toUpperCase(Locale.ROOT);
+                if (sub.equals("LOAD")) {
+                    String sha = sha1(args.get(2));
+                    scriptCache.put(sha, args.get(2));
+                    return sha;
+                }
+                if (sub.equals("FLUSH")) {
+                    scriptCache.clear();
+                    return OK;
+                }
+                return new ErrorReply("ERR unknown SCRIPT subcommand '" + args.get(1) + "'");
+            }
+            case "EVAL": {
+                scriptCache.put(sha1(args.get(1)), args.get(1));
+                return evalScript(args.get(1), args);
+            }
+            case "EVALSHA": {
+                String source = scriptCache.get(args.get(1).toLowerCase(Locale.ROOT));
+                if (source == null) {
+                    return new ErrorReply("NOSCRIPT No matching script. Please use EVAL.");
+                }
+                return evalScript(source, args);
+            }
+            case "XADD": {
+                FakeStream stream = stream(args.get(1), true);
+                return stream.add(args.get(2), args.subList(3, args.size()));
+            }
+            case "XLEN": {
+                FakeStream stream = stream(args.get(1), false);
+                return stream == null ? 0L : (long) stream.entries.size();
+            }
+            case "XGROUP": {
+                boolean mkStream = args.size() > 5 && "MKSTREAM".equalsIgnoreCase(args.get(5));
+                FakeStream stream = stream(args.get(2), mkStream);
+                if (stream == null) {
+                    return new ErrorReply("ERR The XGROUP subcommand requires the key to exist");
+                }
+                return stream.createGroup(args.get(3), args.get(4));
+            }
+            case "XREADGROUP":
+                return readGroupNow(args);
+            case "XACK": {
+                FakeStream stream = stream(args.get(1), false);
+                return stream == null ? 0L : stream.ack(args.get(2), args.subList(3, args.size()));
+            }
+            case "XAUTOCLAIM": {
+                FakeStream stream = stream(args.get(1), false);
+                if (stream == null || !stream.groups.containsKey(args.get(2))) {
+                    return new ErrorReply("NOGROUP No such key '" + args.get(1) + "' or consumer group");
+                }
+                int count = args.size() > 7 ? Integer.parseInt(args.get(7)) : 100;
+                return stream.autoClaim(args.get(2), args.get(3), Long.parseLong(args.get(4)), args.get(5), count);
+            }
+            case "XINFO": {
+                FakeStream stream = stream(args.get(2), false);
+                return stream == null ? new ErrorReply("ERR no such key") : stream.groupsInfo();
+            }
+            default:
+                return new ErrorReply("ERR unknown command '" + args.get(0) + "'");
+        }
+    }
+
+    /**
+     * XREADGROUP with BLOCK polls outside the data lock until entries arrive or the timeout passes.
+     */
+    private Object readGroup(List<String> args) {
+        long block = -1;
+        for (int i = 1; i < args.size() - 1; i++) {
+            if ("BLOCK".equalsIgnoreCase(args.get(i))) {
+                block = Long.parseLong(args.get(i + 1));
+            }
+        }
+        long deadline = System.currentTimeMillis() + block;
+        while (true) {
+            Object reply;
+            synchronized (data) {
+                reply = readGroupNow(args);
+            }
+            if (reply != null || block < 0 || closed || (block > 0 && System.currentTimeMillis() >= deadline)) {
+                return reply;
+            }
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    private Object readGroupNow(List<String> args) {
+        String group = args.get(2);
+        String consumer = args.get(3);
+        int count = Integer.MAX_VALUE;
+        int streams = args.size();
+        for (int i = 4; i < args.size(); i++) {
+            String option = args.get(i).toUpperCase(Locale.ROOT);
+            if (option.equals("COUNT")) {
+                count = Integer.parseInt(args.get(++i));
+            } else if (option.equals("BLOCK")) {
+                i++;
+            } else if (option.equals("STREAMS")) {
+                streams = i + 1;
+                break;
+            }
+        }
+        String key = args.get(streams);
+        FakeStream stream = stream(key, false);
+        if (stream == null || !stream.groups.containsKey(group)) {
+            return new ErrorReply("NOGROUP No such key '" + key + "' or consumer group '" + group + "'");
+        }
+        List<Object> entries = stream.read(group, consumer, args.get(streams + 1), count);
+        if (entries == null) {
+            return null;
+        }
+        return List.of(List.of(key, entries));
+    }
+
+    private FakeStream stream(String key, boolean create) {
+        Object value = data.get(key);
+        if (value instanceof FakeStream stream) {
+            return stream;
+        }
+        if (!create) {
+            return null;
+        }
+        FakeStream stream = new FakeStream();
+        data.put(key, stream);
+        return stream;
+    }
+
+    /**
+     * Only the handshake differs: other replies look the same in RESP2 and RESP3, and RESP3 adds pushes.
+     */
+    private Object hello(List<String> args) {
+        if (args.size() > 1 && !args.get(1).equals("2") && !args.get(1).equals("3")) {
+            return new ErrorReply("NOPROTO unsupported protocol version");
+        }
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("server", "redis");
+        info.put("version", "7.4.0");
+        info.put("proto", args.size() > 1 ? Long.parseLong(args.get(1)) : 2L);
+        info.put("id", 1L);
+        info.put("mode", cluster ? "cluster" : "standalone");
+        info.put("role", primary == null ? "master" : "replica");
+        info.put("modules", List.of());
+        return info;
+    }
+
+    /**
+     * Tell tracking connections that keys they read were written, as server-assisted client caching does.
+     */
+    private void invalidate(String name, List<String> args) {
+        boolean all = name.equals("FLUSHALL") || name.equals("FLUSHDB");
+        List<String> keys = all ? List.of() : writtenKeys(name, args);
+        if (!all && keys.isEmpty()) {
+            return;
+        }
+        for (Client client : connections) {
+            if (client.tracking) {
+                client.invalidate(all ? null : keys);
+            }
+        }
+    }
+
+    private static List<String> readKeys(String name, List<String> args) {
+        switch (name) {
+            case "GET":
+            case "HGET":
+            case "HGETALL":
+            case "SMEMBERS":
+            case "ZSCORE":
+            case "EXISTS":
+                return List.of(args.get(1));
+            case "MGET":
+                return args.subList(1, args.size());
+            default:
+                return List.of();
+        }
+    }
+
+    private static List<String> writtenKeys(String name, List<String> args) {
+        switch (name) {
+            case "SET":
+            case "SETEX":
+            case "INCR":
+            case "DECR":
+            case "INCRBY":
+            case "HSET":
+            case "HINCRBY":
+            case "SADD":
+            case "ZADD":
+            case "XADD":
+                return List.of(args.get(1));
+            case "DEL":
+            case "UNLINK":
+                return args.subList(1, args.size());
+            case "MSET": {
+                List<String> keys = new ArrayList<>();
+                for (int i = 1; i < args.size(); i += 2) {
+                    keys.add(args.get(i));
+                }
+                return keys;
+            }
+            default:
+                return List.of();
+        }
+    }
+
+    private long publish(String channel, String message) {
+        long receivers = 0;
+        for (Client client : connections) {
+            receivers += client.deliver(channel, message);
+        }
+        return receivers;
+    }
+
+    private Object clusterSlots() {
+        if (primary != null) {
+            return primary.clusterSlots();
+        }
+        List<Object> range = new ArrayList<>(List.of(0L, 16383L, List.of("127.0.0.1", (long) port(), "fake-node")));
+        for (FakeRedisServer replica : replicas) {
+            range.add(List.of("127.0.0.1", (long) replica.port(), "fake-replica-" + replica.port()));
+        }
+        return List.of(range);
+    }
+
+    private ErrorReply checkSlots(List<String> args, int first, int step) {
+        if (!cluster) {
+            return null;
+        }
+        int slot = JedisClusterCRC16.getSlot(args.get(first));
+        for (int i = first + step; i < args.size(); i += step) {
+            if (JedisClusterCRC16.getSlot(args.get(i)) != slot) {
+                return new ErrorReply("CROSSSLOT Keys in request don't hash to the same slot");
+            }
+        }
+        return null;
+    }
+
+    private Object evalScript(String source, List<String> args) {
+        int keyCount = Integer.parseInt(args.get(2));
+        List<String> keys = args.subList(3, 3 + keyCount);
+        List<String> argv = args.subList(3 + keyCount, args.size());
+        if (keyCount > 0) {
+            ErrorReply crossSlot = checkSlots(args.subList(0, 3 + keyCount), 3, 1);
+            if (crossSlot != null) {
+                return crossSlot;
+            }
+        }
+        ScriptEmulation emulation = scriptEmulations.get(source);
+        if (emulation == null) {
+            return new ErrorReply("ERR no emulation registered for this script");
+        }
+        return emulation.run(keys, argv, this::execute);
+    }
+
+    private List<Map.Entry<String, String>> sortedByScore(String key) {
+        Map<String, String> zset = hash(key, false);
+        List<Map.Entry<String, String>> sorted = new ArrayList<>(zset == null ? Map.<String, String>of().entrySet() : zset.entrySet());
+        sorted.sort(Map.Entry.<String, String>comparingByValue((a, b) -> Double.compare(Double.parseDouble(a), Double.parseDouble(b)))
+                .thenComparing(Map.Entry.comparingByKey()));
+        return sorted;
+    }
+
+    private static int rangeStart(String index, int size) {
+        int start = Integer.parseInt(index);
+        return Math.max(0, start < 0 ? size + start : Math.min(start, size));
+    }
+
+    private static int rangeEnd(String index, int size) {
+        int stop = Integer.parseInt(index);
+        int end = (stop < 0 ? size + stop : stop) + 1;
+        return Math.max(0, Math.min(end, size));
+    }
+
+    private static double score(String text) {
+        switch (text.toLowerCase(Locale.ROOT)) {
+            case "-inf":
+                return Double.NEGATIVE_INFINITY;
+            case "+inf":
+            case "inf":
+                return Double.POSITIVE_INFINITY;
+            default:
+                return Double.parseDouble(text);
+        }
+    }
+
+    private static String sha1(String source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(source.getBytes(StandardCharsets.ISO_8859_1));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private String string(String key) {
+        Object value = data.get(key);
+        return value instanceof String text ? text : null;
+    }
+
+    private long incrBy(String key, long delta) {
+        String current = string(key);
+        long value = (current == null ? 0 : Long.parseLong(current)) + delta;
+        data.put(key, Long.toString(value));
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    /**
+     * One SCAN page over {@code names} in sorted order. The cursor is the hex of the last name returned, so
+     * names removed between calls never shift the walk; {@code values} adds a value after each name.
+     */
+    private static List<Object> scan(List<String> names,
+                                     Map<String, String> values,
+                                     List<String> args,
+                                     int cursorIndex) {
+        String cursor = args.get(cursorIndex);
+        int count = 10;
+        Pattern match = null;
+        for (int i = cursorIndex + 1; i + 1 < args.size(); i += 2) {
+            if ("COUNT".equalsIgnoreCase(args.get(i))) {
+                count = Integer.parseInt(args.get(i + 1));
+            } else if ("MATCH".equalsIgnoreCase(args.get(i))) {
+                match = Client.glob(args.get(i + 1));
+            }
+        }
+        TreeSet<String> sorted = new TreeSet<>(names);
+        SortedSet<String> remaining = cursor.equals("0")
+                ? sorted
+                : sorted.tailSet(new String(HexFormat.of().parseHex(cursor), StandardCharsets.ISO_8859_1) + '\0');
+        List<Object> page = new ArrayList<>();
+        String last = null;
+        int examined = 0;
+        for (String name : remaining) {
+            if (examined++ == count) {
+                break;
+            }
+            last = name;
+            if (match == null || match.matcher(name).matches()) {
+                page.add(name);
+                if (values != null) {
+                    page.add(values.get(name));
+                }
+            }
+        }
+        boolean complete = last == null || last.equals(remaining.last());
+        String next = complete ? "0" : HexFormat.of().formatHex(last.getBytes(StandardCharsets.ISO_8859_1));
+        return List.of(next, page);
+    }
+
+    private Map<String, String> hash(String key, boolean create) {
+        Object value = data.get(key);
+        if (value instanceof Map<?, ?> map) {
+            return (Map<String, String>) map;
+        }
+        if (!create) {
+            return null;
+        }
+        Map<String, String> hash = new LinkedHashMap<>();
+        data.put(key, hash);
+        return hash;
+    }
+
+    private static List<String> readCommand(InputStream in) throws IOException {
+        int marker = in.read();
+        if (marker == -1) {
+            throw new EOFException();
+        }
+        if (marker != '*') {
+            throw new IOException("Expected array, got " + (char) marker);
+        }
+        int count = (int) readNumber(in);
+        List<String> args = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (in.read() != '$') {
+                throw new IOException("Expected bulk string");
+            }
+            int length = (int) readNumber(in);
+            byte[] bytes = in.readNBytes(length);
+            in.skipNBytes(2);
+            // one char per byte, so binary values survive the round trip
+            args.add(new String(bytes, StandardCharsets.ISO_8859_1));
+        }
+        return args;
+    }
+
+    private static long readNumber(InputStream in) throws IOException {
+        long value = 0;
+        boolean negative = false;
+        int next;
+        while ((next = in.read()) != '\r') {
+            if (next == -1) {
+                throw new EOFException();
+            }
+            if (next == '-') {
+                negative = true;
+            } else {
+                value = value * 10 + (next - '0');
+            }
+        }
+        in.read();
+        return negative ? -value : value;
+    }
+
+    private static void write(OutputStream out, Object reply) throws IOException {
+        if (reply == null) {
+            out.write("$-1\r\n".getBytes(StandardCharsets.US_ASCII));
+        } else if (reply instanceof Status status) {
+            out.write(('+' + status.text + "\r\n").getBytes(StandardCharsets.UTF_8));
+        } else if (reply instanceof ErrorReply error) {
+            out.write(('-' + error.text + "\r\n").getBytes(StandardCharsets.UTF_8));
+        } else if (reply instanceof Long number) {
+            out.write((":" + number + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        } else if (reply instanceof String text) {
+            byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+            out.write(("$" + bytes.length + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.write(bytes);
+            out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+        } else if (reply instanceof Push push) {
+            out.write((">" + push.items().size() + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            for (Object item : push.items()) {
+                write(out, item);
+            }
+        } else if (reply instanceof Map<?, ?> map) {
+            out.write(("%" + map.size() + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                write(out, entry.getKey());
+                write(out, entry.getValue());
+            }
+        } else if (reply instanceof List<?> list) {
+            out.write(("*" + list.size() + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            for (Object item : list) {
+                write(out, item);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported reply " + reply);
+        }
+    }
+
+    /**
+     * Java stand-in for a Lua script; {@code call} runs a command like {@code redis.call}.
+     */
+    @FunctionalInterface
+    public interface ScriptEmulation {
+        Object run(List<String> keys, List<String> args, Function<List<String>, Object> call);
+    }
+
+    private record Status(String text) {
+    }
+
+    /**
+     * RESP3 out-of-band message, such as a tracking invalidation.
+     */
+    private record Push(List<Object> items) {
+    }
+
+    /**
+     * State of one connection: subscriptions and tracked keys. Replies and pushes are written while
+     * holding its stream.
+     */
+    private static final class Client {
+        private final OutputStream out;
+        private final Set<String> channels = ConcurrentHashMap.newKeySet();
+        private final Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+        private final Set<String> tracked = ConcurrentHashMap.newKeySet();
+        private volatile boolean tracking;
+
+        private Client(OutputStream out) {
+            this.out = out;
+        }
+
+        private int subscriptions() {
+            return channels.size() + patterns.size();
+        }
+
+        private static boolean isSubscribeCommand(String name) {
+            return name.equals("SUBSCRIBE") || name.equals("PSUBSCRIBE")
+                    || name.equals("UNSUBSCRIBE") || name.equals("PUNSUBSCRIBE");
+        }
+
+        /**
+         * @param keys written keys, or null when everything was flushed
+         */
+        private void invalidate(List<String> keys) {
+            List<Object> invalidated = new ArrayList<>();
+            if (keys == null) {
+                tracked.clear();
+            } else {
+                for (String key : keys) {
+                    if (tracked.remove(key)) {
+                        invalidated.add(key);
+                    }
+                }
+                if (invalidated.isEmpty()) {
+                    return;
+                }
+            }
+            List<Object> items = new ArrayList<>();
+            items.add("invalidate");
+            items.add(keys == null ? null : invalidated);
+            synchronized (out) {
+                try {
+                    write(out, new Push(items));
+                    out.flush();
+                } catch (IOException ignored) {
+                    // connection went away
+                }
+            }
+        }
+
+        /**
+         * Run a subscribe-family command.
+         *
+         * @return false when {@code args} is not one
+         */
+        private boolean handle(List<String> args) throws IOException {
+            String name = args.get(0).toUpperCase(Locale.ROOT);
+            switch (name) {
+                case "SUBSCRIBE":
+                    for (int i = 1; i < args.size(); i++) {
+                        channels.add(args.get(i));
+                        write(out, List.of("subscribe", args.get(i), (long) subscriptions()));
+                    }
+                    return true;
+                case "PSUBSCRIBE":
+                    for (int i = 1; i < args.size(); i++) {
+                        patterns.put(args.get(i), glob(args.get(i)));
+                        write(out, List.of("psubscribe", args.get(i), (long) subscriptions()));
+                    }
+                    return true;
+                case "UNSUBSCRIBE":
+                    for (String channel : args.size() > 1 ? args.subList(1, args.size()) : List.copyOf(channels)) {
+                        channels.remove(channel);
+                        write(out, List.of("unsubscribe", channel, (long) subscriptions()));
+                    }
+                    return true;
+                case "PUNSUBSCRIBE":
+                    for (String pattern : args.size() > 1 ? args.subList(1, args.size()) : List.copyOf(patterns.keySet())) {
+                        patterns.remove(pattern);
+                        write(out, List.of("punsubscribe", pattern, (long) subscriptions()));
+                    }
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private int deliver(String channel, String message) {
+            int delivered = 0;
+            synchronized (out) {
+                try {
+                    if (channels.contains(channel)) {
+                        write(out, List.of("message", channel, message));
+                        delivered++;
+                    }
+                    for (Map.Entry<String, Pattern> pattern : patterns.entrySet()) {
+                        if (pattern.getValue().matcher(channel).matches()) {
+                            write(out, List.of("pmessage", pattern.getKey(), channel, message));
+                            delivered++;
+                        }
+                    }
+                    if (delivered > 0) {
+                        out.flush();
+                    }
+                } catch (IOException ignored) {
+                    // subscriber went away
+                }
+            }
+            return delivered;
+        }
+
+        private static Pattern glob(String pattern) {
+            StringBuilder regex = new StringBuilder();
+            for (char c : pattern.toCharArray()) {
+                if (c == '*') {
+                    regex.append(".*");
+                } else if (c == '?') {
+                    regex.append('.');
+                } else {
+                    regex.append(Pattern.quote(String.valueOf(c)));
+                }
+            }
+            return Pattern.compile(regex.toString());
+        }
+    }
+
+    private record StreamId(long millis, long sequence) implements Comparable<StreamId> {
+        static StreamId parse(String text) {
+            int dash = text.indexOf('-');
+            if (dash < 0) {
+                return new StreamId(Long.parseLong(text), 0);
+            }
+            return new StreamId(Long.parseLong(text.substring(0, dash)), Long.parseLong(text.substring(dash + 1)));
+        }
+
+        @Override
+        public int compareTo(StreamId other) {
+            int byMillis = Long.compare(millis, other.millis);
+            return byMillis != 0 ? byMillis : Long.compare(sequence, other.sequence);
+        }
+
+        @Override
+        public String toString() {
+            return millis + "-" + sequence;
+        }
+    }
+
+    /**
+     * A stream with consumer groups; guarded by the server's data lock.
+     */
+    private static final class FakeStream {
+        private final TreeMap<StreamId, List<String>> entries = new TreeMap<>();
+        private final Map<String, Group> groups = new LinkedHashMap<>();
+        private StreamId lastId = new StreamId(0, 0);
+
+        private Object add(String id, List<String> fields) {
+            StreamId next;
+            if (id.equals("*")) {
+                long now = System.currentTimeMillis();
+                next = now > lastId.millis ? new StreamId(now, 0) : new StreamId(lastId.millis, lastId.sequence + 1);
+            } else {
+                next = StreamId.parse(id);
+                if (next.compareTo(lastId) <= 0) {
+                    return new ErrorReply("ERR The ID specified in XADD is equal or smaller than the target stream top item");
+                }
+            }
+            entries.put(next, List.copyOf(fields));
+            lastId = next;
+            return next.toString();
+        }
+
+        private Object createGroup(String name, String id) {
+            if (groups.containsKey(name)) {
+                return new ErrorReply("BUSYGROUP Consumer Group name already exists");
+            }
+            groups.put(name, new Group(id.equals("$") ? lastId : StreamId.parse(id)));
+            return OK;
+        }
+
+        /**
+         * @return null when {@code >} finds nothing new, as a blocking read would time out
+         */
+        private List<Object> read(String groupName, String consumer, String id, int count) {
+            Group group = groups.get(groupName);
+            List<Object> reply = new ArrayList<>();
+            if (id.equals(">")) {
+                for (Map.Entry<StreamId, List<String>> entry : entries.tailMap(group.lastDelivered, false).entrySet()) {
+                    if (reply.size() >= count) {
+                        break;
+                    }
+                    group.lastDelivered = entry.getKey();
+                    group.pending.put(entry.getKey(), new Delivery(consumer, System.currentTimeMillis()));
+                    reply.add(List.of(entry.getKey().toString(), entry.getValue()));
+                }
+                return reply.isEmpty() ? null : reply;
+            }
+            StreamId after = StreamId.parse(id);
+            for (Map.Entry<StreamId, Delivery> pending : group.pending.tailMap(after, false).entrySet()) {
+                if (reply.size() >= count) {
+                    break;
+                }
+                if (pending.getValue().consumer.equals(consumer)) {
+                    reply.add(List.of(pending.getKey().toString(), entries.getOrDefault(pending.getKey(), List.of())));
+                }
+            }
+            return reply;
+        }
+
+        private long ack(String groupName, List<String> ids) {
+            Group group = groups.get(groupName);
+            if (group == null) {
+                return 0;
+            }
+            long removed = 0;
+            for (String id : ids) {
+                if (group.pending.remove(StreamId.parse(id)) != null) {
+                    removed++;
+                }
+            }
+            return removed;
+        }
+
+        private Object autoClaim(String groupName, String consumer, long minIdle, String start, int count) {
+            Group group = groups.get(groupName);
+            long now = System.currentTimeMillis();
+            List<Object> claimed = new ArrayList<>();
+            List<Object> deleted = new ArrayList<>();
+            String cursor = "0-0";
+            for (Map.Entry<StreamId, Delivery> pending : group.pending.tailMap(StreamId.parse(start), true).entrySet()) {
+                if (claimed.size() + deleted.size() >= count) {
+                    cursor = pending.getKey().toString();
+                    break;
+                }
+                if (now - pending.getValue().deliveredAt < minIdle) {
+                    continue;
+                }
+                List<String> fields = entries.get(pending.getKey());
+                if (fields == null) {
+                    deleted.add(pending.getKey().toString());
+                    continue;
+                }
+                pending.setValue(new Delivery(consumer, now));
+                claimed.add(List.of(pending.getKey().toString(), fields));
+            }
+            for (Object id : deleted) {
+                group.pending.remove(StreamId.parse((String) id));
+            }
+            return List.of(cursor, claimed, deleted);
+        }
+
+        private Object groupsInfo() {
+            List<Object> reply = new ArrayList<>();
+            for (Map.Entry<String, Group> entry : groups.entrySet()) {
+                Group group = entry.getValue();
+                reply.add(List.of(
+                        "name", entry.getKey(),
+                        "consumers", 1L,
+                        "pending", (long) group.pending.size(),
+                        "last-delivered-id", group.lastDelivered.toString(),
+                        "lag", (long) entries.tailMap(group.lastDelivered, false).size()
+                ));
+            }
+            return reply;
+        }
+    }
+
+    private static final class Group {
+        private final TreeMap<StreamId, Delivery> pending = new TreeMap<>();
+        private StreamId lastDelivered;
+
+        private Group(StreamId lastDelivered) {
+            this.lastDelivered = lastDelivered;
+        }
+    }
+
+    private record Delivery(String consumer, long deliveredAt) {
+    }
+
+    private record ErrorReply(String text) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.cuzz.starter.bukkitspring.redis.testutil;
+
+import com.cuzz.starter.bukkitspring.redis.config.RedisSettings;
+import com.cuzz.starter.bukkitspring.redis.internal.DefaultRedisService;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Builds enabled services against a {@link FakeRedisServer} on platform threads; {@code redis} holds the sections
+ * a test needs under {@code redis}.
+ */
+public final class TestServices {
+    private TestServices() {
+    }
+
+    public static DefaultRedisService newService(FakeRedisServer server) {
+        return newService(server, Map.of());
+    }
+
+    public static DefaultRedisService newService(FakeRedisServer server, Map<String, Object> redis) {
+        Map<String, Object> section = new LinkedHashMap<>();
+        section.put("enabled", true);
+        section.put("virtual-threads", false);
+        section.put("host", "127.0.0.1");
+        section.put("port", server.port());
+        section.putAll(redis);
+        RedisSettings settings = RedisSettings.fromConfig(new MapConfigView(Map.of("redis", section)));
+        return new DefaultRedisService(settings, Logger.getLogger("test"));
+    }
+
+    /**
+     * Cluster mode seeded with {@code server}, which must have been started with {@link FakeRedisServer#startCluster()}.
+     */
+    public static DefaultRedisService newClusterService(FakeRedisServer server) {
+        return newService(server, Map.of(
+                "cluster", Map.of("enabled", true, "nodes", List.of("127.0.0.1:" + server.port()))
+        ));
+    }
+}
@@ -0,0 +1,10 @@
+-- KEYS[1] source balance, KEYS[2] target balance; ARGV[1] amount
+-- returns 1 when moved, 0 when the source balance is too low
+local amount = tonumber(ARGV[1])
+local balance = tonumber(redis.call('GET', KEYS[1]) or '0')
+if balance < amount then
+  return 0
+end
+redis.call('DECRBY', KEYS[1], amount)
+redis.call('INCRBY', KEYS[2], amount)
+return 1